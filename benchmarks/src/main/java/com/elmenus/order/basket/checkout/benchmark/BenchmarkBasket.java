@@ -0,0 +1,63 @@
+package com.elmenus.order.basket.checkout.benchmark;
+
+import com.elmenus.order.basket.checkout.model.Basket;
+import com.elmenus.order.basket.checkout.model.BasketContent;
+import com.elmenus.order.basket.checkout.model.Item;
+import com.elmenus.order.basket.checkout.repository.BasketContentRepository;
+import com.elmenus.order.basket.checkout.repository.BasketRepository;
+import com.elmenus.order.basket.checkout.util.FixedPoint;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Per thread benchmark state holding a {@link Basket} with one unit of every seeded {@link Item}, so that
+ * concurrent checkouts never contend on the same {@link Basket}
+ */
+@State(Scope.Thread)
+public class BenchmarkBasket {
+    // region field values
+    private static final long LINE_QUANTITY = FixedPoint.quantity(1);
+    private static final String RESET_CHECKED_OUT_QUERY = "UPDATE basket SET checked_out = FALSE WHERE id = ?";
+    // endregion
+
+    private BenchmarkContext context;
+    Integer basketId;
+    private int nextItem;
+
+    @Setup(Level.Trial)
+    public void setUp(BenchmarkContext context) {
+        this.context = context;
+
+        Basket basket = context.getBean(BasketRepository.class).save(new Basket(null, context.user, new Date(), false, null));
+        List<BasketContent> contents = new ArrayList<>(context.items.size());
+        for (Item item : context.items) {
+            contents.add(new BasketContent(null, basket, item, LINE_QUANTITY));
+        }
+        context.getBean(BasketContentRepository.class).saveAll(contents);
+        basketId = basket.getId();
+    }
+
+    /**
+     * Marks the {@link Basket} as not checked out, so that it can be checked out once again
+     */
+    void reset() {
+        context.jdbcTemplate.update(RESET_CHECKED_OUT_QUERY, basketId);
+    }
+
+    /**
+     * Picks the seeded {@link Item}s in a round robin fashion
+     *
+     * @return The ID of the next {@link Item}
+     */
+    Integer nextItemId() {
+        Integer id = context.items.get(nextItem).getId();
+        nextItem = (nextItem + 1) % context.items.size();
+        return id;
+    }
+}
@@ -0,0 +1,86 @@
+package com.elmenus.order.basket.checkout.benchmark;
+
+import com.elmenus.order.basket.checkout.OrderBasketCheckoutApplication;
+import com.elmenus.order.basket.checkout.model.Item;
+import com.elmenus.order.basket.checkout.model.User;
+import com.elmenus.order.basket.checkout.repository.ItemRepository;
+import com.elmenus.order.basket.checkout.repository.UserRepository;
+import com.elmenus.order.basket.checkout.util.FixedPoint;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Shared benchmark state that boots the application against its embedded H2 database and seeds one
+ * {@link Item} per basket line. Every {@link Item} is priced so that a basket holding one unit of each
+ * stays within the allowed checkout cost regardless of the number of lines
+ */
+@State(Scope.Benchmark)
+public class BenchmarkContext {
+    // region field values
+    private static final long BASKET_TOTAL_COST = FixedPoint.money(500);
+    // Large enough for a whole iteration
+    private static final long ITEM_STOCK = FixedPoint.quantity(10_000_000);
+    private static final String ITEM_NAME = "Item %s";
+    private static final String REPLENISH_STOCK_QUERY = "UPDATE item SET quantity = ?";
+    // endregion
+
+    /**
+     * The number of lines, i.e. distinct {@link Item}s, in every basket
+     */
+    @Param({"1", "10", "100", "1000"})
+    int lines;
+
+    ConfigurableApplicationContext applicationContext;
+    JdbcTemplate jdbcTemplate;
+    User user;
+    List<Item> items;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        applicationContext = new SpringApplicationBuilder(OrderBasketCheckoutApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--webclientexample.postsapi.h2-console-port=0",
+                        "--logging.level.root=WARN",
+                        "--logging.level.org.springframework.web=WARN");
+        jdbcTemplate = applicationContext.getBean(JdbcTemplate.class);
+
+        user = applicationContext.getBean(UserRepository.class)
+                .save(new User(null, "Bench", "Mark", "benchmark", "benchmark@example.org"));
+
+        long price = BASKET_TOTAL_COST / lines;
+        List<Item> newItems = new ArrayList<>(lines);
+        for (int i = 0; i < lines; i++) {
+            newItems.add(new Item(null, String.format(ITEM_NAME, i), price, ITEM_STOCK, 0L, null));
+        }
+        items = new ArrayList<>(lines);
+        applicationContext.getBean(ItemRepository.class).saveAll(newItems).forEach(items::add);
+    }
+
+    /**
+     * Restores the stock of all {@link Item}s, so that no iteration runs out of it
+     */
+    @Setup(Level.Iteration)
+    public void replenishStock() {
+        jdbcTemplate.update(REPLENISH_STOCK_QUERY, ITEM_STOCK);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        applicationContext.close();
+    }
+
+    <T> T getBean(Class<T> type) {
+        return applicationContext.getBean(type);
+    }
+}
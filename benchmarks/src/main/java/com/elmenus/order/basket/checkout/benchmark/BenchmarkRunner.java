@@ -0,0 +1,97 @@
+package com.elmenus.order.basket.checkout.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs the benchmarks once per thread count and writes the results of each run as JMH JSON to
+ * {@code <results directory>/results-t<threads>.json}.
+ * If a baseline directory holding the results of an earlier run is given, every score is compared against its
+ * baseline and the process exits with a non-zero status if any benchmark got slower than the tolerance allows.
+ * <p>
+ * Arguments: {@code <include regex> <comma separated thread counts> <results directory> [baseline directory]
+ * [tolerance]}
+ */
+public class BenchmarkRunner {
+    // region field values
+    private static final String RESULTS_FILE = "results-t%s.json";
+    private static final double DEFAULT_TOLERANCE = 0.2;
+    // endregion
+
+    public static void main(String[] args) throws RunnerException, IOException {
+        String include = args[0];
+        String[] threadCounts = args[1].split(",");
+        File resultsDirectory = new File(args[2]);
+        File baselineDirectory = args.length > 3 && !args[3].isBlank() ? new File(args[3]) : null;
+        double tolerance = args.length > 4 ? Double.parseDouble(args[4]) : DEFAULT_TOLERANCE;
+
+        resultsDirectory.mkdirs();
+        List<String> regressions = new ArrayList<>();
+        for (String threadCount : threadCounts) {
+            String resultsFile = String.format(RESULTS_FILE, threadCount.trim());
+            Options options = new OptionsBuilder()
+                    .include(include)
+                    .threads(Integer.parseInt(threadCount.trim()))
+                    .resultFormat(ResultFormatType.JSON)
+                    .result(new File(resultsDirectory, resultsFile).getPath())
+                    .build();
+            new Runner(options).run();
+
+            if (baselineDirectory != null && new File(baselineDirectory, resultsFile).exists()) {
+                regressions.addAll(compare(new File(baselineDirectory, resultsFile),
+                        new File(resultsDirectory, resultsFile), tolerance));
+            }
+        }
+
+        if (!regressions.isEmpty()) {
+            regressions.forEach(System.err::println);
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Compares the average time scores of two JMH JSON result files
+     *
+     * @param baselineFile The results to compare against
+     * @param resultsFile  The results of the current run
+     * @param tolerance    The allowed slowdown as a fraction of the baseline score
+     * @return The descriptions of the benchmarks that got slower than allowed
+     */
+    static List<String> compare(File baselineFile, File resultsFile, double tolerance) throws IOException {
+        Map<String, Double> baseline = readScores(baselineFile);
+        Map<String, Double> results = readScores(resultsFile);
+
+        List<String> regressions = new ArrayList<>();
+        for (Map.Entry<String, Double> result : results.entrySet()) {
+            Double baselineScore = baseline.get(result.getKey());
+            if (baselineScore != null && result.getValue() > baselineScore * (1 + tolerance)) {
+                regressions.add(String.format("Regression in %s: %.3f vs. baseline %.3f", result.getKey(),
+                        result.getValue(), baselineScore));
+            }
+        }
+
+        return regressions;
+    }
+
+    private static Map<String, Double> readScores(File file) throws IOException {
+        Map<String, Double> scores = new HashMap<>();
+        for (JsonNode run : new ObjectMapper().readTree(file)) {
+            String key = run.get("benchmark").asText() + run.path("params") + " threads=" + run.get("threads").asInt();
+            scores.put(key, run.get("primaryMetric").get("score").asDouble());
+        }
+
+        return scores;
+    }
+}
@@ -0,0 +1,61 @@
+package com.elmenus.order.basket.checkout.benchmark;
+
+import com.elmenus.order.basket.checkout.service.impl.BasketsService;
+import com.elmenus.order.basket.checkout.service.impl.ItemsService;
+import com.elmenus.order.basket.checkout.util.FixedPoint;
+import com.elmenus.order.basket.checkout.validation.BasketCheckoutValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the checkout hot path, i.e. basket validation, stock deduction and the whole checkout
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CheckoutBenchmark {
+    private BasketCheckoutValidator basketCheckoutValidator;
+    private ItemsService itemsService;
+    private BasketsService basketsService;
+
+    @Setup(Level.Trial)
+    public void setUp(BenchmarkContext context) {
+        basketCheckoutValidator = context.getBean(BasketCheckoutValidator.class);
+        itemsService = context.getBean(ItemsService.class);
+        basketsService = context.getBean(BasketsService.class);
+    }
+
+    @Benchmark
+    public BasketCheckoutValidator.BasketCheckoutInfo validateBasketBeforeCheckout(BenchmarkBasket basket) {
+        return basketCheckoutValidator.validateBasketBeforeCheckout(basket.basketId);
+    }
+
+    @Benchmark
+    public void decreaseQuantity(BenchmarkBasket basket) {
+        itemsService.decreaseQuantity(basket.nextItemId(), FixedPoint.quantity(1));
+    }
+
+    /**
+     * Checks out the whole {@link com.elmenus.order.basket.checkout.model.Basket}. Resetting it is part of the
+     * measured time, as it is a single update that is negligible next to the checkout itself
+     */
+    @Benchmark
+    public void checkout(BenchmarkBasket basket) {
+        basket.reset();
+        basketsService.checkout(basket.basketId);
+    }
+}
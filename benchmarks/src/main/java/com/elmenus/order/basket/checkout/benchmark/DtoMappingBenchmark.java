@@ -0,0 +1,88 @@
+package com.elmenus.order.basket.checkout.benchmark;
+
+import com.elmenus.order.basket.checkout.dto.ItemDto;
+import com.elmenus.order.basket.checkout.dto.UserDto;
+import com.elmenus.order.basket.checkout.mapper.ItemMapper;
+import com.elmenus.order.basket.checkout.mapper.UserMapper;
+import com.elmenus.order.basket.checkout.model.Item;
+import com.elmenus.order.basket.checkout.model.User;
+import com.elmenus.order.basket.checkout.util.FixedPoint;
+import org.modelmapper.ModelMapper;
+import org.modelmapper.PropertyMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the per call cost of mapping DTOs to entities with the static mappers against the reflective
+ * {@link ModelMapper} that the services used before, configured the same way
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DtoMappingBenchmark {
+    // region field values
+    private static final ItemDto ITEM_DTO = new ItemDto("Cheese", FixedPoint.money(10), FixedPoint.quantity(100));
+    private static final UserDto USER_DTO = new UserDto("John", "Smith", "jsmith", "smith@example.org");
+    // endregion
+
+    private ModelMapper modelMapper;
+    private Item item;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        modelMapper = new ModelMapper();
+        modelMapper.addMappings(new PropertyMap<UserDto, User>() {
+            @Override
+            protected void configure() {
+                skip(destination.getId());
+            }
+        });
+        item = new Item(1, "Milk", FixedPoint.money(5), FixedPoint.quantity(50), 0L, null);
+    }
+
+    @Benchmark
+    public Item itemWithModelMapper() {
+        return modelMapper.map(ITEM_DTO, Item.class);
+    }
+
+    @Benchmark
+    public Item itemWithMapper() {
+        return ItemMapper.toItem(ITEM_DTO);
+    }
+
+    @Benchmark
+    public Item updateItemWithModelMapper() {
+        modelMapper.map(ITEM_DTO, item);
+        return item;
+    }
+
+    @Benchmark
+    public Item updateItemWithMapper() {
+        ItemMapper.updateItem(ITEM_DTO, item);
+        return item;
+    }
+
+    @Benchmark
+    public User userWithModelMapper() {
+        return modelMapper.map(USER_DTO, User.class);
+    }
+
+    @Benchmark
+    public User userWithMapper() {
+        return UserMapper.toUser(USER_DTO);
+    }
+}
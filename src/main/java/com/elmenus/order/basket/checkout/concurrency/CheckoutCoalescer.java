@@ -0,0 +1,80 @@
+package com.elmenus.order.basket.checkout.concurrency;
+
+import com.elmenus.order.basket.checkout.constants.Messages;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Coalesces concurrent checkouts of the same basket within this instance of the application. The first caller for a
+ * basket registers its result as in flight and runs the checkout, and any caller that arrives meanwhile waits for
+ * that result and shares it, i.e. succeeds or fails with the same error, instead of running the checkout again.
+ * Checkouts of different baskets never wait for each other. Only the baskets being checked out are tracked, so
+ * their number is bounded by the concurrent checkouts.
+ * Callers that shared the result of another one are counted as the {@code checkout.coalesced} metric
+ */
+@Component
+@Slf4j
+public class CheckoutCoalescer {
+    private static final String COALESCED_METRIC = "checkout.coalesced";
+
+    private final ConcurrentMap<Integer, CompletableFuture<Void>> inFlight = new ConcurrentHashMap<>();
+    private final Counter coalesced;
+
+    public CheckoutCoalescer(MeterRegistry meterRegistry) {
+        this.coalesced = Counter.builder(COALESCED_METRIC)
+                .description("Checkouts that shared the result of a concurrent checkout of the same basket")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs the checkout of a basket, unless a checkout of the same basket is already in progress, in which case its
+     * result is awaited and shared
+     *
+     * @param basketId The ID of the basket
+     * @param checkout The checkout to be run
+     */
+    public void execute(@NonNull Integer basketId, @NonNull Runnable checkout) {
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        CompletableFuture<Void> inFlightResult = inFlight.putIfAbsent(basketId, result);
+        if (inFlightResult != null) {
+            coalesced.increment();
+            log.info(String.format(Messages.CHECKOUT_COALESCED_MESSAGE, basketId));
+            await(inFlightResult);
+            return;
+        }
+
+        try {
+            checkout.run();
+            result.complete(null);
+        } catch (Throwable exception) {
+            result.completeExceptionally(exception);
+            throw exception;
+        } finally {
+            inFlight.remove(basketId, result);
+        }
+    }
+
+    /**
+     * Waits for the result of another caller, and fails with the same error if it failed
+     *
+     * @param result The result of the other caller
+     */
+    private void await(CompletableFuture<Void> result) {
+        try {
+            result.join();
+        } catch (CompletionException exception) {
+            if (exception.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) exception.getCause();
+            }
+            throw exception;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.elmenus.order.basket.checkout.concurrency;
+
+import com.elmenus.order.basket.checkout.constants.Messages;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Supplier;
+
+/**
+ * Runs an operation in a transaction of its own, and runs it again in a new transaction if it fails because an
+ * entity it changed was changed concurrently, i.e. on an optimistic lock conflict. Every attempt reads the entities
+ * afresh, so a retry either succeeds on the new state or fails on it like any other request.
+ * The number of attempts is bounded, so a hot entity cannot keep a request retrying forever.
+ * Conflicts, retries and requests that ran out of attempts are counted as the {@code checkout.optimistic-lock.*}
+ * metrics
+ */
+@Component
+@Slf4j
+public class OptimisticRetryTemplate {
+    private static final String CONFLICTS_METRIC = "checkout.optimistic-lock.conflicts";
+    private static final String RETRIES_METRIC = "checkout.optimistic-lock.retries";
+    private static final String EXHAUSTED_METRIC = "checkout.optimistic-lock.exhausted";
+
+    private final TransactionTemplate transactionTemplate;
+    private final int maxAttempts;
+    private final Counter conflicts;
+    private final Counter retries;
+    private final Counter exhausted;
+
+    public OptimisticRetryTemplate(PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                                   @Value("${checkout.optimistic-lock.max-attempts}") int maxAttempts) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxAttempts = maxAttempts;
+        this.conflicts = Counter.builder(CONFLICTS_METRIC)
+                .description("Optimistic lock conflicts, i.e. entities that were changed concurrently")
+                .register(meterRegistry);
+        this.retries = Counter.builder(RETRIES_METRIC)
+                .description("Operations that were run again after an optimistic lock conflict")
+                .register(meterRegistry);
+        this.exhausted = Counter.builder(EXHAUSTED_METRIC)
+                .description("Operations that failed after running out of attempts on optimistic lock conflicts")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs an operation in a new transaction, retrying it on optimistic lock conflicts
+     *
+     * @param operation The operation to be run
+     */
+    public void execute(@NonNull Runnable operation) {
+        execute(() -> {
+            operation.run();
+            return null;
+        });
+    }
+
+    /**
+     * Runs an operation that has a result in a new transaction, retrying it on optimistic lock conflicts
+     *
+     * @param operation The operation to be run
+     * @param <T>       The type of the result
+     * @return The result of the attempt that succeeded
+     */
+    public <T> T execute(@NonNull Supplier<T> operation) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> operation.get());
+            } catch (OptimisticLockingFailureException exception) {
+                conflicts.increment();
+                if (attempt >= maxAttempts) {
+                    exhausted.increment();
+                    log.warn(String.format(Messages.OPTIMISTIC_LOCK_ATTEMPTS_EXHAUSTED_MESSAGE, attempt));
+                    throw exception;
+                }
+                retries.increment();
+                log.info(String.format(Messages.OPTIMISTIC_LOCK_RETRY_MESSAGE, attempt));
+            }
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.elmenus.order.basket.checkout.config;
+
+import com.elmenus.order.basket.checkout.model.CheckoutStatus;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the store of {@link CheckoutStatus}es of asynchronous checkouts. It is bounded both in size and
+ * in age, so the status of a checkout can only be polled for a limited time after it was submitted
+ */
+@Configuration
+public class AsyncCheckoutConfig {
+    @Value("${checkout.async.maximum-size}")
+    private long maximumSize;
+
+    @Value("${checkout.async.expire-after-write}")
+    private Duration expireAfterWrite;
+
+    @Bean
+    public Cache<String, CheckoutStatus> checkoutStatusCache() {
+        return Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .build();
+    }
+}
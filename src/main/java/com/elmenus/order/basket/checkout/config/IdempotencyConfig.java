@@ -0,0 +1,39 @@
+package com.elmenus.order.basket.checkout.config;
+
+import com.elmenus.order.basket.checkout.idempotency.IdempotencyStore;
+import com.elmenus.order.basket.checkout.idempotency.InMemoryIdempotencyStore;
+import com.elmenus.order.basket.checkout.idempotency.JdbcIdempotencyStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the {@link IdempotencyStore}, which is kept in memory unless
+ * {@code checkout.idempotency.store} is set to {@code jdbc}
+ */
+@Configuration
+@EnableScheduling
+public class IdempotencyConfig {
+    private static final String STORE_PROPERTY = "checkout.idempotency.store";
+
+    @Value("${checkout.idempotency.time-to-live}")
+    private Duration timeToLive;
+
+    @Bean
+    @ConditionalOnProperty(name = STORE_PROPERTY, havingValue = "memory", matchIfMissing = true)
+    public IdempotencyStore inMemoryIdempotencyStore(@Value("${checkout.idempotency.maximum-size}") long maximumSize) {
+        return new InMemoryIdempotencyStore(InMemoryIdempotencyStore.cacheBuilder(maximumSize, timeToLive).build());
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = STORE_PROPERTY, havingValue = "jdbc")
+    public IdempotencyStore jdbcIdempotencyStore(JdbcTemplate jdbcTemplate,
+                                                 @Value("${checkout.idempotency.in-progress-lease}") Duration inProgressLease) {
+        return new JdbcIdempotencyStore(jdbcTemplate, timeToLive, inProgressLease);
+    }
+}
@@ -0,0 +1,41 @@
+package com.elmenus.order.basket.checkout.config;
+
+import com.elmenus.order.basket.checkout.inventory.InMemoryInventoryEngine;
+import com.elmenus.order.basket.checkout.inventory.InventoryEngine;
+import com.elmenus.order.basket.checkout.inventory.InventoryWriteAheadLog;
+import com.elmenus.order.basket.checkout.inventory.JdbcInventoryEngine;
+import com.elmenus.order.basket.checkout.service.impl.ItemsService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+
+/**
+ * Configuration of the {@link InventoryEngine}, which keeps the stock in the database unless
+ * {@code checkout.inventory.engine} is set to {@code memory}
+ */
+@Configuration
+public class InventoryConfig {
+    private static final String ENGINE_PROPERTY = "checkout.inventory.engine";
+
+    @Bean
+    @ConditionalOnProperty(name = ENGINE_PROPERTY, havingValue = "jdbc", matchIfMissing = true)
+    public InventoryEngine jdbcInventoryEngine(ItemsService itemsService) {
+        return new JdbcInventoryEngine(itemsService);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = ENGINE_PROPERTY, havingValue = "memory")
+    public InventoryEngine inMemoryInventoryEngine(JdbcTemplate jdbcTemplate,
+                                                   PlatformTransactionManager transactionManager,
+                                                   ItemsService itemsService,
+                                                   @Value("${checkout.inventory.memory.log-directory}") Path logDirectory) {
+        return new InMemoryInventoryEngine(jdbcTemplate, new TransactionTemplate(transactionManager), itemsService,
+                new InventoryWriteAheadLog(logDirectory));
+    }
+}
@@ -0,0 +1,42 @@
+package com.elmenus.order.basket.checkout.config;
+
+import com.elmenus.order.basket.checkout.model.ItemInfo;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the in-process cache of {@link ItemInfo}s. The cache is bounded both in size and in age, so an
+ * {@link ItemInfo} that was changed without going through the service is stale for a limited time only
+ */
+@Configuration
+public class ItemCacheConfig {
+    private static final String CACHE_NAME = "items";
+
+    @Value("${checkout.item-cache.maximum-size}")
+    private long maximumSize;
+
+    @Value("${checkout.item-cache.expire-after-write}")
+    private Duration expireAfterWrite;
+
+    /**
+     * The hits, misses and evictions of the cache are published as the {@code cache.*} metrics tagged with
+     * {@code cache=}{@value #CACHE_NAME}
+     */
+    @Bean
+    public Cache<Integer, ItemInfo> itemInfoCache(MeterRegistry meterRegistry) {
+        Cache<Integer, ItemInfo> itemInfoCache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+
+        return CaffeineCacheMetrics.monitor(meterRegistry, itemInfoCache, CACHE_NAME);
+    }
+}
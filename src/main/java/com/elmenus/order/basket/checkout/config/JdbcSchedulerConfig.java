@@ -0,0 +1,62 @@
+package com.elmenus.order.basket.checkout.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Configuration of the {@link Scheduler} on which blocking JDBC work is executed, so that it never runs on the
+ * event loop threads. The scheduler has as many threads as the connection pool has connections, and a bounded
+ * queue, so excess work is rejected instead of piling up
+ */
+@Configuration
+@Slf4j
+public class JdbcSchedulerConfig {
+    private static final String THREAD_NAME_PREFIX = "jdbc-";
+    private static final String QUEUE_DEPTH_METRIC = "checkout.scheduler.queue.depth";
+    private static final String REJECTED_TASKS_METRIC = "checkout.scheduler.rejected";
+    private static final String ACTIVE_THREADS_METRIC = "checkout.scheduler.active";
+
+    @Value("${spring.datasource.hikari.maximum-pool-size}")
+    private int poolSize;
+
+    @Value("${checkout.scheduler.queue-capacity}")
+    private int queueCapacity;
+
+    @Bean(destroyMethod = "dispose")
+    public Scheduler jdbcScheduler(MeterRegistry meterRegistry) {
+        BlockingQueue<Runnable> queue = new ArrayBlockingQueue<>(queueCapacity);
+        Counter rejectedTasks = Counter.builder(REJECTED_TASKS_METRIC)
+                .description("Tasks rejected by the JDBC scheduler because its queue is full")
+                .register(meterRegistry);
+
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS, queue,
+                new CustomizableThreadFactory(THREAD_NAME_PREFIX), (task, rejectingExecutor) -> {
+            rejectedTasks.increment();
+            log.warn("JDBC scheduler queue is full, rejecting task");
+            throw new RejectedExecutionException("JDBC scheduler queue is full");
+        });
+
+        Gauge.builder(QUEUE_DEPTH_METRIC, queue, BlockingQueue::size)
+                .description("Tasks waiting in the JDBC scheduler queue")
+                .register(meterRegistry);
+        Gauge.builder(ACTIVE_THREADS_METRIC, executor, ThreadPoolExecutor::getActiveCount)
+                .description("JDBC scheduler threads currently executing tasks")
+                .register(meterRegistry);
+
+        return Schedulers.fromExecutorService(executor, THREAD_NAME_PREFIX);
+    }
+}
@@ -0,0 +1,57 @@
+package com.elmenus.order.basket.checkout.config;
+
+import com.elmenus.order.basket.checkout.repository.reactive.ReactiveItemRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.r2dbc.config.AbstractR2dbcConfiguration;
+import org.springframework.data.r2dbc.repository.config.EnableR2dbcRepositories;
+
+/**
+ * Configuration of the reactive R2DBC persistence layer, which is only enabled by the {@value #R2DBC_PROFILE}
+ * profile. It connects to the same database as JPA, so both layers see the same data
+ */
+@Configuration
+@Profile(R2dbcConfig.R2DBC_PROFILE)
+@EnableR2dbcRepositories(basePackageClasses = ReactiveItemRepository.class)
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class R2dbcConfig extends AbstractR2dbcConfiguration {
+    public static final String R2DBC_PROFILE = "r2dbc";
+
+    @Value("${checkout.r2dbc.url}")
+    private String url;
+
+    @Value("${spring.datasource.username}")
+    private String username;
+
+    @Value("${spring.datasource.password}")
+    private String password;
+
+    @Bean
+    @Override
+    public ConnectionFactory connectionFactory() {
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build();
+        return ConnectionFactories.get(options);
+    }
+
+    /**
+     * Spring Boot backs off from creating the JDBC {@link javax.sql.DataSource} once a {@link ConnectionFactory}
+     * exists, so it is declared here the same way the auto-configuration does, to keep the JPA layer working
+     */
+    @Bean
+    @ConfigurationProperties(prefix = "spring.datasource.hikari")
+    public HikariDataSource dataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+}
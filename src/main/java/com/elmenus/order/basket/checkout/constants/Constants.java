@@ -17,10 +17,27 @@ public class Constants {
     public final String ID_FIELD = "id";
     public final String NAME_FIELD = "name";
     public final String FIRSTNAME_FIELD = "firstname";
+    public final String BASKET_ITEM_CONSTRAINT = "uk_basket_content_basket_item";
     // endregion
 
     // region parameter names
     public final String ID_PARAMETER = "id";
     public final String BASKET_ID_PARAMETER = "basketId";
+    public final String AFTER_PARAMETER = "after";
+    public final String LIMIT_PARAMETER = "limit";
+    public final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public final String CHECKOUT_ID_PARAMETER = "checkoutId";
+    // endregion
+
+    // region asynchronous requests, see RFC 7240
+    public final String PREFER_HEADER = "Prefer";
+    public final String PREFERENCE_APPLIED_HEADER = "Preference-Applied";
+    public final String RESPOND_ASYNC_PREFERENCE = "respond-async";
+    // endregion
+
+    // region pagination
+    public final String DEFAULT_PAGE_LIMIT = "100";
+    public final int MAX_PAGE_LIMIT = 1000;
+    public final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
     // endregion
 }
@@ -16,16 +16,36 @@ public class Messages {
     public final String BASKET_UPDATED_MESSAGE = "Basket updated successfully";
     public final String BASKET_DELETED_MESSAGE = "Basket deleted successfully";
     public final String BASKET_CHECKED_OUT_MESSAGE = "Basket checked out successfully";
+    public final String BASKET_TOTALS_REFRESHED_MESSAGE = "Running totals of basket with ID %s have been computed from its contents";
     public final String BASKET_CONTENT_VALIDATED_MESSAGE = "Basket contents have been validated successfully";
 
     public final String ITEM_CREATED_MESSAGE = "Item created successfully";
     public final String ITEM_UPDATED_MESSAGE = "Item updated successfully";
     public final String ITEM_DELETED_MESSAGE = "Item deleted successfully";
     public final String ITEM_QUANTITY_UPDATED_MESSAGE = "Item quantity updated successfully";
+    public final String ITEM_QUANTITY_RESERVED_MESSAGE = "Item quantity reserved successfully";
+    public final String ITEM_QUANTITY_RELEASED_MESSAGE = "Item quantity released successfully";
+    public final String ITEMS_IMPORTED_MESSAGE = "Imported %s new items and %s changed items";
 
     public final String BASKET_CONTENT_CREATED_MESSAGE = "Basket content created successfully";
+    public final String BASKET_CONTENTS_CREATED_MESSAGE = "%s basket contents created and %s increased in basket with ID %s";
+    public final String BASKET_CONTENT_QUANTITY_INCREASED_MESSAGE = "Quantity of basket content with ID %s increased successfully";
     public final String BASKET_CONTENT_UPDATED_MESSAGE = "Basket content updated successfully";
     public final String BASKET_CONTENT_DELETED_MESSAGE = "Basket content deleted successfully";
+
+    public final String PAYMENT_SUCCEEDED_MESSAGE = "Payment of basket with ID %s succeeded";
+    public final String PAYMENT_VOIDED_MESSAGE = "Payment of basket with ID %s voided";
+    public final String CHECKOUT_CANCELLED_MESSAGE = "Checkout of basket with ID %s is cancelled and its stock is released";
+    public final String RESERVATION_EXPIRED_MESSAGE = "Reservations of basket with ID %s expired and are released";
+    public final String CHECKOUT_SUBMITTED_MESSAGE = "Checkout of basket with ID %s has been submitted";
+    public final String CHECKOUT_RESUBMITTED_MESSAGE = "Checkout of basket with ID %s has been submitted already as %s";
+    public final String CHECKOUT_COALESCED_MESSAGE = "Basket with ID %s is being checked out already, sharing its result";
+    public final String OPTIMISTIC_LOCK_RETRY_MESSAGE = "Attempt %s conflicted with a concurrent change, retrying";
+    public final String OPTIMISTIC_LOCK_ATTEMPTS_EXHAUSTED_MESSAGE = "All %s attempts conflicted with concurrent changes";
+    public final String INVENTORY_FLUSHED_MESSAGE = "Stock deductions of %s items written to database";
+    public final String INVENTORY_RECOVERED_MESSAGE = "Stock deductions of %s items recovered from the write-ahead log";
+    public final String IDEMPOTENCY_KEY_TAKEN_OVER_MESSAGE = "Lease of idempotency key %s ran out while in progress, taking it over";
+    public final String IDEMPOTENT_REQUEST_REPLAYED_MESSAGE = "Outcome of an earlier request with the same idempotency key is returned";
     // endregion
 
     // region error messages for user
@@ -35,6 +55,7 @@ public class Messages {
     public final String EMAIL_BLANK_ERROR = "eMail is not provided";
     public final String EMAIL_INVALID_ERROR = "eMail is invalid";
     public final String ID_NULL_ERROR = "id is not provided";
+    public final String PAGE_LIMIT_INVALID_ERROR = "Limit should be between 1 and %s";
 
     public final String USER_NOT_FOUND_ERROR = "User with ID %s is not found";
     public final String USER_NULL_ERROR = "User is not provided";
@@ -47,10 +68,27 @@ public class Messages {
 
     public final String BASKET_CONTENT_NOT_FOUND_ERROR = "Basket content with ID %s is not found";
     public final String BASKET_CONTENT_NULL_ERROR = "Basket content is not provided";
+    public final String BASKET_CONTENT_ITEM_EXISTS_ERROR = "Basket with ID %s already has a content with item with ID %s";
+    public final String CONCURRENT_UPDATE_ERROR = "The entity has been changed concurrently, please try again";
     public final String FIELD_VALUE_INVALID_ERROR = "Value %s is invalid for field %s";
 
     public final String LOW_MONEY_VALUE_ERROR = "Money value below 100";
     public final String HIGH_MONEY_VALUE_ERROR = "Fraud user, money value above 1500";
+    public final String PAYMENT_DECLINED_ERROR = "Payment of basket with ID %s is declined";
+    public final String PAYMENT_TIMEOUT_ERROR = "Payment did not complete within %s ms, please try again later";
+    public final String PAYMENT_BULKHEAD_FULL_ERROR = "Too many payments are in progress, please try again later";
+    public final String PAYMENT_MAX_CONCURRENT_ERROR = "At most %s payments in progress must be fewer than the %s JDBC scheduler threads";
+    public final String PAYMENT_OUTCOME_UNKNOWN_ERROR = "Payment of basket with ID %s could not be confirmed or voided, the basket stays checked out until it is voided";
+    public final String PAYMENT_CIRCUIT_OPEN_ERROR = "Payments are failing at the moment, please try again later";
+    public final String INVENTORY_FLUSH_ERROR = "Failed to write stock deductions to database, retrying on the next flush";
+    public final String INVENTORY_LOG_ERROR = "Failed to access the inventory write-ahead log at %s";
+    public final String RESERVATION_TIME_TO_LIVE_ERROR = "Reservation time to live %s must be longer than the payment timeout %s";
+    public final String RESERVATION_EXPIRED_ERROR = "Reservations of basket with ID %s have expired";
+    public final String CHECKOUT_NOT_FOUND_ERROR = "Checkout with ID %s is not found";
+    public final String CHECKOUT_ERROR = "Checkout of basket with ID %s failed with an error";
+    public final String CHECKOUT_REJECTED_ERROR = "Too many checkouts are in progress, please try again later";
+    public final String IDEMPOTENCY_KEY_INVALID_ERROR = "Idempotency key should have between 1 and %s characters";
+    public final String IDEMPOTENT_REQUEST_IN_PROGRESS_ERROR = "A request with the same idempotency key is still in progress";
     // endregion
 
     // region error messages for items
@@ -60,5 +98,6 @@ public class Messages {
     public final String INSUFFICIENT_ITEM_QUANTITY_ERROR = "Insufficient quantity of %s";
     public final String PRICE_NEGATIVE_ERROR = "Price should be greater than 0";
     public final String QUANTITY_NEGATIVE_ERROR = "Quantity should be greater than 0";
+    public final String ITEM_IMPORT_BATCH_ERROR = "Failed to import a batch of %s items: %s";
     // endregion
 }
@@ -10,16 +10,21 @@ public class SwaggerDocumentation {
     // region swagger documentation for baskets
     public final String BASKETS_CONTROLLER_SUMMARY = "Controller for handling baskets";
     public final String GET_ALL_BASKETS_SUMMARY = "Get all baskets";
+    public final String STREAM_BASKETS_SUMMARY = "Stream all baskets one at a time";
     public final String GET_BASKET_SUMMARY = "Get basket by ID";
+    public final String GET_BASKET_TOTALS_SUMMARY = "Get the running totals of basket contents by basket ID";
     public final String ADD_BASKET_SUMMARY = "Add a new basket";
+    public final String ADD_BASKET_CONTENTS_IN_BULK_SUMMARY = "Add many contents to a basket by basket ID at once";
     public final String UPDATE_BASKET_SUMMARY = "Update basket by ID";
     public final String DELETE_BASKET_SUMMARY = "Delete basket by ID";
-    public final String CHECKOUT_BASKET_SUMMARY = "Checkout basket contents";
+    public final String CHECKOUT_BASKET_SUMMARY = "Checkout basket contents, asynchronously with Prefer: respond-async";
+    public final String GET_CHECKOUT_STATUS_SUMMARY = "Get the status of an asynchronous checkout by ID";
     // endregion
 
     // region swagger documentation for users
     public final String USERS_CONTROLLER_SUMMARY = "Controller for handling users";
     public final String GET_ALL_USERS_SUMMARY = "Get all users";
+    public final String STREAM_USERS_SUMMARY = "Stream all users one at a time";
     public final String GET_USER_SUMMARY = "Get user by ID";
     public final String ADD_USER_SUMMARY = "Add a new user";
     public final String UPDATE_USER_SUMMARY = "Update user by ID";
@@ -29,8 +34,10 @@ public class SwaggerDocumentation {
     // region swagger documentation for items
     public final String ITEMS_CONTROLLER_SUMMARY = "Controller for handling items";
     public final String GET_ALL_ITEMS_SUMMARY = "Get all items";
+    public final String STREAM_ITEMS_SUMMARY = "Stream all items one at a time";
     public final String GET_ITEM_SUMMARY = "Get item by ID";
     public final String ADD_ITEM_SUMMARY = "Add a new item";
+    public final String IMPORT_ITEMS_SUMMARY = "Add or update items in bulk from a JSON array or NDJSON stream";
     public final String UPDATE_ITEM_SUMMARY = "Update item by ID";
     public final String DELETE_ITEM_SUMMARY = "Delete item by ID";
     // endregion
@@ -38,6 +45,7 @@ public class SwaggerDocumentation {
     // region swagger documentation for baskets
     public final String BASKET_CONTENTS_CONTROLLER_SUMMARY = "Controller for handling basket contents";
     public final String GET_ALL_BASKET_CONTENTS_SUMMARY = "Get all basket contents";
+    public final String STREAM_BASKET_CONTENTS_SUMMARY = "Stream all basket contents one at a time";
     public final String GET_BASKET_CONTENTS_SUMMARY = "Get basket contents by ID";
     public final String ADD_BASKET_CONTENTS_SUMMARY = "Add a new basket content";
     public final String UPDATE_BASKET_CONTENTS_SUMMARY = "Update basket content by ID";
@@ -47,6 +55,11 @@ public class SwaggerDocumentation {
     // region HTTP status codes
     public final String HTTP_OK = "200";
     public final String HTTP_CREATED = "201";
+    public final String HTTP_ACCEPTED = "202";
+    public final String HTTP_BAD_REQUEST = "400";
+    public final String HTTP_PAYMENT_REQUIRED = "402";
     public final String HTTP_NOT_FOUND = "404";
+    public final String HTTP_CONFLICT = "409";
+    public final String HTTP_SERVICE_UNAVAILABLE = "503";
     // endregion
 }
@@ -5,7 +5,10 @@ import com.elmenus.order.basket.checkout.constants.SwaggerDocumentation;
 import com.elmenus.order.basket.checkout.dto.BasketContentDto;
 import com.elmenus.order.basket.checkout.model.BasketContent;
 import com.elmenus.order.basket.checkout.service.impl.BasketContentsService;
+import com.elmenus.order.basket.checkout.util.JsonStreams;
+import com.elmenus.order.basket.checkout.util.KeysetPages;
 import com.elmenus.order.basket.checkout.validation.BasketContentsValidator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -15,14 +18,17 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.WebDataBinder;
 import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 
 import java.net.URI;
 import java.util.List;
@@ -37,9 +43,12 @@ import java.util.List;
 public class BasketContentsController {
     //region REST path
     public static final String PATH = "basket-contents";
+    public static final String STREAM_PATH = "stream";
     //endregion
 
     private final BasketContentsService basketContentsService;
+    private final Scheduler jdbcScheduler;
+    private final ObjectMapper objectMapper;
     private final BasketContentsValidator basketContentsValidator;
 
     @InitBinder
@@ -47,14 +56,36 @@ public class BasketContentsController {
         binder.setValidator(basketContentsValidator);
     }
 
-    @SneakyThrows
     @Operation(summary = SwaggerDocumentation.GET_ALL_BASKET_CONTENTS_SUMMARY)
     @ApiResponses(value = {@ApiResponse(responseCode = SwaggerDocumentation.HTTP_OK,
             content = {@Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
-                    schema = @Schema(implementation = BasketContent.class))})})
+                    schema = @Schema(implementation = BasketContent.class))}),
+            @ApiResponse(responseCode = SwaggerDocumentation.HTTP_BAD_REQUEST)})
     @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
-    public Flux<List<BasketContent>> getBaskets() {
-        return Flux.just(basketContentsService.getAll());
+    public Mono<ResponseEntity<List<BasketContent>>> getBaskets(
+            @RequestParam(name = Constants.AFTER_PARAMETER, required = false) Integer after,
+            @RequestParam(name = Constants.LIMIT_PARAMETER, defaultValue = Constants.DEFAULT_PAGE_LIMIT) int limit) {
+        return Mono.fromCallable(() -> KeysetPages.toResponse(basketContentsService.getAll(after, limit), limit, BasketContent::getId))
+                .subscribeOn(jdbcScheduler);
+    }
+
+    @Operation(summary = SwaggerDocumentation.STREAM_BASKET_CONTENTS_SUMMARY)
+    @ApiResponses(value = {@ApiResponse(responseCode = SwaggerDocumentation.HTTP_OK,
+            content = {@Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                    schema = @Schema(implementation = BasketContent.class))})})
+    @GetMapping(value = Constants.SLASH + STREAM_PATH, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<BasketContent> streamBasketContents() {
+        // Requests are served on the JDBC scheduler too, so that reading the cursor never blocks the event loop
+        return basketContentsService.stream().subscribeOn(jdbcScheduler, true);
+    }
+
+    @Operation(summary = SwaggerDocumentation.STREAM_BASKET_CONTENTS_SUMMARY)
+    @ApiResponses(value = {@ApiResponse(responseCode = SwaggerDocumentation.HTTP_OK,
+            content = {@Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                    schema = @Schema(implementation = BasketContent.class))})})
+    @GetMapping(value = Constants.SLASH + STREAM_PATH, produces = MediaType.APPLICATION_JSON_VALUE)
+    public Flux<DataBuffer> streamBasketContentsAsJsonArray(ServerHttpResponse response) {
+        return JsonStreams.toJsonArray(streamBasketContents(), objectMapper, response.bufferFactory());
     }
 
     @SneakyThrows
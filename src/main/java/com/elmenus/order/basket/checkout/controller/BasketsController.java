@@ -2,9 +2,18 @@ package com.elmenus.order.basket.checkout.controller;
 
 import com.elmenus.order.basket.checkout.constants.Constants;
 import com.elmenus.order.basket.checkout.constants.SwaggerDocumentation;
+import com.elmenus.order.basket.checkout.dto.BasketContentDto;
 import com.elmenus.order.basket.checkout.dto.BasketDto;
+import com.elmenus.order.basket.checkout.idempotency.IdempotencyService;
 import com.elmenus.order.basket.checkout.model.Basket;
+import com.elmenus.order.basket.checkout.model.BasketSummary;
+import com.elmenus.order.basket.checkout.model.CheckoutStatus;
+import com.elmenus.order.basket.checkout.service.impl.AsyncCheckoutService;
+import com.elmenus.order.basket.checkout.service.impl.BasketContentsService;
 import com.elmenus.order.basket.checkout.service.impl.BasketsService;
+import com.elmenus.order.basket.checkout.util.JsonStreams;
+import com.elmenus.order.basket.checkout.util.KeysetPages;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -14,13 +23,18 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.util.UriComponentsBuilder;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 
 import java.net.URI;
 import java.util.List;
@@ -36,18 +50,49 @@ public class BasketsController {
     //region REST path
     public static final String PATH = "baskets";
     public static final String CHECKOUT_PATH = "checkout";
+    public static final String STREAM_PATH = "stream";
+    public static final String STATUS_PATH = "status";
+    public static final String SUMMARY_PATH = "summary";
+    public static final String CONTENTS_PATH = "contents";
     //endregion
 
     private final BasketsService basketsService;
+    private final BasketContentsService basketContentsService;
+    private final IdempotencyService idempotencyService;
+    private final AsyncCheckoutService asyncCheckoutService;
+    private final Scheduler jdbcScheduler;
+    private final ObjectMapper objectMapper;
 
-    @SneakyThrows
     @Operation(summary = SwaggerDocumentation.GET_ALL_BASKETS_SUMMARY)
     @ApiResponses(value = {@ApiResponse(responseCode = SwaggerDocumentation.HTTP_OK,
             content = {@Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
-                    schema = @Schema(implementation = Basket.class))})})
+                    schema = @Schema(implementation = Basket.class))}),
+            @ApiResponse(responseCode = SwaggerDocumentation.HTTP_BAD_REQUEST)})
     @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
-    public Flux<List<Basket>> getBaskets() {
-        return Flux.just(basketsService.getAll());
+    public Mono<ResponseEntity<List<Basket>>> getBaskets(
+            @RequestParam(name = Constants.AFTER_PARAMETER, required = false) Integer after,
+            @RequestParam(name = Constants.LIMIT_PARAMETER, defaultValue = Constants.DEFAULT_PAGE_LIMIT) int limit) {
+        return Mono.fromCallable(() -> KeysetPages.toResponse(basketsService.getAll(after, limit), limit, Basket::getId))
+                .subscribeOn(jdbcScheduler);
+    }
+
+    @Operation(summary = SwaggerDocumentation.STREAM_BASKETS_SUMMARY)
+    @ApiResponses(value = {@ApiResponse(responseCode = SwaggerDocumentation.HTTP_OK,
+            content = {@Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                    schema = @Schema(implementation = Basket.class))})})
+    @GetMapping(value = Constants.SLASH + STREAM_PATH, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Basket> streamBaskets() {
+        // Requests are served on the JDBC scheduler too, so that reading the cursor never blocks the event loop
+        return basketsService.stream().subscribeOn(jdbcScheduler, true);
+    }
+
+    @Operation(summary = SwaggerDocumentation.STREAM_BASKETS_SUMMARY)
+    @ApiResponses(value = {@ApiResponse(responseCode = SwaggerDocumentation.HTTP_OK,
+            content = {@Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                    schema = @Schema(implementation = Basket.class))})})
+    @GetMapping(value = Constants.SLASH + STREAM_PATH, produces = MediaType.APPLICATION_JSON_VALUE)
+    public Flux<DataBuffer> streamBasketsAsJsonArray(ServerHttpResponse response) {
+        return JsonStreams.toJsonArray(streamBaskets(), objectMapper, response.bufferFactory());
     }
 
     @SneakyThrows
@@ -60,6 +105,17 @@ public class BasketsController {
         return Mono.just(ResponseEntity.ok(basketsService.get(id)));
     }
 
+    @Operation(summary = SwaggerDocumentation.GET_BASKET_TOTALS_SUMMARY)
+    @ApiResponses(value = {@ApiResponse(responseCode = SwaggerDocumentation.HTTP_OK,
+            content = {@Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                    schema = @Schema(implementation = BasketSummary.class))}),
+            @ApiResponse(responseCode = SwaggerDocumentation.HTTP_NOT_FOUND)})
+    @GetMapping(value = "/{id}" + Constants.SLASH + SUMMARY_PATH, produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<BasketSummary>> getSummary(@PathVariable(name = Constants.ID_PARAMETER) Integer id) {
+        return Mono.fromCallable(() -> ResponseEntity.ok(basketsService.getSummary(id)))
+                .subscribeOn(jdbcScheduler);
+    }
+
     @SneakyThrows
     @Operation(summary = SwaggerDocumentation.ADD_BASKET_SUMMARY)
     @ApiResponses(value = {@ApiResponse(responseCode = SwaggerDocumentation.HTTP_CREATED)})
@@ -70,6 +126,19 @@ public class BasketsController {
         return Mono.just(ResponseEntity.created(URI.create(basketUri)).build());
     }
 
+    @Operation(summary = SwaggerDocumentation.ADD_BASKET_CONTENTS_IN_BULK_SUMMARY)
+    @ApiResponses(value = {@ApiResponse(responseCode = SwaggerDocumentation.HTTP_CREATED),
+            @ApiResponse(responseCode = SwaggerDocumentation.HTTP_BAD_REQUEST),
+            @ApiResponse(responseCode = SwaggerDocumentation.HTTP_NOT_FOUND)})
+    @PostMapping(value = "/{id}" + Constants.SLASH + CONTENTS_PATH, consumes = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<Void>> addContents(@PathVariable(name = Constants.ID_PARAMETER) Integer id,
+                                                  @RequestBody List<BasketContentDto> basketContentDtos) {
+        return Mono.fromCallable(() -> {
+            basketContentsService.addAll(id, basketContentDtos);
+            return ResponseEntity.status(HttpStatus.CREATED).<Void>build();
+        }).subscribeOn(jdbcScheduler);
+    }
+
     @Operation(summary = SwaggerDocumentation.UPDATE_BASKET_SUMMARY)
     @ApiResponses(value = {@ApiResponse(responseCode = SwaggerDocumentation.HTTP_OK),
             @ApiResponse(responseCode = SwaggerDocumentation.HTTP_NOT_FOUND)})
@@ -91,11 +160,61 @@ public class BasketsController {
 
     @Operation(summary = SwaggerDocumentation.CHECKOUT_BASKET_SUMMARY)
     @ApiResponses(value = {@ApiResponse(responseCode = SwaggerDocumentation.HTTP_OK),
-            @ApiResponse(responseCode = SwaggerDocumentation.HTTP_NOT_FOUND)})
+            @ApiResponse(responseCode = SwaggerDocumentation.HTTP_ACCEPTED),
+            @ApiResponse(responseCode = SwaggerDocumentation.HTTP_PAYMENT_REQUIRED),
+            @ApiResponse(responseCode = SwaggerDocumentation.HTTP_NOT_FOUND),
+            @ApiResponse(responseCode = SwaggerDocumentation.HTTP_CONFLICT),
+            @ApiResponse(responseCode = SwaggerDocumentation.HTTP_SERVICE_UNAVAILABLE)})
     @PostMapping(value = CHECKOUT_PATH + "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
-    public Mono<ResponseEntity<Void>> checkout(@PathVariable(name = Constants.ID_PARAMETER) Integer id) {
-        basketsService.checkout(id);
-        return Mono.just(ResponseEntity.ok().build());
+    public Mono<ResponseEntity<Void>> checkout(@PathVariable(name = Constants.ID_PARAMETER) Integer id,
+                                               @RequestHeader(name = Constants.IDEMPOTENCY_KEY_HEADER, required = false)
+                                                       String idempotencyKey,
+                                               @RequestHeader(name = Constants.PREFER_HEADER, required = false)
+                                                       String prefer,
+                                               ServerHttpRequest request) {
+        if (StringUtils.containsIgnoreCase(prefer, Constants.RESPOND_ASYNC_PREFERENCE)) {
+            // Submitting does not block, the checkout itself runs on the JDBC scheduler and its status is polled. A
+            // retry with the same idempotency key is pointed at the status of the first checkout
+            String checkoutId = asyncCheckoutService.submit(id, idempotencyKey, () -> runCheckout(id, idempotencyKey));
+            String statusUri = UriComponentsBuilder.fromUri(request.getURI())
+                    .replacePath(Constants.SLASH + String.join(Constants.SLASH, PATH, CHECKOUT_PATH, STATUS_PATH,
+                            checkoutId))
+                    .replaceQuery(null)
+                    .toUriString();
+            return Mono.just(ResponseEntity.accepted()
+                    .location(URI.create(statusUri))
+                    .header(Constants.PREFERENCE_APPLIED_HEADER, Constants.RESPOND_ASYNC_PREFERENCE)
+                    .build());
+        }
+
+        // Checkout blocks on the database, so it is offloaded from the event loop to the bounded JDBC scheduler
+        return Mono.fromCallable(() -> {
+            runCheckout(id, idempotencyKey);
+            return ResponseEntity.ok().<Void>build();
+        }).subscribeOn(jdbcScheduler);
+    }
+
+    @Operation(summary = SwaggerDocumentation.GET_CHECKOUT_STATUS_SUMMARY)
+    @ApiResponses(value = {@ApiResponse(responseCode = SwaggerDocumentation.HTTP_OK,
+            content = {@Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                    schema = @Schema(implementation = CheckoutStatus.class))}),
+            @ApiResponse(responseCode = SwaggerDocumentation.HTTP_NOT_FOUND)})
+    @GetMapping(value = CHECKOUT_PATH + Constants.SLASH + STATUS_PATH + "/{checkoutId}",
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<CheckoutStatus>> getCheckoutStatus(
+            @PathVariable(name = Constants.CHECKOUT_ID_PARAMETER) String checkoutId) {
+        // Statuses are kept in memory, so they are served directly on the event loop
+        return Mono.fromCallable(() -> ResponseEntity.ok(asyncCheckoutService.getStatus(checkoutId)));
+    }
+
+    private void runCheckout(Integer id, String idempotencyKey) {
+        if (idempotencyKey == null) {
+            basketsService.checkout(id);
+        } else {
+            // A retry with the same key gets the outcome of the first checkout without running it again
+            idempotencyService.execute(CHECKOUT_PATH + Constants.SLASH + id, idempotencyKey,
+                    () -> basketsService.checkout(id));
+        }
     }
 
 }
@@ -3,9 +3,15 @@ package com.elmenus.order.basket.checkout.controller;
 import com.elmenus.order.basket.checkout.constants.Constants;
 import com.elmenus.order.basket.checkout.constants.SwaggerDocumentation;
 import com.elmenus.order.basket.checkout.dto.ItemDto;
+import com.elmenus.order.basket.checkout.dto.ItemImportDto;
 import com.elmenus.order.basket.checkout.model.Item;
+import com.elmenus.order.basket.checkout.model.ItemImportResult;
+import com.elmenus.order.basket.checkout.service.impl.ItemImportService;
 import com.elmenus.order.basket.checkout.service.impl.ItemsService;
+import com.elmenus.order.basket.checkout.util.JsonStreams;
+import com.elmenus.order.basket.checkout.util.KeysetPages;
 import com.elmenus.order.basket.checkout.validation.ItemValidator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -15,14 +21,17 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.WebDataBinder;
 import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 
 import java.net.URI;
 import java.util.List;
@@ -37,9 +46,14 @@ import java.util.List;
 public class ItemsController {
     //region REST path
     public static final String PATH = "items";
+    public static final String STREAM_PATH = "stream";
+    public static final String BULK_PATH = "bulk";
     //endregion
 
     private final ItemsService itemsService;
+    private final ItemImportService itemImportService;
+    private final Scheduler jdbcScheduler;
+    private final ObjectMapper objectMapper;
     private final ItemValidator itemValidator;
 
     @InitBinder
@@ -47,14 +61,36 @@ public class ItemsController {
         binder.setValidator(itemValidator);
     }
 
-    @SneakyThrows
     @Operation(summary = SwaggerDocumentation.GET_ALL_ITEMS_SUMMARY)
     @ApiResponses(value = {@ApiResponse(responseCode = SwaggerDocumentation.HTTP_OK,
             content = {@Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
-                    schema = @Schema(implementation = Item.class))})})
+                    schema = @Schema(implementation = Item.class))}),
+            @ApiResponse(responseCode = SwaggerDocumentation.HTTP_BAD_REQUEST)})
     @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
-    public Flux<List<Item>> getItems() {
-        return Flux.just(itemsService.getAll());
+    public Mono<ResponseEntity<List<Item>>> getItems(
+            @RequestParam(name = Constants.AFTER_PARAMETER, required = false) Integer after,
+            @RequestParam(name = Constants.LIMIT_PARAMETER, defaultValue = Constants.DEFAULT_PAGE_LIMIT) int limit) {
+        return Mono.fromCallable(() -> KeysetPages.toResponse(itemsService.getAll(after, limit), limit, Item::getId))
+                .subscribeOn(jdbcScheduler);
+    }
+
+    @Operation(summary = SwaggerDocumentation.STREAM_ITEMS_SUMMARY)
+    @ApiResponses(value = {@ApiResponse(responseCode = SwaggerDocumentation.HTTP_OK,
+            content = {@Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                    schema = @Schema(implementation = Item.class))})})
+    @GetMapping(value = Constants.SLASH + STREAM_PATH, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Item> streamItems() {
+        // Requests are served on the JDBC scheduler too, so that reading the cursor never blocks the event loop
+        return itemsService.stream().subscribeOn(jdbcScheduler, true);
+    }
+
+    @Operation(summary = SwaggerDocumentation.STREAM_ITEMS_SUMMARY)
+    @ApiResponses(value = {@ApiResponse(responseCode = SwaggerDocumentation.HTTP_OK,
+            content = {@Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                    schema = @Schema(implementation = Item.class))})})
+    @GetMapping(value = Constants.SLASH + STREAM_PATH, produces = MediaType.APPLICATION_JSON_VALUE)
+    public Flux<DataBuffer> streamItemsAsJsonArray(ServerHttpResponse response) {
+        return JsonStreams.toJsonArray(streamItems(), objectMapper, response.bufferFactory());
     }
 
     @SneakyThrows
@@ -77,6 +113,18 @@ public class ItemsController {
         return Mono.just(ResponseEntity.created(URI.create(userUri)).build());
     }
 
+    @Operation(summary = SwaggerDocumentation.IMPORT_ITEMS_SUMMARY)
+    @ApiResponses(value = {@ApiResponse(responseCode = SwaggerDocumentation.HTTP_OK,
+            content = {@Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                    schema = @Schema(implementation = ItemImportResult.class))})})
+    @PostMapping(value = Constants.SLASH + BULK_PATH,
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE},
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<ItemImportResult>> importItems(@RequestBody Flux<ItemImportDto> items) {
+        // The records are decoded one at a time as they arrive, and each of them is validated by the import
+        return itemImportService.importItems(items).map(ResponseEntity::ok);
+    }
+
     @Operation(summary = SwaggerDocumentation.UPDATE_ITEM_SUMMARY)
     @ApiResponses(value = {@ApiResponse(responseCode = SwaggerDocumentation.HTTP_OK),
             @ApiResponse(responseCode = SwaggerDocumentation.HTTP_NOT_FOUND)})
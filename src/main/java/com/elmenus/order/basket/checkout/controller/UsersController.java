@@ -5,7 +5,10 @@ import com.elmenus.order.basket.checkout.constants.SwaggerDocumentation;
 import com.elmenus.order.basket.checkout.dto.UserDto;
 import com.elmenus.order.basket.checkout.model.User;
 import com.elmenus.order.basket.checkout.service.impl.UsersService;
+import com.elmenus.order.basket.checkout.util.JsonStreams;
+import com.elmenus.order.basket.checkout.util.KeysetPages;
 import com.elmenus.order.basket.checkout.validation.UserValidator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -15,14 +18,17 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.WebDataBinder;
 import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 
 import java.net.URI;
 import java.util.List;
@@ -39,9 +45,12 @@ import java.util.concurrent.ExecutionException;
 public class UsersController {
     //region REST path
     public static final String PATH = "users";
+    public static final String STREAM_PATH = "stream";
     //endregion
 
     private final UsersService usersService;
+    private final Scheduler jdbcScheduler;
+    private final ObjectMapper objectMapper;
     private final UserValidator userValidator;
 
     @InitBinder
@@ -49,14 +58,36 @@ public class UsersController {
         binder.setValidator(userValidator);
     }
 
-    @SneakyThrows
     @Operation(summary = SwaggerDocumentation.GET_ALL_USERS_SUMMARY)
     @ApiResponses(value = {@ApiResponse(responseCode = SwaggerDocumentation.HTTP_OK,
             content = {@Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
-                    schema = @Schema(implementation = User.class))})})
+                    schema = @Schema(implementation = User.class))}),
+            @ApiResponse(responseCode = SwaggerDocumentation.HTTP_BAD_REQUEST)})
     @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
-    public Flux<List<User>> getUsers() {
-        return Flux.just(usersService.getAll());
+    public Mono<ResponseEntity<List<User>>> getUsers(
+            @RequestParam(name = Constants.AFTER_PARAMETER, required = false) Integer after,
+            @RequestParam(name = Constants.LIMIT_PARAMETER, defaultValue = Constants.DEFAULT_PAGE_LIMIT) int limit) {
+        return Mono.fromCallable(() -> KeysetPages.toResponse(usersService.getAll(after, limit), limit, User::getId))
+                .subscribeOn(jdbcScheduler);
+    }
+
+    @Operation(summary = SwaggerDocumentation.STREAM_USERS_SUMMARY)
+    @ApiResponses(value = {@ApiResponse(responseCode = SwaggerDocumentation.HTTP_OK,
+            content = {@Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                    schema = @Schema(implementation = User.class))})})
+    @GetMapping(value = Constants.SLASH + STREAM_PATH, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<User> streamUsers() {
+        // Requests are served on the JDBC scheduler too, so that reading the cursor never blocks the event loop
+        return usersService.stream().subscribeOn(jdbcScheduler, true);
+    }
+
+    @Operation(summary = SwaggerDocumentation.STREAM_USERS_SUMMARY)
+    @ApiResponses(value = {@ApiResponse(responseCode = SwaggerDocumentation.HTTP_OK,
+            content = {@Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                    schema = @Schema(implementation = User.class))})})
+    @GetMapping(value = Constants.SLASH + STREAM_PATH, produces = MediaType.APPLICATION_JSON_VALUE)
+    public Flux<DataBuffer> streamUsersAsJsonArray(ServerHttpResponse response) {
+        return JsonStreams.toJsonArray(streamUsers(), objectMapper, response.bufferFactory());
     }
 
     @SneakyThrows
@@ -0,0 +1,103 @@
+package com.elmenus.order.basket.checkout.controller.reactive;
+
+import com.elmenus.order.basket.checkout.config.R2dbcConfig;
+import com.elmenus.order.basket.checkout.constants.Constants;
+import com.elmenus.order.basket.checkout.constants.SwaggerDocumentation;
+import com.elmenus.order.basket.checkout.dto.BasketContentDto;
+import com.elmenus.order.basket.checkout.model.reactive.BasketContentRow;
+import com.elmenus.order.basket.checkout.service.impl.reactive.ReactiveBasketContentsService;
+import com.elmenus.order.basket.checkout.util.KeysetPages;
+import com.elmenus.order.basket.checkout.validation.BasketContentsValidator;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.WebDataBinder;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.List;
+
+/**
+ * Non-blocking REST controller for {@link BasketContentRow}, backed by R2DBC
+ */
+@RestController
+@RequestMapping(ReactiveBasketContentsController.PATH)
+@Profile(R2dbcConfig.R2DBC_PROFILE)
+@Tag(name = "ReactiveBasketContentsController", description = SwaggerDocumentation.BASKET_CONTENTS_CONTROLLER_SUMMARY)
+@RequiredArgsConstructor
+public class ReactiveBasketContentsController {
+    //region REST path
+    public static final String PATH = "reactive/basket-contents";
+    //endregion
+
+    private final ReactiveBasketContentsService basketContentsService;
+    private final BasketContentsValidator basketContentsValidator;
+
+    @InitBinder
+    private void initBinder(WebDataBinder binder) {
+        binder.setValidator(basketContentsValidator);
+    }
+
+    @Operation(summary = SwaggerDocumentation.GET_ALL_BASKET_CONTENTS_SUMMARY)
+    @ApiResponses(value = {@ApiResponse(responseCode = SwaggerDocumentation.HTTP_OK,
+            content = {@Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                    schema = @Schema(implementation = BasketContentRow.class))}),
+            @ApiResponse(responseCode = SwaggerDocumentation.HTTP_BAD_REQUEST)})
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<List<BasketContentRow>>> getBasketContents(
+            @RequestParam(name = Constants.AFTER_PARAMETER, required = false) Integer after,
+            @RequestParam(name = Constants.LIMIT_PARAMETER, defaultValue = Constants.DEFAULT_PAGE_LIMIT) int limit) {
+        return basketContentsService.getAll(after, limit)
+                .collectList()
+                .map(page -> KeysetPages.toResponse(page, limit, BasketContentRow::getId));
+    }
+
+    @Operation(summary = SwaggerDocumentation.GET_BASKET_CONTENTS_SUMMARY)
+    @ApiResponses(value = {@ApiResponse(responseCode = SwaggerDocumentation.HTTP_OK,
+            content = {@Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                    schema = @Schema(implementation = BasketContentRow.class))})})
+    @GetMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<BasketContentRow>> get(@PathVariable Integer id) {
+        return basketContentsService.get(id).map(ResponseEntity::ok);
+    }
+
+    @Operation(summary = SwaggerDocumentation.ADD_BASKET_CONTENTS_SUMMARY)
+    @ApiResponses(value = {@ApiResponse(responseCode = SwaggerDocumentation.HTTP_CREATED)})
+    @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<Void>> add(@Validated @RequestBody BasketContentDto basketContentDto, ServerHttpRequest request) {
+        return basketContentsService.add(basketContentDto)
+                .map(id -> StringUtils.appendIfMissing(request.getURI().toString(), Constants.SLASH) + id)
+                .map(uri -> ResponseEntity.created(URI.create(uri)).<Void>build());
+    }
+
+    @Operation(summary = SwaggerDocumentation.UPDATE_BASKET_CONTENTS_SUMMARY)
+    @ApiResponses(value = {@ApiResponse(responseCode = SwaggerDocumentation.HTTP_OK),
+            @ApiResponse(responseCode = SwaggerDocumentation.HTTP_NOT_FOUND)})
+    @PutMapping(value = "/{id}", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<Void>> update(@PathVariable(name = Constants.ID_PARAMETER) Integer id,
+                                             @RequestBody @Validated BasketContentDto basketContentDto) {
+        return basketContentsService.update(id, basketContentDto)
+                .then(Mono.just(ResponseEntity.ok().<Void>build()));
+    }
+
+    @Operation(summary = SwaggerDocumentation.DELETE_BASKET_CONTENTS_SUMMARY)
+    @ApiResponses(value = {@ApiResponse(responseCode = SwaggerDocumentation.HTTP_OK),
+            @ApiResponse(responseCode = SwaggerDocumentation.HTTP_NOT_FOUND)})
+    @DeleteMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<Void>> delete(@PathVariable(name = Constants.ID_PARAMETER) Integer id) {
+        return basketContentsService.delete(id)
+                .then(Mono.just(ResponseEntity.ok().<Void>build()));
+    }
+}
@@ -0,0 +1,95 @@
+package com.elmenus.order.basket.checkout.controller.reactive;
+
+import com.elmenus.order.basket.checkout.config.R2dbcConfig;
+import com.elmenus.order.basket.checkout.constants.Constants;
+import com.elmenus.order.basket.checkout.constants.SwaggerDocumentation;
+import com.elmenus.order.basket.checkout.dto.BasketDto;
+import com.elmenus.order.basket.checkout.model.reactive.BasketRow;
+import com.elmenus.order.basket.checkout.service.impl.reactive.ReactiveBasketsService;
+import com.elmenus.order.basket.checkout.util.KeysetPages;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.List;
+
+/**
+ * Non-blocking REST controller for {@link BasketRow}, backed by R2DBC
+ */
+@RestController
+@RequestMapping(ReactiveBasketsController.PATH)
+@Profile(R2dbcConfig.R2DBC_PROFILE)
+@Tag(name = "ReactiveBasketsController", description = SwaggerDocumentation.BASKETS_CONTROLLER_SUMMARY)
+@RequiredArgsConstructor
+public class ReactiveBasketsController {
+    //region REST path
+    public static final String PATH = "reactive/baskets";
+    //endregion
+
+    private final ReactiveBasketsService basketsService;
+
+    @Operation(summary = SwaggerDocumentation.GET_ALL_BASKETS_SUMMARY)
+    @ApiResponses(value = {@ApiResponse(responseCode = SwaggerDocumentation.HTTP_OK,
+            content = {@Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                    schema = @Schema(implementation = BasketRow.class))}),
+            @ApiResponse(responseCode = SwaggerDocumentation.HTTP_BAD_REQUEST)})
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<List<BasketRow>>> getBaskets(
+            @RequestParam(name = Constants.AFTER_PARAMETER, required = false) Integer after,
+            @RequestParam(name = Constants.LIMIT_PARAMETER, defaultValue = Constants.DEFAULT_PAGE_LIMIT) int limit) {
+        return basketsService.getAll(after, limit)
+                .collectList()
+                .map(page -> KeysetPages.toResponse(page, limit, BasketRow::getId));
+    }
+
+    @Operation(summary = SwaggerDocumentation.GET_BASKET_SUMMARY)
+    @ApiResponses(value = {@ApiResponse(responseCode = SwaggerDocumentation.HTTP_OK,
+            content = {@Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                    schema = @Schema(implementation = BasketRow.class))})})
+    @GetMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<BasketRow>> get(@PathVariable Integer id) {
+        return basketsService.get(id).map(ResponseEntity::ok);
+    }
+
+    @Operation(summary = SwaggerDocumentation.ADD_BASKET_SUMMARY)
+    @ApiResponses(value = {@ApiResponse(responseCode = SwaggerDocumentation.HTTP_CREATED)})
+    @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<Void>> add(@Validated @RequestBody BasketDto basketDto, ServerHttpRequest request) {
+        return basketsService.add(basketDto)
+                .map(id -> StringUtils.appendIfMissing(request.getURI().toString(), Constants.SLASH) + id)
+                .map(uri -> ResponseEntity.created(URI.create(uri)).<Void>build());
+    }
+
+    @Operation(summary = SwaggerDocumentation.UPDATE_BASKET_SUMMARY)
+    @ApiResponses(value = {@ApiResponse(responseCode = SwaggerDocumentation.HTTP_OK),
+            @ApiResponse(responseCode = SwaggerDocumentation.HTTP_NOT_FOUND)})
+    @PutMapping(value = "/{id}", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<Void>> update(@PathVariable(name = Constants.ID_PARAMETER) Integer id,
+                                             @RequestBody @Validated BasketDto basketDto) {
+        return basketsService.update(id, basketDto)
+                .then(Mono.just(ResponseEntity.ok().<Void>build()));
+    }
+
+    @Operation(summary = SwaggerDocumentation.DELETE_BASKET_SUMMARY)
+    @ApiResponses(value = {@ApiResponse(responseCode = SwaggerDocumentation.HTTP_OK),
+            @ApiResponse(responseCode = SwaggerDocumentation.HTTP_NOT_FOUND)})
+    @DeleteMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<Void>> delete(@PathVariable(name = Constants.ID_PARAMETER) Integer id) {
+        return basketsService.delete(id)
+                .then(Mono.just(ResponseEntity.ok().<Void>build()));
+    }
+}
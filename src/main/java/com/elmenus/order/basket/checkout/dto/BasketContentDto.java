@@ -1,5 +1,6 @@
 package com.elmenus.order.basket.checkout.dto;
 
+import com.elmenus.order.basket.checkout.json.QuantityValue;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -12,5 +13,6 @@ import lombok.NoArgsConstructor;
 public class BasketContentDto {
     private int basketId;
     private int itemId;
-    private float quantity;
+    @QuantityValue
+    private long quantity;
 }
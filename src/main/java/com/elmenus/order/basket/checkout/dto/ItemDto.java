@@ -1,6 +1,8 @@
 package com.elmenus.order.basket.checkout.dto;
 
 import com.elmenus.order.basket.checkout.constants.Messages;
+import com.elmenus.order.basket.checkout.json.MoneyValue;
+import com.elmenus.order.basket.checkout.json.QuantityValue;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -17,9 +19,11 @@ public class ItemDto {
     @NotBlank(message = Messages.NAME_BLANK_ERROR)
     private String name;
 
+    @MoneyValue
     @Min(value = 0, message = Messages.PRICE_NEGATIVE_ERROR)
-    private float price;
+    private long price;
 
+    @QuantityValue
     @Min(value = 0, message = Messages.QUANTITY_NEGATIVE_ERROR)
-    private float quantity;
+    private long quantity;
 }
@@ -0,0 +1,23 @@
+package com.elmenus.order.basket.checkout.dto;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+/**
+ * A record of a bulk item import, which creates a new item or updates an existing one
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+@ToString(callSuper = true)
+@NoArgsConstructor
+public class ItemImportDto extends ItemDto {
+    // The ID of the item to be updated, or NULL to create a new item
+    private Integer id;
+
+    public ItemImportDto(Integer id, String name, long price, long quantity) {
+        super(name, price, quantity);
+        this.id = id;
+    }
+}
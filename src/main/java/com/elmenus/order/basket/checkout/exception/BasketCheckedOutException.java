@@ -0,0 +1,19 @@
+package com.elmenus.order.basket.checkout.exception;
+
+import com.elmenus.order.basket.checkout.model.Basket;
+
+/**
+ * An exception to be thrown when a {@link Basket} is checked out although it has already been checked out. It is an
+ * expected outcome of a checkout, e.g. of a retried request, so no stack trace is captured for it
+ */
+public class BasketCheckedOutException extends IllegalStateException {
+    public BasketCheckedOutException(String message){
+        super(message);
+    }
+
+    // IllegalStateException has no constructor that disables the stack trace, unlike RuntimeException
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
@@ -0,0 +1,11 @@
+package com.elmenus.order.basket.checkout.exception;
+
+/**
+ * An exception to be thrown when a request is retried with an idempotency key while the original request with
+ * the same key is still in progress
+ */
+public class IdempotentRequestInProgressException extends RuntimeException {
+    public IdempotentRequestInProgressException(String message){
+        super(message);
+    }
+}
@@ -3,10 +3,11 @@ package com.elmenus.order.basket.checkout.exception;
 import com.elmenus.order.basket.checkout.model.Item;
 
 /**
- * An exception to be thrown when an {@link Item}'s quantity is insufficient
+ * An exception to be thrown when an {@link Item}'s quantity is insufficient. It is an expected outcome of a checkout,
+ * e.g. of a sold out {@link Item}, so no stack trace is captured for it
  */
 public class InsufficientItemQuantityException extends RuntimeException {
     public InsufficientItemQuantityException(String message){
-        super(message);
+        super(message, null, false, false);
     }
 }
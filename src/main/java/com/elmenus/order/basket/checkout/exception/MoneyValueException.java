@@ -3,10 +3,11 @@ package com.elmenus.order.basket.checkout.exception;
 import com.elmenus.order.basket.checkout.model.Basket;
 
 /**
- * An exception to be thrown when there is a problem with the total cost of a {@link Basket}
+ * An exception to be thrown when there is a problem with the total cost of a {@link Basket}. It is an expected
+ * outcome of a checkout, so no stack trace is captured for it
  */
 public class MoneyValueException extends RuntimeException {
     public MoneyValueException(String message){
-        super(message);
+        super(message, null, false, false);
     }
 }
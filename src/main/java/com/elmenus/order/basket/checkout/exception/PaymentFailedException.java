@@ -0,0 +1,12 @@
+package com.elmenus.order.basket.checkout.exception;
+
+import com.elmenus.order.basket.checkout.model.Basket;
+
+/**
+ * An exception to be thrown when the payment of a {@link Basket} is declined
+ */
+public class PaymentFailedException extends RuntimeException {
+    public PaymentFailedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,14 @@
+package com.elmenus.order.basket.checkout.exception;
+
+import com.elmenus.order.basket.checkout.model.Basket;
+
+/**
+ * An exception to be thrown when it is not known whether a {@link Basket} has been charged, i.e. a charge failed
+ * without an answer from the payment gateway and could not be voided either. The {@link Basket} is kept checked out
+ * with its stock held until the charge is voided
+ */
+public class PaymentOutcomeUnknownException extends PaymentUnavailableException {
+    public PaymentOutcomeUnknownException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.elmenus.order.basket.checkout.exception;
+
+/**
+ * An exception to be thrown when a payment cannot be made for now, i.e. the payment gateway is too slow, too busy or
+ * has been failing lately
+ */
+public class PaymentUnavailableException extends RuntimeException {
+    public PaymentUnavailableException(String message) {
+        super(message);
+    }
+}
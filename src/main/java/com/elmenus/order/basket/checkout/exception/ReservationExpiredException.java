@@ -0,0 +1,13 @@
+package com.elmenus.order.basket.checkout.exception;
+
+import com.elmenus.order.basket.checkout.model.Basket;
+
+/**
+ * An exception to be thrown when the stock held for the checkout of a {@link Basket} has been released before the
+ * checkout could deduct it, e.g. because the hold expired
+ */
+public class ReservationExpiredException extends RuntimeException {
+    public ReservationExpiredException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,19 @@
+package com.elmenus.order.basket.checkout.exception;
+
+import javax.persistence.EntityNotFoundException;
+
+/**
+ * An {@link EntityNotFoundException} to be thrown when an entity is looked up by an ID that does not exist. It is an
+ * expected outcome of a lookup, so no stack trace is captured for it
+ */
+public class ResourceNotFoundException extends EntityNotFoundException {
+    public ResourceNotFoundException(String message){
+        super(message);
+    }
+
+    // EntityNotFoundException has no constructor that disables the stack trace, unlike RuntimeException
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
@@ -2,9 +2,15 @@ package com.elmenus.order.basket.checkout.handler;
 
 import com.elmenus.order.basket.checkout.constants.Messages;
 import com.elmenus.order.basket.checkout.exception.ErrorInfo;
+import com.elmenus.order.basket.checkout.exception.IdempotentRequestInProgressException;
 import com.elmenus.order.basket.checkout.exception.InsufficientItemQuantityException;
 import com.elmenus.order.basket.checkout.exception.MoneyValueException;
+import com.elmenus.order.basket.checkout.exception.PaymentFailedException;
+import com.elmenus.order.basket.checkout.exception.PaymentUnavailableException;
+import com.elmenus.order.basket.checkout.exception.ReservationExpiredException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -18,6 +24,7 @@ import org.springframework.web.method.annotation.MethodArgumentTypeMismatchExcep
 import javax.persistence.EntityNotFoundException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * Handler for exceptions that are thrown by the application
@@ -69,19 +76,125 @@ public class OrderBasketCheckoutExceptionHandler {
     }
 
     /**
-     * Handler for {@link IllegalStateException}
+     * Handler for {@link IllegalStateException} and {@link IllegalArgumentException}
      *
      * @param exception The exception to be handled
      * @return {@link ResponseEntity} with the error details
      */
-    @ExceptionHandler(IllegalStateException.class)
-    public final ResponseEntity<ErrorInfo> handleIllegalStateException(IllegalStateException exception) {
+    @ExceptionHandler({IllegalStateException.class, IllegalArgumentException.class})
+    public final ResponseEntity<ErrorInfo> handleIllegalStateException(RuntimeException exception) {
         final ErrorInfo errorInfo = new ErrorInfo(exception.getMessage());
         return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                 .contentType(MediaType.APPLICATION_JSON)
                 .body(errorInfo);
     }
 
+    /**
+     * Handler for {@link RejectedExecutionException} which is thrown when there is no capacity left to
+     * execute the request
+     *
+     * @param exception The exception to be handled
+     * @return {@link ResponseEntity} with the error details
+     */
+    @ExceptionHandler(RejectedExecutionException.class)
+    public final ResponseEntity<ErrorInfo> handleRejectedExecutionException(RejectedExecutionException exception) {
+        log.warn(exception.getMessage());
+        final ErrorInfo errorInfo = new ErrorInfo(Messages.CHECKOUT_REJECTED_ERROR);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(errorInfo);
+    }
+
+    /**
+     * Handler for {@link PaymentFailedException}
+     *
+     * @param exception The exception to be handled
+     * @return {@link ResponseEntity} with the error details
+     */
+    @ExceptionHandler(PaymentFailedException.class)
+    public final ResponseEntity<ErrorInfo> handlePaymentFailedException(PaymentFailedException exception) {
+        final ErrorInfo errorInfo = new ErrorInfo(exception.getMessage());
+        return ResponseEntity.status(HttpStatus.PAYMENT_REQUIRED)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(errorInfo);
+    }
+
+    /**
+     * Handler for {@link PaymentUnavailableException} which is thrown when the payment gateway is too slow, too busy
+     * or has been failing lately
+     *
+     * @param exception The exception to be handled
+     * @return {@link ResponseEntity} with the error details
+     */
+    @ExceptionHandler(PaymentUnavailableException.class)
+    public final ResponseEntity<ErrorInfo> handlePaymentUnavailableException(PaymentUnavailableException exception) {
+        final ErrorInfo errorInfo = new ErrorInfo(exception.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(errorInfo);
+    }
+
+    /**
+     * Handler for {@link IdempotentRequestInProgressException}
+     *
+     * @param exception The exception to be handled
+     * @return {@link ResponseEntity} with the error details
+     */
+    @ExceptionHandler(IdempotentRequestInProgressException.class)
+    public final ResponseEntity<ErrorInfo> handleIdempotentRequestInProgressException(IdempotentRequestInProgressException exception) {
+        final ErrorInfo errorInfo = new ErrorInfo(exception.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(errorInfo);
+    }
+
+    /**
+     * Handler for {@link ReservationExpiredException} which is thrown when the stock held for a checkout is released
+     * before the checkout completes. The charge is voided, so the checkout can be retried
+     *
+     * @param exception The exception to be handled
+     * @return {@link ResponseEntity} with the error details
+     */
+    @ExceptionHandler(ReservationExpiredException.class)
+    public final ResponseEntity<ErrorInfo> handleReservationExpiredException(ReservationExpiredException exception) {
+        final ErrorInfo errorInfo = new ErrorInfo(exception.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(errorInfo);
+    }
+
+    /**
+     * Handler for {@link OptimisticLockingFailureException} which is thrown when an entity is changed concurrently
+     *
+     * @param exception The exception to be handled
+     * @return {@link ResponseEntity} with the error details
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public final ResponseEntity<ErrorInfo> handleOptimisticLockingFailureException(OptimisticLockingFailureException exception) {
+        log.warn(exception.getMessage());
+        final ErrorInfo errorInfo = new ErrorInfo(Messages.CONCURRENT_UPDATE_ERROR);
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(errorInfo);
+    }
+
+    /**
+     * Handler for {@link DuplicateKeyException} which is thrown when concurrent requests insert the same row, e.g. two
+     * requests adding the same item to a basket that does not hold it yet. Other data integrity violations are left to
+     * the generic handler
+     *
+     * @param exception The exception to be handled
+     * @return {@link ResponseEntity} with the error details
+     */
+    @ExceptionHandler(DuplicateKeyException.class)
+    public final ResponseEntity<ErrorInfo> handleDuplicateKeyException(DuplicateKeyException exception) {
+        log.warn(exception.getMessage());
+        final ErrorInfo errorInfo = new ErrorInfo(Messages.CONCURRENT_UPDATE_ERROR);
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(errorInfo);
+    }
+
     /**
      * Handler for {@link MethodArgumentTypeMismatchException}
      *
@@ -0,0 +1,117 @@
+package com.elmenus.order.basket.checkout.idempotency;
+
+import com.elmenus.order.basket.checkout.constants.Messages;
+import com.elmenus.order.basket.checkout.exception.BasketCheckedOutException;
+import com.elmenus.order.basket.checkout.exception.IdempotentRequestInProgressException;
+import com.elmenus.order.basket.checkout.exception.InsufficientItemQuantityException;
+import com.elmenus.order.basket.checkout.exception.MoneyValueException;
+import com.elmenus.order.basket.checkout.exception.PaymentFailedException;
+import com.elmenus.order.basket.checkout.exception.ResourceNotFoundException;
+import com.google.common.base.Preconditions;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Service;
+
+import javax.persistence.EntityNotFoundException;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Runs operations at most once per idempotency key. A retry with the same key gets the outcome of the first
+ * request without running the operation again: it succeeds if that request succeeded, and fails with the same
+ * error if that request failed on the request itself, e.g. a validation error.
+ * Transient failures, e.g. a rejected request, are not recorded, so the request can be retried
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class IdempotencyService {
+    public static final int MAX_KEY_LENGTH = 255;
+    private static final String KEY_SEPARATOR = ":";
+
+    // The errors whose outcome is recorded, by type, along with how to raise them again. A subtype of one of them is
+    // recorded as the closest type listed here
+    private static final Map<String, Function<String, RuntimeException>> REPLAYABLE_ERRORS = Map.of(
+            BasketCheckedOutException.class.getName(), BasketCheckedOutException::new,
+            ResourceNotFoundException.class.getName(), ResourceNotFoundException::new,
+            EntityNotFoundException.class.getName(), EntityNotFoundException::new,
+            IllegalStateException.class.getName(), IllegalStateException::new,
+            IllegalArgumentException.class.getName(), IllegalArgumentException::new,
+            MoneyValueException.class.getName(), MoneyValueException::new,
+            InsufficientItemQuantityException.class.getName(), InsufficientItemQuantityException::new,
+            PaymentFailedException.class.getName(), PaymentFailedException::new);
+
+    private final IdempotencyStore idempotencyStore;
+
+    /**
+     * Runs an operation unless a request with the same idempotency key has already run it
+     *
+     * @param scope     The scope of the key, e.g. the resource that the operation is applied to, so that the same
+     *                  key can be used for different resources
+     * @param key       The idempotency key of the request
+     * @param operation The operation to be run
+     */
+    public void execute(@NonNull String scope, @NonNull String key, @NonNull Runnable operation) {
+        Preconditions.checkArgument(!key.isBlank() && key.length() <= MAX_KEY_LENGTH,
+                Messages.IDEMPOTENCY_KEY_INVALID_ERROR, MAX_KEY_LENGTH);
+
+        String scopedKey = scope + KEY_SEPARATOR + key;
+        Optional<IdempotentOutcome> previousOutcome = idempotencyStore.claim(scopedKey);
+        if (previousOutcome.isPresent()) {
+            log.info(Messages.IDEMPOTENT_REQUEST_REPLAYED_MESSAGE);
+            replay(previousOutcome.get());
+            return;
+        }
+
+        boolean completed = false;
+        try {
+            operation.run();
+            idempotencyStore.complete(scopedKey, IdempotentOutcome.SUCCEEDED);
+            completed = true;
+        } catch (RuntimeException exception) {
+            Optional<Class<?>> replayableType = getReplayableType(exception);
+            if (replayableType.isPresent()) {
+                idempotencyStore.complete(scopedKey, IdempotentOutcome.failed(replayableType.get(), exception.getMessage()));
+                completed = true;
+            }
+            throw exception;
+        } finally {
+            if (!completed) {
+                idempotencyStore.release(scopedKey);
+            }
+        }
+    }
+
+    /**
+     * Replays the outcome of an earlier request
+     *
+     * @param outcome The {@link IdempotentOutcome} of the earlier request
+     */
+    private void replay(IdempotentOutcome outcome) {
+        switch (outcome.getState()) {
+            case IN_PROGRESS:
+                log.warn(Messages.IDEMPOTENT_REQUEST_IN_PROGRESS_ERROR);
+                throw new IdempotentRequestInProgressException(Messages.IDEMPOTENT_REQUEST_IN_PROGRESS_ERROR);
+            case FAILED:
+                throw REPLAYABLE_ERRORS.get(outcome.getErrorType()).apply(outcome.getErrorMessage());
+            default:
+        }
+    }
+
+    /**
+     * Finds the type that an error is recorded as, which is the closest of its types that can be raised again
+     *
+     * @param exception The error that a request failed with
+     * @return The type that the error is recorded as, or empty if the error is not recorded
+     */
+    private Optional<Class<?>> getReplayableType(RuntimeException exception) {
+        for (Class<?> type = exception.getClass(); type != null; type = type.getSuperclass()) {
+            if (REPLAYABLE_ERRORS.containsKey(type.getName())) {
+                return Optional.of(type);
+            }
+        }
+        return Optional.empty();
+    }
+}
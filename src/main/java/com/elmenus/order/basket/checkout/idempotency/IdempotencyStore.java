@@ -0,0 +1,33 @@
+package com.elmenus.order.basket.checkout.idempotency;
+
+import java.util.Optional;
+
+/**
+ * Store of the outcomes of requests by their idempotency keys. Keys expire after a while, so the store stays
+ * bounded and a key can eventually be used again
+ */
+public interface IdempotencyStore {
+    /**
+     * Claims a key for a request that is about to run, unless the key has already been claimed
+     *
+     * @param key The idempotency key of the request
+     * @return Empty if the key has been claimed by this call, otherwise the {@link IdempotentOutcome} of the request
+     * that claimed it before, which may still be in progress
+     */
+    Optional<IdempotentOutcome> claim(String key);
+
+    /**
+     * Records the outcome of the request that claimed a key
+     *
+     * @param key     The idempotency key of the request
+     * @param outcome The {@link IdempotentOutcome} of the request
+     */
+    void complete(String key, IdempotentOutcome outcome);
+
+    /**
+     * Releases a claimed key without recording an outcome, so that the request can be retried
+     *
+     * @param key The idempotency key of the request
+     */
+    void release(String key);
+}
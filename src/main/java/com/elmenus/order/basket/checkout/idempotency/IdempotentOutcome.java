@@ -0,0 +1,45 @@
+package com.elmenus.order.basket.checkout.idempotency;
+
+import lombok.Value;
+
+/**
+ * The outcome of a request that carries an idempotency key. A failed outcome keeps the type and message of the
+ * error, so that the same error can be raised again for a retry of the request
+ */
+@Value
+public class IdempotentOutcome {
+    public static final IdempotentOutcome IN_PROGRESS = new IdempotentOutcome(State.IN_PROGRESS, null, null);
+    public static final IdempotentOutcome SUCCEEDED = new IdempotentOutcome(State.SUCCEEDED, null, null);
+
+    State state;
+    String errorType;
+    String errorMessage;
+
+    /**
+     * Creates the outcome of a request that failed with the given error
+     *
+     * @param error The error that the request failed with
+     * @return The failed {@link IdempotentOutcome}
+     */
+    public static IdempotentOutcome failed(RuntimeException error) {
+        return failed(error.getClass(), error.getMessage());
+    }
+
+    /**
+     * Creates the outcome of a request that failed with an error of the given type, e.g. a supertype of the actual
+     * error that can be raised again
+     *
+     * @param errorType    The type of the error that the request failed with
+     * @param errorMessage The message of the error
+     * @return The failed {@link IdempotentOutcome}
+     */
+    public static IdempotentOutcome failed(Class<?> errorType, String errorMessage) {
+        return new IdempotentOutcome(State.FAILED, errorType.getName(), errorMessage);
+    }
+
+    public enum State {
+        IN_PROGRESS,
+        SUCCEEDED,
+        FAILED
+    }
+}
@@ -0,0 +1,49 @@
+package com.elmenus.order.basket.checkout.idempotency;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.RequiredArgsConstructor;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * {@link IdempotencyStore} that keeps the outcomes in a bounded in-process cache, so keys are only deduplicated
+ * within a single instance of the application
+ */
+@RequiredArgsConstructor
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+    private final Cache<String, IdempotentOutcome> outcomes;
+
+    /**
+     * Creates the builder of a cache of outcomes that is bounded in size and in age. Keys in progress weigh nothing,
+     * so the size bound only ever evicts completed outcomes, as evicting a key in progress would let a retry run the
+     * request a second time
+     *
+     * @param maximumSize The maximum number of completed outcomes
+     * @param timeToLive  The time after which a key expires
+     * @return {@link Caffeine} builder of the cache
+     */
+    public static Caffeine<String, IdempotentOutcome> cacheBuilder(long maximumSize, Duration timeToLive) {
+        return Caffeine.newBuilder()
+                .maximumWeight(maximumSize)
+                .weigher((String key, IdempotentOutcome outcome) ->
+                        outcome.getState() == IdempotentOutcome.State.IN_PROGRESS ? 0 : 1)
+                .expireAfterWrite(timeToLive);
+    }
+
+    @Override
+    public Optional<IdempotentOutcome> claim(String key) {
+        return Optional.ofNullable(outcomes.asMap().putIfAbsent(key, IdempotentOutcome.IN_PROGRESS));
+    }
+
+    @Override
+    public void complete(String key, IdempotentOutcome outcome) {
+        outcomes.put(key, outcome);
+    }
+
+    @Override
+    public void release(String key) {
+        outcomes.invalidate(key);
+    }
+}
@@ -0,0 +1,98 @@
+package com.elmenus.order.basket.checkout.idempotency;
+
+import com.elmenus.order.basket.checkout.constants.Messages;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.annotation.PostConstruct;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * {@link IdempotencyStore} that keeps the outcomes in a database table, so keys are deduplicated across all
+ * instances of the application that share the database. Claiming relies on the primary key of the table, so
+ * only one of several concurrent requests with the same key can insert it.
+ * <p>
+ * A key is only held in progress for a lease, {@code checkout.idempotency.in-progress-lease}, after which a retry
+ * takes it over. A request that dies while holding a key, e.g. with its instance, therefore blocks its retries for
+ * the lease only instead of for the whole time to live. The lease must be longer than a request can take
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class JdbcIdempotencyStore implements IdempotencyStore {
+    private static final String CREATE_TABLE_QUERY = "CREATE TABLE IF NOT EXISTS idempotency_key ("
+            + "idempotency_key VARCHAR(512) PRIMARY KEY, state VARCHAR(16) NOT NULL, error_type VARCHAR(255), "
+            + "error_message VARCHAR(1024), created_at TIMESTAMP NOT NULL)";
+    private static final String INSERT_QUERY = "INSERT INTO idempotency_key "
+            + "(idempotency_key, state, created_at) VALUES (?, ?, ?)";
+    private static final String SELECT_QUERY = "SELECT state, error_type, error_message FROM idempotency_key "
+            + "WHERE idempotency_key = ? AND created_at > ?";
+    private static final String COMPLETE_QUERY = "UPDATE idempotency_key SET state = ?, error_type = ?, "
+            + "error_message = ? WHERE idempotency_key = ?";
+    private static final String TAKE_OVER_QUERY = "UPDATE idempotency_key SET created_at = ? "
+            + "WHERE idempotency_key = ? AND state = ? AND created_at <= ?";
+    private static final String DELETE_QUERY = "DELETE FROM idempotency_key WHERE idempotency_key = ?";
+    private static final String DELETE_EXPIRED_KEY_QUERY = "DELETE FROM idempotency_key "
+            + "WHERE idempotency_key = ? AND created_at <= ?";
+    private static final String DELETE_EXPIRED_QUERY = "DELETE FROM idempotency_key WHERE created_at <= ?";
+    private static final RowMapper<IdempotentOutcome> OUTCOME_MAPPER = (resultSet, rowNumber) -> new IdempotentOutcome(
+            IdempotentOutcome.State.valueOf(resultSet.getString(1)), resultSet.getString(2), resultSet.getString(3));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration timeToLive;
+    private final Duration inProgressLease;
+
+    @PostConstruct
+    public void createTable() {
+        jdbcTemplate.execute(CREATE_TABLE_QUERY);
+    }
+
+    @Override
+    public Optional<IdempotentOutcome> claim(String key) {
+        Instant now = Instant.now();
+        Timestamp expiry = Timestamp.from(now.minus(timeToLive));
+        // A key that has expired but not been purged yet can be claimed again
+        jdbcTemplate.update(DELETE_EXPIRED_KEY_QUERY, key, expiry);
+        try {
+            jdbcTemplate.update(INSERT_QUERY, key, IdempotentOutcome.State.IN_PROGRESS.name(), Timestamp.from(now));
+            return Optional.empty();
+        } catch (DuplicateKeyException exception) {
+            // A key whose lease has run out is taken over by renewing it, which only one of several retries can do
+            if (jdbcTemplate.update(TAKE_OVER_QUERY, Timestamp.from(now), key, IdempotentOutcome.State.IN_PROGRESS.name(),
+                    Timestamp.from(now.minus(inProgressLease))) > 0) {
+                log.warn(String.format(Messages.IDEMPOTENCY_KEY_TAKEN_OVER_MESSAGE, key));
+                return Optional.empty();
+            }
+            List<IdempotentOutcome> outcomes = jdbcTemplate.query(SELECT_QUERY, OUTCOME_MAPPER, key, expiry);
+            // The key may have been released in the meantime, which is treated as still in progress
+            return Optional.of(outcomes.isEmpty() ? IdempotentOutcome.IN_PROGRESS : outcomes.get(0));
+        }
+    }
+
+    @Override
+    public void complete(String key, IdempotentOutcome outcome) {
+        jdbcTemplate.update(COMPLETE_QUERY, outcome.getState().name(), outcome.getErrorType(),
+                outcome.getErrorMessage(), key);
+    }
+
+    @Override
+    public void release(String key) {
+        jdbcTemplate.update(DELETE_QUERY, key);
+    }
+
+    /**
+     * Purges the expired keys, so that the table stays bounded
+     */
+    @Scheduled(fixedDelayString = "${checkout.idempotency.purge-interval}")
+    public void purgeExpired() {
+        int purged = jdbcTemplate.update(DELETE_EXPIRED_QUERY, Timestamp.from(Instant.now().minus(timeToLive)));
+        log.debug("Purged {} expired idempotency keys", purged);
+    }
+}
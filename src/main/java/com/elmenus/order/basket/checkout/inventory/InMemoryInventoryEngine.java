@@ -0,0 +1,293 @@
+package com.elmenus.order.basket.checkout.inventory;
+
+import com.elmenus.order.basket.checkout.constants.Messages;
+import com.elmenus.order.basket.checkout.exception.InsufficientItemQuantityException;
+import com.elmenus.order.basket.checkout.exception.ResourceNotFoundException;
+import com.elmenus.order.basket.checkout.model.BasketContent;
+import com.elmenus.order.basket.checkout.model.Item;
+import com.elmenus.order.basket.checkout.service.impl.ItemsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link InventoryEngine} that keeps the available quantity of each {@link Item}, i.e. its stock net of holds, in
+ * memory, so that holding stock is a compare-and-set of a counter instead of an update of the item's row. The
+ * counters are loaded from the database on startup, net of the stock reservations that are outstanding then, and
+ * the counter of an {@link Item} that is added later is loaded when it is first held.
+ * <p>
+ * Deductions are appended to an {@link InventoryWriteAheadLog} and written to the database in batches every
+ * {@code checkout.inventory.memory.flush-interval}, along with the sequence number of the last written deduction.
+ * On startup, the deductions in the log after that sequence number are written before anything is held, so no
+ * deduction is lost or written twice if the application stops in between.
+ * <p>
+ * The counters are only consistent within a single instance of the application, so this engine is meant for a
+ * single instance owning the stock. Item quantities in the database lag behind by at most one flush
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class InMemoryInventoryEngine implements InventoryEngine {
+    private static final String LOAD_ALL_QUERY = "SELECT i.id, i.quantity - COALESCE(SUM(r.quantity), 0) "
+            + "FROM item i LEFT JOIN stock_reservation r ON r.item_id = i.id GROUP BY i.id, i.quantity";
+    private static final String LOAD_QUERY = "SELECT quantity FROM item WHERE id = ?";
+    private static final String DEDUCT_QUERY =
+            "UPDATE item SET quantity = quantity - ?, version = version + 1 WHERE id = ?";
+    private static final String CREATE_CHECKPOINT_TABLE_QUERY = "CREATE TABLE IF NOT EXISTS inventory_checkpoint ("
+            + "id INT PRIMARY KEY, sequence BIGINT NOT NULL)";
+    private static final String INSERT_CHECKPOINT_QUERY = "INSERT INTO inventory_checkpoint (id, sequence) "
+            + "SELECT 1, 0 WHERE NOT EXISTS (SELECT id FROM inventory_checkpoint WHERE id = 1)";
+    private static final String SELECT_CHECKPOINT_QUERY = "SELECT sequence FROM inventory_checkpoint WHERE id = 1";
+    private static final String UPDATE_CHECKPOINT_QUERY = "UPDATE inventory_checkpoint SET sequence = ? WHERE id = 1";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ItemsService itemsService;
+    private final InventoryWriteAheadLog writeAheadLog;
+
+    // Available quantities by item ID
+    private final ConcurrentMap<Integer, AtomicLong> available = new ConcurrentHashMap<>();
+
+    // Deductions that have been logged but not written to the database yet, guarded by the lock along with the log
+    private final Object logLock = new Object();
+    private Map<Integer, Long> pending = new HashMap<>();
+    private long lastSequence;
+
+    /**
+     * Writes the deductions that were logged but not written to the database before the application stopped, then
+     * loads the available quantities of all {@link Item}s
+     */
+    @PostConstruct
+    public void recover() {
+        jdbcTemplate.execute(CREATE_CHECKPOINT_TABLE_QUERY);
+        jdbcTemplate.update(INSERT_CHECKPOINT_QUERY);
+        long checkpoint = jdbcTemplate.queryForObject(SELECT_CHECKPOINT_QUERY, Long.class);
+
+        Map<Integer, Long> deductions = new HashMap<>();
+        long sequence = checkpoint;
+        for (InventoryWriteAheadLog.Entry entry : writeAheadLog.read()) {
+            if (entry.getSequence() > checkpoint) {
+                deductions.merge(entry.getItemId(), entry.getQuantity(), Long::sum);
+                sequence = Math.max(sequence, entry.getSequence());
+            }
+        }
+        if (!deductions.isEmpty()) {
+            write(deductions, sequence);
+            log.info(String.format(Messages.INVENTORY_RECOVERED_MESSAGE, deductions.size()));
+        }
+
+        lastSequence = sequence;
+        writeAheadLog.deleteSegmentsBefore(writeAheadLog.open(lastSequence));
+
+        // Nothing is held or deducted yet, so the quantities in the database are exact
+        jdbcTemplate.query(LOAD_ALL_QUERY, resultSet -> {
+            available.put(resultSet.getInt(1), new AtomicLong(resultSet.getLong(2)));
+        });
+    }
+
+    /**
+     * The available quantity is read from the counter, as the quantity of the {@link Item} in the database lags
+     * behind by up to one flush and its holds are not counted there
+     */
+    @Override
+    public long available(Item item) {
+        return stock(item.getId()).get();
+    }
+
+    /**
+     * The quantities are held one {@link Item} at a time in the order of their IDs, and the ones that have been held
+     * already are released again if an {@link Item} is short. Nothing is locked, so concurrent checkouts of the same
+     * {@link Item} only retry their compare-and-set when they collide
+     */
+    @Override
+    public void reserve(Map<Integer, BasketContent> contents) {
+        Map<Integer, Long> quantities = new TreeMap<>();
+        contents.forEach((itemId, basketContent) -> quantities.put(itemId, basketContent.getQuantity()));
+
+        Map<Integer, Long> held = new HashMap<>();
+        for (Map.Entry<Integer, Long> quantity : quantities.entrySet()) {
+            if (!take(stock(quantity.getKey()), quantity.getValue())) {
+                held.forEach((itemId, heldQuantity) -> give(stock(itemId), heldQuantity));
+                String errorMessage = String.format(Messages.INSUFFICIENT_ITEM_QUANTITY_ERROR,
+                        itemsService.getInfo(quantity.getKey()).getName());
+                log.error(errorMessage);
+                throw new InsufficientItemQuantityException(errorMessage);
+            }
+            held.put(quantity.getKey(), quantity.getValue());
+        }
+
+        afterRollback(() -> held.forEach((itemId, heldQuantity) -> give(stock(itemId), heldQuantity)));
+        log.info(Messages.ITEM_QUANTITY_RESERVED_MESSAGE);
+    }
+
+    /**
+     * The quantities become available once the current transaction commits, as the holds are still in the database
+     * until then
+     */
+    @Override
+    public void release(Map<Integer, Long> quantities) {
+        afterCommit(() -> quantities.forEach((itemId, quantity) -> give(stock(itemId), quantity)));
+        log.info(Messages.ITEM_QUANTITY_RELEASED_MESSAGE);
+    }
+
+    /**
+     * The deductions are logged right away and written to the database by the next flush. If the current transaction
+     * rolls back, they are undone by logging the opposite deductions
+     */
+    @Override
+    public void deduct(Map<Integer, Long> quantities) {
+        append(quantities);
+
+        Map<Integer, Long> undo = new HashMap<>();
+        quantities.forEach((itemId, quantity) -> undo.put(itemId, -quantity));
+        afterRollback(() -> append(undo));
+        log.info(Messages.ITEM_QUANTITY_UPDATED_MESSAGE);
+    }
+
+    /**
+     * Writes the logged deductions to the database in one batch. If writing fails, they are kept and written by the
+     * next flush
+     */
+    @Scheduled(fixedDelayString = "${checkout.inventory.memory.flush-interval}")
+    public void flush() {
+        Map<Integer, Long> deductions;
+        long sequence;
+        int segment;
+        synchronized (logLock) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            deductions = pending;
+            pending = new HashMap<>();
+            sequence = lastSequence;
+            segment = writeAheadLog.rotate();
+        }
+
+        try {
+            write(deductions, sequence);
+            writeAheadLog.deleteSegmentsBefore(segment);
+            log.debug(String.format(Messages.INVENTORY_FLUSHED_MESSAGE, deductions.size()));
+        } catch (RuntimeException exception) {
+            synchronized (logLock) {
+                deductions.forEach((itemId, quantity) -> pending.merge(itemId, quantity, Long::sum));
+            }
+            log.error(Messages.INVENTORY_FLUSH_ERROR, exception);
+        }
+    }
+
+    /**
+     * Writes the logged deductions to the database before the application stops
+     */
+    @PreDestroy
+    public void close() {
+        flush();
+        synchronized (logLock) {
+            writeAheadLog.close();
+        }
+    }
+
+    /**
+     * Adjusts the available quantity of an {@link Item} that has been restocked, once the new quantity is committed
+     *
+     * @param event The {@link ItemQuantityChangedEvent}
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemQuantityChanged(ItemQuantityChangedEvent event) {
+        // An item that has not been loaded yet gets the new quantity when it is loaded
+        AtomicLong stock = available.get(event.getItemId());
+        if (stock != null) {
+            give(stock, event.getDelta());
+        }
+    }
+
+    private void append(Map<Integer, Long> quantities) {
+        synchronized (logLock) {
+            lastSequence = writeAheadLog.append(quantities);
+            quantities.forEach((itemId, quantity) -> pending.merge(itemId, quantity, Long::sum));
+        }
+    }
+
+    private void write(Map<Integer, Long> deductions, long sequence) {
+        // The rows are updated in the order of their IDs, so that they are locked in the same order as by checkouts
+        List<Object[]> batchArgs = new ArrayList<>(deductions.size());
+        new TreeMap<>(deductions).forEach((itemId, quantity) -> batchArgs.add(new Object[]{quantity, itemId}));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(DEDUCT_QUERY, batchArgs);
+            jdbcTemplate.update(UPDATE_CHECKPOINT_QUERY, sequence);
+        });
+    }
+
+    private AtomicLong stock(Integer itemId) {
+        return available.computeIfAbsent(itemId, this::load);
+    }
+
+    private AtomicLong load(Integer itemId) {
+        // The item has been added since startup and is held for the first time, so nothing of it is held yet
+        try {
+            return new AtomicLong(jdbcTemplate.queryForObject(LOAD_QUERY, Long.class, itemId));
+        } catch (EmptyResultDataAccessException exception) {
+            String errorMessage = String.format(Messages.ITEM_NOT_FOUND_ERROR, itemId);
+            log.warn(errorMessage);
+            throw new ResourceNotFoundException(errorMessage);
+        }
+    }
+
+    private static boolean take(AtomicLong stock, long quantity) {
+        long current;
+        do {
+            current = stock.get();
+            if (current < quantity) {
+                return false;
+            }
+        } while (!stock.compareAndSet(current, current - quantity));
+        return true;
+    }
+
+    private static void give(AtomicLong stock, long quantity) {
+        stock.addAndGet(quantity);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static void afterRollback(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    action.run();
+                }
+            }
+        });
+    }
+}
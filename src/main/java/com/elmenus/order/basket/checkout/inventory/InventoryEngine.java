@@ -0,0 +1,43 @@
+package com.elmenus.order.basket.checkout.inventory;
+
+import com.elmenus.order.basket.checkout.model.BasketContent;
+import com.elmenus.order.basket.checkout.model.Item;
+
+import java.util.Map;
+
+/**
+ * Keeps track of the stock of {@link Item}s that checkouts hold and deduct. The calls take part in the current
+ * transaction, if any, so the stock is only changed if the transaction commits
+ */
+public interface InventoryEngine {
+    /**
+     * Gets the available quantity of an {@link Item}, i.e. its stock net of holds
+     *
+     * @param item The {@link Item}, as read along with the contents of a basket
+     * @return The available quantity
+     */
+    long available(Item item);
+
+    /**
+     * Holds the required quantities of several {@link Item}s at once. If any {@link Item} is short, an
+     * {@link com.elmenus.order.basket.checkout.exception.InsufficientItemQuantityException} is thrown and nothing is
+     * held at all
+     *
+     * @param contents {@link Map} of the {@link BasketContent}s by {@link Item} ID
+     */
+    void reserve(Map<Integer, BasketContent> contents);
+
+    /**
+     * Releases quantities that were held by {@link #reserve(Map)}, making them available again
+     *
+     * @param quantities The held quantities by {@link Item} ID
+     */
+    void release(Map<Integer, Long> quantities);
+
+    /**
+     * Deducts quantities that were held by {@link #reserve(Map)} from stock
+     *
+     * @param quantities The held quantities by {@link Item} ID
+     */
+    void deduct(Map<Integer, Long> quantities);
+}
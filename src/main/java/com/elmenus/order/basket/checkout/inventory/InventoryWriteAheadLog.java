@@ -0,0 +1,199 @@
+package com.elmenus.order.basket.checkout.inventory;
+
+import com.elmenus.order.basket.checkout.constants.Messages;
+import com.elmenus.order.basket.checkout.model.Item;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Append-only log of the stock deductions that have not been written to the database yet. Each deduction is a line
+ * of its sequence number, {@link Item} ID and quantity, and is forced to disk before {@link #append(Map)} returns.
+ * The log is split into numbered segment files, so that the deductions that have been written to the database can
+ * be dropped by deleting whole segments. This class is not thread safe, its callers have to serialize the calls
+ */
+@Slf4j
+public class InventoryWriteAheadLog implements Closeable {
+    private static final String SEGMENT_PREFIX = "inventory-";
+    private static final String SEGMENT_SUFFIX = ".wal";
+    private static final String FIELD_SEPARATOR = " ";
+    private static final String LINE_SEPARATOR = "\n";
+
+    private final Path directory;
+    private FileChannel channel;
+    private int segment;
+    private long sequence;
+
+    public InventoryWriteAheadLog(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Reads the deductions of all segments in the order they were appended. A line that was not written completely,
+     * as the application stopped while appending it, is skipped, since its deduction was never acknowledged
+     *
+     * @return The deductions in the log
+     */
+    public List<Entry> read() {
+        List<Entry> entries = new ArrayList<>();
+        for (int index : segments()) {
+            String content = readSegment(index);
+            int end = content.lastIndexOf(LINE_SEPARATOR);
+            if (end < 0) {
+                continue;
+            }
+            for (String line : content.substring(0, end).split(LINE_SEPARATOR)) {
+                String[] fields = line.split(FIELD_SEPARATOR);
+                entries.add(new Entry(Long.parseLong(fields[0]), Integer.valueOf(fields[1]),
+                        Long.parseLong(fields[2])));
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Opens a new segment to append to
+     *
+     * @param lastSequence The sequence number after which the new deductions are numbered
+     * @return The index of the new segment, every segment before it has been written by an earlier run
+     */
+    public int open(long lastSequence) {
+        sequence = lastSequence;
+        segment = segments().stream().mapToInt(Integer::intValue).max().orElse(0) + 1;
+        openSegment();
+        return segment;
+    }
+
+    /**
+     * Appends deductions and forces them to disk
+     *
+     * @param quantities The deducted quantities by {@link Item} ID
+     * @return The sequence number of the last appended deduction
+     */
+    public long append(Map<Integer, Long> quantities) {
+        StringBuilder lines = new StringBuilder();
+        quantities.forEach((itemId, quantity) -> lines.append(++sequence).append(FIELD_SEPARATOR).append(itemId)
+                .append(FIELD_SEPARATOR).append(quantity).append(LINE_SEPARATOR));
+
+        ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        } catch (IOException exception) {
+            throw failure(exception);
+        }
+        return sequence;
+    }
+
+    /**
+     * Closes the current segment and opens a new one, so that the closed segments can be deleted once their
+     * deductions have been written to the database
+     *
+     * @return The index of the new segment, every segment before it is closed
+     */
+    public int rotate() {
+        close();
+        segment++;
+        openSegment();
+        return segment;
+    }
+
+    /**
+     * Deletes the closed segments before a specific one
+     *
+     * @param index The index of the first segment to be kept
+     */
+    public void deleteSegmentsBefore(int index) {
+        for (int closedSegment : segments()) {
+            if (closedSegment < index) {
+                try {
+                    Files.deleteIfExists(segmentPath(closedSegment));
+                } catch (IOException exception) {
+                    throw failure(exception);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.close();
+        } catch (IOException exception) {
+            throw failure(exception);
+        }
+    }
+
+    private void openSegment() {
+        try {
+            Files.createDirectories(directory);
+            channel = FileChannel.open(segmentPath(segment), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.APPEND);
+        } catch (IOException exception) {
+            throw failure(exception);
+        }
+    }
+
+    private String readSegment(int index) {
+        try {
+            return Files.readString(segmentPath(index));
+        } catch (IOException exception) {
+            throw failure(exception);
+        }
+    }
+
+    private List<Integer> segments() {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX))
+                    .map(name -> Integer.valueOf(name.substring(SEGMENT_PREFIX.length(),
+                            name.length() - SEGMENT_SUFFIX.length())))
+                    .sorted()
+                    .collect(Collectors.toList());
+        } catch (IOException exception) {
+            throw failure(exception);
+        }
+    }
+
+    private Path segmentPath(int index) {
+        return directory.resolve(SEGMENT_PREFIX + index + SEGMENT_SUFFIX);
+    }
+
+    private UncheckedIOException failure(IOException exception) {
+        String errorMessage = String.format(Messages.INVENTORY_LOG_ERROR, directory);
+        log.error(errorMessage, exception);
+        return new UncheckedIOException(errorMessage, exception);
+    }
+
+    /**
+     * A deduction in the log
+     */
+    @Value
+    public static class Entry {
+        long sequence;
+        Integer itemId;
+        long quantity;
+    }
+}
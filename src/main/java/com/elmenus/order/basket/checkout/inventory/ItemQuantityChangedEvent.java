@@ -0,0 +1,16 @@
+package com.elmenus.order.basket.checkout.inventory;
+
+import com.elmenus.order.basket.checkout.model.Item;
+import lombok.Value;
+
+/**
+ * Published when the quantity of an {@link Item} is changed other than by a checkout, e.g. when it is restocked
+ */
+@Value
+public class ItemQuantityChangedEvent {
+    Integer itemId;
+    /**
+     * The difference between the new and the old quantity
+     */
+    long delta;
+}
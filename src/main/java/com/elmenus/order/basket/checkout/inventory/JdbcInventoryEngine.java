@@ -0,0 +1,37 @@
+package com.elmenus.order.basket.checkout.inventory;
+
+import com.elmenus.order.basket.checkout.model.BasketContent;
+import com.elmenus.order.basket.checkout.model.Item;
+import com.elmenus.order.basket.checkout.service.impl.ItemsService;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * {@link InventoryEngine} that keeps the stock in the {@code item} table only. Every hold is a guarded update of the
+ * item's row, so the stock is consistent across all instances of the application that share the database
+ */
+@RequiredArgsConstructor
+public class JdbcInventoryEngine implements InventoryEngine {
+    private final ItemsService itemsService;
+
+    @Override
+    public long available(Item item) {
+        return item.getQuantity() - item.getReserved();
+    }
+
+    @Override
+    public void reserve(Map<Integer, BasketContent> contents) {
+        itemsService.reserveQuantities(contents);
+    }
+
+    @Override
+    public void release(Map<Integer, Long> quantities) {
+        itemsService.releaseQuantities(quantities);
+    }
+
+    @Override
+    public void deduct(Map<Integer, Long> quantities) {
+        itemsService.deductReservedQuantities(quantities);
+    }
+}
@@ -0,0 +1,82 @@
+package com.elmenus.order.basket.checkout.json;
+
+import com.elmenus.order.basket.checkout.constants.Messages;
+import com.elmenus.order.basket.checkout.util.FixedPoint;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import com.fasterxml.jackson.databind.ser.std.StdScalarSerializer;
+import lombok.experimental.UtilityClass;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+
+/**
+ * Jackson serializers and deserializers that write fixed-point values, see {@link FixedPoint}, as plain decimal
+ * numbers and read them back, so that clients keep seeing {@code 10.5} rather than a count of minor units. A value
+ * with more fraction digits than the representation is rejected instead of being rounded
+ */
+@UtilityClass
+public class FixedPointJson {
+    public static class MoneySerializer extends FixedPointSerializer {
+        public MoneySerializer() {
+            super(FixedPoint.MONEY_SCALE);
+        }
+    }
+
+    public static class MoneyDeserializer extends FixedPointDeserializer {
+        public MoneyDeserializer() {
+            super(FixedPoint.MONEY_SCALE);
+        }
+    }
+
+    public static class QuantitySerializer extends FixedPointSerializer {
+        public QuantitySerializer() {
+            super(FixedPoint.QUANTITY_SCALE);
+        }
+    }
+
+    public static class QuantityDeserializer extends FixedPointDeserializer {
+        public QuantityDeserializer() {
+            super(FixedPoint.QUANTITY_SCALE);
+        }
+    }
+
+    private abstract static class FixedPointSerializer extends StdScalarSerializer<Long> {
+        private final int scale;
+
+        FixedPointSerializer(int scale) {
+            super(Long.class);
+            this.scale = scale;
+        }
+
+        @Override
+        public void serialize(Long value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            generator.writeNumber(FixedPoint.toDecimal(value, scale));
+        }
+    }
+
+    private abstract static class FixedPointDeserializer extends StdScalarDeserializer<Long> {
+        private final int scale;
+
+        FixedPointDeserializer(int scale) {
+            super(Long.class);
+            this.scale = scale;
+        }
+
+        @Override
+        public Long deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            BigDecimal value = parser.getDecimalValue();
+            try {
+                return FixedPoint.fromDecimal(value, scale);
+            } catch (ArithmeticException exception) {
+                String errorMessage = String.format(Messages.FIELD_VALUE_INVALID_ERROR, value,
+                        parser.getCurrentName());
+                throw InvalidFormatException.from(parser, errorMessage, value, Long.class);
+            }
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.elmenus.order.basket.checkout.json;
+
+import com.fasterxml.jackson.annotation.JacksonAnnotationsInside;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a {@code long} field that holds money in minor units, which is read and written as a decimal in JSON
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+@JacksonAnnotationsInside
+@JsonSerialize(using = FixedPointJson.MoneySerializer.class)
+@JsonDeserialize(using = FixedPointJson.MoneyDeserializer.class)
+public @interface MoneyValue {
+}
@@ -0,0 +1,55 @@
+package com.elmenus.order.basket.checkout.mapper;
+
+import com.elmenus.order.basket.checkout.dto.BasketContentDto;
+import com.elmenus.order.basket.checkout.model.Basket;
+import com.elmenus.order.basket.checkout.model.BasketContent;
+import com.elmenus.order.basket.checkout.model.Item;
+import lombok.experimental.UtilityClass;
+import org.springframework.lang.NonNull;
+
+/**
+ * Maps between {@link BasketContent} and {@link BasketContentDto}. A {@link BasketContentDto} only references its
+ * {@link Basket} and {@link Item} by ID, so both have to be resolved by the caller
+ */
+@UtilityClass
+public class BasketContentMapper {
+    /**
+     * Creates a new {@link BasketContent} from a {@link BasketContentDto}, leaving its ID to be generated
+     *
+     * @param basketContentDto The {@link BasketContentDto} to be mapped
+     * @param basket           The {@link Basket} referenced by the {@link BasketContentDto}
+     * @param item             The {@link Item} referenced by the {@link BasketContentDto}
+     * @return The new {@link BasketContent}
+     */
+    public BasketContent toBasketContent(@NonNull BasketContentDto basketContentDto, @NonNull Basket basket,
+                                         @NonNull Item item) {
+        return new BasketContent(null, basket, item, basketContentDto.getQuantity());
+    }
+
+    /**
+     * Copies the fields of a {@link BasketContentDto} to an existing {@link BasketContent}, keeping its ID
+     *
+     * @param basketContentDto The {@link BasketContentDto} to be copied from
+     * @param basket           The {@link Basket} referenced by the {@link BasketContentDto}
+     * @param item             The {@link Item} referenced by the {@link BasketContentDto}
+     * @param basketContent    The {@link BasketContent} to be updated
+     */
+    public void updateBasketContent(@NonNull BasketContentDto basketContentDto, @NonNull Basket basket,
+                                    @NonNull Item item, @NonNull BasketContent basketContent) {
+        basketContent.setBasket(basket);
+        basketContent.setItem(item);
+        basketContent.setQuantity(basketContentDto.getQuantity());
+    }
+
+    /**
+     * Creates a {@link BasketContentDto} from a {@link BasketContent}. Only the IDs of its {@link Basket} and
+     * {@link Item} are read, so lazily loaded associations are not initialized
+     *
+     * @param basketContent The {@link BasketContent} to be mapped
+     * @return The new {@link BasketContentDto}
+     */
+    public BasketContentDto toBasketContentDto(@NonNull BasketContent basketContent) {
+        return new BasketContentDto(basketContent.getBasket().getId(), basketContent.getItem().getId(),
+                basketContent.getQuantity());
+    }
+}
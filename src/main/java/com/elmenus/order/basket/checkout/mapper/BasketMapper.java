@@ -0,0 +1,39 @@
+package com.elmenus.order.basket.checkout.mapper;
+
+import com.elmenus.order.basket.checkout.dto.BasketDto;
+import com.elmenus.order.basket.checkout.model.Basket;
+import com.elmenus.order.basket.checkout.model.User;
+import lombok.experimental.UtilityClass;
+import org.springframework.lang.NonNull;
+
+import java.util.Date;
+
+/**
+ * Maps between {@link Basket} and {@link BasketDto}. A {@link BasketDto} only references its {@link User} by ID,
+ * so the {@link User} itself has to be resolved by the caller
+ */
+@UtilityClass
+public class BasketMapper {
+    /**
+     * Creates a new {@link Basket} that is not checked out yet, leaving its ID to be generated
+     *
+     * @param user         The {@link User} referenced by the {@link BasketDto}
+     * @param creationDate The creation date of the {@link Basket}
+     * @return The new {@link Basket}
+     */
+    public Basket toBasket(@NonNull User user, @NonNull Date creationDate) {
+        // A new basket is empty, so its running totals match its contents already
+        return new Basket(null, user, creationDate, false, null, 0L, 0, 0, true);
+    }
+
+    /**
+     * Creates a {@link BasketDto} from a {@link Basket}. Only the ID of its {@link User} is read, so a lazily
+     * loaded {@link User} is not initialized
+     *
+     * @param basket The {@link Basket} to be mapped
+     * @return The new {@link BasketDto}
+     */
+    public BasketDto toBasketDto(@NonNull Basket basket) {
+        return new BasketDto(basket.getUser().getId());
+    }
+}
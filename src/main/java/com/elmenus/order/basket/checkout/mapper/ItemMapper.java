@@ -0,0 +1,44 @@
+package com.elmenus.order.basket.checkout.mapper;
+
+import com.elmenus.order.basket.checkout.dto.ItemDto;
+import com.elmenus.order.basket.checkout.model.Item;
+import lombok.experimental.UtilityClass;
+import org.springframework.lang.NonNull;
+
+/**
+ * Maps between {@link Item} and {@link ItemDto} by plain field copies
+ */
+@UtilityClass
+public class ItemMapper {
+    /**
+     * Creates a new {@link Item} from an {@link ItemDto}, leaving its ID to be generated
+     *
+     * @param itemDto The {@link ItemDto} to be mapped
+     * @return The new {@link Item}
+     */
+    public Item toItem(@NonNull ItemDto itemDto) {
+        return new Item(null, itemDto.getName(), itemDto.getPrice(), itemDto.getQuantity(), 0L, null);
+    }
+
+    /**
+     * Copies the fields of an {@link ItemDto} to an existing {@link Item}, keeping its ID
+     *
+     * @param itemDto The {@link ItemDto} to be copied from
+     * @param item    The {@link Item} to be updated
+     */
+    public void updateItem(@NonNull ItemDto itemDto, @NonNull Item item) {
+        item.setName(itemDto.getName());
+        item.setPrice(itemDto.getPrice());
+        item.setQuantity(itemDto.getQuantity());
+    }
+
+    /**
+     * Creates an {@link ItemDto} from an {@link Item}
+     *
+     * @param item The {@link Item} to be mapped
+     * @return The new {@link ItemDto}
+     */
+    public ItemDto toItemDto(@NonNull Item item) {
+        return new ItemDto(item.getName(), item.getPrice(), item.getQuantity());
+    }
+}
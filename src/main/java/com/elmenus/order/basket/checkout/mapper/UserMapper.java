@@ -0,0 +1,46 @@
+package com.elmenus.order.basket.checkout.mapper;
+
+import com.elmenus.order.basket.checkout.dto.UserDto;
+import com.elmenus.order.basket.checkout.model.User;
+import lombok.experimental.UtilityClass;
+import org.springframework.lang.NonNull;
+
+/**
+ * Maps between {@link User} and {@link UserDto} by plain field copies
+ */
+@UtilityClass
+public class UserMapper {
+    /**
+     * Creates a new {@link User} from a {@link UserDto}, leaving its ID to be generated
+     *
+     * @param userDto The {@link UserDto} to be mapped
+     * @return The new {@link User}
+     */
+    public User toUser(@NonNull UserDto userDto) {
+        return new User(null, userDto.getFirstname(), userDto.getLastname(), userDto.getUsername(),
+                userDto.getEmail());
+    }
+
+    /**
+     * Copies the fields of a {@link UserDto} to an existing {@link User}, keeping its ID
+     *
+     * @param userDto The {@link UserDto} to be copied from
+     * @param user    The {@link User} to be updated
+     */
+    public void updateUser(@NonNull UserDto userDto, @NonNull User user) {
+        user.setFirstname(userDto.getFirstname());
+        user.setLastname(userDto.getLastname());
+        user.setUsername(userDto.getUsername());
+        user.setEmail(userDto.getEmail());
+    }
+
+    /**
+     * Creates a {@link UserDto} from a {@link User}
+     *
+     * @param user The {@link User} to be mapped
+     * @return The new {@link UserDto}
+     */
+    public UserDto toUserDto(@NonNull User user) {
+        return new UserDto(user.getFirstname(), user.getLastname(), user.getUsername(), user.getEmail());
+    }
+}
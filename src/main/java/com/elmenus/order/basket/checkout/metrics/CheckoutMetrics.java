@@ -0,0 +1,165 @@
+package com.elmenus.order.basket.checkout.metrics;
+
+import com.elmenus.order.basket.checkout.exception.BasketCheckedOutException;
+import com.elmenus.order.basket.checkout.exception.InsufficientItemQuantityException;
+import com.elmenus.order.basket.checkout.exception.MoneyValueException;
+import com.elmenus.order.basket.checkout.exception.PaymentFailedException;
+import com.elmenus.order.basket.checkout.exception.PaymentUnavailableException;
+import com.elmenus.order.basket.checkout.exception.ReservationExpiredException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityNotFoundException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Records where the time of checkouts goes. Every checkout is timed as the {@code checkout.duration} metric and
+ * counted as the {@code checkout.outcomes} metric, both tagged with its {@link Outcome}, and each of its stages is
+ * timed as the {@code checkout.stage.duration} metric tagged with the {@link Stage}. The timers publish percentile
+ * histograms, so that the latency percentiles can be aggregated across instances.
+ * The meters are registered up front, so recording does not look them up
+ */
+@Component
+public class CheckoutMetrics {
+    private static final String DURATION_METRIC = "checkout.duration";
+    private static final String OUTCOMES_METRIC = "checkout.outcomes";
+    private static final String STAGE_DURATION_METRIC = "checkout.stage.duration";
+    private static final String OUTCOME_TAG = "outcome";
+    private static final String STAGE_TAG = "stage";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Stage, Timer> stageTimers = new EnumMap<>(Stage.class);
+    private final Map<Outcome, Timer> durationTimers = new EnumMap<>(Outcome.class);
+    private final Map<Outcome, Counter> outcomeCounters = new EnumMap<>(Outcome.class);
+
+    public CheckoutMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        for (Stage stage : Stage.values()) {
+            stageTimers.put(stage, Timer.builder(STAGE_DURATION_METRIC)
+                    .description("Time spent in a stage of checkouts")
+                    .tag(STAGE_TAG, stage.getTag())
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+        for (Outcome outcome : Outcome.values()) {
+            durationTimers.put(outcome, Timer.builder(DURATION_METRIC)
+                    .description("Time spent in checkouts from start to end")
+                    .tag(OUTCOME_TAG, outcome.getTag())
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+            outcomeCounters.put(outcome, Counter.builder(OUTCOMES_METRIC)
+                    .description("Checkouts by outcome")
+                    .tag(OUTCOME_TAG, outcome.getTag())
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Runs a stage of a checkout and records the time it took, whether it succeeded or not
+     *
+     * @param stage     The {@link Stage}
+     * @param operation The operation of the stage
+     * @param <T>       The type of the result
+     * @return The result of the operation
+     */
+    public <T> T time(@NonNull Stage stage, @NonNull Supplier<T> operation) {
+        return stageTimers.get(stage).record(operation);
+    }
+
+    /**
+     * Runs a stage of a checkout that has no result and records the time it took, whether it succeeded or not
+     *
+     * @param stage     The {@link Stage}
+     * @param operation The operation of the stage
+     */
+    public void time(@NonNull Stage stage, @NonNull Runnable operation) {
+        stageTimers.get(stage).record(operation);
+    }
+
+    /**
+     * Starts timing a whole checkout
+     *
+     * @return The {@link Timer.Sample} to be passed to {@link #stop(Timer.Sample, Throwable)} when it ends
+     */
+    public Timer.Sample start() {
+        return Timer.start(meterRegistry);
+    }
+
+    /**
+     * Records a whole checkout that has ended, under the {@link Outcome} that matches how it ended
+     *
+     * @param sample    The {@link Timer.Sample} returned by {@link #start()}
+     * @param exception The exception the checkout failed with, or NULL if it succeeded
+     */
+    public void stop(@NonNull Timer.Sample sample, Throwable exception) {
+        Outcome outcome = Outcome.of(exception);
+        sample.stop(durationTimers.get(outcome));
+        outcomeCounters.get(outcome).increment();
+    }
+
+    /**
+     * The stages of a checkout, in the order they run
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public enum Stage {
+        CONTENT_LOAD("content-load"),
+        AVAILABILITY_CHECK("availability-check"),
+        COST_CALCULATION("cost-calculation"),
+        STOCK_RESERVATION("stock-reservation"),
+        CHECKED_OUT_UPDATE("checked-out-update"),
+        PAYMENT("payment"),
+        STOCK_DEDUCTION("stock-deduction");
+
+        private final String tag;
+    }
+
+    /**
+     * The ways a checkout can end
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public enum Outcome {
+        SUCCESS("success"),
+        INSUFFICIENT_QUANTITY("insufficient-quantity"),
+        MONEY_OUT_OF_RANGE("money-out-of-range"),
+        ALREADY_CHECKED_OUT("already-checked-out"),
+        NOT_FOUND("not-found"),
+        CONFLICT("conflict"),
+        PAYMENT_FAILED("payment-failed"),
+        PAYMENT_UNAVAILABLE("payment-unavailable"),
+        ERROR("error");
+
+        private final String tag;
+
+        static Outcome of(Throwable exception) {
+            if (exception == null) {
+                return SUCCESS;
+            } else if (exception instanceof InsufficientItemQuantityException) {
+                return INSUFFICIENT_QUANTITY;
+            } else if (exception instanceof MoneyValueException) {
+                return MONEY_OUT_OF_RANGE;
+            } else if (exception instanceof BasketCheckedOutException) {
+                return ALREADY_CHECKED_OUT;
+            } else if (exception instanceof EntityNotFoundException) {
+                return NOT_FOUND;
+            } else if (exception instanceof OptimisticLockingFailureException
+                    || exception instanceof ReservationExpiredException) {
+                return CONFLICT;
+            } else if (exception instanceof PaymentFailedException) {
+                return PAYMENT_FAILED;
+            } else if (exception instanceof PaymentUnavailableException) {
+                return PAYMENT_UNAVAILABLE;
+            }
+            return ERROR;
+        }
+    }
+}
@@ -1,10 +1,12 @@
 package com.elmenus.order.basket.checkout.model;
 
 import com.elmenus.order.basket.checkout.constants.Constants;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 
 import javax.persistence.*;
 import java.util.Date;
@@ -19,7 +21,7 @@ public class Basket {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Integer id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name="userId",referencedColumnName=Constants.ID_FIELD)
     private User user;
 
@@ -28,4 +30,39 @@ public class Basket {
 
     // Boolean flag to indicate if the basket has already been check out
     private boolean checkedOut;
+
+    // Optimistic lock, so that concurrent checkouts or updates of the same basket fail instead of overwriting each other
+    @Version
+    private Long version;
+
+    // Running totals of the basket contents, see BasketSummary. They are only changed by atomic updates as contents
+    // are added, updated or deleted, never written back from the entity, which may hold stale values. The columns
+    // default to empty totals, so that rows inserted without them, e.g. through R2DBC, start out empty
+
+    // In thousandths of a minor unit, see FixedPoint#cost, so that it is only rounded when read
+    @JsonIgnore
+    @ColumnDefault("0")
+    @Column(updatable = false)
+    private long totalCost;
+
+    @JsonIgnore
+    @ColumnDefault("0")
+    @Column(updatable = false)
+    private int lineCount;
+
+    @JsonIgnore
+    @ColumnDefault("0")
+    @Column(updatable = false)
+    private int distinctItems;
+
+    // Whether the totals match the contents. They do not until they are computed from the contents once, and stop
+    // matching whenever the price of one of the items changes or the contents are changed other than by the services
+    @JsonIgnore
+    @ColumnDefault("false")
+    @Column(updatable = false)
+    private boolean totalsValid;
+
+    public Basket(Integer id, User user, Date creationDate, boolean checkedOut, Long version) {
+        this(id, user, creationDate, checkedOut, version, 0L, 0, 0, false);
+    }
 }
@@ -1,6 +1,7 @@
 package com.elmenus.order.basket.checkout.model;
 
 import com.elmenus.order.basket.checkout.constants.Constants;
+import com.elmenus.order.basket.checkout.json.QuantityValue;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -13,19 +14,22 @@ import javax.persistence.*;
 @NoArgsConstructor
 @Entity
 @Builder
+// A basket holds at most one line per item, adding an item again increases the quantity of its line
+@Table(uniqueConstraints = @UniqueConstraint(name = Constants.BASKET_ITEM_CONSTRAINT, columnNames = {"basketId", "itemId"}))
 public class BasketContent {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Integer id;
 
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name="basketId", referencedColumnName=Constants.ID_FIELD)
     Basket basket;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name="itemId", referencedColumnName=Constants.ID_FIELD)
     Item item;
 
-    private float quantity;
+    @QuantityValue
+    private long quantity;
 }
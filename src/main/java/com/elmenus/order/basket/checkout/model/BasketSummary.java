@@ -0,0 +1,22 @@
+package com.elmenus.order.basket.checkout.model;
+
+import com.elmenus.order.basket.checkout.json.MoneyValue;
+import com.elmenus.order.basket.checkout.util.FixedPoint;
+import lombok.Value;
+
+/**
+ * The running totals of the contents of a {@link Basket}, which are read without going through its contents
+ */
+@Value
+public class BasketSummary {
+    Integer basketId;
+    @MoneyValue
+    long totalCost;
+    int lineCount;
+    int distinctItems;
+
+    public static BasketSummary of(Basket basket) {
+        return new BasketSummary(basket.getId(), FixedPoint.toMoney(basket.getTotalCost()), basket.getLineCount(),
+                basket.getDistinctItems());
+    }
+}
@@ -0,0 +1,35 @@
+package com.elmenus.order.basket.checkout.model;
+
+import lombok.Value;
+
+/**
+ * The status of an asynchronous checkout of a {@link Basket}, along with the type and message of the error if it
+ * failed
+ */
+@Value
+public class CheckoutStatus {
+    String id;
+    Integer basketId;
+    State state;
+    String error;
+    String message;
+
+    public static CheckoutStatus pending(String id, Integer basketId) {
+        return new CheckoutStatus(id, basketId, State.PENDING, null, null);
+    }
+
+    public CheckoutStatus succeeded() {
+        return new CheckoutStatus(id, basketId, State.SUCCEEDED, null, null);
+    }
+
+    public CheckoutStatus failed(Throwable throwable) {
+        return new CheckoutStatus(id, basketId, State.FAILED, throwable.getClass().getSimpleName(),
+                throwable.getMessage());
+    }
+
+    public enum State {
+        PENDING,
+        SUCCEEDED,
+        FAILED
+    }
+}
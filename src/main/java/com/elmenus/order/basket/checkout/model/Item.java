@@ -1,15 +1,19 @@
 package com.elmenus.order.basket.checkout.model;
 
 import com.elmenus.order.basket.checkout.constants.Messages;
+import com.elmenus.order.basket.checkout.json.MoneyValue;
+import com.elmenus.order.basket.checkout.json.QuantityValue;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Version;
 import javax.validation.constraints.Min;
 import javax.validation.constraints.NotBlank;
 
@@ -26,9 +30,22 @@ public class Item {
     @NotBlank(message = Messages.NAME_BLANK_ERROR)
     private String name;
 
+    // Money and quantities are fixed-point, see FixedPoint, so that costs add up exactly
+    @MoneyValue
     @Min(value = 0, message = Messages.PRICE_NEGATIVE_ERROR)
-    private float price;
+    private long price;
 
+    @QuantityValue
     @Min(value = 0, message = Messages.QUANTITY_NEGATIVE_ERROR)
-    private float quantity;
+    private long quantity;
+
+    // The quantity held by checkouts that are in progress, see StockReservation. Only the rest is available. The
+    // column defaults to 0, so that rows inserted without it, e.g. through R2DBC, hold nothing
+    @QuantityValue
+    @ColumnDefault("0")
+    private long reserved;
+
+    // Optimistic lock, so that concurrent updates of the same item fail instead of overwriting each other
+    @Version
+    private Long version;
 }
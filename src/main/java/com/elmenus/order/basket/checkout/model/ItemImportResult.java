@@ -0,0 +1,42 @@
+package com.elmenus.order.basket.checkout.model;
+
+import lombok.Value;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The outcome of a bulk import of {@link Item}s. Records that are rejected are listed with their errors, while the
+ * rest of the import goes on
+ */
+@Value
+public class ItemImportResult {
+    public static final ItemImportResult EMPTY = new ItemImportResult(0, 0, List.of());
+
+    int created;
+    int updated;
+    List<ItemImportError> errors;
+
+    /**
+     * Combines the outcomes of two parts of the same import
+     *
+     * @param other The {@link ItemImportResult} of the other part
+     * @return The combined {@link ItemImportResult}
+     */
+    public ItemImportResult merge(ItemImportResult other) {
+        List<ItemImportError> allErrors = new ArrayList<>(errors);
+        allErrors.addAll(other.getErrors());
+        return new ItemImportResult(created + other.getCreated(), updated + other.getUpdated(), allErrors);
+    }
+
+    /**
+     * A record that is rejected by an import
+     */
+    @Value
+    public static class ItemImportError {
+        // The position of the record in the import, starting at 0
+        long index;
+        Integer id;
+        String message;
+    }
+}
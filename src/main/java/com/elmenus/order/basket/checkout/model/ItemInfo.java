@@ -0,0 +1,17 @@
+package com.elmenus.order.basket.checkout.model;
+
+import lombok.Value;
+
+/**
+ * The catalogue details of an {@link Item}, which rarely change and are therefore safe to cache, unlike its quantity
+ */
+@Value
+public class ItemInfo {
+    Integer id;
+    String name;
+    long price;
+
+    public static ItemInfo of(Item item) {
+        return new ItemInfo(item.getId(), item.getName(), item.getPrice());
+    }
+}
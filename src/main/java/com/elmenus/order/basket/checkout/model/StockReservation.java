@@ -0,0 +1,40 @@
+package com.elmenus.order.basket.checkout.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+import java.util.Date;
+
+/**
+ * A short-lived hold on the quantity of an {@link Item} by the checkout of a {@link Basket}. The held quantity is
+ * added to {@link Item#getReserved()} too, so it is not available to other checkouts until the hold is either
+ * committed, i.e. deducted from stock, or released. A hold that is neither by the time it expires is released by
+ * a background sweeper
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Builder
+@Table(indexes = {@Index(columnList = "basketId"), @Index(columnList = "expiresAt")})
+public class StockReservation {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    private Integer basketId;
+
+    private Integer itemId;
+
+    private long quantity;
+
+    private Date expiresAt;
+}
@@ -0,0 +1,30 @@
+package com.elmenus.order.basket.checkout.model.reactive;
+
+import com.elmenus.order.basket.checkout.json.QuantityValue;
+import com.elmenus.order.basket.checkout.model.BasketContent;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+/**
+ * R2DBC mapping of the {@link BasketContent} table, which refers to its basket and item by ID only
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Table("basket_content")
+public class BasketContentRow {
+    @Id
+    private Integer id;
+
+    private Integer basketId;
+
+    private Integer itemId;
+
+    @QuantityValue
+    private long quantity;
+}
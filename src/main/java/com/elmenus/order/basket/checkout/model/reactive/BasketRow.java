@@ -0,0 +1,35 @@
+package com.elmenus.order.basket.checkout.model.reactive;
+
+import com.elmenus.order.basket.checkout.model.Basket;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.util.Date;
+
+/**
+ * R2DBC mapping of the {@link Basket} table, which refers to its user by ID only
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Table("basket")
+public class BasketRow {
+    @Id
+    private Integer id;
+
+    private Integer userId;
+
+    private Date creationDate;
+
+    // Boolean flag to indicate if the basket has already been check out
+    private boolean checkedOut;
+
+    @Version
+    private Long version;
+}
@@ -0,0 +1,36 @@
+package com.elmenus.order.basket.checkout.model.reactive;
+
+import com.elmenus.order.basket.checkout.json.MoneyValue;
+import com.elmenus.order.basket.checkout.json.QuantityValue;
+import com.elmenus.order.basket.checkout.model.Item;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.relational.core.mapping.Table;
+
+/**
+ * R2DBC mapping of the {@link Item} table
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Table("item")
+public class ItemRow {
+    @Id
+    private Integer id;
+
+    private String name;
+
+    @MoneyValue
+    private long price;
+
+    @QuantityValue
+    private long quantity;
+
+    @Version
+    private Long version;
+}
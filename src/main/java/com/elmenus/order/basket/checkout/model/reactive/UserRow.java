@@ -0,0 +1,30 @@
+package com.elmenus.order.basket.checkout.model.reactive;
+
+import com.elmenus.order.basket.checkout.model.User;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+/**
+ * R2DBC mapping of the {@link User} table
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Table("user")
+public class UserRow {
+    @Id
+    private Integer id;
+
+    private String firstname;
+
+    private String lastname;
+
+    private String username;
+
+    private String email;
+}
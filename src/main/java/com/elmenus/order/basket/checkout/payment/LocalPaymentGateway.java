@@ -0,0 +1,52 @@
+package com.elmenus.order.basket.checkout.payment;
+
+import com.elmenus.order.basket.checkout.constants.Messages;
+import com.elmenus.order.basket.checkout.exception.PaymentFailedException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * In-process stand-in for a credit card {@link PaymentGateway}. Every charge takes a configurable time and is
+ * declined at a configurable rate, so that slow and failing payments can be simulated without a real gateway
+ */
+@Component
+@ConditionalOnProperty(name = "checkout.payment.gateway", havingValue = "local", matchIfMissing = true)
+@Slf4j
+public class LocalPaymentGateway implements PaymentGateway {
+    private final Duration latency;
+    private final double failureRate;
+
+    public LocalPaymentGateway(@Value("${checkout.payment.local.latency}") Duration latency,
+                               @Value("${checkout.payment.local.failure-rate}") double failureRate) {
+        this.latency = latency;
+        this.failureRate = failureRate;
+    }
+
+    @Override
+    public Mono<Void> charge(Integer basketId, long amount) {
+        // The latency is simulated with a timer rather than by sleeping, so no thread is held while waiting
+        Mono<Long> delay = latency.isZero() ? Mono.just(0L) : Mono.delay(latency);
+        return delay.then(Mono.defer(() -> {
+            if (ThreadLocalRandom.current().nextDouble() < failureRate) {
+                String errorMessage = String.format(Messages.PAYMENT_DECLINED_ERROR, basketId);
+                log.warn(errorMessage);
+                return Mono.error(new PaymentFailedException(errorMessage));
+            }
+            return Mono.empty();
+        }));
+    }
+
+    @Override
+    public Mono<Void> voidCharge(Integer basketId) {
+        // A charge that is abandoned, e.g. on a timeout, is cancelled before it completes, so nothing is ever left to
+        // be voided
+        log.info(String.format(Messages.PAYMENT_VOIDED_MESSAGE, basketId));
+        return Mono.empty();
+    }
+}
@@ -0,0 +1,77 @@
+package com.elmenus.order.basket.checkout.payment;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * A circuit breaker that opens after a number of consecutive failures, so that calls fail fast instead of piling up
+ * on a gateway that keeps failing. Once open for a while, a single trial call is let through: it closes the circuit
+ * if it succeeds and opens it again otherwise
+ */
+public class PaymentCircuitBreaker {
+    private final int failureThreshold;
+    private final Duration openDuration;
+    private final Clock clock;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private Instant openedAt;
+
+    public PaymentCircuitBreaker(int failureThreshold, Duration openDuration, Clock clock) {
+        this.failureThreshold = failureThreshold;
+        this.openDuration = openDuration;
+        this.clock = clock;
+    }
+
+    /**
+     * Checks if a call is permitted. A permitted call must be followed by {@link #onSuccess()} or
+     * {@link #onFailure()}
+     *
+     * @return True if the call is permitted, false if the circuit is open
+     */
+    public synchronized boolean tryAcquirePermission() {
+        switch (state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                if (clock.instant().isBefore(openedAt.plus(openDuration))) {
+                    return false;
+                }
+                state = State.HALF_OPEN;
+                return true;
+            default:
+                // A trial call is in progress already
+                return false;
+        }
+    }
+
+    /**
+     * Records a successful call, which closes the circuit
+     */
+    public synchronized void onSuccess() {
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+    }
+
+    /**
+     * Records a failed call, which opens the circuit if it was a trial or if there are too many consecutive failures
+     */
+    public synchronized void onFailure() {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            state = State.OPEN;
+            openedAt = clock.instant();
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+}
@@ -0,0 +1,31 @@
+package com.elmenus.order.basket.checkout.payment;
+
+import com.elmenus.order.basket.checkout.exception.PaymentFailedException;
+import com.elmenus.order.basket.checkout.model.Basket;
+import reactor.core.publisher.Mono;
+
+/**
+ * A gateway through which the total cost of a {@link Basket} is charged. A charge is returned as a {@link Mono}
+ * instead of being made on the calling thread, so that the wait for it can be bounded by a timeout
+ */
+public interface PaymentGateway {
+    /**
+     * Charges the total cost of a {@link Basket}
+     *
+     * @param basketId The ID of the {@link Basket}
+     * @param amount   The amount to be charged in minor units
+     * @return {@link Mono} that completes when the amount is charged, or fails with a {@link PaymentFailedException}
+     * if the payment is declined
+     */
+    Mono<Void> charge(Integer basketId, long amount);
+
+    /**
+     * Voids the charge of a {@link Basket}, whether it has completed or is still in progress, so that the
+     * {@link Basket} is not charged in the end. Voiding a {@link Basket} that has not been charged does nothing, so
+     * a void can be retried
+     *
+     * @param basketId The ID of the {@link Basket}
+     * @return {@link Mono} that completes when the charge is voided
+     */
+    Mono<Void> voidCharge(Integer basketId);
+}
@@ -0,0 +1,150 @@
+package com.elmenus.order.basket.checkout.payment;
+
+import com.elmenus.order.basket.checkout.constants.Messages;
+import com.elmenus.order.basket.checkout.exception.PaymentFailedException;
+import com.elmenus.order.basket.checkout.exception.PaymentOutcomeUnknownException;
+import com.elmenus.order.basket.checkout.exception.PaymentUnavailableException;
+import com.elmenus.order.basket.checkout.model.Basket;
+import com.google.common.base.Preconditions;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Service for paying for {@link Basket}s through the {@link PaymentGateway}. A payment blocks the calling thread, i.e.
+ * the JDBC scheduler thread that runs the checkout, until the gateway answers or the timeout elapses. Payments are
+ * guarded so that a slow or failing gateway cannot hold up checkouts:
+ * <ul>
+ *     <li>a payment that takes longer than {@code checkout.payment.timeout} is abandoned and its charge voided</li>
+ *     <li>at most {@code checkout.payment.max-concurrent} payments are in progress at once, i.e. a bulkhead. Payments
+ *     wait on the JDBC scheduler threads that run checkouts, so the bulkhead must be smaller than their number, which
+ *     leaves threads free for other work however slow the gateway is</li>
+ *     <li>after {@code checkout.payment.circuit-breaker.failure-threshold} consecutive failures, payments fail fast
+ *     for {@code checkout.payment.circuit-breaker.open-duration}. Only timeouts and errors of the gateway itself are
+ *     failures, a declined payment is not</li>
+ * </ul>
+ * Payments that are not attempted or not completed for these reasons fail with a {@link PaymentUnavailableException}
+ * and are counted as the {@code checkout.payment.unavailable} metric
+ */
+@Service
+@Slf4j
+public class PaymentService {
+    private static final String UNAVAILABLE_METRIC = "checkout.payment.unavailable";
+    private static final String REASON_TAG = "reason";
+
+    private final PaymentGateway paymentGateway;
+    private final Duration timeout;
+    private final Semaphore bulkhead;
+    private final PaymentCircuitBreaker circuitBreaker;
+    private final Counter timedOut;
+    private final Counter bulkheadFull;
+    private final Counter circuitOpen;
+
+    public PaymentService(PaymentGateway paymentGateway, MeterRegistry meterRegistry,
+                          @Value("${checkout.payment.timeout}") Duration timeout,
+                          @Value("${checkout.payment.max-concurrent}") int maxConcurrent,
+                          @Value("${spring.datasource.hikari.maximum-pool-size}") int jdbcSchedulerThreads,
+                          @Value("${checkout.payment.circuit-breaker.failure-threshold}") int failureThreshold,
+                          @Value("${checkout.payment.circuit-breaker.open-duration}") Duration openDuration) {
+        Preconditions.checkArgument(maxConcurrent < jdbcSchedulerThreads, Messages.PAYMENT_MAX_CONCURRENT_ERROR,
+                maxConcurrent, jdbcSchedulerThreads);
+
+        this.paymentGateway = paymentGateway;
+        this.timeout = timeout;
+        this.bulkhead = new Semaphore(maxConcurrent);
+        this.circuitBreaker = new PaymentCircuitBreaker(failureThreshold, openDuration, Clock.systemUTC());
+        this.timedOut = unavailableCounter(meterRegistry, "timeout");
+        this.bulkheadFull = unavailableCounter(meterRegistry, "bulkhead-full");
+        this.circuitOpen = unavailableCounter(meterRegistry, "circuit-open");
+    }
+
+    /**
+     * Pays the total cost of a {@link Basket}. If the payment is declined a {@link PaymentFailedException} is thrown,
+     * and if it cannot be made for now a {@link PaymentUnavailableException} is thrown. A charge that times out or
+     * fails without an answer from the gateway is voided first, so the {@link Basket} is known not to be charged in
+     * either case. If the charge cannot be voided either, a {@link PaymentOutcomeUnknownException} is thrown instead
+     *
+     * @param basketId The ID of the {@link Basket}
+     * @param amount   The amount to be paid in minor units
+     */
+    public void pay(@NonNull Integer basketId, long amount) {
+        Preconditions.checkNotNull(basketId, Messages.ID_NULL_ERROR);
+
+        if (!bulkhead.tryAcquire()) {
+            bulkheadFull.increment();
+            throw unavailable(Messages.PAYMENT_BULKHEAD_FULL_ERROR);
+        }
+
+        try {
+            if (!circuitBreaker.tryAcquirePermission()) {
+                circuitOpen.increment();
+                throw unavailable(Messages.PAYMENT_CIRCUIT_OPEN_ERROR);
+            }
+
+            try {
+                paymentGateway.charge(basketId, amount)
+                        .timeout(timeout)
+                        .onErrorMap(TimeoutException.class, exception -> {
+                            timedOut.increment();
+                            return unavailable(String.format(Messages.PAYMENT_TIMEOUT_ERROR, timeout.toMillis()));
+                        })
+                        .block();
+                circuitBreaker.onSuccess();
+            } catch (PaymentFailedException exception) {
+                // A declined payment is an answer of a working gateway, so it does not count towards opening the
+                // circuit
+                circuitBreaker.onSuccess();
+                throw exception;
+            } catch (RuntimeException exception) {
+                circuitBreaker.onFailure();
+                // The gateway did not answer, so the charge may still go through unless it is voided
+                voidCharge(basketId);
+                throw exception;
+            }
+        } finally {
+            bulkhead.release();
+        }
+
+        log.info(String.format(Messages.PAYMENT_SUCCEEDED_MESSAGE, basketId));
+    }
+
+    /**
+     * Voids the charge of a {@link Basket}, so that it is known not to be charged. If the charge cannot be voided, a
+     * {@link PaymentOutcomeUnknownException} is thrown
+     *
+     * @param basketId The ID of the {@link Basket}
+     */
+    public void voidCharge(@NonNull Integer basketId) {
+        Preconditions.checkNotNull(basketId, Messages.ID_NULL_ERROR);
+
+        try {
+            paymentGateway.voidCharge(basketId)
+                    .timeout(timeout)
+                    .block();
+        } catch (RuntimeException exception) {
+            String errorMessage = String.format(Messages.PAYMENT_OUTCOME_UNKNOWN_ERROR, basketId);
+            log.error(errorMessage, exception);
+            throw new PaymentOutcomeUnknownException(errorMessage);
+        }
+    }
+
+    private static PaymentUnavailableException unavailable(String errorMessage) {
+        log.warn(errorMessage);
+        return new PaymentUnavailableException(errorMessage);
+    }
+
+    private static Counter unavailableCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder(UNAVAILABLE_METRIC)
+                .description("Payments that were not made because the payment gateway was unavailable")
+                .tag(REASON_TAG, reason)
+                .register(meterRegistry);
+    }
+}
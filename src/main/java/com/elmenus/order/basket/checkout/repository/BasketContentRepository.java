@@ -1,10 +1,45 @@
 package com.elmenus.order.basket.checkout.repository;
 
 import com.elmenus.order.basket.checkout.model.BasketContent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 
+import javax.transaction.Transactional;
 import java.util.List;
+import java.util.Optional;
 
-public interface BasketContentRepository extends CrudRepository<BasketContent, Integer> {
+public interface BasketContentRepository extends CrudRepository<BasketContent, Integer>, BasketContentRepositoryCustom {
+    // The associations are lazy, so every read whose results leave the service fetches them in the same statement
+    @Override
+    @EntityGraph(attributePaths = {"item", "basket.user"})
+    Iterable<BasketContent> findAll();
+
+    @Override
+    @EntityGraph(attributePaths = {"item", "basket.user"})
+    Optional<BasketContent> findById(Integer id);
+
+    // Keyset pagination, the page starts after the specified ID and the pageable only limits its size
+    @EntityGraph(attributePaths = {"item", "basket.user"})
+    List<BasketContent> findByIdGreaterThanOrderByIdAsc(Integer id, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"item", "basket.user"})
     List<BasketContent> findByBasketId(Integer basketId);
+
+    // Loads the contents of a basket along with their items, basket and user in one statement
+    @Query("select bc from BasketContent bc join fetch bc.item join fetch bc.basket b join fetch b.user " +
+            "where b.id = :basketId")
+    List<BasketContent> findWithItemsByBasketId(@Param("basketId") Integer basketId);
+
+    Optional<BasketContent> findByBasketIdAndItemId(Integer basketId, Integer itemId);
+
+    // Increases the quantity in the database rather than writing back a quantity read earlier, so concurrent
+    // additions of the same item are not lost
+    @Transactional
+    @Modifying
+    @Query("update BasketContent bc set bc.quantity = bc.quantity + :quantity where bc.id = :id")
+    int addToQuantity(@Param("id") Integer id, @Param("quantity") long quantity);
 }
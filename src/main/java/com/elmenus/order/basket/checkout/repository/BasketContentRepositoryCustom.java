@@ -0,0 +1,24 @@
+package com.elmenus.order.basket.checkout.repository;
+
+import com.elmenus.order.basket.checkout.model.BasketContent;
+
+import java.util.List;
+
+/**
+ * Custom operations of {@link BasketContentRepository} that are executed directly through JDBC
+ */
+public interface BasketContentRepositoryCustom {
+    /**
+     * Inserts several basket contents in one JDBC batch. Their IDs are generated but not read back
+     *
+     * @param basketContents The {@link BasketContent}s to be inserted, with their basket and item set
+     */
+    void insertBasketContents(List<BasketContent> basketContents);
+
+    /**
+     * Increases the quantities of several existing basket contents in one JDBC batch
+     *
+     * @param basketContents The {@link BasketContent}s, with their ID set and the quantity to be added to each
+     */
+    void addToQuantities(List<BasketContent> basketContents);
+}
@@ -0,0 +1,40 @@
+package com.elmenus.order.basket.checkout.repository;
+
+import com.elmenus.order.basket.checkout.model.BasketContent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JDBC implementation of {@link BasketContentRepositoryCustom}
+ */
+@RequiredArgsConstructor
+public class BasketContentRepositoryCustomImpl implements BasketContentRepositoryCustom {
+    private static final String INSERT_BASKET_CONTENT_SQL =
+            "INSERT INTO basket_content (basket_id, item_id, quantity) VALUES (?, ?, ?)";
+    private static final String ADD_TO_QUANTITY_SQL =
+            "UPDATE basket_content SET quantity = quantity + ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void insertBasketContents(List<BasketContent> basketContents) {
+        List<Object[]> batchArgs = new ArrayList<>(basketContents.size());
+        for (BasketContent basketContent : basketContents) {
+            batchArgs.add(new Object[]{basketContent.getBasket().getId(), basketContent.getItem().getId(),
+                    basketContent.getQuantity()});
+        }
+        jdbcTemplate.batchUpdate(INSERT_BASKET_CONTENT_SQL, batchArgs);
+    }
+
+    @Override
+    public void addToQuantities(List<BasketContent> basketContents) {
+        List<Object[]> batchArgs = new ArrayList<>(basketContents.size());
+        for (BasketContent basketContent : basketContents) {
+            batchArgs.add(new Object[]{basketContent.getQuantity(), basketContent.getId()});
+        }
+        jdbcTemplate.batchUpdate(ADD_TO_QUANTITY_SQL, batchArgs);
+    }
+}
@@ -1,7 +1,57 @@
 package com.elmenus.order.basket.checkout.repository;
 
 import com.elmenus.order.basket.checkout.model.Basket;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+
+import javax.transaction.Transactional;
+import java.util.List;
+import java.util.Optional;
 
 public interface BasketRepository extends CrudRepository<Basket, Integer> {
+    // The user is lazy, so every read whose results leave the service fetches it in the same statement
+    @Override
+    @EntityGraph(attributePaths = "user")
+    Iterable<Basket> findAll();
+
+    @Override
+    @EntityGraph(attributePaths = "user")
+    Optional<Basket> findById(Integer id);
+
+    // Keyset pagination, the page starts after the specified ID and the pageable only limits its size
+    @EntityGraph(attributePaths = "user")
+    List<Basket> findByIdGreaterThanOrderByIdAsc(Integer id, Pageable pageable);
+
+    // Adds to the running totals in place, so that concurrent changes of the contents all count. The distinct items
+    // are counted from the contents instead, as only they tell if another line holds the same item
+    @Transactional
+    @Modifying
+    @Query("update Basket b set b.totalCost = b.totalCost + :cost, b.lineCount = b.lineCount + :lines, "
+            + "b.distinctItems = (select count(distinct bc.item.id) from BasketContent bc where bc.basket.id = :id) "
+            + "where b.id = :id")
+    int addToTotals(@Param("id") Integer id, @Param("cost") long cost, @Param("lines") int lines);
+
+    // Computes the running totals from the contents and marks them as valid
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update Basket b set "
+            + "b.totalCost = (select coalesce(sum(bc.quantity * i.price), 0) from BasketContent bc join bc.item i "
+            + "where bc.basket.id = :id), "
+            + "b.lineCount = (select count(bc) from BasketContent bc where bc.basket.id = :id), "
+            + "b.distinctItems = (select count(distinct bc.item.id) from BasketContent bc where bc.basket.id = :id), "
+            + "b.totalsValid = true "
+            + "where b.id = :id")
+    int refreshTotals(@Param("id") Integer id);
+
+    // Marks the running totals of the baskets holding an item as invalid, e.g. as its price has changed. Baskets that
+    // are checked out already are left alone
+    @Transactional
+    @Modifying
+    @Query("update Basket b set b.totalsValid = false where b.checkedOut = false and b.id in "
+            + "(select bc.basket.id from BasketContent bc where bc.item.id = :itemId)")
+    int invalidateTotalsByItemId(@Param("itemId") Integer itemId);
 }
@@ -0,0 +1,57 @@
+package com.elmenus.order.basket.checkout.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.jpa.QueryHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+
+/**
+ * Streams entities one at a time from a database cursor, so that listing a table never materializes it in memory
+ */
+@Repository
+@RequiredArgsConstructor
+public class EntityStreamer {
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Value("${checkout.stream.fetch-size}")
+    private int fetchSize;
+
+    /**
+     * Streams the results of a JPQL query. The query runs in its own read-only transaction, which holds a database
+     * connection until the returned {@link Flux} terminates or is cancelled. Each entity is detached as soon as it is
+     * read, so associations that are needed by the caller should be fetched by the query itself
+     *
+     * @param query The JPQL query
+     * @param type  The type of the entities
+     * @return {@link Flux} of the entities, read lazily as they are requested
+     */
+    public <T> Flux<T> stream(String query, Class<T> type) {
+        return Flux.using(this::beginTransaction,
+                entityManager -> Flux.fromStream(() -> entityManager.createQuery(query, type)
+                        .setHint(QueryHints.HINT_FETCH_SIZE, fetchSize)
+                        .setHint(QueryHints.HINT_READONLY, true)
+                        .getResultStream())
+                        .doOnNext(entity -> entityManager.clear()),
+                this::endTransaction);
+    }
+
+    private EntityManager beginTransaction() {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        entityManager.getTransaction().begin();
+        return entityManager;
+    }
+
+    private void endTransaction(EntityManager entityManager) {
+        try {
+            if (entityManager.getTransaction().isActive()) {
+                entityManager.getTransaction().rollback();
+            }
+        } finally {
+            entityManager.close();
+        }
+    }
+}
@@ -1,7 +1,24 @@
 package com.elmenus.order.basket.checkout.repository;
 
 import com.elmenus.order.basket.checkout.model.Item;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 
-public interface ItemRepository extends CrudRepository<Item, Integer> {
+import javax.transaction.Transactional;
+import java.util.List;
+
+public interface ItemRepository extends CrudRepository<Item, Integer>, ItemRepositoryCustom {
+    // Keyset pagination, the page starts after the specified ID and the pageable only limits its size
+    List<Item> findByIdGreaterThanOrderByIdAsc(Integer id, Pageable pageable);
+
+    // Deducts the quantity only if enough is available, i.e. in stock and not reserved, and returns the number of
+    // updated rows. The version is bumped too, so that a concurrent update of the item based on the old quantity fails
+    @Transactional
+    @Modifying
+    @Query("update Item i set i.quantity = i.quantity - :quantity, i.version = i.version + 1 "
+            + "where i.id = :id and i.quantity - i.reserved >= :quantity")
+    int decreaseQuantity(@Param("id") Integer id, @Param("quantity") long quantity);
 }
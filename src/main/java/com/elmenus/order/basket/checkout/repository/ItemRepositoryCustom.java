@@ -0,0 +1,54 @@
+package com.elmenus.order.basket.checkout.repository;
+
+import com.elmenus.order.basket.checkout.model.Item;
+
+import java.util.List;
+
+/**
+ * Custom operations of {@link ItemRepository} that are executed directly through JDBC
+ */
+public interface ItemRepositoryCustom {
+    /**
+     * Reserves the quantities of several items in one JDBC batch. Each item's quantity is reserved only if enough
+     * of it is available, i.e. in stock and not reserved already
+     *
+     * @param ids        The IDs of the items
+     * @param quantities The quantities to be reserved, in the same order as the IDs
+     * @return The number of updated rows for each item, in the same order as the IDs
+     */
+    int[] reserveQuantities(List<Integer> ids, List<Long> quantities);
+
+    /**
+     * Releases reserved quantities of several items in one JDBC batch, making them available again
+     *
+     * @param ids        The IDs of the items
+     * @param quantities The reserved quantities to be released, in the same order as the IDs
+     * @return The number of updated rows for each item, in the same order as the IDs
+     */
+    int[] releaseQuantities(List<Integer> ids, List<Long> quantities);
+
+    /**
+     * Deducts reserved quantities of several items from stock in one JDBC batch
+     *
+     * @param ids        The IDs of the items
+     * @param quantities The reserved quantities to be deducted, in the same order as the IDs
+     * @return The number of updated rows for each item, in the same order as the IDs
+     */
+    int[] deductReservedQuantities(List<Integer> ids, List<Long> quantities);
+
+    /**
+     * Inserts new items in one JDBC batch, with nothing reserved. Their IDs are generated but not read back
+     *
+     * @param items The items to be inserted
+     */
+    void insertItems(List<Item> items);
+
+    /**
+     * Updates the name, price and quantity of several existing items in one JDBC batch
+     *
+     * @param items The items to be updated, with their IDs
+     * @return The number of updated rows for each item, in the same order as the items, which is 0 for an item
+     * that is not found
+     */
+    int[] updateItems(List<Item> items);
+}
@@ -0,0 +1,74 @@
+package com.elmenus.order.basket.checkout.repository;
+
+import com.elmenus.order.basket.checkout.model.Item;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JDBC implementation of {@link ItemRepositoryCustom}
+ */
+@RequiredArgsConstructor
+public class ItemRepositoryCustomImpl implements ItemRepositoryCustom {
+    // The check and the update are a single statement, so concurrent reservations of the same item cannot both
+    // take its last available quantity
+    private static final String RESERVE_QUANTITY_SQL = "UPDATE item SET reserved = reserved + ?, " +
+            "version = version + 1 WHERE id = ? AND quantity - reserved >= ?";
+    private static final String RELEASE_QUANTITY_SQL =
+            "UPDATE item SET reserved = reserved - ?, version = version + 1 WHERE id = ?";
+    private static final String DEDUCT_RESERVED_QUANTITY_SQL = "UPDATE item SET quantity = quantity - ?, " +
+            "reserved = reserved - ?, version = version + 1 WHERE id = ?";
+    private static final String INSERT_ITEM_SQL =
+            "INSERT INTO item (name, price, quantity, reserved, version) VALUES (?, ?, ?, 0, 0)";
+    private static final String UPDATE_ITEM_SQL =
+            "UPDATE item SET name = ?, price = ?, quantity = ?, version = version + 1 WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public int[] reserveQuantities(List<Integer> ids, List<Long> quantities) {
+        List<Object[]> batchArgs = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            batchArgs.add(new Object[]{quantities.get(i), ids.get(i), quantities.get(i)});
+        }
+        return jdbcTemplate.batchUpdate(RESERVE_QUANTITY_SQL, batchArgs);
+    }
+
+    @Override
+    public int[] releaseQuantities(List<Integer> ids, List<Long> quantities) {
+        List<Object[]> batchArgs = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            batchArgs.add(new Object[]{quantities.get(i), ids.get(i)});
+        }
+        return jdbcTemplate.batchUpdate(RELEASE_QUANTITY_SQL, batchArgs);
+    }
+
+    @Override
+    public int[] deductReservedQuantities(List<Integer> ids, List<Long> quantities) {
+        List<Object[]> batchArgs = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            batchArgs.add(new Object[]{quantities.get(i), quantities.get(i), ids.get(i)});
+        }
+        return jdbcTemplate.batchUpdate(DEDUCT_RESERVED_QUANTITY_SQL, batchArgs);
+    }
+
+    @Override
+    public void insertItems(List<Item> items) {
+        List<Object[]> batchArgs = new ArrayList<>(items.size());
+        for (Item item : items) {
+            batchArgs.add(new Object[]{item.getName(), item.getPrice(), item.getQuantity()});
+        }
+        jdbcTemplate.batchUpdate(INSERT_ITEM_SQL, batchArgs);
+    }
+
+    @Override
+    public int[] updateItems(List<Item> items) {
+        List<Object[]> batchArgs = new ArrayList<>(items.size());
+        for (Item item : items) {
+            batchArgs.add(new Object[]{item.getName(), item.getPrice(), item.getQuantity(), item.getId()});
+        }
+        return jdbcTemplate.batchUpdate(UPDATE_ITEM_SQL, batchArgs);
+    }
+}
@@ -0,0 +1,24 @@
+package com.elmenus.order.basket.checkout.repository;
+
+import com.elmenus.order.basket.checkout.model.StockReservation;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Date;
+import java.util.List;
+
+public interface StockReservationRepository extends CrudRepository<StockReservation, Integer> {
+    List<StockReservation> findByBasketId(Integer basketId);
+
+    // The IDs of the baskets that have at least one expired hold
+    @Query("select distinct r.basketId from StockReservation r where r.expiresAt < :now")
+    List<Integer> findBasketIdsWithExpiredReservations(@Param("now") Date now);
+
+    // Returns the number of deleted rows. Only one of several concurrent deletes of the same holds deletes them,
+    // so it alone goes on to commit or release them
+    @Modifying
+    @Query("delete from StockReservation r where r.basketId = :basketId")
+    int deleteByBasketId(@Param("basketId") Integer basketId);
+}
@@ -1,7 +1,12 @@
 package com.elmenus.order.basket.checkout.repository;
 
 import com.elmenus.order.basket.checkout.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.repository.CrudRepository;
 
+import java.util.List;
+
 public interface UserRepository extends CrudRepository<User, Integer> {
+    // Keyset pagination, the page starts after the specified ID and the pageable only limits its size
+    List<User> findByIdGreaterThanOrderByIdAsc(Integer id, Pageable pageable);
 }
@@ -0,0 +1,23 @@
+package com.elmenus.order.basket.checkout.repository.reactive;
+
+import com.elmenus.order.basket.checkout.model.reactive.BasketContentRow;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveBasketContentRepository extends ReactiveCrudRepository<BasketContentRow, Integer> {
+    // Keyset pagination, the page starts after the specified ID and the pageable only limits its size
+    Flux<BasketContentRow> findByIdGreaterThanOrderByIdAsc(Integer id, Pageable pageable);
+
+    Flux<BasketContentRow> findByBasketId(Integer basketId);
+
+    Mono<BasketContentRow> findByBasketIdAndItemId(Integer basketId, Integer itemId);
+
+    // Increases the quantity in the database, so concurrent additions of the same item are not lost
+    @Modifying
+    @Query("UPDATE basket_content SET quantity = quantity + :quantity WHERE id = :id")
+    Mono<Integer> addToQuantity(Integer id, long quantity);
+}
@@ -0,0 +1,20 @@
+package com.elmenus.order.basket.checkout.repository.reactive;
+
+import com.elmenus.order.basket.checkout.model.reactive.BasketRow;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveBasketRepository extends ReactiveCrudRepository<BasketRow, Integer> {
+    // Keyset pagination, the page starts after the specified ID and the pageable only limits its size
+    Flux<BasketRow> findByIdGreaterThanOrderByIdAsc(Integer id, Pageable pageable);
+
+    // The running totals of a basket are not kept up to date here, so changing its contents only marks them as
+    // invalid, and they are computed from the contents on the next read
+    @Modifying
+    @Query("UPDATE basket SET totals_valid = FALSE WHERE id = :id")
+    Mono<Integer> invalidateTotals(Integer id);
+}
@@ -0,0 +1,11 @@
+package com.elmenus.order.basket.checkout.repository.reactive;
+
+import com.elmenus.order.basket.checkout.model.reactive.ItemRow;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Flux;
+
+public interface ReactiveItemRepository extends ReactiveCrudRepository<ItemRow, Integer> {
+    // Keyset pagination, the page starts after the specified ID and the pageable only limits its size
+    Flux<ItemRow> findByIdGreaterThanOrderByIdAsc(Integer id, Pageable pageable);
+}
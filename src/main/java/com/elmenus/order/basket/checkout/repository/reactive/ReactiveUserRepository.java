@@ -0,0 +1,11 @@
+package com.elmenus.order.basket.checkout.repository.reactive;
+
+import com.elmenus.order.basket.checkout.model.reactive.UserRow;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Flux;
+
+public interface ReactiveUserRepository extends ReactiveCrudRepository<UserRow, Integer> {
+    // Keyset pagination, the page starts after the specified ID and the pageable only limits its size
+    Flux<UserRow> findByIdGreaterThanOrderByIdAsc(Integer id, Pageable pageable);
+}
@@ -1,6 +1,7 @@
 package com.elmenus.order.basket.checkout.service;
 
 import org.springframework.lang.NonNull;
+import reactor.core.publisher.Flux;
 
 import java.util.List;
 
@@ -13,6 +14,10 @@ import java.util.List;
 public interface CrudService<T, D> {
     List<T> getAll();
 
+    List<T> getAll(Integer after, int limit);
+
+    Flux<T> stream();
+
     T get(@NonNull Integer id);
 
     Integer add(@NonNull D dtoObject);
@@ -0,0 +1,26 @@
+package com.elmenus.order.basket.checkout.service;
+
+import org.springframework.lang.NonNull;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Provides support for the basic CRUD operations of type T without blocking, as the non-blocking
+ * counterpart of {@link CrudService}
+ *
+ * @param <T> The actual type of the entity
+ * @param <D> The DTO associated with that type
+ */
+public interface ReactiveCrudService<T, D> {
+    Flux<T> getAll();
+
+    Flux<T> getAll(Integer after, int limit);
+
+    Mono<T> get(@NonNull Integer id);
+
+    Mono<Integer> add(@NonNull D dtoObject);
+
+    Mono<Void> update(@NonNull Integer id, @NonNull D dtoObject);
+
+    Mono<Void> delete(@NonNull Integer id);
+}
@@ -0,0 +1,103 @@
+package com.elmenus.order.basket.checkout.service.impl;
+
+import com.elmenus.order.basket.checkout.constants.Messages;
+import com.elmenus.order.basket.checkout.exception.ResourceNotFoundException;
+import com.elmenus.order.basket.checkout.model.Basket;
+import com.elmenus.order.basket.checkout.model.CheckoutStatus;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.google.common.base.Preconditions;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Service;
+import reactor.core.scheduler.Scheduler;
+
+import javax.persistence.EntityNotFoundException;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Service for running checkouts asynchronously. A checkout is submitted to the bounded JDBC scheduler and its
+ * {@link CheckoutStatus} can be polled until it has succeeded or failed
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AsyncCheckoutService {
+    private static final String CHECKOUT_ID_SEPARATOR = ":";
+
+    private final Cache<String, CheckoutStatus> checkoutStatusCache;
+    private final Scheduler jdbcScheduler;
+
+    /**
+     * Submits the checkout of a {@link Basket} to run in the background. A checkout with an idempotency key gets an
+     * ID derived from the key, so a retry with the same key is given the checkout that is pending or has succeeded
+     * already instead of submitting another one. A failed checkout is submitted again, and its idempotency key
+     * decides whether the failure is replayed.
+     * If the scheduler has no capacity left, a {@link RejectedExecutionException} is thrown and nothing is submitted
+     *
+     * @param basketId       The ID of the {@link Basket}
+     * @param idempotencyKey The idempotency key of the checkout, or NULL if it has none
+     * @param checkout       The checkout to be run
+     * @return The ID of the checkout, by which its {@link CheckoutStatus} can be polled
+     */
+    public String submit(@NonNull Integer basketId, String idempotencyKey, @NonNull Runnable checkout) {
+        Preconditions.checkNotNull(basketId, Messages.ID_NULL_ERROR);
+
+        String checkoutId = idempotencyKey == null ? UUID.randomUUID().toString()
+                : UUID.nameUUIDFromBytes((basketId + CHECKOUT_ID_SEPARATOR + idempotencyKey)
+                .getBytes(StandardCharsets.UTF_8)).toString();
+        CheckoutStatus status = CheckoutStatus.pending(checkoutId, basketId);
+        CheckoutStatus currentStatus = checkoutStatusCache.asMap().compute(checkoutId, (id, existingStatus) ->
+                existingStatus == null || existingStatus.getState() == CheckoutStatus.State.FAILED ? status : existingStatus);
+        if (currentStatus != status) {
+            log.info(String.format(Messages.CHECKOUT_RESUBMITTED_MESSAGE, basketId, checkoutId));
+            return checkoutId;
+        }
+
+        try {
+            jdbcScheduler.schedule(() -> run(status, checkout));
+        } catch (RejectedExecutionException exception) {
+            checkoutStatusCache.asMap().remove(checkoutId, status);
+            throw exception;
+        }
+
+        log.info(String.format(Messages.CHECKOUT_SUBMITTED_MESSAGE, basketId));
+        return checkoutId;
+    }
+
+    /**
+     * Fetches the {@link CheckoutStatus} of an asynchronous checkout if exists otherwise a
+     * {@link EntityNotFoundException} is thrown
+     *
+     * @param checkoutId The ID of the checkout
+     * @return The {@link CheckoutStatus} of the checkout
+     */
+    public CheckoutStatus getStatus(@NonNull String checkoutId) {
+        Preconditions.checkNotNull(checkoutId, Messages.ID_NULL_ERROR);
+
+        CheckoutStatus status = checkoutStatusCache.getIfPresent(checkoutId);
+        if (status == null) {
+            String errorMessage = String.format(Messages.CHECKOUT_NOT_FOUND_ERROR, checkoutId);
+            log.warn(errorMessage);
+            throw new ResourceNotFoundException(errorMessage);
+        }
+
+        return status;
+    }
+
+    private void run(CheckoutStatus status, Runnable checkout) {
+        try {
+            checkout.run();
+            checkoutStatusCache.put(status.getId(), status.succeeded());
+        } catch (Throwable throwable) {
+            // Errors are recorded as well, so that the checkout is never left pending
+            checkoutStatusCache.put(status.getId(), status.failed(throwable));
+            if (throwable instanceof Error) {
+                log.error(String.format(Messages.CHECKOUT_ERROR, status.getBasketId()), throwable);
+                throw (Error) throwable;
+            }
+        }
+    }
+}
@@ -1,23 +1,38 @@
 package com.elmenus.order.basket.checkout.service.impl;
 
+import com.elmenus.order.basket.checkout.constants.Constants;
 import com.elmenus.order.basket.checkout.constants.Messages;
 import com.elmenus.order.basket.checkout.dto.BasketContentDto;
+import com.elmenus.order.basket.checkout.exception.ResourceNotFoundException;
+import com.elmenus.order.basket.checkout.mapper.BasketContentMapper;
 import com.elmenus.order.basket.checkout.model.Basket;
 import com.elmenus.order.basket.checkout.model.BasketContent;
 import com.elmenus.order.basket.checkout.model.Item;
 import com.elmenus.order.basket.checkout.repository.BasketContentRepository;
+import com.elmenus.order.basket.checkout.repository.EntityStreamer;
 import com.elmenus.order.basket.checkout.service.CrudService;
+import com.elmenus.order.basket.checkout.util.FixedPoint;
+import com.elmenus.order.basket.checkout.util.KeysetPages;
+import com.elmenus.order.basket.checkout.util.UniqueConstraints;
+import com.elmenus.order.basket.checkout.validation.BasketContentsValidator;
 import com.google.common.base.Preconditions;
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
 
 import javax.persistence.EntityNotFoundException;
+import javax.transaction.Transactional;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
 
 /**
  * Service for handling CRUD operations of {@link BasketContent}
@@ -26,9 +41,13 @@ import java.util.List;
 @RequiredArgsConstructor
 @Slf4j
 public class BasketContentsService implements CrudService<BasketContent, BasketContentDto> {
+    private static final String STREAM_QUERY = "select bc from BasketContent bc join fetch bc.item join fetch bc.basket b join fetch b.user order by bc.id";
+
     private final BasketContentRepository basketContentRepository;
+    private final EntityStreamer entityStreamer;
     private final BasketsService basketsService;
     private final ItemsService itemsService;
+    private final BasketContentsValidator basketContentsValidator;
 
     /**
      * Fetches all {@link BasketContent} entities from database
@@ -43,6 +62,28 @@ public class BasketContentsService implements CrudService<BasketContent, BasketC
         return basketContentList;
     }
 
+    /**
+     * Streams all {@link BasketContent} entities from database one at a time
+     *
+     * @return {@link Flux} of all {@link BasketContent} entities
+     */
+    @Override
+    public Flux<BasketContent> stream() {
+        return entityStreamer.stream(STREAM_QUERY, BasketContent.class);
+    }
+
+    /**
+     * Fetches a page of {@link BasketContent} entities ordered by ID
+     *
+     * @param after The ID after which the page starts, or NULL for the first page
+     * @param limit The maximum number of entities in the page
+     * @return List of the {@link BasketContent} entities in the page
+     */
+    @Override
+    public List<BasketContent> getAll(Integer after, int limit) {
+        return basketContentRepository.findByIdGreaterThanOrderByIdAsc(KeysetPages.cursor(after), KeysetPages.limit(limit));
+    }
+
     /**
      * Fetches a specific {@link BasketContent} by ID
      *
@@ -56,27 +97,53 @@ public class BasketContentsService implements CrudService<BasketContent, BasketC
                 .orElseThrow(() -> {
                     String errorMessage = String.format(Messages.BASKET_CONTENT_NOT_FOUND_ERROR, id);
                     log.warn(errorMessage);
-                    throw new EntityNotFoundException(errorMessage);
+                    throw new ResourceNotFoundException(errorMessage);
                 });
     }
 
     /**
-     * Adds a new {@link BasketContent} to the system
+     * Adds an {@link Item} to a {@link Basket}, along with its cost to the running totals of the {@link Basket}. If the
+     * {@link Basket} already holds the {@link Item}, the quantity is added to its existing {@link BasketContent} instead,
+     * so a {@link Basket} always holds one {@link BasketContent} per {@link Item}. The line is validated the same way as
+     * every line of {@link #addAll(Integer, List)}
      *
      * @param basketContentDto The {@link BasketContentDto} to be added
-     * @return The ID of the new {@link BasketContent}
+     * @return The ID of the new {@link BasketContent}, or of the existing one holding the {@link Item}
      */
     @SneakyThrows
     @Override
+    @Transactional
     public Integer add(@NonNull BasketContentDto basketContentDto) {
-//        BasketContent basketContent = MODEL_MAPPER.map(basketContentDto, BasketContent.class);
         Basket basket = basketsService.get(basketContentDto.getBasketId());
         Item item = itemsService.get(basketContentDto.getItemId());
-        BasketContent basketContent = new BasketContent();
-        basketContent.setQuantity(basketContentDto.getQuantity());
-        basketContent.setBasket(basket);
-        basketContent.setItem(item);
-        BasketContent newBasketContent = basketContentRepository.save(basketContent);
+        Optional<BasketContent> existingBasketContent =
+                basketContentRepository.findByBasketIdAndItemId(basket.getId(), item.getId());
+        basketContentsValidator.validateLines(basket, Collections.singletonMap(item.getId(), item),
+                Collections.singletonList(basketContentDto),
+                existingBasketContent.map(basketContent -> Collections.singletonMap(item.getId(), basketContent.getQuantity()))
+                        .orElse(Collections.emptyMap()));
+        long cost = FixedPoint.cost(item.getPrice(), basketContentDto.getQuantity());
+
+        if (existingBasketContent.isPresent()) {
+            Integer id = existingBasketContent.get().getId();
+            basketContentRepository.addToQuantity(id, basketContentDto.getQuantity());
+            basketsService.addToTotals(basket.getId(), cost, 0);
+
+            log.info(String.format(Messages.BASKET_CONTENT_QUANTITY_INCREASED_MESSAGE, id));
+
+            return id;
+        }
+
+        BasketContent basketContent = BasketContentMapper.toBasketContent(basketContentDto, basket, item);
+        BasketContent newBasketContent;
+        try {
+            newBasketContent = basketContentRepository.save(basketContent);
+        } catch (DataIntegrityViolationException exception) {
+            // A concurrent request added the same item first
+            throw UniqueConstraints.translate(exception, Constants.BASKET_ITEM_CONSTRAINT,
+                    String.format(Messages.BASKET_CONTENT_ITEM_EXISTS_ERROR, basket.getId(), item.getId()));
+        }
+        basketsService.addToTotals(basket.getId(), cost, 1);
 
         log.info(Messages.BASKET_CONTENT_CREATED_MESSAGE);
 
@@ -84,13 +151,71 @@ public class BasketContentsService implements CrudService<BasketContent, BasketC
     }
 
     /**
-     * Updates an existing {@link BasketContent} to the system if not exists, otherwise
+     * Adds several {@link Item}s to a {@link Basket} at once, along with their costs to its running totals. The lines
+     * of the same {@link Item} are combined, and the quantity of an {@link Item} the {@link Basket} already holds is
+     * added to its existing {@link BasketContent}. The {@link Basket}, its contents and all {@link Item}s are read once
+     * and the lines are written in JDBC batches, so the number of statements does not grow with the number of lines.
+     * Every line is validated the same way as a single {@link #add(BasketContentDto)}, and either all lines are added or
+     * none
+     *
+     * @param basketId          The ID of the {@link Basket}, which overrides the one of every line
+     * @param basketContentDtos The {@link BasketContentDto}s to be added
+     */
+    @Transactional
+    public void addAll(@NonNull Integer basketId, @NonNull List<BasketContentDto> basketContentDtos) {
+        Preconditions.checkNotNull(basketId, Messages.ID_NULL_ERROR);
+        Preconditions.checkNotNull(basketContentDtos, Messages.BASKET_CONTENT_NULL_ERROR);
+        Preconditions.checkArgument(!basketContentDtos.isEmpty(), Messages.BASKET_CONTENT_NULL_ERROR);
+
+        Basket basket = basketsService.get(basketId);
+        Map<Integer, Item> items = itemsService.getAllById(basketContentDtos.stream()
+                .map(BasketContentDto::getItemId)
+                .collect(Collectors.toSet()));
+        Map<Integer, BasketContent> existingBasketContents = basketContentRepository.findByBasketId(basketId).stream()
+                .collect(Collectors.toMap(basketContent -> basketContent.getItem().getId(), basketContent -> basketContent));
+        Map<Integer, Long> heldQuantities = existingBasketContents.entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().getQuantity()));
+        Map<Item, Long> lines = basketContentsValidator.validateLines(basket, items, basketContentDtos, heldQuantities);
+
+        List<BasketContent> newBasketContents = new ArrayList<>();
+        List<BasketContent> increasedBasketContents = new ArrayList<>();
+        long totalCost = 0L;
+        for (Map.Entry<Item, Long> line : lines.entrySet()) {
+            Item item = line.getKey();
+            BasketContent existingBasketContent = existingBasketContents.get(item.getId());
+            BasketContent basketContent = new BasketContent(
+                    existingBasketContent == null ? null : existingBasketContent.getId(), basket, item, line.getValue());
+            if (basketContent.getId() == null) {
+                newBasketContents.add(basketContent);
+            } else {
+                increasedBasketContents.add(basketContent);
+            }
+            totalCost = Math.addExact(totalCost, costOf(basketContent));
+        }
+        if (!increasedBasketContents.isEmpty()) {
+            basketContentRepository.addToQuantities(increasedBasketContents);
+        }
+        if (!newBasketContents.isEmpty()) {
+            basketContentRepository.insertBasketContents(newBasketContents);
+        }
+        basketsService.addToTotals(basketId, totalCost, newBasketContents.size());
+
+        log.info(String.format(Messages.BASKET_CONTENTS_CREATED_MESSAGE, newBasketContents.size(),
+                increasedBasketContents.size(), basketId));
+    }
+
+    /**
+     * Updates an existing {@link BasketContent} to the system if not exists, otherwise. Its old cost is taken off the
+     * running totals of its old {@link Basket} and its new cost is added to those of its new one. An
+     * {@link IllegalStateException} is thrown if another {@link BasketContent} of the new {@link Basket} already holds
+     * the new {@link Item}
      *
      * @param id               The ID of the {@link BasketContent} to be updated
      * @param basketContentDto The {@link BasketContentDto} to be updated
      */
     @SneakyThrows
     @Override
+    @Transactional
     public void update(@NonNull Integer id, @NonNull BasketContentDto basketContentDto) {
         Preconditions.checkNotNull(id, Messages.ID_NULL_ERROR);
         Preconditions.checkNotNull(basketContentDto, Messages.BASKET_CONTENT_NULL_ERROR);
@@ -101,45 +226,62 @@ public class BasketContentsService implements CrudService<BasketContent, BasketC
         BasketContent basketContent = basketContentRepository.findById(id).orElseThrow(() -> {
             String errorMessage = String.format(Messages.BASKET_CONTENT_NOT_FOUND_ERROR, id);
             log.warn(errorMessage);
-            throw new EntityNotFoundException(errorMessage);
+            throw new ResourceNotFoundException(errorMessage);
         });
+        basketContentRepository.findByBasketIdAndItemId(basket.getId(), item.getId())
+                .filter(existingBasketContent -> !existingBasketContent.getId().equals(id))
+                .ifPresent(existingBasketContent -> {
+                    String errorMessage = String.format(Messages.BASKET_CONTENT_ITEM_EXISTS_ERROR, basket.getId(), item.getId());
+                    log.warn(errorMessage);
+                    throw new IllegalStateException(errorMessage);
+                });
 
-        basketContent.setQuantity(basketContentDto.getQuantity());
-        basketContent.setBasket(basket);
-        basketContent.setItem(item);
+        Integer oldBasketId = basketContent.getBasket().getId();
+        long oldCost = costOf(basketContent);
+        BasketContentMapper.updateBasketContent(basketContentDto, basket, item, basketContent);
         basketContentRepository.save(basketContent);
+        if (oldBasketId.equals(basket.getId())) {
+            basketsService.addToTotals(basket.getId(), costOf(basketContent) - oldCost, 0);
+        } else {
+            basketsService.addToTotals(oldBasketId, -oldCost, -1);
+            basketsService.addToTotals(basket.getId(), costOf(basketContent), 1);
+        }
 
         log.info(Messages.BASKET_CONTENT_UPDATED_MESSAGE);
     }
 
     /**
-     * Deletes a specific {@link BasketContent} by ID if exists otherwise a {@link EntityNotFoundException} is thrown
+     * Deletes a specific {@link BasketContent} by ID if exists otherwise a {@link EntityNotFoundException} is thrown.
+     * Its cost is taken off the running totals of its {@link Basket}
      */
     @Override
+    @Transactional
     public void delete(@NonNull Integer id) {
-        Preconditions.checkNotNull(id, Messages.ID_NULL_ERROR);
-
-        if (!exists(id)) {
-            String errorMessage = String.format(Messages.BASKET_CONTENT_NOT_FOUND_ERROR, id);
-            log.warn(errorMessage);
-            throw new EntityNotFoundException(errorMessage);
-        }
+        BasketContent basketContent = get(id);
 
-        basketContentRepository.deleteById(id);
+        basketContentRepository.delete(basketContent);
+        basketsService.addToTotals(basketContent.getBasket().getId(), -costOf(basketContent), -1);
 
         log.info(Messages.BASKET_CONTENT_DELETED_MESSAGE);
     }
 
     /**
-     * Checks if specific {@link BasketContent} with the specified ID exists or not
+     * Computes the cost of a {@link BasketContent} at the current price of its {@link Item}
      *
-     * @param id The ID of the {@link BasketContent} to be checked
-     * @return True if exists, false otherwise
+     * @param basketContent The {@link BasketContent}
+     * @return The cost in thousandths of a minor unit, see {@link FixedPoint#cost(long, long)}
      */
-    private boolean exists(Integer id) {
-        return basketContentRepository.existsById(id);
+    private long costOf(BasketContent basketContent) {
+        return FixedPoint.cost(basketContent.getItem().getPrice(), basketContent.getQuantity());
     }
 
+    /**
+     * Fetches all {@link BasketContent}s of a specific {@link Basket} along with their {@link Item}s in one query,
+     * regardless of their number
+     *
+     * @param basketId The ID of the {@link Basket}
+     * @return List of the {@link BasketContent}s of the {@link Basket}
+     */
     public List<BasketContent> getByBasketId(Integer basketId) {
         return basketContentRepository.findByBasketId(basketId);
     }
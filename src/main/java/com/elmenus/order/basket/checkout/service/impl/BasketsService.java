@@ -1,20 +1,36 @@
 package com.elmenus.order.basket.checkout.service.impl;
 
+import com.elmenus.order.basket.checkout.concurrency.CheckoutCoalescer;
+import com.elmenus.order.basket.checkout.concurrency.OptimisticRetryTemplate;
 import com.elmenus.order.basket.checkout.constants.Messages;
 import com.elmenus.order.basket.checkout.dto.BasketDto;
+import com.elmenus.order.basket.checkout.exception.BasketCheckedOutException;
+import com.elmenus.order.basket.checkout.exception.PaymentOutcomeUnknownException;
+import com.elmenus.order.basket.checkout.exception.ReservationExpiredException;
+import com.elmenus.order.basket.checkout.exception.ResourceNotFoundException;
+import com.elmenus.order.basket.checkout.mapper.BasketMapper;
+import com.elmenus.order.basket.checkout.metrics.CheckoutMetrics;
 import com.elmenus.order.basket.checkout.model.Basket;
 import com.elmenus.order.basket.checkout.model.BasketContent;
+import com.elmenus.order.basket.checkout.model.BasketSummary;
+import com.elmenus.order.basket.checkout.model.Item;
 import com.elmenus.order.basket.checkout.model.User;
+import com.elmenus.order.basket.checkout.payment.PaymentService;
 import com.elmenus.order.basket.checkout.repository.BasketRepository;
+import com.elmenus.order.basket.checkout.repository.EntityStreamer;
 import com.elmenus.order.basket.checkout.service.CrudService;
+import com.elmenus.order.basket.checkout.util.FixedPoint;
+import com.elmenus.order.basket.checkout.util.KeysetPages;
 import com.elmenus.order.basket.checkout.validation.BasketCheckoutValidator;
 import com.google.common.base.Preconditions;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import reactor.core.publisher.Flux;
 
 import javax.persistence.EntityNotFoundException;
 import javax.transaction.Transactional;
@@ -27,12 +43,17 @@ import java.util.*;
 @RequiredArgsConstructor
 @Slf4j
 public class BasketsService implements CrudService<Basket, BasketDto> {
-    private static final ModelMapper MODEL_MAPPER = new ModelMapper();
+    private static final String STREAM_QUERY = "select b from Basket b join fetch b.user order by b.id";
 
     private final BasketRepository basketRepository;
+    private final EntityStreamer entityStreamer;
     private final UsersService usersService;
-    private final ItemsService itemsService;
     private final BasketCheckoutValidator basketCheckoutValidator;
+    private final OptimisticRetryTemplate optimisticRetryTemplate;
+    private final CheckoutCoalescer checkoutCoalescer;
+    private final PaymentService paymentService;
+    private final StockReservationService stockReservationService;
+    private final CheckoutMetrics checkoutMetrics;
 
     /**
      * Fetches all {@link Basket} entities from database
@@ -47,6 +68,28 @@ public class BasketsService implements CrudService<Basket, BasketDto> {
         return basketList;
     }
 
+    /**
+     * Streams all {@link Basket} entities from database one at a time
+     *
+     * @return {@link Flux} of all {@link Basket} entities
+     */
+    @Override
+    public Flux<Basket> stream() {
+        return entityStreamer.stream(STREAM_QUERY, Basket.class);
+    }
+
+    /**
+     * Fetches a page of {@link Basket} entities ordered by ID
+     *
+     * @param after The ID after which the page starts, or NULL for the first page
+     * @param limit The maximum number of entities in the page
+     * @return List of the {@link Basket} entities in the page
+     */
+    @Override
+    public List<Basket> getAll(Integer after, int limit) {
+        return basketRepository.findByIdGreaterThanOrderByIdAsc(KeysetPages.cursor(after), KeysetPages.limit(limit));
+    }
+
     /**
      * Fetches a specific {@link Basket} by ID
      *
@@ -60,7 +103,7 @@ public class BasketsService implements CrudService<Basket, BasketDto> {
                 .orElseThrow(() -> {
                     String errorMessage = String.format(Messages.BASKET_NOT_FOUND_ERROR, id);
                     log.warn(errorMessage);
-                    throw new EntityNotFoundException(errorMessage);
+                    throw new ResourceNotFoundException(errorMessage);
                 });
     }
 
@@ -74,11 +117,8 @@ public class BasketsService implements CrudService<Basket, BasketDto> {
     @Override
     public Integer add(@NonNull BasketDto basketDto) {
         User user = usersService.get(basketDto.getUserId());
-        Basket basket = MODEL_MAPPER.map(basketDto, Basket.class);
-        basket.setUser(user);
         // Set creation date to now
-        basket.setCreationDate(new Date());
-        basket.setCheckedOut(false);
+        Basket basket = BasketMapper.toBasket(user, new Date());
 
         Basket newBasket = basketRepository.save(basket);
 
@@ -103,10 +143,9 @@ public class BasketsService implements CrudService<Basket, BasketDto> {
         Basket basket = basketRepository.findById(id).orElseThrow(() -> {
             String errorMessage = String.format(Messages.BASKET_NOT_FOUND_ERROR, id);
             log.warn(errorMessage);
-            throw new EntityNotFoundException(errorMessage);
+            throw new ResourceNotFoundException(errorMessage);
         });
 
-        MODEL_MAPPER.map(basketDto, basket);
         basket.setUser(user);
         basketRepository.save(basket);
 
@@ -123,7 +162,7 @@ public class BasketsService implements CrudService<Basket, BasketDto> {
         if (!exists(id)) {
             String errorMessage = String.format(Messages.BASKET_NOT_FOUND_ERROR, id);
             log.warn(errorMessage);
-            throw new EntityNotFoundException(errorMessage);
+            throw new ResourceNotFoundException(errorMessage);
         }
 
         basketRepository.deleteById(id);
@@ -132,6 +171,50 @@ public class BasketsService implements CrudService<Basket, BasketDto> {
 
     }
 
+    /**
+     * Fetches the running totals of a specific {@link Basket} by ID. They are computed from its contents first only
+     * if they no longer match them, e.g. as the price of one of its {@link Item}s has changed
+     *
+     * @param id The ID of the {@link Basket}
+     * @return The {@link BasketSummary} of the {@link Basket}, otherwise a {@link EntityNotFoundException} is thrown
+     */
+    public BasketSummary getSummary(@NonNull Integer id) {
+        Basket basket = get(id);
+        if (!basket.isTotalsValid()) {
+            basketRepository.refreshTotals(id);
+            basket = get(id);
+            log.info(String.format(Messages.BASKET_TOTALS_REFRESHED_MESSAGE, id));
+        }
+        return BasketSummary.of(basket);
+    }
+
+    /**
+     * Adds to the running totals of a specific {@link Basket} within the current transaction, as its contents change
+     *
+     * @param id    The ID of the {@link Basket}
+     * @param cost  The cost to add in thousandths of a minor unit, see {@link FixedPoint#cost(long, long)}, which is
+     *              negative to subtract it
+     * @param lines The number of lines to add, which is negative to subtract them
+     */
+    public void addToTotals(@NonNull Integer id, long cost, int lines) {
+        Preconditions.checkNotNull(id, Messages.ID_NULL_ERROR);
+        basketRepository.addToTotals(id, cost, lines);
+    }
+
+    /**
+     * Invalidates the running totals of the {@link Basket}s holding an {@link Item} whose price has changed, so they
+     * are computed from their contents on the next read. This happens once the new price is committed, as a read in
+     * between would compute the totals from the old price again. The transaction of the change is finished by then,
+     * so the invalidation runs in a new one
+     *
+     * @param event The {@link ItemPriceChangedEvent}
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(Transactional.TxType.REQUIRES_NEW)
+    public void onItemPriceChanged(ItemPriceChangedEvent event) {
+        basketRepository.invalidateTotalsByItemId(event.getItemId());
+    }
+
     /**
      * Checks out a specific {@link Basket} contents by ID if exists otherwise a {@link EntityNotFoundException} is thrown
      *
@@ -140,69 +223,105 @@ public class BasketsService implements CrudService<Basket, BasketDto> {
      */
     @SneakyThrows
     public void checkout(@NonNull Integer id) {
-        /*Basket requiredBasket = get(id).get();
-
-        return CompletableFuture.runAsync(() -> {
-            Preconditions.checkNotNull(id, Messages.ID_NULL_ERROR);
-            if (requiredBasket == null) {
-                String errorMessage = String.format(Messages.BASKET_NOT_FOUND_ERROR, id);
-                log.warn(errorMessage);
-                throw new EntityNotFoundException(errorMessage);
-            }
-
-            // Make sure the basket is not checked out before
-            if (requiredBasket.isCheckedOut()) {
-                String errorMessage = String.format(Messages.BASKET_CHECKED_OUT_ALREADY_ERROR, id);
-                log.warn(errorMessage);
-                throw new IllegalStateException(errorMessage);
-            }
-
-            // Do all validations
-            BasketCheckoutValidator.BasketCheckoutInfo info = basketCheckoutValidator.validateBasketBeforeCheckout(id);
-            log.info(Messages.BASKET_CONTENT_VALIDATED_MESSAGE);
-
-            finalizeBasketCheckout(id, info.getContents(), info.getTotalCost());
-            log.info(Messages.BASKET_CHECKED_OUT_MESSAGE);
-        });*/
+        // The basket is read, validated, its stock reserved and marked as checked out in one transaction. If the
+        // basket is changed concurrently, e.g. checked out by another request, the transaction fails on its version,
+        // rolls back the reservation and is retried, which then fails on the basket being checked out already.
+        // Once reserved, the basket is paid for, and the reservation is then committed, or cancelled if the payment
+        // is known to have failed. Concurrent checkouts of the same basket in this instance share a single run instead
+        // Every checkout, including the ones that fail, is timed and counted by how it ended
+        Timer.Sample sample = checkoutMetrics.start();
+        try {
+            checkoutCoalescer.execute(id, () -> {
+                BasketCheckoutValidator.BasketCheckoutInfo info =
+                        optimisticRetryTemplate.execute(() -> checkoutOnce(id));
+
+                // The stock is held by the committed transaction, so no connection is held while paying. The basket is
+                // reopened and its held stock released only once the payment is known to have failed. If that is not
+                // known, both are left to the reservation sweeper, which voids the charge before reopening the basket
+                try {
+                    checkoutMetrics.time(CheckoutMetrics.Stage.PAYMENT,
+                            () -> paymentService.pay(id, info.getTotalCost()));
+                } catch (PaymentOutcomeUnknownException exception) {
+                    throw exception;
+                } catch (RuntimeException exception) {
+                    optimisticRetryTemplate.execute(() -> cancelCheckout(id));
+                    throw exception;
+                }
+
+                // The held stock is deducted. If it has been released meanwhile, the basket may have been reopened,
+                // so the charge is voided rather than kept for an order that is not placed
+                try {
+                    checkoutMetrics.time(CheckoutMetrics.Stage.STOCK_DEDUCTION,
+                            () -> optimisticRetryTemplate.execute(() -> stockReservationService.commit(id)));
+                } catch (ReservationExpiredException exception) {
+                    paymentService.voidCharge(id);
+                    throw exception;
+                }
+                log.info(Messages.BASKET_CHECKED_OUT_MESSAGE);
+            });
+        } catch (Exception exception) {
+            checkoutMetrics.stop(sample, exception);
+            throw exception;
+        }
+        checkoutMetrics.stop(sample, null);
+    }
 
+    /**
+     * Validates a specific {@link Basket} by ID, holds its stock and marks it as checked out within the current
+     * transaction
+     *
+     * @param id The ID of the {@link Basket}
+     * @return The validated contents and total cost of the {@link Basket}
+     */
+    private BasketCheckoutValidator.BasketCheckoutInfo checkoutOnce(@NonNull Integer id) {
         Basket requiredBasket = get(id);
 
         Preconditions.checkNotNull(id, Messages.ID_NULL_ERROR);
         if (requiredBasket == null) {
             String errorMessage = String.format(Messages.BASKET_NOT_FOUND_ERROR, id);
             log.warn(errorMessage);
-            throw new EntityNotFoundException(errorMessage);
+            throw new ResourceNotFoundException(errorMessage);
         }
 
         // Make sure the basket is not checked out before
         if (requiredBasket.isCheckedOut()) {
             String errorMessage = String.format(Messages.BASKET_CHECKED_OUT_ALREADY_ERROR, id);
             log.warn(errorMessage);
-            throw new IllegalStateException(errorMessage);
+            throw new BasketCheckedOutException(errorMessage);
         }
 
         // Do all validations
         BasketCheckoutValidator.BasketCheckoutInfo info = basketCheckoutValidator.validateBasketBeforeCheckout(id);
         log.info(Messages.BASKET_CONTENT_VALIDATED_MESSAGE);
 
-        finalizeBasketCheckout(id, info.getContents(), info.getTotalCost());
-        log.info(Messages.BASKET_CHECKED_OUT_MESSAGE);
+        finalizeBasketCheckout(id, info.getContents());
+        return info;
+    }
+
+    /**
+     * Cancels the checkout of a specific {@link Basket} within the current transaction, releasing the stock that it
+     * holds
+     *
+     * @param id The ID of the {@link Basket}
+     */
+    private void cancelCheckout(@NonNull Integer id) {
+        stockReservationService.release(id);
+
+        Basket basket = get(id);
+        basket.setCheckedOut(false);
+        basketRepository.save(basket);
+
+        log.info(String.format(Messages.CHECKOUT_CANCELLED_MESSAGE, id));
     }
 
     @SneakyThrows
-    @Transactional
-    private void finalizeBasketCheckout(int basketId, Map<Integer, BasketContent> contents, float totalCost) {
-        for (Map.Entry<Integer, BasketContent> basketContentEntry : contents.entrySet()) {
-            // Update item quantity if possible
-            itemsService.decreaseQuantity(basketContentEntry.getKey(), basketContentEntry.getValue().getQuantity());
-        }
+    private void finalizeBasketCheckout(int basketId, Map<Integer, BasketContent> contents) {
+        // Hold the quantities of all items at once if possible
+        checkoutMetrics.time(CheckoutMetrics.Stage.STOCK_RESERVATION,
+                () -> stockReservationService.reserve(basketId, contents));
 
         // Update basket status to mark it as checked out
-        Basket basket = get(basketId);
-        basket.setCheckedOut(true);
-        setBasketCheckedOut(basketId);
-
-        // Call Credit card API
+        checkoutMetrics.time(CheckoutMetrics.Stage.CHECKED_OUT_UPDATE, () -> setBasketCheckedOut(basketId));
     }
 
     /**
@@ -218,7 +337,7 @@ public class BasketsService implements CrudService<Basket, BasketDto> {
         if (!exists(id)) {
             String errorMessage = String.format(Messages.BASKET_NOT_FOUND_ERROR, id);
             log.warn(errorMessage);
-            throw new EntityNotFoundException(errorMessage);
+            throw new ResourceNotFoundException(errorMessage);
         }
 
         Basket basket = this.get(id);
@@ -0,0 +1,124 @@
+package com.elmenus.order.basket.checkout.service.impl;
+
+import com.elmenus.order.basket.checkout.constants.Messages;
+import com.elmenus.order.basket.checkout.dto.ItemImportDto;
+import com.elmenus.order.basket.checkout.mapper.ItemMapper;
+import com.elmenus.order.basket.checkout.model.Item;
+import com.elmenus.order.basket.checkout.model.ItemImportResult;
+import com.elmenus.order.basket.checkout.validation.ItemValidator;
+import com.google.common.base.Preconditions;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Service;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.Errors;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.util.function.Tuple2;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Service for importing {@link Item}s in bulk, e.g. by a catalogue sync. The records are read as they arrive and
+ * written in batches of {@code checkout.item-import.batch-size}, each in its own transaction, so an import of any size
+ * never holds more than one batch in memory. A record that is invalid or refers to a missing {@link Item} is
+ * rejected on its own, and a batch that fails to be written rejects its records only
+ */
+@Service
+@Slf4j
+public class ItemImportService {
+    private static final String ITEM_OBJECT_NAME = "item";
+
+    private final ItemsService itemsService;
+    private final ItemValidator itemValidator;
+    private final Scheduler jdbcScheduler;
+    private final int batchSize;
+
+    public ItemImportService(ItemsService itemsService, ItemValidator itemValidator, Scheduler jdbcScheduler,
+                             @Value("${checkout.item-import.batch-size}") int batchSize) {
+        this.itemsService = itemsService;
+        this.itemValidator = itemValidator;
+        this.jdbcScheduler = jdbcScheduler;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Imports {@link Item}s, creating the records without an ID and updating the ones with an ID
+     *
+     * @param items {@link Flux} of the {@link ItemImportDto} records
+     * @return {@link Mono} of the {@link ItemImportResult}, which is emitted once all records are imported
+     */
+    public Mono<ItemImportResult> importItems(@NonNull Flux<ItemImportDto> items) {
+        Preconditions.checkNotNull(items, Messages.ITEM_NULL_ERROR);
+
+        // The batches are written one after the other on the JDBC scheduler, which also holds back reading the
+        // records of the next batch until the current one is written
+        return items.index()
+                .buffer(batchSize)
+                .concatMap(batch -> Mono.fromCallable(() -> importBatch(batch)).subscribeOn(jdbcScheduler))
+                .reduce(ItemImportResult.EMPTY, ItemImportResult::merge);
+    }
+
+    private ItemImportResult importBatch(List<Tuple2<Long, ItemImportDto>> batch) {
+        List<ItemImportResult.ItemImportError> errors = new ArrayList<>();
+        List<Item> newItems = new ArrayList<>();
+        List<Item> changedItems = new ArrayList<>();
+        List<Tuple2<Long, ItemImportDto>> validRecords = new ArrayList<>();
+        List<Tuple2<Long, ItemImportDto>> changedRecords = new ArrayList<>();
+
+        for (Tuple2<Long, ItemImportDto> record : batch) {
+            ItemImportDto itemImportDto = record.getT2();
+            Errors validationErrors = new BeanPropertyBindingResult(itemImportDto, ITEM_OBJECT_NAME);
+            itemValidator.validate(itemImportDto, validationErrors);
+            if (validationErrors.hasErrors()) {
+                errors.add(new ItemImportResult.ItemImportError(record.getT1(), itemImportDto.getId(),
+                        validationErrors.getAllErrors().get(0).getDefaultMessage()));
+                continue;
+            }
+
+            validRecords.add(record);
+            if (itemImportDto.getId() == null) {
+                newItems.add(ItemMapper.toItem(itemImportDto));
+            } else {
+                Item changedItem = ItemMapper.toItem(itemImportDto);
+                changedItem.setId(itemImportDto.getId());
+                changedItems.add(changedItem);
+                changedRecords.add(record);
+            }
+        }
+
+        int[] updateCounts;
+        try {
+            updateCounts = itemsService.importItems(newItems, changedItems);
+        } catch (DataAccessException exception) {
+            // The whole batch is rolled back, so all of its valid records are rejected
+            String errorMessage = String.format(Messages.ITEM_IMPORT_BATCH_ERROR, batch.size(),
+                    exception.getMostSpecificCause().getMessage());
+            log.warn(errorMessage);
+            for (Tuple2<Long, ItemImportDto> record : validRecords) {
+                errors.add(new ItemImportResult.ItemImportError(record.getT1(), record.getT2().getId(),
+                        errorMessage));
+            }
+            errors.sort(Comparator.comparingLong(ItemImportResult.ItemImportError::getIndex));
+            return new ItemImportResult(0, 0, errors);
+        }
+
+        int updated = 0;
+        for (int i = 0; i < updateCounts.length; i++) {
+            if (updateCounts[i] == 0) {
+                Tuple2<Long, ItemImportDto> record = changedRecords.get(i);
+                errors.add(new ItemImportResult.ItemImportError(record.getT1(), record.getT2().getId(),
+                        String.format(Messages.ITEM_NOT_FOUND_ERROR, record.getT2().getId())));
+            } else {
+                updated++;
+            }
+        }
+        errors.sort(Comparator.comparingLong(ItemImportResult.ItemImportError::getIndex));
+        return new ItemImportResult(newItems.size(), updated, errors);
+    }
+}
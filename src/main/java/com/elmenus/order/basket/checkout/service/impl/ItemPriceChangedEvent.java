@@ -0,0 +1,13 @@
+package com.elmenus.order.basket.checkout.service.impl;
+
+import com.elmenus.order.basket.checkout.model.Item;
+import lombok.Value;
+
+/**
+ * Published when the price of an {@link Item} is changed, so that the running totals of the baskets holding it no
+ * longer match
+ */
+@Value
+public class ItemPriceChangedEvent {
+    Integer itemId;
+}
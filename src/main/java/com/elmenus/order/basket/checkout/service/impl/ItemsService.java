@@ -3,22 +3,37 @@ package com.elmenus.order.basket.checkout.service.impl;
 import com.elmenus.order.basket.checkout.constants.Messages;
 import com.elmenus.order.basket.checkout.dto.ItemDto;
 import com.elmenus.order.basket.checkout.exception.InsufficientItemQuantityException;
+import com.elmenus.order.basket.checkout.exception.ResourceNotFoundException;
+import com.elmenus.order.basket.checkout.inventory.ItemQuantityChangedEvent;
+import com.elmenus.order.basket.checkout.mapper.ItemMapper;
+import com.elmenus.order.basket.checkout.model.Basket;
+import com.elmenus.order.basket.checkout.model.BasketContent;
 import com.elmenus.order.basket.checkout.model.Item;
+import com.elmenus.order.basket.checkout.model.ItemInfo;
+import com.elmenus.order.basket.checkout.repository.EntityStreamer;
 import com.elmenus.order.basket.checkout.repository.ItemRepository;
 import com.elmenus.order.basket.checkout.service.CrudService;
+import com.elmenus.order.basket.checkout.util.KeysetPages;
+import com.github.benmanes.caffeine.cache.Cache;
 import com.google.common.base.Preconditions;
 import lombok.RequiredArgsConstructor;
-import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.lang.NonNull;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
 
 import javax.persistence.EntityNotFoundException;
+import javax.transaction.Transactional;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
 
 /**
  * Service for handling CRUD operations of {@link Item}
@@ -27,9 +42,12 @@ import java.util.List;
 @RequiredArgsConstructor
 @Slf4j
 public class ItemsService implements CrudService<Item, ItemDto> {
-    private static final ModelMapper MODEL_MAPPER = new ModelMapper();
+    private static final String STREAM_QUERY = "select i from Item i order by i.id";
 
     private final ItemRepository itemRepository;
+    private final EntityStreamer entityStreamer;
+    private final Cache<Integer, ItemInfo> itemInfoCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Fetches all {@link Item} entities from database
@@ -44,6 +62,28 @@ public class ItemsService implements CrudService<Item, ItemDto> {
         return itemsList;
     }
 
+    /**
+     * Streams all {@link Item} entities from database one at a time
+     *
+     * @return {@link Flux} of all {@link Item} entities
+     */
+    @Override
+    public Flux<Item> stream() {
+        return entityStreamer.stream(STREAM_QUERY, Item.class);
+    }
+
+    /**
+     * Fetches a page of {@link Item} entities ordered by ID
+     *
+     * @param after The ID after which the page starts, or NULL for the first page
+     * @param limit The maximum number of entities in the page
+     * @return List of the {@link Item} entities in the page
+     */
+    @Override
+    public List<Item> getAll(Integer after, int limit) {
+        return itemRepository.findByIdGreaterThanOrderByIdAsc(KeysetPages.cursor(after), KeysetPages.limit(limit));
+    }
+
     /**
      * Fetches a specific {@link Item} by ID
      *
@@ -57,10 +97,45 @@ public class ItemsService implements CrudService<Item, ItemDto> {
                 .orElseThrow(() -> {
                     String errorMessage = String.format(Messages.ITEM_NOT_FOUND_ERROR, id);
                     log.warn(errorMessage);
-                    throw new EntityNotFoundException(errorMessage);
+                    throw new ResourceNotFoundException(errorMessage);
                 });
     }
 
+    /**
+     * Fetches several {@link Item}s by ID in one query
+     *
+     * @param ids The IDs of the {@link Item}s
+     * @return {@link Map} of the {@link Item}s by ID, otherwise a {@link EntityNotFoundException} is thrown if any
+     * of them is not found
+     */
+    public Map<Integer, Item> getAllById(@NonNull Collection<Integer> ids) {
+        Preconditions.checkNotNull(ids, Messages.ID_NULL_ERROR);
+
+        Map<Integer, Item> items = new HashMap<>();
+        itemRepository.findAllById(ids).forEach(item -> items.put(item.getId(), item));
+        for (Integer id : ids) {
+            if (!items.containsKey(id)) {
+                String errorMessage = String.format(Messages.ITEM_NOT_FOUND_ERROR, id);
+                log.warn(errorMessage);
+                throw new ResourceNotFoundException(errorMessage);
+            }
+        }
+        return items;
+    }
+
+    /**
+     * Fetches the {@link ItemInfo} of a specific {@link Item} by ID, which is read through a cache as names and
+     * prices rarely change. Quantities change with every checkout, so they are never cached
+     *
+     * @param id The ID of the {@link Item}
+     * @return The {@link ItemInfo} of the {@link Item} whose ID matches the specified ID, otherwise a
+     * {@link EntityNotFoundException} is thrown
+     */
+    public ItemInfo getInfo(@NonNull Integer id) {
+        Preconditions.checkNotNull(id, Messages.ID_NULL_ERROR);
+        return itemInfoCache.get(id, key -> ItemInfo.of(get(key)));
+    }
+
     /**
      * Adds a new {@link Item} to the system
      *
@@ -69,7 +144,7 @@ public class ItemsService implements CrudService<Item, ItemDto> {
      */
     @Async
     public Integer add(@NonNull ItemDto ItemDto) {
-        Item Item = MODEL_MAPPER.map(ItemDto, Item.class);
+        Item Item = ItemMapper.toItem(ItemDto);
         Item newItem = itemRepository.save(Item);
 
         log.info(Messages.ITEM_CREATED_MESSAGE);
@@ -78,7 +153,8 @@ public class ItemsService implements CrudService<Item, ItemDto> {
     }
 
     /**
-     * Updates an existing {@link Item} to the system if not exists, otherwise
+     * Updates an existing {@link Item} to the system if not exists, otherwise. A change of its quantity is published
+     * as an {@link ItemQuantityChangedEvent} and a change of its price as an {@link ItemPriceChangedEvent}
      *
      * @param id      The ID of the {@link Item} to be updated
      * @param ItemDto The {@link ItemDto} to be updated
@@ -91,15 +167,69 @@ public class ItemsService implements CrudService<Item, ItemDto> {
         Item Item = itemRepository.findById(id).orElseThrow(() -> {
             String errorMessage = String.format(Messages.ITEM_NOT_FOUND_ERROR, id);
             log.warn(errorMessage);
-            throw new EntityNotFoundException(errorMessage);
+            throw new ResourceNotFoundException(errorMessage);
         });
 
-        MODEL_MAPPER.map(ItemDto, Item);
+        long delta = ItemDto.getQuantity() - Item.getQuantity();
+        boolean priceChanged = ItemDto.getPrice() != Item.getPrice();
+        ItemMapper.updateItem(ItemDto, Item);
         itemRepository.save(Item);
+        itemInfoCache.invalidate(id);
+        if (delta != 0) {
+            eventPublisher.publishEvent(new ItemQuantityChangedEvent(id, delta));
+        }
+        if (priceChanged) {
+            eventPublisher.publishEvent(new ItemPriceChangedEvent(id));
+        }
 
         log.info(Messages.ITEM_UPDATED_MESSAGE);
     }
 
+    /**
+     * Inserts new {@link Item}s and updates existing ones in JDBC batches within a single transaction. The changes
+     * of the updated {@link Item}s are published as by {@link #update(Integer, ItemDto)}
+     *
+     * @param newItems     The {@link Item}s to be inserted
+     * @param changedItems The {@link Item}s to be updated, with their IDs
+     * @return The number of updated rows for each changed {@link Item}, in the same order, which is 0 for an
+     * {@link Item} that is not found
+     */
+    @Transactional
+    public int[] importItems(@NonNull List<Item> newItems, @NonNull List<Item> changedItems) {
+        Preconditions.checkNotNull(newItems, Messages.ITEM_NULL_ERROR);
+        Preconditions.checkNotNull(changedItems, Messages.ITEM_NULL_ERROR);
+
+        // The current prices and quantities are read in one query, so that the changes can be published
+        Map<Integer, Item> currentItems = new HashMap<>();
+        itemRepository.findAllById(changedItems.stream().map(Item::getId).collect(Collectors.toSet()))
+                .forEach(item -> currentItems.put(item.getId(), item));
+
+        if (!newItems.isEmpty()) {
+            itemRepository.insertItems(newItems);
+        }
+        int[] updateCounts = changedItems.isEmpty() ? new int[0] : itemRepository.updateItems(changedItems);
+
+        for (int i = 0; i < changedItems.size(); i++) {
+            Item changedItem = changedItems.get(i);
+            if (updateCounts[i] == 0) {
+                continue;
+            }
+            // An item may be changed more than once in a batch, so each change is compared with the one before it
+            Item currentItem = currentItems.put(changedItem.getId(), changedItem);
+            long delta = changedItem.getQuantity() - currentItem.getQuantity();
+            itemInfoCache.invalidate(changedItem.getId());
+            if (delta != 0) {
+                eventPublisher.publishEvent(new ItemQuantityChangedEvent(changedItem.getId(), delta));
+            }
+            if (changedItem.getPrice() != currentItem.getPrice()) {
+                eventPublisher.publishEvent(new ItemPriceChangedEvent(changedItem.getId()));
+            }
+        }
+
+        log.info(String.format(Messages.ITEMS_IMPORTED_MESSAGE, newItems.size(), changedItems.size()));
+        return updateCounts;
+    }
+
     /**
      * Deletes a specific {@link Item} by ID if exists otherwise a {@link EntityNotFoundException} is thrown
      */
@@ -110,10 +240,11 @@ public class ItemsService implements CrudService<Item, ItemDto> {
         if (!exists(id)) {
             String errorMessage = String.format(Messages.ITEM_NOT_FOUND_ERROR, id);
             log.warn(errorMessage);
-            throw new EntityNotFoundException(errorMessage);
+            throw new ResourceNotFoundException(errorMessage);
         }
 
         itemRepository.deleteById(id);
+        itemInfoCache.invalidate(id);
 
         log.info(Messages.ITEM_DELETED_MESSAGE);
     }
@@ -122,31 +253,90 @@ public class ItemsService implements CrudService<Item, ItemDto> {
      * Decreases the quantity of an {@link Item} by the required amount if possible,
      * otherwise an {@link InsufficientItemQuantityException} is thrown
      * or an {@link EntityNotFoundException} is thrown if not found.
+     * The check and the deduction are done atomically by a single guarded update, so concurrent checkouts
+     * of the same {@link Item} can never oversell it, nor take the quantity reserved by other checkouts
      *
-     * @param id The ID of the {@link Item} to set its flag.
+     * @param id       The ID of the {@link Item} to decrease its quantity
+     * @param quantity The quantity to be deducted
      */
-    @SneakyThrows
-    public void decreaseQuantity(@NonNull Integer id, float quantity) {
+    public void decreaseQuantity(@NonNull Integer id, long quantity) {
         Preconditions.checkNotNull(id, Messages.ID_NULL_ERROR);
 
-        if (!exists(id)) {
-            String errorMessage = String.format(Messages.ITEM_NOT_FOUND_ERROR, id);
-            log.warn(errorMessage);
-            throw new EntityNotFoundException(errorMessage);
-        }
-
-        Item item = this.get(id);
-
-        if (quantity > item.getQuantity()) {
+        if (itemRepository.decreaseQuantity(id, quantity) == 0) {
+            // Nothing was updated, so either the item does not exist or its quantity is insufficient
+            ItemInfo item = getInfo(id);
             String errorMessage = String.format(Messages.INSUFFICIENT_ITEM_QUANTITY_ERROR, item.getName());
             log.error(errorMessage);
             throw new InsufficientItemQuantityException(errorMessage);
         }
 
-        // Deduct the quantity in stock, and update it in database
-        float newQuantity = item.getQuantity() - quantity;
-        item.setQuantity(newQuantity);
-        itemRepository.save(item);
+        log.info(Messages.ITEM_QUANTITY_UPDATED_MESSAGE);
+    }
+
+    /**
+     * Reserves the required quantities of all {@link Item}s in a {@link Basket}, so that they are not available to
+     * other checkouts while it is in progress. The quantities stay in stock until they are deducted by
+     * {@link #deductReservedQuantities(Map)} or released by {@link #releaseQuantities(Map)}.
+     * All quantities are reserved in one JDBC batch within a single transaction, so if any {@link Item} is short
+     * an {@link InsufficientItemQuantityException} is thrown and nothing is reserved at all,
+     * or an {@link EntityNotFoundException} is thrown if an {@link Item} is not found.
+     *
+     * @param contents {@link Map} of the {@link BasketContent}s by {@link Item} ID
+     */
+    @Transactional
+    public void reserveQuantities(@NonNull Map<Integer, BasketContent> contents) {
+        Preconditions.checkNotNull(contents, Messages.BASKET_CONTENT_NULL_ERROR);
+
+        Map<Integer, Long> quantities = new TreeMap<>();
+        contents.forEach((itemId, basketContent) -> quantities.put(itemId, basketContent.getQuantity()));
+        List<Integer> ids = new ArrayList<>(quantities.keySet());
+
+        int[] updateCounts = itemRepository.reserveQuantities(ids, new ArrayList<>(quantities.values()));
+        for (int i = 0; i < updateCounts.length; i++) {
+            if (updateCounts[i] == 0) {
+                // Throwing rolls back the quantities that have already been reserved
+                ItemInfo item = getInfo(ids.get(i));
+                String errorMessage = String.format(Messages.INSUFFICIENT_ITEM_QUANTITY_ERROR, item.getName());
+                log.error(errorMessage);
+                throw new InsufficientItemQuantityException(errorMessage);
+            }
+        }
+
+        log.info(Messages.ITEM_QUANTITY_RESERVED_MESSAGE);
+    }
+
+    /**
+     * Releases the quantities of {@link Item}s that were reserved by {@link #reserveQuantities(Map)}, e.g. for a
+     * checkout whose payment failed, making them available again
+     *
+     * @param quantities The reserved quantities to be released by {@link Item} ID
+     */
+    @Transactional
+    public void releaseQuantities(@NonNull Map<Integer, Long> quantities) {
+        Preconditions.checkNotNull(quantities, Messages.BASKET_CONTENT_NULL_ERROR);
+
+        // The rows are updated in the order of their IDs, so that concurrent checkouts sharing items lock them
+        // in the same order and cannot deadlock
+        Map<Integer, Long> orderedQuantities = new TreeMap<>(quantities);
+        itemRepository.releaseQuantities(new ArrayList<>(orderedQuantities.keySet()),
+                new ArrayList<>(orderedQuantities.values()));
+
+        log.info(Messages.ITEM_QUANTITY_RELEASED_MESSAGE);
+    }
+
+    /**
+     * Deducts the quantities of {@link Item}s that were reserved by {@link #reserveQuantities(Map)} from stock, once
+     * the checkout that reserved them has succeeded
+     *
+     * @param quantities The reserved quantities to be deducted by {@link Item} ID
+     */
+    @Transactional
+    public void deductReservedQuantities(@NonNull Map<Integer, Long> quantities) {
+        Preconditions.checkNotNull(quantities, Messages.BASKET_CONTENT_NULL_ERROR);
+
+        Map<Integer, Long> orderedQuantities = new TreeMap<>(quantities);
+        itemRepository.deductReservedQuantities(new ArrayList<>(orderedQuantities.keySet()),
+                new ArrayList<>(orderedQuantities.values()));
 
         log.info(Messages.ITEM_QUANTITY_UPDATED_MESSAGE);
     }
@@ -0,0 +1,187 @@
+package com.elmenus.order.basket.checkout.service.impl;
+
+import com.elmenus.order.basket.checkout.concurrency.OptimisticRetryTemplate;
+import com.elmenus.order.basket.checkout.constants.Messages;
+import com.elmenus.order.basket.checkout.exception.ReservationExpiredException;
+import com.elmenus.order.basket.checkout.inventory.InventoryEngine;
+import com.elmenus.order.basket.checkout.model.Basket;
+import com.elmenus.order.basket.checkout.model.BasketContent;
+import com.elmenus.order.basket.checkout.model.Item;
+import com.elmenus.order.basket.checkout.model.StockReservation;
+import com.elmenus.order.basket.checkout.payment.PaymentService;
+import com.elmenus.order.basket.checkout.repository.BasketRepository;
+import com.elmenus.order.basket.checkout.repository.StockReservationRepository;
+import com.google.common.base.Preconditions;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.NonNull;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service for holding the stock of {@link Item}s while the checkout of a {@link Basket} is in progress. A checkout
+ * places a {@link StockReservation} per {@link Item}, which is either committed, i.e. deducted from stock, once the
+ * checkout succeeds or released if it fails. Holds that are left behind, e.g. by an instance that stopped in the
+ * middle of a checkout, expire after {@code checkout.reservation.time-to-live} and are released by a background
+ * sweeper, which reopens their {@link Basket}s too. As such a checkout may have charged its {@link Basket} already, the
+ * sweeper voids the charge first and leaves the holds until it succeeds. Expired holds are counted as the
+ * {@code checkout.reservation.expired} metric. The quantities themselves are held by the {@link InventoryEngine}
+ */
+@Service
+@Slf4j
+public class StockReservationService {
+    private static final String EXPIRED_METRIC = "checkout.reservation.expired";
+
+    private final StockReservationRepository stockReservationRepository;
+    private final BasketRepository basketRepository;
+    private final InventoryEngine inventoryEngine;
+    private final PaymentService paymentService;
+    private final OptimisticRetryTemplate optimisticRetryTemplate;
+    private final Duration timeToLive;
+    private final Counter expired;
+
+    public StockReservationService(StockReservationRepository stockReservationRepository,
+                                   BasketRepository basketRepository, InventoryEngine inventoryEngine,
+                                   PaymentService paymentService, OptimisticRetryTemplate optimisticRetryTemplate,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${checkout.reservation.time-to-live}") Duration timeToLive,
+                                   @Value("${checkout.payment.timeout}") Duration paymentTimeout) {
+        // Holds are placed right before paying, so they cannot expire while the payment is in progress
+        Preconditions.checkArgument(timeToLive.compareTo(paymentTimeout) > 0, Messages.RESERVATION_TIME_TO_LIVE_ERROR,
+                timeToLive, paymentTimeout);
+
+        this.stockReservationRepository = stockReservationRepository;
+        this.basketRepository = basketRepository;
+        this.inventoryEngine = inventoryEngine;
+        this.paymentService = paymentService;
+        this.optimisticRetryTemplate = optimisticRetryTemplate;
+        this.timeToLive = timeToLive;
+        this.expired = Counter.builder(EXPIRED_METRIC)
+                .description("Baskets whose stock reservations expired before their checkout completed")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Holds the quantities of all {@link Item}s in a {@link Basket} within the current transaction. If any
+     * {@link Item} is short, an {@link com.elmenus.order.basket.checkout.exception.InsufficientItemQuantityException}
+     * is thrown
+     *
+     * @param basketId The ID of the {@link Basket}
+     * @param contents {@link Map} of the {@link BasketContent}s by {@link Item} ID
+     */
+    @Transactional
+    public void reserve(@NonNull Integer basketId, @NonNull Map<Integer, BasketContent> contents) {
+        Preconditions.checkNotNull(basketId, Messages.ID_NULL_ERROR);
+        Preconditions.checkNotNull(contents, Messages.BASKET_CONTENT_NULL_ERROR);
+
+        inventoryEngine.reserve(contents);
+
+        Date expiresAt = Date.from(Instant.now().plus(timeToLive));
+        List<StockReservation> reservations = new ArrayList<>(contents.size());
+        contents.forEach((itemId, basketContent) -> reservations.add(
+                new StockReservation(null, basketId, itemId, basketContent.getQuantity(), expiresAt)));
+        stockReservationRepository.saveAll(reservations);
+    }
+
+    /**
+     * Deducts the held quantities of a {@link Basket} from stock within the current transaction. If its holds have
+     * expired and been released meanwhile, a {@link ReservationExpiredException} is thrown
+     *
+     * @param basketId The ID of the {@link Basket}
+     */
+    @Transactional
+    public void commit(@NonNull Integer basketId) {
+        Preconditions.checkNotNull(basketId, Messages.ID_NULL_ERROR);
+
+        Map<Integer, Long> quantities = claim(basketId);
+        if (quantities.isEmpty()) {
+            String errorMessage = String.format(Messages.RESERVATION_EXPIRED_ERROR, basketId);
+            log.warn(errorMessage);
+            throw new ReservationExpiredException(errorMessage);
+        }
+
+        inventoryEngine.deduct(quantities);
+    }
+
+    /**
+     * Releases the held quantities of a {@link Basket} within the current transaction, making them available again
+     *
+     * @param basketId The ID of the {@link Basket}
+     * @return True if the holds were released, false if they had been committed or released already
+     */
+    @Transactional
+    public boolean release(@NonNull Integer basketId) {
+        Preconditions.checkNotNull(basketId, Messages.ID_NULL_ERROR);
+
+        Map<Integer, Long> quantities = claim(basketId);
+        if (quantities.isEmpty()) {
+            return false;
+        }
+
+        inventoryEngine.release(quantities);
+        return true;
+    }
+
+    /**
+     * Releases the expired holds and reopens their {@link Basket}s, so that they can be checked out again. The charge
+     * of each {@link Basket} is voided first, outside of any transaction, and its holds are kept for the next run if
+     * that fails
+     */
+    @Scheduled(fixedDelayString = "${checkout.reservation.sweep-interval}")
+    public void releaseExpired() {
+        List<Integer> basketIds = stockReservationRepository.findBasketIdsWithExpiredReservations(new Date());
+        for (Integer basketId : basketIds) {
+            try {
+                paymentService.voidCharge(basketId);
+                optimisticRetryTemplate.execute(() -> expire(basketId));
+            } catch (RuntimeException exception) {
+                // The holds are still there, so they are released on the next run
+                log.error(exception.getMessage(), exception);
+            }
+        }
+    }
+
+    private void expire(Integer basketId) {
+        if (!release(basketId)) {
+            return;
+        }
+
+        basketRepository.findById(basketId).ifPresent(basket -> {
+            basket.setCheckedOut(false);
+            basketRepository.save(basket);
+        });
+        expired.increment();
+        log.warn(String.format(Messages.RESERVATION_EXPIRED_MESSAGE, basketId));
+    }
+
+    /**
+     * Deletes the holds of a {@link Basket}, so that no one else can commit or release them
+     *
+     * @param basketId The ID of the {@link Basket}
+     * @return The held quantities by {@link Item} ID, or an empty {@link Map} if someone else deleted them first
+     */
+    private Map<Integer, Long> claim(Integer basketId) {
+        List<StockReservation> reservations = stockReservationRepository.findByBasketId(basketId);
+        if (reservations.isEmpty()
+                || stockReservationRepository.deleteByBasketId(basketId) != reservations.size()) {
+            return Collections.emptyMap();
+        }
+
+        Map<Integer, Long> quantities = new HashMap<>();
+        reservations.forEach(reservation -> quantities.merge(reservation.getItemId(), reservation.getQuantity(),
+                Long::sum));
+        return quantities;
+    }
+}
@@ -2,17 +2,20 @@ package com.elmenus.order.basket.checkout.service.impl;
 
 import com.elmenus.order.basket.checkout.constants.Messages;
 import com.elmenus.order.basket.checkout.dto.UserDto;
+import com.elmenus.order.basket.checkout.exception.ResourceNotFoundException;
+import com.elmenus.order.basket.checkout.mapper.UserMapper;
 import com.elmenus.order.basket.checkout.model.User;
+import com.elmenus.order.basket.checkout.repository.EntityStreamer;
 import com.elmenus.order.basket.checkout.repository.UserRepository;
 import com.elmenus.order.basket.checkout.service.CrudService;
+import com.elmenus.order.basket.checkout.util.KeysetPages;
 import com.google.common.base.Preconditions;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
-import org.modelmapper.PropertyMap;
 import org.springframework.lang.NonNull;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
 
 import javax.persistence.EntityNotFoundException;
 import java.util.ArrayList;
@@ -26,19 +29,10 @@ import java.util.List;
 @RequiredArgsConstructor
 @Slf4j
 public class UsersService implements CrudService<User, UserDto> {
-    private static final ModelMapper MODEL_MAPPER = new ModelMapper();
+    private static final String STREAM_QUERY = "select u from User u order by u.id";
 
     private final UserRepository userRepository;
-
-    static {
-        // id should be ignored when mapping UserDto to User
-        MODEL_MAPPER.addMappings(new PropertyMap<UserDto, User>() {
-            @Override
-            protected void configure() {
-                skip(destination.getId());
-            }
-        });
-    }
+    private final EntityStreamer entityStreamer;
 
     /**
      * Fetches all {@link User} entities from database
@@ -54,6 +48,28 @@ public class UsersService implements CrudService<User, UserDto> {
         return userList;
     }
 
+    /**
+     * Streams all {@link User} entities from database one at a time
+     *
+     * @return {@link Flux} of all {@link User} entities
+     */
+    @Override
+    public Flux<User> stream() {
+        return entityStreamer.stream(STREAM_QUERY, User.class);
+    }
+
+    /**
+     * Fetches a page of {@link User} entities ordered by ID
+     *
+     * @param after The ID after which the page starts, or NULL for the first page
+     * @param limit The maximum number of entities in the page
+     * @return List of the {@link User} entities in the page
+     */
+    @Override
+    public List<User> getAll(Integer after, int limit) {
+        return userRepository.findByIdGreaterThanOrderByIdAsc(KeysetPages.cursor(after), KeysetPages.limit(limit));
+    }
+
     /**
      * Fetches a specific {@link User} by ID
      *
@@ -66,7 +82,7 @@ public class UsersService implements CrudService<User, UserDto> {
                 .orElseThrow(() -> {
                     String errorMessage = String.format(Messages.USER_NOT_FOUND_ERROR, id);
                     log.warn(errorMessage);
-                    throw new EntityNotFoundException(errorMessage);
+                    throw new ResourceNotFoundException(errorMessage);
                 });
         return existingUser;
     }
@@ -78,7 +94,7 @@ public class UsersService implements CrudService<User, UserDto> {
      * @return The ID of the new {@link User}
      */
     public Integer add(@NonNull UserDto userDto) {
-        User user = MODEL_MAPPER.map(userDto, User.class);
+        User user = UserMapper.toUser(userDto);
         User newUser = userRepository.save(user);
 
         log.info(Messages.USER_CREATED_MESSAGE);
@@ -99,10 +115,10 @@ public class UsersService implements CrudService<User, UserDto> {
         User user = userRepository.findById(id).orElseThrow(() -> {
             String errorMessage = String.format(Messages.USER_NOT_FOUND_ERROR, id);
             log.warn(errorMessage);
-            throw new EntityNotFoundException(errorMessage);
+            throw new ResourceNotFoundException(errorMessage);
         });
 
-        MODEL_MAPPER.map(userDto, user);
+        UserMapper.updateUser(userDto, user);
         userRepository.save(user);
 
         log.info(Messages.USER_UPDATED_MESSAGE);
@@ -117,7 +133,7 @@ public class UsersService implements CrudService<User, UserDto> {
         if (!exists(id)) {
             String errorMessage = String.format(Messages.USER_NOT_FOUND_ERROR, id);
             log.warn(errorMessage);
-            throw new EntityNotFoundException(errorMessage);
+            throw new ResourceNotFoundException(errorMessage);
         }
 
         userRepository.deleteById(id);
@@ -0,0 +1,169 @@
+package com.elmenus.order.basket.checkout.service.impl.reactive;
+
+import com.elmenus.order.basket.checkout.config.R2dbcConfig;
+import com.elmenus.order.basket.checkout.constants.Constants;
+import com.elmenus.order.basket.checkout.constants.Messages;
+import com.elmenus.order.basket.checkout.dto.BasketContentDto;
+import com.elmenus.order.basket.checkout.exception.ResourceNotFoundException;
+import com.elmenus.order.basket.checkout.model.reactive.BasketContentRow;
+import com.elmenus.order.basket.checkout.repository.reactive.ReactiveBasketContentRepository;
+import com.elmenus.order.basket.checkout.service.ReactiveCrudService;
+import com.elmenus.order.basket.checkout.util.KeysetPages;
+import com.elmenus.order.basket.checkout.util.UniqueConstraints;
+import com.google.common.base.Preconditions;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import javax.persistence.EntityNotFoundException;
+
+/**
+ * Service for handling CRUD operations of {@link BasketContentRow} without blocking
+ */
+@Service
+@Profile(R2dbcConfig.R2DBC_PROFILE)
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveBasketContentsService implements ReactiveCrudService<BasketContentRow, BasketContentDto> {
+    private final ReactiveBasketContentRepository basketContentRepository;
+    private final ReactiveBasketsService basketsService;
+    private final ReactiveItemsService itemsService;
+
+    /**
+     * Fetches all {@link BasketContentRow} entities from database
+     *
+     * @return {@link Flux} of all {@link BasketContentRow} entities
+     */
+    @Override
+    public Flux<BasketContentRow> getAll() {
+        return basketContentRepository.findAll();
+    }
+
+    /**
+     * Fetches a page of {@link BasketContentRow} entities ordered by ID
+     *
+     * @param after The ID after which the page starts, or NULL for the first page
+     * @param limit The maximum number of entities in the page
+     * @return {@link Flux} of the {@link BasketContentRow} entities in the page
+     */
+    @Override
+    public Flux<BasketContentRow> getAll(Integer after, int limit) {
+        return basketContentRepository.findByIdGreaterThanOrderByIdAsc(KeysetPages.cursor(after), KeysetPages.limit(limit));
+    }
+
+    /**
+     * Fetches a specific {@link BasketContentRow} by ID
+     *
+     * @param id The ID of the {@link BasketContentRow}
+     * @return The {@link BasketContentRow} whose ID matches the specified ID, otherwise a {@link EntityNotFoundException} is signalled
+     */
+    @Override
+    public Mono<BasketContentRow> get(@NonNull Integer id) {
+        Preconditions.checkNotNull(id, Messages.ID_NULL_ERROR);
+        return basketContentRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> notFoundError(id)));
+    }
+
+    /**
+     * Adds an item to a basket, after making sure both exist. If the basket already holds the item, the quantity is
+     * added to its existing {@link BasketContentRow} instead, so a basket always holds one {@link BasketContentRow}
+     * per item. The running totals of its basket are marked as invalid
+     *
+     * @param basketContentDto The {@link BasketContentDto} to be added
+     * @return The ID of the new {@link BasketContentRow}, or of the existing one holding the item
+     */
+    @Override
+    public Mono<Integer> add(@NonNull BasketContentDto basketContentDto) {
+        return Mono.zip(basketsService.get(basketContentDto.getBasketId()), itemsService.get(basketContentDto.getItemId()))
+                .flatMap(basketAndItem -> basketContentRepository
+                        .findByBasketIdAndItemId(basketAndItem.getT1().getId(), basketAndItem.getT2().getId())
+                        .flatMap(basketContent -> basketContentRepository
+                                .addToQuantity(basketContent.getId(), basketContentDto.getQuantity())
+                                .thenReturn(basketContent)
+                                .doOnNext(increasedBasketContent -> log.info(String.format(
+                                        Messages.BASKET_CONTENT_QUANTITY_INCREASED_MESSAGE, increasedBasketContent.getId()))))
+                        .switchIfEmpty(Mono.defer(() -> {
+                            BasketContentRow basketContent = BasketContentRow.builder()
+                                    .basketId(basketAndItem.getT1().getId())
+                                    .itemId(basketAndItem.getT2().getId())
+                                    .quantity(basketContentDto.getQuantity())
+                                    .build();
+                            return basketContentRepository.save(basketContent)
+                                    .onErrorMap(DataIntegrityViolationException.class, exception -> UniqueConstraints
+                                            .translate(exception, Constants.BASKET_ITEM_CONSTRAINT, String.format(
+                                                    Messages.BASKET_CONTENT_ITEM_EXISTS_ERROR,
+                                                    basketContent.getBasketId(), basketContent.getItemId())))
+                                    .doOnNext(newBasketContent -> log.info(Messages.BASKET_CONTENT_CREATED_MESSAGE));
+                        })))
+                .flatMap(basketContent -> basketsService.invalidateTotals(basketContent.getBasketId())
+                        .thenReturn(basketContent))
+                .map(BasketContentRow::getId);
+    }
+
+    /**
+     * Updates an existing {@link BasketContentRow} if exists, otherwise a {@link EntityNotFoundException} is signalled.
+     * The running totals of its old and new basket are marked as invalid. An {@link IllegalStateException} is
+     * signalled if another {@link BasketContentRow} of the new basket already holds the new item
+     *
+     * @param id               The ID of the {@link BasketContentRow} to be updated
+     * @param basketContentDto The {@link BasketContentDto} to be updated
+     */
+    @Override
+    public Mono<Void> update(@NonNull Integer id, @NonNull BasketContentDto basketContentDto) {
+        Preconditions.checkNotNull(id, Messages.ID_NULL_ERROR);
+        Preconditions.checkNotNull(basketContentDto, Messages.BASKET_CONTENT_NULL_ERROR);
+
+        return Mono.zip(basketsService.get(basketContentDto.getBasketId()), itemsService.get(basketContentDto.getItemId()))
+                .flatMap(basketAndItem -> checkItemNotHeldByOthers(id, basketAndItem.getT1().getId(), basketAndItem.getT2().getId())
+                        .then(get(id)).flatMap(basketContent -> {
+                    Integer oldBasketId = basketContent.getBasketId();
+                    basketContent.setBasketId(basketAndItem.getT1().getId());
+                    basketContent.setItemId(basketAndItem.getT2().getId());
+                    basketContent.setQuantity(basketContentDto.getQuantity());
+                    return basketContentRepository.save(basketContent)
+                            .flatMap(savedBasketContent -> basketsService.invalidateTotals(oldBasketId)
+                                    .then(basketsService.invalidateTotals(savedBasketContent.getBasketId()))
+                                    .thenReturn(savedBasketContent));
+                }))
+                .doOnNext(basketContent -> log.info(Messages.BASKET_CONTENT_UPDATED_MESSAGE))
+                .then();
+    }
+
+    /**
+     * Deletes a specific {@link BasketContentRow} by ID if exists otherwise a {@link EntityNotFoundException} is signalled.
+     * The running totals of its basket are marked as invalid
+     */
+    @Override
+    public Mono<Void> delete(@NonNull Integer id) {
+        return get(id)
+                .flatMap(basketContent -> basketContentRepository.deleteById(id)
+                        .then(basketsService.invalidateTotals(basketContent.getBasketId())))
+                .doOnSuccess(deleted -> log.info(Messages.BASKET_CONTENT_DELETED_MESSAGE));
+    }
+
+    public Flux<BasketContentRow> getByBasketId(Integer basketId) {
+        return basketContentRepository.findByBasketId(basketId);
+    }
+
+    private EntityNotFoundException notFoundError(Integer id) {
+        String errorMessage = String.format(Messages.BASKET_CONTENT_NOT_FOUND_ERROR, id);
+        log.warn(errorMessage);
+        return new ResourceNotFoundException(errorMessage);
+    }
+
+    // Signals an IllegalStateException if a basket content other than the one with the specified ID holds the item
+    private Mono<Void> checkItemNotHeldByOthers(Integer id, Integer basketId, Integer itemId) {
+        return basketContentRepository.findByBasketIdAndItemId(basketId, itemId)
+                .filter(existingBasketContent -> !existingBasketContent.getId().equals(id))
+                .flatMap(existingBasketContent -> {
+                    String errorMessage = String.format(Messages.BASKET_CONTENT_ITEM_EXISTS_ERROR, basketId, itemId);
+                    log.warn(errorMessage);
+                    return Mono.<Void>error(new IllegalStateException(errorMessage));
+                });
+    }
+}
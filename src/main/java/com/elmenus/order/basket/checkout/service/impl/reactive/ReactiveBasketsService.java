@@ -0,0 +1,138 @@
+package com.elmenus.order.basket.checkout.service.impl.reactive;
+
+import com.elmenus.order.basket.checkout.config.R2dbcConfig;
+import com.elmenus.order.basket.checkout.constants.Messages;
+import com.elmenus.order.basket.checkout.dto.BasketDto;
+import com.elmenus.order.basket.checkout.exception.ResourceNotFoundException;
+import com.elmenus.order.basket.checkout.model.reactive.BasketRow;
+import com.elmenus.order.basket.checkout.repository.reactive.ReactiveBasketRepository;
+import com.elmenus.order.basket.checkout.service.ReactiveCrudService;
+import com.elmenus.order.basket.checkout.util.KeysetPages;
+import com.google.common.base.Preconditions;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import javax.persistence.EntityNotFoundException;
+import java.util.Date;
+
+/**
+ * Service for handling CRUD operations of {@link BasketRow} without blocking
+ */
+@Service
+@Profile(R2dbcConfig.R2DBC_PROFILE)
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveBasketsService implements ReactiveCrudService<BasketRow, BasketDto> {
+    private final ReactiveBasketRepository basketRepository;
+    private final ReactiveUsersService usersService;
+
+    /**
+     * Fetches all {@link BasketRow} entities from database
+     *
+     * @return {@link Flux} of all {@link BasketRow} entities
+     */
+    @Override
+    public Flux<BasketRow> getAll() {
+        return basketRepository.findAll();
+    }
+
+    /**
+     * Fetches a page of {@link BasketRow} entities ordered by ID
+     *
+     * @param after The ID after which the page starts, or NULL for the first page
+     * @param limit The maximum number of entities in the page
+     * @return {@link Flux} of the {@link BasketRow} entities in the page
+     */
+    @Override
+    public Flux<BasketRow> getAll(Integer after, int limit) {
+        return basketRepository.findByIdGreaterThanOrderByIdAsc(KeysetPages.cursor(after), KeysetPages.limit(limit));
+    }
+
+    /**
+     * Fetches a specific {@link BasketRow} by ID
+     *
+     * @param id The ID of the {@link BasketRow}
+     * @return The {@link BasketRow} whose ID matches the specified ID, otherwise a {@link EntityNotFoundException} is signalled
+     */
+    @Override
+    public Mono<BasketRow> get(@NonNull Integer id) {
+        Preconditions.checkNotNull(id, Messages.ID_NULL_ERROR);
+        return basketRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> notFoundError(id)));
+    }
+
+    /**
+     * Adds a new {@link BasketRow} to the system
+     *
+     * @param basketDto The {@link BasketDto} to be added
+     * @return The ID of the new {@link BasketRow}
+     */
+    @Override
+    public Mono<Integer> add(@NonNull BasketDto basketDto) {
+        return usersService.get(basketDto.getUserId())
+                .flatMap(user -> {
+                    // Set creation date to now
+                    BasketRow basket = BasketRow.builder()
+                            .userId(user.getId())
+                            .creationDate(new Date())
+                            .checkedOut(false)
+                            .build();
+                    return basketRepository.save(basket);
+                })
+                .doOnNext(newBasket -> log.info(Messages.BASKET_CREATED_MESSAGE))
+                .map(BasketRow::getId);
+    }
+
+    /**
+     * Updates an existing {@link BasketRow} if exists, otherwise a {@link EntityNotFoundException} is signalled
+     *
+     * @param id        The ID of the {@link BasketRow} to be updated
+     * @param basketDto The {@link BasketDto} to be updated
+     */
+    @Override
+    public Mono<Void> update(@NonNull Integer id, @NonNull BasketDto basketDto) {
+        Preconditions.checkNotNull(id, Messages.ID_NULL_ERROR);
+        Preconditions.checkNotNull(basketDto, Messages.BASKET_NULL_ERROR);
+
+        return usersService.get(basketDto.getUserId())
+                .flatMap(user -> get(id).flatMap(basket -> {
+                    basket.setUserId(user.getId());
+                    return basketRepository.save(basket);
+                }))
+                .doOnNext(basket -> log.info(Messages.BASKET_UPDATED_MESSAGE))
+                .then();
+    }
+
+    /**
+     * Deletes a specific {@link BasketRow} by ID if exists otherwise a {@link EntityNotFoundException} is signalled
+     */
+    @Override
+    public Mono<Void> delete(@NonNull Integer id) {
+        Preconditions.checkNotNull(id, Messages.ID_NULL_ERROR);
+
+        return basketRepository.existsById(id)
+                .flatMap(exists -> exists ? basketRepository.deleteById(id) : Mono.error(notFoundError(id)))
+                .doOnSuccess(deleted -> log.info(Messages.BASKET_DELETED_MESSAGE));
+    }
+
+    /**
+     * Marks the running totals of a specific {@link BasketRow} as invalid, as its contents have changed
+     *
+     * @param id The ID of the {@link BasketRow}
+     */
+    public Mono<Void> invalidateTotals(@NonNull Integer id) {
+        Preconditions.checkNotNull(id, Messages.ID_NULL_ERROR);
+        return basketRepository.invalidateTotals(id).then();
+    }
+
+    private EntityNotFoundException notFoundError(Integer id) {
+        String errorMessage = String.format(Messages.BASKET_NOT_FOUND_ERROR, id);
+        log.warn(errorMessage);
+        return new ResourceNotFoundException(errorMessage);
+    }
+}
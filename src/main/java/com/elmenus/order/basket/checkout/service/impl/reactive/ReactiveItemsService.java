@@ -0,0 +1,159 @@
+package com.elmenus.order.basket.checkout.service.impl.reactive;
+
+import com.elmenus.order.basket.checkout.config.R2dbcConfig;
+import com.elmenus.order.basket.checkout.constants.Messages;
+import com.elmenus.order.basket.checkout.dto.ItemDto;
+import com.elmenus.order.basket.checkout.exception.ResourceNotFoundException;
+import com.elmenus.order.basket.checkout.inventory.ItemQuantityChangedEvent;
+import com.elmenus.order.basket.checkout.model.ItemInfo;
+import com.elmenus.order.basket.checkout.model.reactive.ItemRow;
+import com.elmenus.order.basket.checkout.repository.reactive.ReactiveItemRepository;
+import com.elmenus.order.basket.checkout.service.ReactiveCrudService;
+import com.elmenus.order.basket.checkout.service.impl.ItemPriceChangedEvent;
+import com.elmenus.order.basket.checkout.service.impl.ItemsService;
+import com.elmenus.order.basket.checkout.util.KeysetPages;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.google.common.base.Preconditions;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import javax.persistence.EntityNotFoundException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Service for handling CRUD operations of {@link ItemRow} without blocking
+ */
+@Service
+@Profile(R2dbcConfig.R2DBC_PROFILE)
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveItemsService implements ReactiveCrudService<ItemRow, ItemDto> {
+    private final ReactiveItemRepository itemRepository;
+    private final Cache<Integer, ItemInfo> itemInfoCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Scheduler jdbcScheduler;
+
+    /**
+     * Fetches all {@link ItemRow} entities from database
+     *
+     * @return {@link Flux} of all {@link ItemRow} entities
+     */
+    @Override
+    public Flux<ItemRow> getAll() {
+        return itemRepository.findAll();
+    }
+
+    /**
+     * Fetches a page of {@link ItemRow} entities ordered by ID
+     *
+     * @param after The ID after which the page starts, or NULL for the first page
+     * @param limit The maximum number of entities in the page
+     * @return {@link Flux} of the {@link ItemRow} entities in the page
+     */
+    @Override
+    public Flux<ItemRow> getAll(Integer after, int limit) {
+        return itemRepository.findByIdGreaterThanOrderByIdAsc(KeysetPages.cursor(after), KeysetPages.limit(limit));
+    }
+
+    /**
+     * Fetches a specific {@link ItemRow} by ID
+     *
+     * @param id The ID of the {@link ItemRow}
+     * @return The {@link ItemRow} whose ID matches the specified ID, otherwise a {@link EntityNotFoundException} is signalled
+     */
+    @Override
+    public Mono<ItemRow> get(@NonNull Integer id) {
+        Preconditions.checkNotNull(id, Messages.ID_NULL_ERROR);
+        return itemRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> notFoundError(id)));
+    }
+
+    /**
+     * Adds a new {@link ItemRow} to the system
+     *
+     * @param itemDto The {@link ItemDto} to be added
+     * @return The ID of the new {@link ItemRow}
+     */
+    @Override
+    public Mono<Integer> add(@NonNull ItemDto itemDto) {
+        ItemRow item = ItemRow.builder()
+                .name(itemDto.getName())
+                .price(itemDto.getPrice())
+                .quantity(itemDto.getQuantity())
+                .build();
+
+        return itemRepository.save(item)
+                .doOnNext(newItem -> log.info(Messages.ITEM_CREATED_MESSAGE))
+                .map(ItemRow::getId);
+    }
+
+    /**
+     * Updates an existing {@link ItemRow} if exists, otherwise a {@link EntityNotFoundException} is signalled. The
+     * cached {@link ItemInfo} is invalidated, and a change of its quantity is published as an
+     * {@link ItemQuantityChangedEvent} and a change of its price as an {@link ItemPriceChangedEvent}, the same as
+     * {@link ItemsService#update(Integer, ItemDto)} does
+     *
+     * @param id      The ID of the {@link ItemRow} to be updated
+     * @param itemDto The {@link ItemDto} to be updated
+     */
+    @Override
+    public Mono<Void> update(@NonNull Integer id, @NonNull ItemDto itemDto) {
+        Preconditions.checkNotNull(id, Messages.ID_NULL_ERROR);
+        Preconditions.checkNotNull(itemDto, Messages.ITEM_NULL_ERROR);
+
+        return get(id)
+                .flatMap(item -> {
+                    List<Object> events = new ArrayList<>();
+                    long delta = itemDto.getQuantity() - item.getQuantity();
+                    if (delta != 0) {
+                        events.add(new ItemQuantityChangedEvent(id, delta));
+                    }
+                    if (itemDto.getPrice() != item.getPrice()) {
+                        events.add(new ItemPriceChangedEvent(id));
+                    }
+                    item.setName(itemDto.getName());
+                    item.setPrice(itemDto.getPrice());
+                    item.setQuantity(itemDto.getQuantity());
+                    return itemRepository.save(item)
+                            .doOnNext(updatedItem -> itemInfoCache.invalidate(id))
+                            .flatMap(updatedItem -> publish(events).thenReturn(updatedItem));
+                })
+                .doOnNext(item -> log.info(Messages.ITEM_UPDATED_MESSAGE))
+                .then();
+    }
+
+    /**
+     * Deletes a specific {@link ItemRow} by ID if exists otherwise a {@link EntityNotFoundException} is signalled
+     */
+    @Override
+    public Mono<Void> delete(@NonNull Integer id) {
+        Preconditions.checkNotNull(id, Messages.ID_NULL_ERROR);
+
+        return itemRepository.existsById(id)
+                .flatMap(exists -> exists ? itemRepository.deleteById(id) : Mono.error(notFoundError(id)))
+                .doOnSuccess(deleted -> log.info(Messages.ITEM_DELETED_MESSAGE));
+    }
+
+    private Mono<Void> publish(List<Object> events) {
+        if (events.isEmpty()) {
+            return Mono.empty();
+        }
+        // The listeners write through JDBC, so they are kept off the event loop
+        return Mono.<Void>fromRunnable(() -> events.forEach(eventPublisher::publishEvent))
+                .subscribeOn(jdbcScheduler);
+    }
+
+    private EntityNotFoundException notFoundError(Integer id) {
+        String errorMessage = String.format(Messages.ITEM_NOT_FOUND_ERROR, id);
+        log.warn(errorMessage);
+        return new ResourceNotFoundException(errorMessage);
+    }
+}
@@ -0,0 +1,127 @@
+package com.elmenus.order.basket.checkout.service.impl.reactive;
+
+import com.elmenus.order.basket.checkout.config.R2dbcConfig;
+import com.elmenus.order.basket.checkout.constants.Messages;
+import com.elmenus.order.basket.checkout.dto.UserDto;
+import com.elmenus.order.basket.checkout.exception.ResourceNotFoundException;
+import com.elmenus.order.basket.checkout.model.reactive.UserRow;
+import com.elmenus.order.basket.checkout.repository.reactive.ReactiveUserRepository;
+import com.elmenus.order.basket.checkout.service.ReactiveCrudService;
+import com.elmenus.order.basket.checkout.util.KeysetPages;
+import com.google.common.base.Preconditions;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import javax.persistence.EntityNotFoundException;
+
+/**
+ * Service for handling CRUD operations of {@link UserRow} without blocking
+ */
+@Service
+@Profile(R2dbcConfig.R2DBC_PROFILE)
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveUsersService implements ReactiveCrudService<UserRow, UserDto> {
+    private final ReactiveUserRepository userRepository;
+
+    /**
+     * Fetches all {@link UserRow} entities from database
+     *
+     * @return {@link Flux} of all {@link UserRow} entities
+     */
+    @Override
+    public Flux<UserRow> getAll() {
+        return userRepository.findAll();
+    }
+
+    /**
+     * Fetches a page of {@link UserRow} entities ordered by ID
+     *
+     * @param after The ID after which the page starts, or NULL for the first page
+     * @param limit The maximum number of entities in the page
+     * @return {@link Flux} of the {@link UserRow} entities in the page
+     */
+    @Override
+    public Flux<UserRow> getAll(Integer after, int limit) {
+        return userRepository.findByIdGreaterThanOrderByIdAsc(KeysetPages.cursor(after), KeysetPages.limit(limit));
+    }
+
+    /**
+     * Fetches a specific {@link UserRow} by ID
+     *
+     * @param id The ID of the {@link UserRow}
+     * @return The {@link UserRow} whose ID matches the specified ID, otherwise a {@link EntityNotFoundException} is signalled
+     */
+    @Override
+    public Mono<UserRow> get(@NonNull Integer id) {
+        Preconditions.checkNotNull(id, Messages.ID_NULL_ERROR);
+        return userRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> notFoundError(id)));
+    }
+
+    /**
+     * Adds a new {@link UserRow} to the system
+     *
+     * @param userDto The {@link UserDto} to be added
+     * @return The ID of the new {@link UserRow}
+     */
+    @Override
+    public Mono<Integer> add(@NonNull UserDto userDto) {
+        UserRow user = UserRow.builder()
+                .firstname(userDto.getFirstname())
+                .lastname(userDto.getLastname())
+                .username(userDto.getUsername())
+                .email(userDto.getEmail())
+                .build();
+
+        return userRepository.save(user)
+                .doOnNext(newUser -> log.info(Messages.USER_CREATED_MESSAGE))
+                .map(UserRow::getId);
+    }
+
+    /**
+     * Updates an existing {@link UserRow} if exists, otherwise a {@link EntityNotFoundException} is signalled
+     *
+     * @param id      The ID of the {@link UserRow} to be updated
+     * @param userDto The {@link UserDto} to be updated
+     */
+    @Override
+    public Mono<Void> update(@NonNull Integer id, @NonNull UserDto userDto) {
+        Preconditions.checkNotNull(id, Messages.ID_NULL_ERROR);
+        Preconditions.checkNotNull(userDto, Messages.USER_NULL_ERROR);
+
+        return get(id)
+                .flatMap(user -> {
+                    user.setFirstname(userDto.getFirstname());
+                    user.setLastname(userDto.getLastname());
+                    user.setUsername(userDto.getUsername());
+                    user.setEmail(userDto.getEmail());
+                    return userRepository.save(user);
+                })
+                .doOnNext(user -> log.info(Messages.USER_UPDATED_MESSAGE))
+                .then();
+    }
+
+    /**
+     * Deletes a specific {@link UserRow} by ID if exists otherwise a {@link EntityNotFoundException} is signalled
+     */
+    @Override
+    public Mono<Void> delete(@NonNull Integer id) {
+        Preconditions.checkNotNull(id, Messages.ID_NULL_ERROR);
+
+        return userRepository.existsById(id)
+                .flatMap(exists -> exists ? userRepository.deleteById(id) : Mono.error(notFoundError(id)))
+                .doOnSuccess(deleted -> log.info(Messages.USER_DELETED_MESSAGE));
+    }
+
+    private EntityNotFoundException notFoundError(Integer id) {
+        String errorMessage = String.format(Messages.USER_NOT_FOUND_ERROR, id);
+        log.warn(errorMessage);
+        return new ResourceNotFoundException(errorMessage);
+    }
+}
@@ -0,0 +1,83 @@
+package com.elmenus.order.basket.checkout.util;
+
+import lombok.experimental.UtilityClass;
+
+import java.math.BigDecimal;
+
+/**
+ * Helpers for the fixed-point representation of money and quantities. Both are kept as a {@code long} count of a
+ * fraction of a whole unit: money in hundredths, i.e. minor units, and quantities in thousandths. Arithmetic on them
+ * is exact, overflows throw an {@link ArithmeticException} instead of wrapping, and nothing is allocated
+ */
+@UtilityClass
+public class FixedPoint {
+    public final int MONEY_SCALE = 2;
+    public final int QUANTITY_SCALE = 3;
+    public final long MONEY_FACTOR = 100L;
+    public final long QUANTITY_FACTOR = 1_000L;
+
+    /**
+     * Converts a whole amount of money to minor units
+     *
+     * @param amount The whole amount of money
+     * @return The amount in minor units
+     */
+    public long money(long amount) {
+        return Math.multiplyExact(amount, MONEY_FACTOR);
+    }
+
+    /**
+     * Converts a whole quantity to thousandths
+     *
+     * @param quantity The whole quantity
+     * @return The quantity in thousandths
+     */
+    public long quantity(long quantity) {
+        return Math.multiplyExact(quantity, QUANTITY_FACTOR);
+    }
+
+    /**
+     * Multiplies a price by a quantity. The product is kept in thousandths of a minor unit, so that the costs of
+     * several lines can be summed up exactly and rounded only once by {@link #toMoney(long)}
+     *
+     * @param price    The price in minor units
+     * @param quantity The quantity in thousandths
+     * @return The cost in thousandths of a minor unit
+     */
+    public long cost(long price, long quantity) {
+        return Math.multiplyExact(price, quantity);
+    }
+
+    /**
+     * Rounds a cost in thousandths of a minor unit, as returned by {@link #cost(long, long)}, half up to minor units
+     *
+     * @param cost The cost in thousandths of a minor unit, which is not negative
+     * @return The cost in minor units
+     */
+    public long toMoney(long cost) {
+        return (cost + QUANTITY_FACTOR / 2) / QUANTITY_FACTOR;
+    }
+
+    /**
+     * Converts a decimal value to its fixed-point representation
+     *
+     * @param value The decimal value
+     * @param scale The number of fraction digits of the representation
+     * @return The value as a count of the fraction, otherwise an {@link ArithmeticException} is thrown if it has more
+     * fraction digits than the scale or does not fit in a {@code long}
+     */
+    public long fromDecimal(BigDecimal value, int scale) {
+        return value.movePointRight(scale).longValueExact();
+    }
+
+    /**
+     * Converts a fixed-point value to a decimal
+     *
+     * @param value The value as a count of the fraction
+     * @param scale The number of fraction digits of the representation
+     * @return The decimal value
+     */
+    public BigDecimal toDecimal(long value, int scale) {
+        return BigDecimal.valueOf(value, scale);
+    }
+}
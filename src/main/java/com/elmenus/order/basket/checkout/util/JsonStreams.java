@@ -0,0 +1,42 @@
+package com.elmenus.order.basket.checkout.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.SneakyThrows;
+import lombok.experimental.UtilityClass;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import reactor.core.publisher.Flux;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Helpers for writing JSON incrementally
+ */
+@UtilityClass
+public class JsonStreams {
+    private final String ARRAY_START = "[";
+    private final String ARRAY_END = "]";
+    private final String SEPARATOR = ",";
+
+    /**
+     * Writes the elements as a single JSON array, one element per buffer, instead of collecting them into a
+     * list first as the default JSON encoder does
+     *
+     * @param elements      The elements of the array
+     * @param objectMapper  The {@link ObjectMapper} used to serialize each element
+     * @param bufferFactory The factory of the written buffers
+     * @return {@link Flux} of the JSON array chunks
+     */
+    public Flux<DataBuffer> toJsonArray(Flux<?> elements, ObjectMapper objectMapper, DataBufferFactory bufferFactory) {
+        Flux<String> chunks = elements.index()
+                .map(element -> (element.getT1() == 0 ? "" : SEPARATOR) + writeValue(objectMapper, element.getT2()));
+
+        return Flux.concat(Flux.just(ARRAY_START), chunks, Flux.just(ARRAY_END))
+                .map(chunk -> bufferFactory.wrap(chunk.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @SneakyThrows
+    private String writeValue(ObjectMapper objectMapper, Object value) {
+        return objectMapper.writeValueAsString(value);
+    }
+}
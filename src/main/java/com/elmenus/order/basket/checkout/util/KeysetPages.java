@@ -0,0 +1,62 @@
+package com.elmenus.order.basket.checkout.util;
+
+import com.elmenus.order.basket.checkout.constants.Constants;
+import com.elmenus.order.basket.checkout.constants.Messages;
+import com.google.common.base.Preconditions;
+import lombok.experimental.UtilityClass;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Helpers for keyset pagination on the ID, where a page is requested by the last ID of the previous page instead of
+ * an offset, so that every page costs the same index seek no matter how deep it is
+ */
+@UtilityClass
+public class KeysetPages {
+    // IDs are generated starting from 1, so the first page starts after 0
+    private final int FIRST_PAGE_CURSOR = 0;
+
+    /**
+     * Converts the cursor of a page request to the ID after which the page starts
+     *
+     * @param after The ID of the last entity of the previous page, or NULL for the first page
+     * @return The ID after which the page starts
+     */
+    public int cursor(Integer after) {
+        return after == null ? FIRST_PAGE_CURSOR : after;
+    }
+
+    /**
+     * Validates the limit of a page request and converts it to a {@link Pageable} that only limits the results,
+     * as the cursor itself is a condition of the query
+     *
+     * @param limit The maximum number of entities in the page
+     * @return {@link Pageable} of the first {@code limit} results
+     */
+    public Pageable limit(int limit) {
+        Preconditions.checkArgument(limit > 0 && limit <= Constants.MAX_PAGE_LIMIT,
+                Messages.PAGE_LIMIT_INVALID_ERROR, Constants.MAX_PAGE_LIMIT);
+        return PageRequest.of(0, limit);
+    }
+
+    /**
+     * Builds the response of a page, which carries the cursor of the next page in the
+     * {@value Constants#NEXT_CURSOR_HEADER} header unless the page is the last one
+     *
+     * @param page     The entities of the page
+     * @param limit    The limit that the page was requested with
+     * @param idGetter Getter of the ID of an entity
+     * @return {@link ResponseEntity} with the entities of the page
+     */
+    public <T> ResponseEntity<List<T>> toResponse(List<T> page, int limit, Function<T, Integer> idGetter) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.size() == limit) {
+            response.header(Constants.NEXT_CURSOR_HEADER, String.valueOf(idGetter.apply(page.get(page.size() - 1))));
+        }
+        return response.body(page);
+    }
+}
@@ -0,0 +1,37 @@
+package com.elmenus.order.basket.checkout.util;
+
+import lombok.experimental.UtilityClass;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+
+import java.util.Locale;
+
+/**
+ * Helpers for telling violations of a specific unique constraint apart from the other data integrity violations
+ */
+@UtilityClass
+public class UniqueConstraints {
+
+    /**
+     * Translates a violation of the given unique constraint to a {@link DuplicateKeyException}. JPA reports every
+     * constraint violation as a plain {@link DataIntegrityViolationException}, so the constraint is recognized by its
+     * name in the message of the database error. Any other violation is returned as is
+     *
+     * @param exception      The violation to be translated
+     * @param constraintName The name of the unique constraint
+     * @param errorMessage   The message of the {@link DuplicateKeyException}
+     * @return {@link DuplicateKeyException} if the constraint is violated, otherwise the given exception
+     */
+    public DataIntegrityViolationException translate(DataIntegrityViolationException exception, String constraintName,
+                                                     String errorMessage) {
+        if (exception instanceof DuplicateKeyException || !violates(exception, constraintName)) {
+            return exception;
+        }
+        return new DuplicateKeyException(errorMessage, exception);
+    }
+
+    private boolean violates(DataIntegrityViolationException exception, String constraintName) {
+        String message = exception.getMostSpecificCause().getMessage();
+        return message != null && message.toLowerCase(Locale.ROOT).contains(constraintName.toLowerCase(Locale.ROOT));
+    }
+}
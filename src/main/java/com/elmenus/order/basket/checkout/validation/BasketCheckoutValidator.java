@@ -3,23 +3,23 @@ package com.elmenus.order.basket.checkout.validation;
 import com.elmenus.order.basket.checkout.constants.Messages;
 import com.elmenus.order.basket.checkout.exception.InsufficientItemQuantityException;
 import com.elmenus.order.basket.checkout.exception.MoneyValueException;
+import com.elmenus.order.basket.checkout.inventory.InventoryEngine;
+import com.elmenus.order.basket.checkout.metrics.CheckoutMetrics;
 import com.elmenus.order.basket.checkout.model.Basket;
 import com.elmenus.order.basket.checkout.model.BasketContent;
 import com.elmenus.order.basket.checkout.model.Item;
 import com.elmenus.order.basket.checkout.repository.BasketContentRepository;
 import com.elmenus.order.basket.checkout.service.impl.BasketsService;
-import com.elmenus.order.basket.checkout.service.impl.ItemsService;
+import com.elmenus.order.basket.checkout.util.FixedPoint;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
-import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Service;
 
 import javax.persistence.EntityNotFoundException;
 import java.util.LinkedHashMap;
-import java.util.List;
 import java.util.Map;
 
 /**
@@ -30,8 +30,12 @@ import java.util.Map;
 @RequiredArgsConstructor
 @Slf4j
 public class BasketCheckoutValidator {
+    private static final long MINIMUM_COST = FixedPoint.money(100);
+    private static final long MAXIMUM_COST = FixedPoint.money(1500);
+
     private final BasketContentRepository basketContentRepository;
-    private final ItemsService itemsService;
+    private final CheckoutMetrics checkoutMetrics;
+    private final InventoryEngine inventoryEngine;
 
     /**
      * Validates the contents of {@link Basket} with the given ID.
@@ -42,11 +46,15 @@ public class BasketCheckoutValidator {
      * @return {@link BasketCheckoutInfo} with a {@link Map} of {@link BasketContent} and total cost if successful
      */
     public BasketCheckoutInfo validateBasketBeforeCheckout(@NonNull Integer basketId) {
-        // Do all validations
-        Map<Integer, BasketContent> contents = getContentsByBasketId(basketId);
-        checkItemsAvailability(contents);
-        float totalCost = getTotalBasketCost(contents);
-        checkCost(totalCost);
+        // Do all validations on a single snapshot of the basket contents and their items
+        Map<Integer, BasketContent> contents = checkoutMetrics.time(CheckoutMetrics.Stage.CONTENT_LOAD,
+                () -> getContentsByBasketId(basketId));
+        checkoutMetrics.time(CheckoutMetrics.Stage.AVAILABILITY_CHECK, () -> checkItemsAvailability(contents));
+        long totalCost = checkoutMetrics.time(CheckoutMetrics.Stage.COST_CALCULATION, () -> {
+            long cost = getTotalCost(contents);
+            checkCost(cost);
+            return cost;
+        });
 
         return new BasketCheckoutInfo(contents, totalCost);
     }
@@ -55,84 +63,82 @@ public class BasketCheckoutValidator {
      * Checks the total cost of a {@link Basket}, and throws {@link MoneyValueException} if the money value is
      * below 100 or above 1500
      *
-     * @param totalCost The total cost of the basket contents
+     * @param totalCost The total cost of the basket contents in minor units
      */
-    private void checkCost(float totalCost) {
-        if (totalCost < 100) {
+    private void checkCost(long totalCost) {
+        if (totalCost < MINIMUM_COST) {
             throw new MoneyValueException(Messages.LOW_MONEY_VALUE_ERROR);
         }
-        if (totalCost > 1500) {
+        if (totalCost > MAXIMUM_COST) {
             throw new MoneyValueException(Messages.HIGH_MONEY_VALUE_ERROR);
         }
     }
 
     /**
-     * Fetches all contents of a specific {@link Basket} by ID
+     * Fetches all contents of a specific {@link Basket} by ID along with their {@link Item}s in one query
      *
      * @param basketId The ID of the {@link Basket}
      * @return The {@link Basket} whose ID matches the specified ID, otherwise a {@link EntityNotFoundException} is thrown
      */
     Map<Integer, BasketContent> getContentsByBasketId(@NonNull Integer basketId) {
-
-        List<BasketContent> lineItems = basketContentRepository.findByBasketId(basketId);
-        Map<Integer, BasketContent> totalContents = new LinkedHashMap<>();
-
-        // Consider the case that an item is added more than once, then we should combine
-        // all occurrences into one
-        for (BasketContent lineItem : lineItems) {
-            if (totalContents.containsKey(lineItem.getItem().getId())) {
-                // Total quantity should equal the sum of the two quantities and then it should be updated
-                float totalQuantity = totalContents.get(lineItem.getItem().getId()).getQuantity() + lineItem.getQuantity();
-                totalContents.get(lineItem.getItem().getId()).setQuantity(totalQuantity);
-            } else {
-                totalContents.put(lineItem.getItem().getId(), lineItem);
-            }
+        // A basket holds one line per item, so the lines are keyed by item as they are
+        Map<Integer, BasketContent> contents = new LinkedHashMap<>();
+        for (BasketContent lineItem : basketContentRepository.findWithItemsByBasketId(basketId)) {
+            contents.put(lineItem.getItem().getId(), lineItem);
         }
-
-        return totalContents;
+        return contents;
     }
 
     /**
-     * Gets the total cost of all {@link Item}s in the {@link Basket}
+     * Checks the availability of each {@link Item} in the stock, net of reservations, and throws {@link InsufficientItemQuantityException}
+     * in case the quantity is insufficient. The available quantities are taken from the {@link InventoryEngine} that
+     * holds the stock, which reads them from the already fetched contents unless it keeps them in memory
      *
-     * @param contents {@link Map} with all {@link BasketContent}s
-     * @return The total price of the {@link Basket}
+     * @param contents The contents of a specific {@link Basket}
      */
-    @SneakyThrows
-    private float getTotalBasketCost(Map<Integer, BasketContent> contents) {
-        float totalCost = 0F;
-        for (Map.Entry<Integer, BasketContent> basketContentEntry : contents.entrySet()) {
-            // Get the item to determine its price
-            Item item = itemsService.get(basketContentEntry.getKey());
-            totalCost += item.getPrice() * basketContentEntry.getValue().getQuantity();
+    private void checkItemsAvailability(Map<Integer, BasketContent> contents) throws InsufficientItemQuantityException {
+        for (BasketContent basketContent : contents.values()) {
+            Item item = basketContent.getItem();
+            // Only the quantity that is not reserved by other checkouts in progress is available
+            if (basketContent.getQuantity() > inventoryEngine.available(item)) {
+                String errorMessage = String.format(Messages.INSUFFICIENT_ITEM_QUANTITY_ERROR, item.getName());
+                log.error(errorMessage);
+                throw new InsufficientItemQuantityException(errorMessage);
+            }
         }
-
-        return totalCost;
     }
 
     /**
-     * Checks the availability of each {@link Item} in the stock and throws {@link InsufficientItemQuantityException}
-     * in case the quantity is insufficient
+     * Gets the total cost of a {@link Basket}. Its running total is read as is if it still matches its contents,
+     * otherwise the cost of every line is summed up from the already fetched contents
      *
      * @param contents The contents of a specific {@link Basket}
+     * @return The total price of the {@link Basket} in minor units
      */
-    @SneakyThrows
-    private void checkItemsAvailability(Map<Integer, BasketContent> contents) throws InsufficientItemQuantityException {
-        for (Map.Entry<Integer, BasketContent> basketContentEntry : contents.entrySet()) {
-            // Get the item to determine its quantity
-            Item item = itemsService.get(basketContentEntry.getKey());
-            if (basketContentEntry.getValue().getQuantity() > item.getQuantity()) {
-                String errorMessage = String.format(Messages.INSUFFICIENT_ITEM_QUANTITY_ERROR, item.getName());
-                log.error(errorMessage);
-                throw new InsufficientItemQuantityException(errorMessage);
-            }
+    private long getTotalCost(Map<Integer, BasketContent> contents) {
+        if (contents.isEmpty()) {
+            return 0L;
+        }
+        Basket basket = contents.values().iterator().next().getBasket();
+        if (basket.isTotalsValid()) {
+            return FixedPoint.toMoney(basket.getTotalCost());
         }
+
+        // The line costs are summed up exactly and rounded once, so the total does not drift with the number of lines
+        long totalCost = 0L;
+        for (BasketContent basketContent : contents.values()) {
+            totalCost = Math.addExact(totalCost,
+                    FixedPoint.cost(basketContent.getItem().getPrice(), basketContent.getQuantity()));
+        }
+
+        return FixedPoint.toMoney(totalCost);
     }
 
     @Getter
     @AllArgsConstructor
     public static class BasketCheckoutInfo {
         private Map<Integer, BasketContent> contents;
-        private float totalCost;
+        // In minor units
+        private long totalCost;
     }
 }
@@ -2,18 +2,33 @@ package com.elmenus.order.basket.checkout.validation;
 
 import com.elmenus.order.basket.checkout.constants.Messages;
 import com.elmenus.order.basket.checkout.dto.BasketContentDto;
-import com.elmenus.order.basket.checkout.dto.ItemDto;
+import com.elmenus.order.basket.checkout.exception.BasketCheckedOutException;
+import com.elmenus.order.basket.checkout.exception.InsufficientItemQuantityException;
+import com.elmenus.order.basket.checkout.inventory.InventoryEngine;
+import com.elmenus.order.basket.checkout.model.Basket;
+import com.elmenus.order.basket.checkout.model.Item;
+import com.google.common.base.Preconditions;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Component;
 import org.springframework.validation.Errors;
 import org.springframework.validation.Validator;
 
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * Validator for {@link BasketContentDto}
  */
 @Component
+@RequiredArgsConstructor
+@Slf4j
 public class BasketContentsValidator implements Validator {
+    private final InventoryEngine inventoryEngine;
+
     @Override
     public boolean supports(@NonNull Class<?> aClass) {
         return BasketContentDto.class.equals(aClass);
@@ -28,4 +43,39 @@ public class BasketContentsValidator implements Validator {
             return;
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Validates the lines that are about to be added to a {@link Basket}, whether one by one or many at once. The
+     * {@link Basket} must not be checked out, every line must have a positive quantity, and the available quantity of
+     * each {@link Item} must cover all its lines on top of what the {@link Basket} holds already
+     *
+     * @param basket            The {@link Basket} the lines are added to
+     * @param items             The {@link Item}s of the lines by ID, all of which exist
+     * @param basketContentDtos The lines to be added
+     * @param heldQuantities    The quantities the {@link Basket} holds already by {@link Item} ID
+     * @return The quantities to be added by {@link Item}, in the order of the lines
+     */
+    public Map<Item, Long> validateLines(@NonNull Basket basket, @NonNull Map<Integer, Item> items,
+                                         @NonNull List<BasketContentDto> basketContentDtos,
+                                         @NonNull Map<Integer, Long> heldQuantities) {
+        if (basket.isCheckedOut()) {
+            String errorMessage = String.format(Messages.BASKET_CHECKED_OUT_ALREADY_ERROR, basket.getId());
+            log.warn(errorMessage);
+            throw new BasketCheckedOutException(errorMessage);
+        }
+
+        Map<Item, Long> quantities = new LinkedHashMap<>();
+        for (BasketContentDto basketContentDto : basketContentDtos) {
+            Preconditions.checkArgument(basketContentDto.getQuantity() > 0, Messages.QUANTITY_NEGATIVE_ERROR);
+            quantities.merge(items.get(basketContentDto.getItemId()), basketContentDto.getQuantity(), Math::addExact);
+        }
+        quantities.forEach((item, quantity) -> {
+            if (Math.addExact(quantity, heldQuantities.getOrDefault(item.getId(), 0L)) > inventoryEngine.available(item)) {
+                String errorMessage = String.format(Messages.INSUFFICIENT_ITEM_QUANTITY_ERROR, item.getName());
+                log.warn(errorMessage);
+                throw new InsufficientItemQuantityException(errorMessage);
+            }
+        });
+        return quantities;
+    }
+}
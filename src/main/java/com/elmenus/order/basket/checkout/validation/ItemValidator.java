@@ -11,13 +11,13 @@ import org.springframework.validation.Errors;
 import org.springframework.validation.Validator;
 
 /**
- * Validator for {@link ItemDto}
+ * Validator for {@link ItemDto}, including the records of a bulk import
  */
 @Component
 public class ItemValidator implements Validator {
     @Override
     public boolean supports(@NonNull Class<?> aClass) {
-        return ItemDto.class.equals(aClass);
+        return ItemDto.class.isAssignableFrom(aClass);
     }
 
     @Override
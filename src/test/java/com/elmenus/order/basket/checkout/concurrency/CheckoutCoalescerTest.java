@@ -0,0 +1,176 @@
+package com.elmenus.order.basket.checkout.concurrency;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test class for {@link CheckoutCoalescer}
+ */
+public class CheckoutCoalescerTest {
+    // region field values
+    private static final int BASKET_ID = 1;
+    private static final int OTHER_BASKET_ID = 2;
+    private static final long TIMEOUT_SECONDS = 10;
+    private static final long OTHER_BASKETS_TIMEOUT_SECONDS = 1;
+    private static final int OTHER_BASKET_COUNT = 1000;
+    private static final String ERROR_MESSAGE = "Basket with ID 1 has already been checked out";
+    private static final String COALESCED_METRIC = "checkout.coalesced";
+    // endregion
+
+    private SimpleMeterRegistry meterRegistry;
+    private CheckoutCoalescer checkoutCoalescer;
+    private ExecutorService executor;
+    private CountDownLatch started;
+    private CountDownLatch release;
+    private AtomicInteger runs;
+
+    @Before
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        checkoutCoalescer = new CheckoutCoalescer(meterRegistry);
+        executor = Executors.newFixedThreadPool(2);
+        started = new CountDownLatch(1);
+        release = new CountDownLatch(1);
+        runs = new AtomicInteger();
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Tests {@link CheckoutCoalescer#execute(Integer, Runnable)} runs the checkout once for concurrent callers of
+     * the same basket
+     */
+    @Test
+    public void testExecute() throws Exception {
+        // GIVEN
+        Future<?> first = executor.submit(() -> checkoutCoalescer.execute(BASKET_ID, this::blockingCheckout));
+        Assert.assertTrue(started.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+
+        // WHEN
+        Future<?> second = executor.submit(() -> checkoutCoalescer.execute(BASKET_ID, this::blockingCheckout));
+        awaitCoalesced();
+        release.countDown();
+        first.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        second.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+        // THEN
+        Assert.assertEquals(1, runs.get());
+    }
+
+    /**
+     * Tests {@link CheckoutCoalescer#execute(Integer, Runnable)} fails a waiting caller with the error of the
+     * checkout that it shares
+     */
+    @Test
+    public void testExecuteForFailure() throws Exception {
+        // GIVEN
+        Future<?> first = executor.submit(() -> checkoutCoalescer.execute(BASKET_ID, () -> {
+            blockingCheckout();
+            throw new IllegalStateException(ERROR_MESSAGE);
+        }));
+        Assert.assertTrue(started.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+
+        // WHEN
+        Future<?> second = executor.submit(() -> checkoutCoalescer.execute(BASKET_ID, this::blockingCheckout));
+        awaitCoalesced();
+        release.countDown();
+        Assert.assertThrows(ExecutionException.class, () -> first.get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        ExecutionException exception = Assert.assertThrows(ExecutionException.class,
+                () -> second.get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+
+        // THEN
+        Assert.assertTrue(exception.getCause() instanceof IllegalStateException);
+        Assert.assertEquals(ERROR_MESSAGE, exception.getCause().getMessage());
+        Assert.assertEquals(1, runs.get());
+    }
+
+    /**
+     * Tests {@link CheckoutCoalescer#execute(Integer, Runnable)} runs checkouts of different baskets in parallel
+     */
+    @Test
+    public void testExecuteForDifferentBaskets() throws Exception {
+        // GIVEN
+        Future<?> first = executor.submit(() -> checkoutCoalescer.execute(BASKET_ID, this::blockingCheckout));
+        Assert.assertTrue(started.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+
+        // WHEN
+        checkoutCoalescer.execute(OTHER_BASKET_ID, runs::incrementAndGet);
+        release.countDown();
+        first.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+        // THEN
+        Assert.assertEquals(2, runs.get());
+        Assert.assertEquals(0, meterRegistry.counter(COALESCED_METRIC).count(), 0.01);
+    }
+
+    /**
+     * Tests {@link CheckoutCoalescer#execute(Integer, Runnable)} runs checkouts of many other baskets while a checkout
+     * of one basket is in progress, so no other basket ever waits for it
+     */
+    @Test
+    public void testExecuteForManyOtherBaskets() throws Exception {
+        // GIVEN
+        Future<?> first = executor.submit(() -> checkoutCoalescer.execute(BASKET_ID, this::blockingCheckout));
+        Assert.assertTrue(started.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+
+        // WHEN
+        Future<?> others = executor.submit(() -> {
+            for (int basketId = OTHER_BASKET_ID; basketId < OTHER_BASKET_ID + OTHER_BASKET_COUNT; basketId++) {
+                checkoutCoalescer.execute(basketId, runs::incrementAndGet);
+            }
+        });
+        others.get(OTHER_BASKETS_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        release.countDown();
+        first.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+        // THEN
+        Assert.assertEquals(1 + OTHER_BASKET_COUNT, runs.get());
+    }
+
+    /**
+     * Tests {@link CheckoutCoalescer#execute(Integer, Runnable)} runs the checkout again once the previous one is
+     * done
+     */
+    @Test
+    public void testExecuteForSequentialCallers() {
+        // GIVEN
+        checkoutCoalescer.execute(BASKET_ID, runs::incrementAndGet);
+
+        // WHEN
+        checkoutCoalescer.execute(BASKET_ID, runs::incrementAndGet);
+
+        // THEN
+        Assert.assertEquals(2, runs.get());
+    }
+
+    private void blockingCheckout() {
+        runs.incrementAndGet();
+        started.countDown();
+        try {
+            release.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void awaitCoalesced() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+        while (meterRegistry.counter(COALESCED_METRIC).count() < 1 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.elmenus.order.basket.checkout.concurrency;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+/**
+ * Test class for {@link OptimisticRetryTemplate}
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class OptimisticRetryTemplateTest {
+    // region field values
+    private static final int MAX_ATTEMPTS = 3;
+    private static final String ERROR_MESSAGE = "Row was updated or deleted by another transaction";
+    private static final String CONFLICTS_METRIC = "checkout.optimistic-lock.conflicts";
+    private static final String RETRIES_METRIC = "checkout.optimistic-lock.retries";
+    private static final String EXHAUSTED_METRIC = "checkout.optimistic-lock.exhausted";
+    // endregion
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private Runnable operation;
+
+    private SimpleMeterRegistry meterRegistry;
+    private OptimisticRetryTemplate optimisticRetryTemplate;
+
+    @Before
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        optimisticRetryTemplate = new OptimisticRetryTemplate(transactionManager, meterRegistry, MAX_ATTEMPTS);
+    }
+
+    /**
+     * Tests {@link OptimisticRetryTemplate#execute(Runnable)} runs the operation once in a transaction
+     */
+    @Test
+    public void testExecute() {
+        // GIVEN
+
+        // WHEN
+        optimisticRetryTemplate.execute(operation);
+
+        // THEN
+        Mockito.verify(operation, Mockito.times(1)).run();
+        Mockito.verify(transactionManager, Mockito.times(1)).getTransaction(Mockito.any(TransactionDefinition.class));
+        Assert.assertEquals(0, meterRegistry.counter(CONFLICTS_METRIC).count(), 0.01);
+    }
+
+    /**
+     * Tests {@link OptimisticRetryTemplate#execute(Runnable)} runs the operation again in a new transaction after
+     * an optimistic lock conflict
+     */
+    @Test
+    public void testExecuteForConflict() {
+        // GIVEN
+        Mockito.doThrow(new OptimisticLockingFailureException(ERROR_MESSAGE)).doNothing().when(operation).run();
+
+        // WHEN
+        optimisticRetryTemplate.execute(operation);
+
+        // THEN
+        Mockito.verify(operation, Mockito.times(2)).run();
+        Mockito.verify(transactionManager, Mockito.times(2)).getTransaction(Mockito.any(TransactionDefinition.class));
+        Assert.assertEquals(1, meterRegistry.counter(CONFLICTS_METRIC).count(), 0.01);
+        Assert.assertEquals(1, meterRegistry.counter(RETRIES_METRIC).count(), 0.01);
+        Assert.assertEquals(0, meterRegistry.counter(EXHAUSTED_METRIC).count(), 0.01);
+    }
+
+    /**
+     * Tests {@link OptimisticRetryTemplate#execute(Runnable)} gives up after the maximum number of attempts
+     */
+    @Test
+    public void testExecuteForExhaustedAttempts() {
+        // GIVEN
+        Mockito.doThrow(new OptimisticLockingFailureException(ERROR_MESSAGE)).when(operation).run();
+
+        // WHEN
+        Assert.assertThrows(OptimisticLockingFailureException.class, () -> optimisticRetryTemplate.execute(operation));
+
+        // THEN
+        Mockito.verify(operation, Mockito.times(MAX_ATTEMPTS)).run();
+        Assert.assertEquals(MAX_ATTEMPTS, meterRegistry.counter(CONFLICTS_METRIC).count(), 0.01);
+        Assert.assertEquals(MAX_ATTEMPTS - 1, meterRegistry.counter(RETRIES_METRIC).count(), 0.01);
+        Assert.assertEquals(1, meterRegistry.counter(EXHAUSTED_METRIC).count(), 0.01);
+    }
+
+    /**
+     * Tests {@link OptimisticRetryTemplate#execute(Runnable)} does not retry other failures
+     */
+    @Test
+    public void testExecuteForOtherFailure() {
+        // GIVEN
+        Mockito.doThrow(new IllegalStateException(ERROR_MESSAGE)).when(operation).run();
+
+        // WHEN
+        Assert.assertThrows(IllegalStateException.class, () -> optimisticRetryTemplate.execute(operation));
+
+        // THEN
+        Mockito.verify(operation, Mockito.times(1)).run();
+        Assert.assertEquals(0, meterRegistry.counter(CONFLICTS_METRIC).count(), 0.01);
+    }
+}
@@ -8,6 +8,7 @@ import com.elmenus.order.basket.checkout.model.BasketContent;
 import com.elmenus.order.basket.checkout.model.Item;
 import com.elmenus.order.basket.checkout.model.User;
 import com.elmenus.order.basket.checkout.service.impl.BasketContentsService;
+import com.elmenus.order.basket.checkout.util.FixedPoint;
 import org.hamcrest.Matchers;
 import org.junit.After;
 import org.junit.Before;
@@ -36,8 +37,8 @@ import java.util.List;
 public class BasketContentsControllerTest {
     // region field values
     private static final int ID = 1;
-    private static final float QUANTITY = 10F;
-    private static final float MODIFIED_QUANTITY = 20F;
+    private static final long QUANTITY = FixedPoint.quantity(10);
+    private static final long MODIFIED_QUANTITY = FixedPoint.quantity(20);
     private static final int USER_ID = 1;
     private static final String USER_FIRSTNAME = "John";
     private static final String USER_LASTNAME = "Smith";
@@ -47,9 +48,10 @@ public class BasketContentsControllerTest {
     private static final int BASKET_ID = 2;
     private static final int ITEM_ID = 3;
     private static final String ITEM_NAME = "Cheese";
-    private static final float ITEM_PRICE = 10F;
-    private static final float ITEM_QUANTITY = 100F;
+    private static final long ITEM_PRICE = FixedPoint.money(10);
+    private static final long ITEM_QUANTITY = FixedPoint.quantity(100);
     private static final Date NOW = new Date();
+    private static final int DEFAULT_LIMIT = Integer.parseInt(Constants.DEFAULT_PAGE_LIMIT);
     // endregion
 
     private static final String BASKET_CONTENTS_CONTROLLER_PATH = "/" + BasketContentsController.PATH;
@@ -73,10 +75,10 @@ public class BasketContentsControllerTest {
     @Before
     public void setUp() throws Exception {
         user = new User(USER_ID, USER_FIRSTNAME, USER_LASTNAME, USER_USERNAME, USER_EMAIL);
-        basket = new Basket(BASKET_ID, user, NOW, false);
+        basket = new Basket(BASKET_ID, user, NOW, false, null);
         basketContentDto = new BasketContentDto(BASKET_ID, ITEM_ID, QUANTITY);
         basketContent = new BasketContent(ID, basket, item, QUANTITY);
-        item = new Item(ITEM_ID, ITEM_NAME, ITEM_PRICE, ITEM_QUANTITY);
+        item = new Item(ITEM_ID, ITEM_NAME, ITEM_PRICE, ITEM_QUANTITY, 0L, null);
         basketContentDto = new BasketContentDto(BASKET_ID, ITEM_ID, QUANTITY);
     }
 
@@ -86,12 +88,12 @@ public class BasketContentsControllerTest {
     }
 
     /**
-     * Test {@link BasketContentsController#getBaskets()}
+     * Test {@link BasketContentsController#getBaskets(Integer, int)}
      */
     @Test
     public void testGetBaskets() throws Exception {
         // GIVEN
-        Mockito.when(basketContentsService.getAll()).thenReturn(List.of(basketContent));
+        Mockito.when(basketContentsService.getAll(null, DEFAULT_LIMIT)).thenReturn(List.of(basketContent));
 
         // WHEN
         webTestClient.get()
@@ -2,11 +2,16 @@ package com.elmenus.order.basket.checkout.controller;
 
 import com.elmenus.order.basket.checkout.config.H2;
 import com.elmenus.order.basket.checkout.constants.Constants;
+import com.elmenus.order.basket.checkout.dto.BasketContentDto;
 import com.elmenus.order.basket.checkout.dto.BasketDto;
 import com.elmenus.order.basket.checkout.model.Basket;
+import com.elmenus.order.basket.checkout.model.BasketSummary;
+import com.elmenus.order.basket.checkout.model.CheckoutStatus;
 import com.elmenus.order.basket.checkout.model.Item;
 import com.elmenus.order.basket.checkout.model.User;
+import com.elmenus.order.basket.checkout.service.impl.BasketContentsService;
 import com.elmenus.order.basket.checkout.service.impl.BasketsService;
+import com.elmenus.order.basket.checkout.util.FixedPoint;
 import org.hamcrest.Matchers;
 import org.junit.After;
 import org.junit.Before;
@@ -23,8 +28,11 @@ import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.test.web.reactive.server.WebTestClient;
 
+import java.net.URI;
+import java.time.Duration;
 import java.util.Date;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Test class for {@link BasketsController}
@@ -43,11 +51,17 @@ public class BasketsControllerTest {
 
     private static final int ITEM_ID = 3;
     private static final String ITEM_NAME = "Cheese";
-    private static final float ITEM_PRICE = 10F;
-    private static final float ITEM_QUANTITY = 100F;
+    private static final long ITEM_PRICE = FixedPoint.money(10);
+    private static final long ITEM_QUANTITY = FixedPoint.quantity(100);
     private static final Date NOW = new Date();
 
-    private static final float QUANTITY = 10F;
+    private static final long QUANTITY = FixedPoint.quantity(10);
+    private static final String JDBC_THREAD_PREFIX = "jdbc-";
+    private static final String ERROR_MESSAGE = "Basket has already been checked out";
+    private static final int DEFAULT_LIMIT = Integer.parseInt(Constants.DEFAULT_PAGE_LIMIT);
+    private static final String IDEMPOTENCY_KEY = "c8b3e6a4-checkout";
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(50);
+    private static final int MAX_POLLS = 100;
     // endregion
 
     private static final String BASKETS_CONTROLLER_PATH = "/" + BasketsController.PATH;
@@ -61,6 +75,9 @@ public class BasketsControllerTest {
     @MockBean
     private BasketsService basketsService;
 
+    @MockBean
+    private BasketContentsService basketContentsService;
+
     private Basket basket;
     private Item item;
     private BasketDto basketDto;
@@ -69,8 +86,8 @@ public class BasketsControllerTest {
     @Before
     public void setUp() throws Exception {
         user = new User(USER_ID, USER_FIRSTNAME, USER_LASTNAME, USER_USERNAME, USER_EMAIL);
-        basket = new Basket(ID, user, NOW, false);
-        item = new Item(ITEM_ID, ITEM_NAME, ITEM_PRICE, ITEM_QUANTITY);
+        basket = new Basket(ID, user, NOW, false, null);
+        item = new Item(ITEM_ID, ITEM_NAME, ITEM_PRICE, ITEM_QUANTITY, 0L, null);
         basketDto = new BasketDto(USER_ID);
     }
 
@@ -80,12 +97,12 @@ public class BasketsControllerTest {
     }
 
     /**
-     * Test {@link BasketsController#getBaskets()}
+     * Test {@link BasketsController#getBaskets(Integer, int)}
      */
     @Test
     public void testGetBaskets() throws Exception {
         // GIVEN
-        Mockito.when(basketsService.getAll()).thenReturn(List.of(basket));
+        Mockito.when(basketsService.getAll(null, DEFAULT_LIMIT)).thenReturn(List.of(basket));
 
         // WHEN
         webTestClient.get()
@@ -121,6 +138,48 @@ public class BasketsControllerTest {
                 .jsonPath("$." + Constants.ID_FIELD, Matchers.equalTo(ID));
     }
 
+    /**
+     * Test {@link BasketsController#getSummary(Integer)}
+     */
+    @Test
+    public void testGetSummary() {
+        // GIVEN
+        Mockito.when(basketsService.getSummary(ID)).thenReturn(new BasketSummary(ID, FixedPoint.money(100), 1, 1));
+
+        // WHEN
+        webTestClient.get()
+                .uri(BASKETS_CONTROLLER_PATH + Constants.SLASH + ID + Constants.SLASH + BasketsController.SUMMARY_PATH)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.basketId").isEqualTo(ID)
+                .jsonPath("$.totalCost").isEqualTo(100.0)
+                .jsonPath("$.lineCount").isEqualTo(1)
+                .jsonPath("$.distinctItems").isEqualTo(1);
+    }
+
+    /**
+     * Tests {@link BasketsController#addContents(Integer, List)}
+     */
+    @Test
+    public void testAddContents() {
+        // GIVEN
+        List<BasketContentDto> basketContentDtos = List.of(new BasketContentDto(ID, ITEM_ID, QUANTITY),
+                new BasketContentDto(ID, ITEM_ID, QUANTITY));
+
+        // WHEN
+        webTestClient.post()
+                .uri(BASKETS_CONTROLLER_PATH + Constants.SLASH + ID + Constants.SLASH + BasketsController.CONTENTS_PATH)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(basketContentDtos)
+                .exchange()
+                .expectStatus().isCreated();
+
+        // THEN
+        Mockito.verify(basketContentsService).addAll(ID, basketContentDtos);
+    }
+
     /**
      * Tests {@link BasketsController#add(BasketDto, ServerHttpRequest)}
      */
@@ -172,7 +231,7 @@ public class BasketsControllerTest {
     }
 
     /**
-     * Tests {@link BasketsController#checkout(Integer)}
+     * Tests {@link BasketsController#checkout(Integer, String, String, ServerHttpRequest)}
      */
     @Test
     public void testCheckout() {
@@ -187,4 +246,129 @@ public class BasketsControllerTest {
                 .exchange()
                 .expectStatus().isOk();
     }
-}
\ No newline at end of file
+
+    /**
+     * Tests {@link BasketsController#checkout(Integer, String, String, ServerHttpRequest)} runs the checkout on the JDBC scheduler
+     * rather than on the event loop
+     */
+    @Test
+    public void testCheckoutRunsOnJdbcScheduler() {
+        // GIVEN
+        AtomicReference<String> checkoutThread = new AtomicReference<>();
+        Mockito.doAnswer(invocation -> {
+            checkoutThread.set(Thread.currentThread().getName());
+            return null;
+        }).when(basketsService).checkout(ID);
+
+        // WHEN
+        webTestClient.post()
+                .uri(BASKETS_CONTROLLER_PATH + Constants.SLASH +
+                        BasketsController.CHECKOUT_PATH + Constants.SLASH + ID)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk();
+
+        // THEN
+        Assertions.assertTrue(checkoutThread.get().startsWith(JDBC_THREAD_PREFIX));
+    }
+
+    /**
+     * Tests {@link BasketsController#checkout(Integer, String, String, ServerHttpRequest)} but for a failing checkout
+     */
+    @Test
+    public void testCheckoutForFailure() {
+        // GIVEN
+        Mockito.doThrow(new IllegalStateException(ERROR_MESSAGE)).when(basketsService).checkout(ID);
+
+        // WHEN
+        webTestClient.post()
+                .uri(BASKETS_CONTROLLER_PATH + Constants.SLASH +
+                        BasketsController.CHECKOUT_PATH + Constants.SLASH + ID)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message", Matchers.equalTo(ERROR_MESSAGE));
+    }
+
+    /**
+     * Tests {@link BasketsController#checkout(Integer, String, String, ServerHttpRequest)} runs the checkout only once for retries with the same
+     * idempotency key
+     */
+    @Test
+    public void testCheckoutWithIdempotencyKey() {
+        // GIVEN
+
+        // WHEN
+        for (int i = 0; i < 2; i++) {
+            webTestClient.post()
+                    .uri(BASKETS_CONTROLLER_PATH + Constants.SLASH +
+                            BasketsController.CHECKOUT_PATH + Constants.SLASH + ID)
+                    .header(Constants.IDEMPOTENCY_KEY_HEADER, IDEMPOTENCY_KEY)
+                    .accept(MediaType.APPLICATION_JSON)
+                    .exchange()
+                    .expectStatus().isOk();
+        }
+
+        // THEN
+        Mockito.verify(basketsService, Mockito.times(1)).checkout(ID);
+    }
+
+    /**
+     * Tests {@link BasketsController#checkout(Integer, String, String, ServerHttpRequest)} but for an asynchronous
+     * checkout whose status is polled by {@link BasketsController#getCheckoutStatus(String)}
+     */
+    @Test
+    public void testCheckoutAsynchronously() throws Exception {
+        // GIVEN
+
+        // WHEN
+        URI statusUri = webTestClient.post()
+                .uri(BASKETS_CONTROLLER_PATH + Constants.SLASH +
+                        BasketsController.CHECKOUT_PATH + Constants.SLASH + ID)
+                .header(Constants.PREFER_HEADER, Constants.RESPOND_ASYNC_PREFERENCE)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isAccepted()
+                .expectHeader().valueEquals(Constants.PREFERENCE_APPLIED_HEADER, Constants.RESPOND_ASYNC_PREFERENCE)
+                .returnResult(Void.class)
+                .getResponseHeaders().getLocation();
+
+        // THEN
+        Assertions.assertNotNull(statusUri);
+        CheckoutStatus status = null;
+        for (int i = 0; i < MAX_POLLS; i++) {
+            status = webTestClient.get()
+                    .uri(statusUri.getPath())
+                    .accept(MediaType.APPLICATION_JSON)
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectBody(CheckoutStatus.class)
+                    .returnResult()
+                    .getResponseBody();
+            if (status != null && status.getState() != CheckoutStatus.State.PENDING) {
+                break;
+            }
+            Thread.sleep(POLL_INTERVAL.toMillis());
+        }
+        Assertions.assertNotNull(status);
+        Assertions.assertEquals(CheckoutStatus.State.SUCCEEDED, status.getState());
+        Mockito.verify(basketsService).checkout(ID);
+    }
+
+    /**
+     * Tests {@link BasketsController#getCheckoutStatus(String)} but for an unknown checkout
+     */
+    @Test
+    public void testGetCheckoutStatusForUnknownCheckout() {
+        // GIVEN
+
+        // WHEN
+        webTestClient.get()
+                .uri(BASKETS_CONTROLLER_PATH + Constants.SLASH + BasketsController.CHECKOUT_PATH +
+                        Constants.SLASH + BasketsController.STATUS_PATH + Constants.SLASH + IDEMPOTENCY_KEY)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+}
@@ -2,9 +2,11 @@ package com.elmenus.order.basket.checkout.controller;
 
 import com.elmenus.order.basket.checkout.config.H2;
 import com.elmenus.order.basket.checkout.constants.Constants;
+import com.elmenus.order.basket.checkout.constants.Messages;
 import com.elmenus.order.basket.checkout.dto.ItemDto;
 import com.elmenus.order.basket.checkout.model.Item;
 import com.elmenus.order.basket.checkout.service.impl.ItemsService;
+import com.elmenus.order.basket.checkout.util.FixedPoint;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.hamcrest.Matchers;
 import org.junit.After;
@@ -19,8 +21,11 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+
 
 import java.util.List;
 
@@ -34,9 +39,10 @@ public class ItemsControllerTest {
     // region field values
     private static final int ID = 1;
     private static final String NAME = "Cheese";
-    private static final float PRICE = 10F;
-    private static final float QUANTITY = 100F;
-    private static final float MODIFIED_QUANTITY = 200F;
+    private static final long PRICE = FixedPoint.money(10);
+    private static final long QUANTITY = FixedPoint.quantity(100);
+    private static final long MODIFIED_QUANTITY = FixedPoint.quantity(200);
+    private static final int DEFAULT_LIMIT = Integer.parseInt(Constants.DEFAULT_PAGE_LIMIT);
     // endregion
 
     private static final String ITEMS_CONTROLLER_PATH = "/" + ItemsController.PATH;
@@ -57,7 +63,7 @@ public class ItemsControllerTest {
 
     @Before
     public void setUp() throws Exception {
-        item = new Item(ID, NAME, PRICE, QUANTITY);
+        item = new Item(ID, NAME, PRICE, QUANTITY, 0L, null);
         itemDto = new ItemDto(NAME, PRICE, QUANTITY);
     }
 
@@ -67,12 +73,12 @@ public class ItemsControllerTest {
     }
 
     /**
-     * Test {@link ItemsController#getItems()}
+     * Test {@link ItemsController#getItems(Integer, int)}
      */
     @Test
     public void testGetItems() throws Exception {
         // GIVEN
-        Mockito.when(itemsService.getAll()).thenReturn(List.of(item));
+        Mockito.when(itemsService.getAll(null, DEFAULT_LIMIT)).thenReturn(List.of(item));
 
         // WHEN
         webTestClient.get()
@@ -87,6 +93,91 @@ public class ItemsControllerTest {
                 .jsonPath("$[0]." + Constants.NAME_FIELD, Matchers.equalTo(NAME));
     }
 
+    /**
+     * Tests {@link ItemsController#getItems(Integer, int)} but for a full page, which should carry the cursor of
+     * the next page
+     */
+    @Test
+    public void testGetItemsForFullPage() {
+        // GIVEN
+        Mockito.when(itemsService.getAll(ID - 1, 1)).thenReturn(List.of(item));
+
+        // WHEN
+        webTestClient.get()
+                .uri(ITEMS_CONTROLLER_PATH + Constants.QUESTION_MARK + Constants.AFTER_PARAMETER + Constants.EQUALS + (ID - 1)
+                        + Constants.AMPERSAND + Constants.LIMIT_PARAMETER + Constants.EQUALS + 1)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(Constants.NEXT_CURSOR_HEADER, String.valueOf(ID))
+                .expectBody()
+                .jsonPath("$[0]." + Constants.NAME_FIELD, Matchers.equalTo(NAME));
+    }
+
+    /**
+     * Tests {@link ItemsController#getItems(Integer, int)} but for a limit above the maximum
+     */
+    @Test
+    public void testGetItemsForInvalidLimit() {
+        // GIVEN
+        int limit = Constants.MAX_PAGE_LIMIT + 1;
+        Mockito.when(itemsService.getAll(null, limit)).thenThrow(new IllegalArgumentException(
+                String.format(Messages.PAGE_LIMIT_INVALID_ERROR, Constants.MAX_PAGE_LIMIT)));
+
+        // WHEN
+        webTestClient.get()
+                .uri(ITEMS_CONTROLLER_PATH + Constants.QUESTION_MARK + Constants.LIMIT_PARAMETER + Constants.EQUALS + limit)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectHeader().doesNotExist(Constants.NEXT_CURSOR_HEADER)
+                .expectBody()
+                .jsonPath("$.message").isEqualTo(String.format(Messages.PAGE_LIMIT_INVALID_ERROR, Constants.MAX_PAGE_LIMIT));
+    }
+
+    /**
+     * Tests {@link ItemsController#streamItems()}
+     */
+    @Test
+    public void testStreamItems() {
+        // GIVEN
+        Mockito.when(itemsService.stream()).thenReturn(Flux.just(item, item));
+
+        // WHEN
+        List<Item> items = webTestClient.get()
+                .uri(ITEMS_CONTROLLER_PATH + Constants.SLASH + ItemsController.STREAM_PATH)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(Item.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+
+        // THEN
+        Assertions.assertEquals(List.of(item, item), items);
+    }
+
+    /**
+     * Tests {@link ItemsController#streamItemsAsJsonArray(ServerHttpResponse)}
+     */
+    @Test
+    public void testStreamItemsAsJsonArray() {
+        // GIVEN
+        Mockito.when(itemsService.stream()).thenReturn(Flux.just(item, item));
+
+        // WHEN
+        webTestClient.get()
+                .uri(ITEMS_CONTROLLER_PATH + Constants.SLASH + ItemsController.STREAM_PATH)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[1]." + Constants.NAME_FIELD, Matchers.equalTo(NAME));
+    }
+
     /**
      * Test {@link ItemsController#get(Integer)}
      */
@@ -105,6 +196,8 @@ public class ItemsControllerTest {
                 .consumeWith(response -> {
                     Assertions.assertNotNull(response.getResponseBody());
                 })
+                .jsonPath("$.price").isEqualTo(10.0)
+                .jsonPath("$.quantity").isEqualTo(100.0)
                 .jsonPath("$." + Constants.NAME_FIELD, Matchers.equalTo(NAME));
     }
 
@@ -125,6 +218,58 @@ public class ItemsControllerTest {
                 .expectStatus().isCreated();
     }
 
+    /**
+     * Tests {@link ItemsController#importItems(Flux)} for a JSON array
+     */
+    @Test
+    public void testImportItems() {
+        // GIVEN
+        Mockito.when(itemsService.importItems(Mockito.anyList(), Mockito.anyList())).thenReturn(new int[0]);
+        String body = "[{\"name\":\"" + NAME + "\",\"price\":10.0,\"quantity\":100.0}," +
+                "{\"name\":\"\",\"price\":10.0,\"quantity\":100.0}]";
+
+        // WHEN
+        webTestClient.post()
+                .uri(ITEMS_CONTROLLER_PATH + Constants.SLASH + ItemsController.BULK_PATH)
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .bodyValue(body)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.created").isEqualTo(1)
+                .jsonPath("$.updated").isEqualTo(0)
+                .jsonPath("$.errors[0].index").isEqualTo(1)
+                .jsonPath("$.errors[0].message").isEqualTo(Messages.NAME_BLANK_ERROR);
+    }
+
+    /**
+     * Tests {@link ItemsController#importItems(Flux)} for NDJSON
+     */
+    @Test
+    public void testImportItemsForNdjson() {
+        // GIVEN
+        Mockito.when(itemsService.importItems(Mockito.anyList(), Mockito.anyList())).thenReturn(new int[]{1});
+        String body = "{\"id\":" + ID + ",\"name\":\"" + NAME + "\",\"price\":10.0,\"quantity\":200.0}\n";
+
+        // WHEN
+        webTestClient.post()
+                .uri(ITEMS_CONTROLLER_PATH + Constants.SLASH + ItemsController.BULK_PATH)
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .bodyValue(body)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.created").isEqualTo(0)
+                .jsonPath("$.updated").isEqualTo(1)
+                .jsonPath("$.errors").isEmpty();
+
+        // THEN
+        Mockito.verify(itemsService).importItems(List.of(),
+                List.of(new Item(ID, NAME, PRICE, MODIFIED_QUANTITY, 0L, null)));
+    }
+
     /**
      * Tests {@link ItemsController#update(Integer, ItemDto)}
      */
@@ -40,6 +40,7 @@ public class UsersControllerTest {
     private static final String LASTNAME = "Smith";
     private static final String USERNAME = "jsmith";
     private static final String EMAIL = "smith@example.org";
+    private static final int DEFAULT_LIMIT = Integer.parseInt(Constants.DEFAULT_PAGE_LIMIT);
     // endregion
 
     private static final String USERS_CONTROLLER_PATH = "/" + UsersController.PATH;
@@ -71,12 +72,12 @@ public class UsersControllerTest {
     }
 
     /**
-     * Test {@link UsersController#getUsers()}
+     * Test {@link UsersController#getUsers(Integer, int)}
      */
     @Test
     public void testGetUsers() throws Exception {
         // GIVEN
-        Mockito.when(usersService.getAll()).thenReturn(List.of(user));
+        Mockito.when(usersService.getAll(null, DEFAULT_LIMIT)).thenReturn(List.of(user));
 
         // WHEN
         webTestClient.get()
@@ -17,6 +17,7 @@ import com.elmenus.order.basket.checkout.repository.BasketContentRepository;
 import com.elmenus.order.basket.checkout.repository.BasketRepository;
 import com.elmenus.order.basket.checkout.repository.ItemRepository;
 import com.elmenus.order.basket.checkout.repository.UserRepository;
+import com.elmenus.order.basket.checkout.util.FixedPoint;
 import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
@@ -54,8 +55,8 @@ public class BasketControllerIT {
 
     private static final int ITEM_ID = 1;
     private static final String NAME = "Cheese";
-    private static final float PRICE = 10F;
-    private static final float QUANTITY = 100F;
+    private static final long PRICE = FixedPoint.money(10);
+    private static final long QUANTITY = FixedPoint.quantity(100);
 
     private static final int BASKET_ID = 1;
     private static final Date NOW = new Date();
@@ -94,10 +95,10 @@ public class BasketControllerIT {
         user = new User(USER_ID, FIRSTNAME, LASTNAME, USERNAME, EMAIL);
         userDto = new UserDto(FIRSTNAME, LASTNAME, USERNAME, EMAIL);
 
-        item = new Item(ITEM_ID, NAME, PRICE, QUANTITY);
+        item = new Item(ITEM_ID, NAME, PRICE, QUANTITY, 0L, null);
         itemDto = new ItemDto(NAME, PRICE, QUANTITY);
 
-        basket = new Basket(BASKET_ID, user, NOW, false);
+        basket = new Basket(BASKET_ID, user, NOW, false, null);
         basketDto = new BasketDto(USER_ID);
 
         basketContentDto = new BasketContentDto(BASKET_ID, ITEM_ID, QUANTITY);
@@ -177,6 +178,16 @@ public class BasketControllerIT {
         basketContentRepository.findAll().forEach(basketContents::add);
         Assert.assertEquals(1, basketContents.size());
 
+        // Check that the basket contents are listed along with their lazily associated item and basket
+        webTestClient.get()
+                .uri(Constants.SLASH + BasketContentsController.PATH)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].item." + Constants.NAME_FIELD).isEqualTo(NAME)
+                .jsonPath("$[0].basket.user.username").isEqualTo(USERNAME);
+
         // Do basket checkout
         webTestClient.post()
                 .uri(Constants.SLASH + BasketsController.PATH +
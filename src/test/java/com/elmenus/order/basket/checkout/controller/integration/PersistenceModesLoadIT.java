@@ -0,0 +1,151 @@
+package com.elmenus.order.basket.checkout.controller.integration;
+
+import com.elmenus.order.basket.checkout.config.R2dbcConfig;
+import com.elmenus.order.basket.checkout.constants.Constants;
+import com.elmenus.order.basket.checkout.controller.ItemsController;
+import com.elmenus.order.basket.checkout.controller.reactive.ReactiveItemsController;
+import com.elmenus.order.basket.checkout.model.Item;
+import com.elmenus.order.basket.checkout.repository.ItemRepository;
+import com.elmenus.order.basket.checkout.util.FixedPoint;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Load test that compares the throughput and p99 latency of the blocking JPA endpoints with their
+ * non-blocking R2DBC counterparts, both reading the same data
+ */
+@Slf4j
+@RunWith(SpringRunner.class)
+@ActiveProfiles(R2dbcConfig.R2DBC_PROFILE)
+// The H2 console of the context cached by the other integration tests may still hold the configured port
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "webclientexample.postsapi.h2-console-port=0")
+public class PersistenceModesLoadIT {
+    // region field values
+    private static final int ITEM_COUNT = 50;
+    private static final long PRICE = FixedPoint.money(10);
+    private static final long QUANTITY = FixedPoint.quantity(100);
+    private static final int REQUESTS = 2000;
+    private static final int CONCURRENCY = 64;
+    private static final int WARM_UP_REQUESTS = 200;
+    // endregion
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    private WebClient webClient;
+
+    @Before
+    public void setUp() {
+        webClient = WebClient.create("http://localhost:" + port);
+        itemRepository.saveAll(IntStream.range(0, ITEM_COUNT)
+                .mapToObj(index -> new Item(null, "Item " + index, PRICE, QUANTITY, 0L, null))
+                .collect(Collectors.toList()));
+    }
+
+    @After
+    public void teardown() {
+        itemRepository.deleteAll();
+    }
+
+    /**
+     * Fires the same concurrent load at {@link ItemsController} and {@link ReactiveItemsController} and
+     * reports throughput and p99 latency of both persistence modes
+     */
+    @Test
+    public void testCompareJpaAndR2dbcModes() {
+        String jpaUri = Constants.SLASH + ItemsController.PATH;
+        String r2dbcUri = Constants.SLASH + ReactiveItemsController.PATH;
+
+        // Warm up both paths so that connection pools and JIT don't skew the results
+        load(jpaUri, WARM_UP_REQUESTS);
+        load(r2dbcUri, WARM_UP_REQUESTS);
+
+        LoadResult jpaResult = load(jpaUri, REQUESTS);
+        LoadResult r2dbcResult = load(r2dbcUri, REQUESTS);
+
+        log.info("JPA mode: {}", jpaResult);
+        log.info("R2DBC mode: {}", r2dbcResult);
+
+        Assert.assertEquals(REQUESTS, jpaResult.getSucceeded());
+        Assert.assertEquals(REQUESTS, r2dbcResult.getSucceeded());
+    }
+
+    private LoadResult load(String uri, int requests) {
+        long start = System.nanoTime();
+        List<Long> latencies = Flux.range(0, requests)
+                .flatMap(index -> timedGet(uri), CONCURRENCY)
+                .filter(latency -> latency >= 0)
+                .collectSortedList()
+                .block();
+        long elapsed = System.nanoTime() - start;
+
+        return new LoadResult(latencies, elapsed);
+    }
+
+    /**
+     * Returns the latency of the request in nanoseconds, or -1 if it didn't succeed
+     */
+    private Mono<Long> timedGet(String uri) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return webClient.get()
+                    .uri(uri)
+                    .accept(MediaType.APPLICATION_JSON)
+                    .exchangeToMono(response -> response.releaseBody().thenReturn(response.statusCode()))
+                    .map(status -> status == HttpStatus.OK ? System.nanoTime() - start : -1L);
+        });
+    }
+
+    private static class LoadResult {
+        private final List<Long> sortedLatencies;
+        private final long elapsedNanos;
+
+        LoadResult(List<Long> sortedLatencies, long elapsedNanos) {
+            this.sortedLatencies = sortedLatencies;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        int getSucceeded() {
+            return sortedLatencies.size();
+        }
+
+        double getThroughput() {
+            return sortedLatencies.size() / (elapsedNanos / 1e9);
+        }
+
+        double getP99Millis() {
+            if (sortedLatencies.isEmpty()) {
+                return Double.NaN;
+            }
+            int index = (int) Math.ceil(0.99 * sortedLatencies.size()) - 1;
+            return sortedLatencies.get(index) / 1e6;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d requests, %.1f req/s, p99 %.2f ms", getSucceeded(), getThroughput(), getP99Millis());
+        }
+    }
+}
@@ -1,8 +1,13 @@
 package com.elmenus.order.basket.checkout.handler;
 
 import com.elmenus.order.basket.checkout.constants.Messages;
+import com.elmenus.order.basket.checkout.exception.BasketCheckedOutException;
 import com.elmenus.order.basket.checkout.exception.ErrorInfo;
+import com.elmenus.order.basket.checkout.exception.InsufficientItemQuantityException;
 import com.elmenus.order.basket.checkout.exception.MoneyValueException;
+import com.elmenus.order.basket.checkout.exception.PaymentFailedException;
+import com.elmenus.order.basket.checkout.exception.PaymentUnavailableException;
+import com.elmenus.order.basket.checkout.exception.ResourceNotFoundException;
 import org.junit.Assert;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -26,6 +31,7 @@ import org.springframework.web.method.annotation.MethodArgumentTypeMismatchExcep
 import javax.persistence.EntityNotFoundException;
 
 import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
 
 import static org.junit.Assert.*;
 
@@ -63,6 +69,25 @@ public class OrderBasketCheckoutExceptionHandlerTest {
         Assert.assertEquals(EXCEPTION_MESSAGE, responseEntity.getBody().getMessage());
     }
 
+    /**
+     * Tests {@link OrderBasketCheckoutExceptionHandler#handleEntityNotFoundExceptionException(EntityNotFoundException)}
+     * but for a {@link ResourceNotFoundException}, which is mapped the same without capturing a stack trace
+     */
+    @Test
+    public void testHandleEntityNotFoundExceptionExceptionForResourceNotFound() {
+        // GIVEN
+        ResourceNotFoundException exception = new ResourceNotFoundException(EXCEPTION_MESSAGE);
+
+        // WHEN
+        ResponseEntity<ErrorInfo> responseEntity = exceptionHandler.handleEntityNotFoundExceptionException(exception);
+
+        // THEN
+        Assert.assertEquals(HttpStatus.NOT_FOUND, responseEntity.getStatusCode());
+        Assert.assertNotNull(responseEntity.getBody());
+        Assert.assertEquals(EXCEPTION_MESSAGE, responseEntity.getBody().getMessage());
+        Assert.assertEquals(0, exception.getStackTrace().length);
+    }
+
     /**
      * Tests {@link OrderBasketCheckoutExceptionHandler#handleOrderBasketCheckoutExceptions(RuntimeException)}
      */
@@ -82,6 +107,44 @@ public class OrderBasketCheckoutExceptionHandlerTest {
         Assert.assertEquals(EXCEPTION_MESSAGE, responseEntity.getBody().getMessage());
     }
 
+    /**
+     * Tests {@link OrderBasketCheckoutExceptionHandler#handleOrderBasketCheckoutExceptions(RuntimeException)} but for
+     * an {@link InsufficientItemQuantityException}, which is mapped the same without capturing a stack trace
+     */
+    @Test
+    public void testHandleOrderBasketCheckoutExceptionsForInsufficientQuantity() {
+        // GIVEN
+        InsufficientItemQuantityException exception = new InsufficientItemQuantityException(EXCEPTION_MESSAGE);
+
+        // WHEN
+        ResponseEntity<ErrorInfo> responseEntity = exceptionHandler.handleOrderBasketCheckoutExceptions(exception);
+
+        // THEN
+        Assert.assertEquals(HttpStatus.BAD_REQUEST, responseEntity.getStatusCode());
+        Assert.assertNotNull(responseEntity.getBody());
+        Assert.assertEquals(EXCEPTION_MESSAGE, responseEntity.getBody().getMessage());
+        Assert.assertEquals(0, exception.getStackTrace().length);
+    }
+
+    /**
+     * Tests {@link OrderBasketCheckoutExceptionHandler#handleIllegalStateException(IllegalStateException)} but for a
+     * {@link BasketCheckedOutException}, which is mapped the same without capturing a stack trace
+     */
+    @Test
+    public void testHandleIllegalStateExceptionForCheckedOutBasket() {
+        // GIVEN
+        BasketCheckedOutException exception = new BasketCheckedOutException(EXCEPTION_MESSAGE);
+
+        // WHEN
+        ResponseEntity<ErrorInfo> responseEntity = exceptionHandler.handleIllegalStateException(exception);
+
+        // THEN
+        Assert.assertEquals(HttpStatus.BAD_REQUEST, responseEntity.getStatusCode());
+        Assert.assertNotNull(responseEntity.getBody());
+        Assert.assertEquals(EXCEPTION_MESSAGE, responseEntity.getBody().getMessage());
+        Assert.assertEquals(0, exception.getStackTrace().length);
+    }
+
     /**
      * Tests {@link OrderBasketCheckoutExceptionHandler#handleIllegalStateException(IllegalStateException)}
      */
@@ -101,6 +164,60 @@ public class OrderBasketCheckoutExceptionHandlerTest {
         Assert.assertEquals(EXCEPTION_MESSAGE, responseEntity.getBody().getMessage());
     }
 
+    /**
+     * Tests {@link OrderBasketCheckoutExceptionHandler#handleRejectedExecutionException(RejectedExecutionException)}
+     */
+    @Test
+    public void testHandleRejectedExecutionException() {
+        // GIVEN
+        RejectedExecutionException exception = new RejectedExecutionException(EXCEPTION_MESSAGE);
+
+        // WHEN
+        ResponseEntity<ErrorInfo> responseEntity = exceptionHandler.handleRejectedExecutionException(exception);
+
+        // THEN
+        Assert.assertNotNull(responseEntity);
+        Assert.assertEquals(HttpStatus.SERVICE_UNAVAILABLE, responseEntity.getStatusCode());
+        Assert.assertNotNull(responseEntity.getBody());
+        Assert.assertEquals(Messages.CHECKOUT_REJECTED_ERROR, responseEntity.getBody().getMessage());
+    }
+
+    /**
+     * Tests {@link OrderBasketCheckoutExceptionHandler#handlePaymentFailedException(PaymentFailedException)}
+     */
+    @Test
+    public void testHandlePaymentFailedException() {
+        // GIVEN
+        PaymentFailedException exception = new PaymentFailedException(EXCEPTION_MESSAGE);
+
+        // WHEN
+        ResponseEntity<ErrorInfo> responseEntity = exceptionHandler.handlePaymentFailedException(exception);
+
+        // THEN
+        Assert.assertNotNull(responseEntity);
+        Assert.assertEquals(HttpStatus.PAYMENT_REQUIRED, responseEntity.getStatusCode());
+        Assert.assertNotNull(responseEntity.getBody());
+        Assert.assertEquals(EXCEPTION_MESSAGE, responseEntity.getBody().getMessage());
+    }
+
+    /**
+     * Tests {@link OrderBasketCheckoutExceptionHandler#handlePaymentUnavailableException(PaymentUnavailableException)}
+     */
+    @Test
+    public void testHandlePaymentUnavailableException() {
+        // GIVEN
+        PaymentUnavailableException exception = new PaymentUnavailableException(EXCEPTION_MESSAGE);
+
+        // WHEN
+        ResponseEntity<ErrorInfo> responseEntity = exceptionHandler.handlePaymentUnavailableException(exception);
+
+        // THEN
+        Assert.assertNotNull(responseEntity);
+        Assert.assertEquals(HttpStatus.SERVICE_UNAVAILABLE, responseEntity.getStatusCode());
+        Assert.assertNotNull(responseEntity.getBody());
+        Assert.assertEquals(EXCEPTION_MESSAGE, responseEntity.getBody().getMessage());
+    }
+
     /**
      * Tests {@link OrderBasketCheckoutExceptionHandler#handleMethodArgumentTypeMismatchException(MethodArgumentTypeMismatchException)}
      */
@@ -0,0 +1,209 @@
+package com.elmenus.order.basket.checkout.idempotency;
+
+import com.elmenus.order.basket.checkout.constants.Messages;
+import com.elmenus.order.basket.checkout.exception.BasketCheckedOutException;
+import com.elmenus.order.basket.checkout.exception.IdempotentRequestInProgressException;
+import com.elmenus.order.basket.checkout.exception.InsufficientItemQuantityException;
+import com.elmenus.order.basket.checkout.exception.ResourceNotFoundException;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.apache.commons.lang3.StringUtils;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Test class for {@link IdempotencyService}
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class IdempotencyServiceTest {
+    // region field values
+    private static final String SCOPE = "checkout/1";
+    private static final String KEY = "c8b3e6a4-checkout";
+    private static final String OTHER_SCOPE = "checkout/2";
+    private static final String ERROR_MESSAGE = "Insufficient quantity of Cheese";
+    private static final String NOT_FOUND_ERROR_MESSAGE = "Basket with ID 1 is not found";
+    private static final String CHECKED_OUT_ERROR_MESSAGE = "Basket with ID 1 has already been checked out";
+    // endregion
+
+    private IdempotencyService idempotencyService;
+    private IdempotencyStore idempotencyStore;
+
+    @Mock
+    private Runnable operation;
+
+    @Before
+    public void setUp() {
+        idempotencyStore = new InMemoryIdempotencyStore(Caffeine.newBuilder().build());
+        idempotencyService = new IdempotencyService(idempotencyStore);
+    }
+
+    /**
+     * Tests {@link IdempotencyService#execute(String, String, Runnable)} runs the operation only once for the
+     * same key
+     */
+    @Test
+    public void testExecute() {
+        // GIVEN
+
+        // WHEN
+        idempotencyService.execute(SCOPE, KEY, operation);
+        idempotencyService.execute(SCOPE, KEY, operation);
+
+        // THEN
+        Mockito.verify(operation, Mockito.times(1)).run();
+    }
+
+    /**
+     * Tests {@link IdempotencyService#execute(String, String, Runnable)} runs the operation again for the same key
+     * in a different scope
+     */
+    @Test
+    public void testExecuteForDifferentScope() {
+        // GIVEN
+
+        // WHEN
+        idempotencyService.execute(SCOPE, KEY, operation);
+        idempotencyService.execute(OTHER_SCOPE, KEY, operation);
+
+        // THEN
+        Mockito.verify(operation, Mockito.times(2)).run();
+    }
+
+    /**
+     * Tests {@link IdempotencyService#execute(String, String, Runnable)} but for a failing operation, whose error
+     * is raised again for a retry without running the operation again
+     */
+    @Test
+    public void testExecuteForFailure() {
+        // GIVEN
+        Mockito.doThrow(new InsufficientItemQuantityException(ERROR_MESSAGE)).when(operation).run();
+        Assert.assertThrows(InsufficientItemQuantityException.class,
+                () -> idempotencyService.execute(SCOPE, KEY, operation));
+
+        // WHEN
+        InsufficientItemQuantityException exception = Assert.assertThrows(InsufficientItemQuantityException.class,
+                () -> idempotencyService.execute(SCOPE, KEY, operation));
+
+        // THEN
+        Assert.assertEquals(ERROR_MESSAGE, exception.getMessage());
+        Mockito.verify(operation, Mockito.times(1)).run();
+    }
+
+    /**
+     * Tests {@link IdempotencyService#execute(String, String, Runnable)} but for a checkout of a basket that has
+     * already been checked out, whose error is raised again for a retry without running the operation again
+     */
+    @Test
+    public void testExecuteForCheckedOutBasket() {
+        // GIVEN
+        Mockito.doThrow(new BasketCheckedOutException(CHECKED_OUT_ERROR_MESSAGE)).when(operation).run();
+        Assert.assertThrows(BasketCheckedOutException.class, () -> idempotencyService.execute(SCOPE, KEY, operation));
+
+        // WHEN
+        BasketCheckedOutException exception = Assert.assertThrows(BasketCheckedOutException.class,
+                () -> idempotencyService.execute(SCOPE, KEY, operation));
+
+        // THEN
+        Assert.assertEquals(CHECKED_OUT_ERROR_MESSAGE, exception.getMessage());
+        Mockito.verify(operation, Mockito.times(1)).run();
+    }
+
+    /**
+     * Tests {@link IdempotencyService#execute(String, String, Runnable)} but for a checkout of a missing basket,
+     * whose error is raised again for a retry without running the operation again
+     */
+    @Test
+    public void testExecuteForMissingBasket() {
+        // GIVEN
+        Mockito.doThrow(new ResourceNotFoundException(NOT_FOUND_ERROR_MESSAGE)).when(operation).run();
+        Assert.assertThrows(ResourceNotFoundException.class, () -> idempotencyService.execute(SCOPE, KEY, operation));
+
+        // WHEN
+        ResourceNotFoundException exception = Assert.assertThrows(ResourceNotFoundException.class,
+                () -> idempotencyService.execute(SCOPE, KEY, operation));
+
+        // THEN
+        Assert.assertEquals(NOT_FOUND_ERROR_MESSAGE, exception.getMessage());
+        Mockito.verify(operation, Mockito.times(1)).run();
+    }
+
+    /**
+     * Tests {@link IdempotencyService#execute(String, String, Runnable)} but for an error whose own type is not
+     * recorded, which is raised again as the closest type that is
+     */
+    @Test
+    public void testExecuteForFailureOfSubtype() {
+        // GIVEN
+        Mockito.doThrow(new IllegalStateException(ERROR_MESSAGE) {
+        }).when(operation).run();
+        Assert.assertThrows(IllegalStateException.class, () -> idempotencyService.execute(SCOPE, KEY, operation));
+
+        // WHEN
+        IllegalStateException exception = Assert.assertThrows(IllegalStateException.class,
+                () -> idempotencyService.execute(SCOPE, KEY, operation));
+
+        // THEN
+        Assert.assertEquals(IllegalStateException.class, exception.getClass());
+        Assert.assertEquals(ERROR_MESSAGE, exception.getMessage());
+        Mockito.verify(operation, Mockito.times(1)).run();
+    }
+
+    /**
+     * Tests {@link IdempotencyService#execute(String, String, Runnable)} but for a transient failure, after which
+     * the operation can be retried
+     */
+    @Test
+    public void testExecuteForTransientFailure() {
+        // GIVEN
+        Mockito.doThrow(new RejectedExecutionException()).doNothing().when(operation).run();
+        Assert.assertThrows(RejectedExecutionException.class, () -> idempotencyService.execute(SCOPE, KEY, operation));
+
+        // WHEN
+        idempotencyService.execute(SCOPE, KEY, operation);
+
+        // THEN
+        Mockito.verify(operation, Mockito.times(2)).run();
+    }
+
+    /**
+     * Tests {@link IdempotencyService#execute(String, String, Runnable)} but while a request with the same key is
+     * still in progress
+     */
+    @Test
+    public void testExecuteWhileInProgress() {
+        // GIVEN
+        idempotencyStore.claim(SCOPE + ":" + KEY);
+
+        // WHEN
+        IdempotentRequestInProgressException exception = Assert.assertThrows(
+                IdempotentRequestInProgressException.class, () -> idempotencyService.execute(SCOPE, KEY, operation));
+
+        // THEN
+        Assert.assertEquals(Messages.IDEMPOTENT_REQUEST_IN_PROGRESS_ERROR, exception.getMessage());
+        Mockito.verify(operation, Mockito.never()).run();
+    }
+
+    /**
+     * Tests {@link IdempotencyService#execute(String, String, Runnable)} but for a key that is too long
+     */
+    @Test
+    public void testExecuteForInvalidKey() {
+        // GIVEN
+        String key = StringUtils.repeat('k', IdempotencyService.MAX_KEY_LENGTH + 1);
+
+        // WHEN
+        IllegalArgumentException exception = Assert.assertThrows(IllegalArgumentException.class,
+                () -> idempotencyService.execute(SCOPE, key, operation));
+
+        // THEN
+        String errorMessage = String.format(Messages.IDEMPOTENCY_KEY_INVALID_ERROR, IdempotencyService.MAX_KEY_LENGTH);
+        Assert.assertEquals(errorMessage, exception.getMessage());
+        Mockito.verify(operation, Mockito.never()).run();
+    }
+}
@@ -0,0 +1,60 @@
+package com.elmenus.order.basket.checkout.idempotency;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Test class for {@link InMemoryIdempotencyStore}
+ */
+public class InMemoryIdempotencyStoreTest {
+    // region field values
+    private static final String KEY = "checkout/1:c8b3e6a4-checkout";
+    private static final String OTHER_KEY = "checkout/2:c8b3e6a4-checkout";
+    private static final String KEY_FORMAT = "checkout/%s:completed";
+    private static final long MAXIMUM_SIZE = 2;
+    private static final Duration TIME_TO_LIVE = Duration.ofHours(1);
+    // endregion
+
+    private InMemoryIdempotencyStore idempotencyStore;
+
+    @Before
+    public void setUp() {
+        // Evictions run on the calling thread, so they have happened once a write returns
+        idempotencyStore = new InMemoryIdempotencyStore(InMemoryIdempotencyStore.cacheBuilder(MAXIMUM_SIZE, TIME_TO_LIVE)
+                .executor(Runnable::run)
+                .build());
+    }
+
+    /**
+     * Tests {@link InMemoryIdempotencyStore#claim(String)} keeps keys in progress when the store is full, however
+     * many of them there are
+     */
+    @Test
+    public void testClaimForFullStore() {
+        // GIVEN
+        idempotencyStore.claim(KEY);
+        idempotencyStore.claim(OTHER_KEY);
+
+        // WHEN
+        for (int i = 0; i < 10 * MAXIMUM_SIZE; i++) {
+            String completedKey = String.format(KEY_FORMAT, i);
+            idempotencyStore.claim(completedKey);
+            idempotencyStore.complete(completedKey, IdempotentOutcome.SUCCEEDED);
+        }
+
+        // THEN
+        Assert.assertEquals(Optional.of(IdempotentOutcome.IN_PROGRESS), idempotencyStore.claim(KEY));
+        Assert.assertEquals(Optional.of(IdempotentOutcome.IN_PROGRESS), idempotencyStore.claim(OTHER_KEY));
+        long completedKeys = 0;
+        for (int i = 0; i < 10 * MAXIMUM_SIZE; i++) {
+            if (idempotencyStore.claim(String.format(KEY_FORMAT, i)).isPresent()) {
+                completedKeys++;
+            }
+        }
+        Assert.assertTrue(completedKeys <= MAXIMUM_SIZE);
+    }
+}
@@ -0,0 +1,150 @@
+package com.elmenus.order.basket.checkout.idempotency;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Test class for {@link JdbcIdempotencyStore}
+ */
+@RunWith(SpringRunner.class)
+@JdbcTest
+public class JdbcIdempotencyStoreTest {
+    // region field values
+    private static final String KEY = "checkout/1:c8b3e6a4-checkout";
+    private static final String ERROR_MESSAGE = "Money value below 100";
+    private static final Duration TIME_TO_LIVE = Duration.ofHours(1);
+    private static final Duration IN_PROGRESS_LEASE = Duration.ofMinutes(1);
+    // endregion
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private JdbcIdempotencyStore idempotencyStore;
+
+    @Before
+    public void setUp() {
+        idempotencyStore = new JdbcIdempotencyStore(jdbcTemplate, TIME_TO_LIVE, IN_PROGRESS_LEASE);
+        idempotencyStore.createTable();
+    }
+
+    /**
+     * Tests {@link JdbcIdempotencyStore#claim(String)}
+     */
+    @Test
+    public void testClaim() {
+        // GIVEN
+
+        // WHEN
+        Optional<IdempotentOutcome> outcome = idempotencyStore.claim(KEY);
+
+        // THEN
+        Assert.assertTrue(outcome.isEmpty());
+    }
+
+    /**
+     * Tests {@link JdbcIdempotencyStore#claim(String)} but for a key that is already claimed
+     */
+    @Test
+    public void testClaimForClaimedKey() {
+        // GIVEN
+        idempotencyStore.claim(KEY);
+
+        // WHEN
+        Optional<IdempotentOutcome> outcome = idempotencyStore.claim(KEY);
+
+        // THEN
+        Assert.assertEquals(Optional.of(IdempotentOutcome.IN_PROGRESS), outcome);
+    }
+
+    /**
+     * Tests {@link JdbcIdempotencyStore#complete(String, IdempotentOutcome)}
+     */
+    @Test
+    public void testComplete() {
+        // GIVEN
+        IdempotentOutcome failedOutcome = IdempotentOutcome.failed(new IllegalStateException(ERROR_MESSAGE));
+        idempotencyStore.claim(KEY);
+
+        // WHEN
+        idempotencyStore.complete(KEY, failedOutcome);
+
+        // THEN
+        Assert.assertEquals(Optional.of(failedOutcome), idempotencyStore.claim(KEY));
+    }
+
+    /**
+     * Tests {@link JdbcIdempotencyStore#release(String)}
+     */
+    @Test
+    public void testRelease() {
+        // GIVEN
+        idempotencyStore.claim(KEY);
+
+        // WHEN
+        idempotencyStore.release(KEY);
+
+        // THEN
+        Assert.assertTrue(idempotencyStore.claim(KEY).isEmpty());
+    }
+
+    /**
+     * Tests {@link JdbcIdempotencyStore#claim(String)} but for a key that has expired
+     */
+    @Test
+    public void testClaimForExpiredKey() {
+        // GIVEN
+        JdbcIdempotencyStore expiringStore = new JdbcIdempotencyStore(jdbcTemplate, Duration.ZERO, Duration.ZERO);
+        expiringStore.claim(KEY);
+        expiringStore.complete(KEY, IdempotentOutcome.SUCCEEDED);
+
+        // WHEN
+        Optional<IdempotentOutcome> outcome = expiringStore.claim(KEY);
+
+        // THEN
+        Assert.assertTrue(outcome.isEmpty());
+    }
+
+    /**
+     * Tests {@link JdbcIdempotencyStore#claim(String)} but for a key whose request has been in progress for longer
+     * than the lease, which a retry takes over
+     */
+    @Test
+    public void testClaimForLapsedLease() {
+        // GIVEN
+        JdbcIdempotencyStore lapsingStore = new JdbcIdempotencyStore(jdbcTemplate, TIME_TO_LIVE, Duration.ZERO);
+        lapsingStore.claim(KEY);
+
+        // WHEN
+        Optional<IdempotentOutcome> outcome = lapsingStore.claim(KEY);
+
+        // THEN
+        Assert.assertTrue(outcome.isEmpty());
+    }
+
+    /**
+     * Tests {@link JdbcIdempotencyStore#claim(String)} but for a completed key, which is never taken over however old
+     * it is
+     */
+    @Test
+    public void testClaimForLapsedLeaseOfCompletedKey() {
+        // GIVEN
+        JdbcIdempotencyStore lapsingStore = new JdbcIdempotencyStore(jdbcTemplate, TIME_TO_LIVE, Duration.ZERO);
+        lapsingStore.claim(KEY);
+        lapsingStore.complete(KEY, IdempotentOutcome.SUCCEEDED);
+
+        // WHEN
+        Optional<IdempotentOutcome> outcome = lapsingStore.claim(KEY);
+
+        // THEN
+        Assert.assertEquals(Optional.of(IdempotentOutcome.SUCCEEDED), outcome);
+    }
+}
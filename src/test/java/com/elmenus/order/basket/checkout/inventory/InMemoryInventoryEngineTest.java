@@ -0,0 +1,262 @@
+package com.elmenus.order.basket.checkout.inventory;
+
+import com.elmenus.order.basket.checkout.config.ItemCacheConfig;
+import com.elmenus.order.basket.checkout.exception.InsufficientItemQuantityException;
+import com.elmenus.order.basket.checkout.model.BasketContent;
+import com.elmenus.order.basket.checkout.model.Item;
+import com.elmenus.order.basket.checkout.repository.EntityStreamer;
+import com.elmenus.order.basket.checkout.repository.ItemRepository;
+import com.elmenus.order.basket.checkout.service.impl.ItemsService;
+import com.elmenus.order.basket.checkout.util.FixedPoint;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+
+/**
+ * Test class for {@link InMemoryInventoryEngine}
+ */
+@RunWith(SpringRunner.class)
+@DataJpaTest
+@Import({ItemsService.class, EntityStreamer.class, ItemCacheConfig.class, SimpleMeterRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class InMemoryInventoryEngineTest {
+    // region field values
+    private static final String CHEESE_NAME = "Cheese";
+    private static final String MILK_NAME = "Milk";
+    private static final long PRICE = FixedPoint.money(10);
+    private static final long QUANTITY = FixedPoint.quantity(100);
+    private static final long REQUIRED_QUANTITY = FixedPoint.quantity(60);
+    // endregion
+
+    @Rule
+    public TemporaryFolder logDirectory = new TemporaryFolder();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ItemsService itemsService;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    private TransactionTemplate transactionTemplate;
+    private InventoryWriteAheadLog writeAheadLog;
+    private InMemoryInventoryEngine engine;
+    private Item cheese;
+    private Item milk;
+
+    @Before
+    public void setUp() {
+        cheese = itemRepository.save(new Item(null, CHEESE_NAME, PRICE, QUANTITY, 0L, null));
+        milk = itemRepository.save(new Item(null, MILK_NAME, PRICE, QUANTITY, 0L, null));
+
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        writeAheadLog = new InventoryWriteAheadLog(logDirectory.getRoot().toPath());
+        engine = newEngine(writeAheadLog);
+    }
+
+    @After
+    public void teardown() {
+        writeAheadLog.close();
+        itemRepository.deleteAll();
+    }
+
+    /**
+     * Tests {@link InMemoryInventoryEngine#reserve(Map)} holds the quantity without deducting it from the database,
+     * so it is not available to another checkout
+     */
+    @Test
+    public void testReserve() {
+        // GIVEN
+
+        // WHEN
+        engine.reserve(contentsOf(cheese, REQUIRED_QUANTITY));
+
+        // THEN
+        Assert.assertEquals(QUANTITY, getItem(cheese).getQuantity());
+        Assert.assertThrows(InsufficientItemQuantityException.class,
+                () -> engine.reserve(contentsOf(cheese, REQUIRED_QUANTITY)));
+        engine.reserve(contentsOf(cheese, QUANTITY - REQUIRED_QUANTITY));
+    }
+
+    /**
+     * Tests {@link InMemoryInventoryEngine#reserve(Map)} holds nothing at all if a single {@link Item} is short
+     */
+    @Test
+    public void testReserveForInsufficientQuantity() {
+        // GIVEN
+        Map<Integer, BasketContent> contents = Map.of(
+                cheese.getId(), new BasketContent(null, null, cheese, REQUIRED_QUANTITY),
+                milk.getId(), new BasketContent(null, null, milk, QUANTITY + 1));
+
+        // WHEN
+        Assert.assertThrows(InsufficientItemQuantityException.class, () -> engine.reserve(contents));
+
+        // THEN
+        engine.reserve(contentsOf(cheese, QUANTITY));
+    }
+
+    /**
+     * Tests {@link InMemoryInventoryEngine#reserve(Map)} gives the quantity back if the transaction rolls back
+     */
+    @Test
+    public void testReserveForRolledBackTransaction() {
+        // GIVEN
+
+        // WHEN
+        transactionTemplate.executeWithoutResult(status -> {
+            engine.reserve(contentsOf(cheese, QUANTITY));
+            status.setRollbackOnly();
+        });
+
+        // THEN
+        engine.reserve(contentsOf(cheese, QUANTITY));
+    }
+
+    /**
+     * Tests {@link InMemoryInventoryEngine#release(Map)}
+     */
+    @Test
+    public void testRelease() {
+        // GIVEN
+        engine.reserve(contentsOf(cheese, REQUIRED_QUANTITY));
+
+        // WHEN
+        engine.release(Map.of(cheese.getId(), REQUIRED_QUANTITY));
+
+        // THEN
+        engine.reserve(contentsOf(cheese, QUANTITY));
+    }
+
+    /**
+     * Tests {@link InMemoryInventoryEngine#deduct(Map)} writes the deduction to the database on the next flush only
+     */
+    @Test
+    public void testDeduct() {
+        // GIVEN
+        engine.reserve(contentsOf(cheese, REQUIRED_QUANTITY));
+
+        // WHEN
+        engine.deduct(Map.of(cheese.getId(), REQUIRED_QUANTITY));
+
+        // THEN
+        Assert.assertEquals(QUANTITY, getItem(cheese).getQuantity());
+        engine.flush();
+        Assert.assertEquals(QUANTITY - REQUIRED_QUANTITY, getItem(cheese).getQuantity());
+        engine.flush();
+        Assert.assertEquals(QUANTITY - REQUIRED_QUANTITY, getItem(cheese).getQuantity());
+        Assert.assertThrows(InsufficientItemQuantityException.class,
+                () -> engine.reserve(contentsOf(cheese, QUANTITY - REQUIRED_QUANTITY + 1)));
+    }
+
+    /**
+     * Tests {@link InMemoryInventoryEngine#deduct(Map)} is undone if the transaction rolls back
+     */
+    @Test
+    public void testDeductForRolledBackTransaction() {
+        // GIVEN
+        engine.reserve(contentsOf(cheese, REQUIRED_QUANTITY));
+
+        // WHEN
+        transactionTemplate.executeWithoutResult(status -> {
+            engine.deduct(Map.of(cheese.getId(), REQUIRED_QUANTITY));
+            status.setRollbackOnly();
+        });
+
+        // THEN
+        engine.flush();
+        Assert.assertEquals(QUANTITY, getItem(cheese).getQuantity());
+    }
+
+    /**
+     * Tests {@link InMemoryInventoryEngine#recover()} writes the deductions that were logged but not flushed before
+     * the application stopped, and only once
+     */
+    @Test
+    public void testRecover() {
+        // GIVEN
+        engine.reserve(contentsOf(cheese, REQUIRED_QUANTITY));
+        engine.deduct(Map.of(cheese.getId(), REQUIRED_QUANTITY));
+        writeAheadLog.close();
+
+        // WHEN
+        writeAheadLog = new InventoryWriteAheadLog(logDirectory.getRoot().toPath());
+        engine = newEngine(writeAheadLog);
+
+        // THEN
+        Assert.assertEquals(QUANTITY - REQUIRED_QUANTITY, getItem(cheese).getQuantity());
+        writeAheadLog.close();
+        writeAheadLog = new InventoryWriteAheadLog(logDirectory.getRoot().toPath());
+        engine = newEngine(writeAheadLog);
+        Assert.assertEquals(QUANTITY - REQUIRED_QUANTITY, getItem(cheese).getQuantity());
+        Assert.assertThrows(InsufficientItemQuantityException.class,
+                () -> engine.reserve(contentsOf(cheese, QUANTITY - REQUIRED_QUANTITY + 1)));
+    }
+
+    /**
+     * Tests {@link InMemoryInventoryEngine#available(Item)} counts the holds, which the quantity of the {@link Item} in
+     * the database does not
+     */
+    @Test
+    public void testAvailable() {
+        // GIVEN
+        engine.reserve(contentsOf(cheese, REQUIRED_QUANTITY));
+
+        // WHEN
+        long available = engine.available(getItem(cheese));
+
+        // THEN
+        Assert.assertEquals(QUANTITY - REQUIRED_QUANTITY, available);
+        Assert.assertEquals(QUANTITY, getItem(cheese).getQuantity());
+    }
+
+    /**
+     * Tests {@link InMemoryInventoryEngine#onItemQuantityChanged(ItemQuantityChangedEvent)}
+     */
+    @Test
+    public void testOnItemQuantityChanged() {
+        // GIVEN
+        engine.reserve(contentsOf(cheese, QUANTITY));
+
+        // WHEN
+        engine.onItemQuantityChanged(new ItemQuantityChangedEvent(cheese.getId(), REQUIRED_QUANTITY));
+
+        // THEN
+        engine.reserve(contentsOf(cheese, REQUIRED_QUANTITY));
+    }
+
+    private InMemoryInventoryEngine newEngine(InventoryWriteAheadLog writeAheadLog) {
+        InMemoryInventoryEngine newEngine = new InMemoryInventoryEngine(jdbcTemplate, transactionTemplate,
+                itemsService, writeAheadLog);
+        newEngine.recover();
+        return newEngine;
+    }
+
+    private Map<Integer, BasketContent> contentsOf(Item item, long quantity) {
+        return Map.of(item.getId(), new BasketContent(null, null, item, quantity));
+    }
+
+    private Item getItem(Item item) {
+        return itemRepository.findById(item.getId()).orElseThrow();
+    }
+}
@@ -0,0 +1,95 @@
+package com.elmenus.order.basket.checkout.inventory;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Test class for {@link InventoryWriteAheadLog}
+ */
+public class InventoryWriteAheadLogTest {
+    // region field values
+    private static final int ITEM_ID = 1;
+    private static final long QUANTITY = 2_500L;
+    private static final long LAST_SEQUENCE = 10L;
+    // endregion
+
+    @Rule
+    public TemporaryFolder directory = new TemporaryFolder();
+
+    private InventoryWriteAheadLog writeAheadLog;
+
+    @Before
+    public void setUp() {
+        writeAheadLog = new InventoryWriteAheadLog(directory.getRoot().toPath());
+    }
+
+    @After
+    public void teardown() {
+        writeAheadLog.close();
+    }
+
+    /**
+     * Tests {@link InventoryWriteAheadLog#append(Map)} numbers the deductions after the last sequence number
+     */
+    @Test
+    public void testAppend() {
+        // GIVEN
+        writeAheadLog.open(LAST_SEQUENCE);
+
+        // WHEN
+        long sequence = writeAheadLog.append(Map.of(ITEM_ID, QUANTITY));
+
+        // THEN
+        Assert.assertEquals(LAST_SEQUENCE + 1, sequence);
+        Assert.assertEquals(List.of(new InventoryWriteAheadLog.Entry(LAST_SEQUENCE + 1, ITEM_ID, QUANTITY)),
+                writeAheadLog.read());
+    }
+
+    /**
+     * Tests {@link InventoryWriteAheadLog#deleteSegmentsBefore(int)} drops the deductions of rotated segments only
+     */
+    @Test
+    public void testDeleteSegmentsBefore() {
+        // GIVEN
+        writeAheadLog.open(LAST_SEQUENCE);
+        writeAheadLog.append(Map.of(ITEM_ID, QUANTITY));
+        int segment = writeAheadLog.rotate();
+        writeAheadLog.append(Map.of(ITEM_ID, QUANTITY));
+
+        // WHEN
+        writeAheadLog.deleteSegmentsBefore(segment);
+
+        // THEN
+        Assert.assertEquals(List.of(new InventoryWriteAheadLog.Entry(LAST_SEQUENCE + 2, ITEM_ID, QUANTITY)),
+                writeAheadLog.read());
+    }
+
+    /**
+     * Tests {@link InventoryWriteAheadLog#read()} skips a line that was not written completely
+     */
+    @Test
+    public void testReadForIncompleteLine() throws IOException {
+        // GIVEN
+        int segment = writeAheadLog.open(LAST_SEQUENCE);
+        writeAheadLog.append(Map.of(ITEM_ID, QUANTITY));
+        Path segmentFile = directory.getRoot().toPath().resolve("inventory-" + segment + ".wal");
+        Files.writeString(segmentFile, (LAST_SEQUENCE + 2) + " " + ITEM_ID + " 2.", StandardOpenOption.APPEND);
+
+        // WHEN
+        List<InventoryWriteAheadLog.Entry> entries = writeAheadLog.read();
+
+        // THEN
+        Assert.assertEquals(List.of(new InventoryWriteAheadLog.Entry(LAST_SEQUENCE + 1, ITEM_ID, QUANTITY)), entries);
+    }
+}
@@ -0,0 +1,97 @@
+package com.elmenus.order.basket.checkout.mapper;
+
+import com.elmenus.order.basket.checkout.dto.BasketContentDto;
+import com.elmenus.order.basket.checkout.model.Basket;
+import com.elmenus.order.basket.checkout.model.BasketContent;
+import com.elmenus.order.basket.checkout.model.Item;
+import com.elmenus.order.basket.checkout.model.User;
+import com.elmenus.order.basket.checkout.util.FixedPoint;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Date;
+
+/**
+ * Test class for {@link BasketContentMapper}
+ */
+public class BasketContentMapperTest {
+    // region field values
+    private static final int ID = 1;
+    private static final int USER_ID = 6;
+    private static final String USER_FIRSTNAME = "John";
+    private static final String USER_LASTNAME = "Smith";
+    private static final String USER_USERNAME = "jsmith";
+    private static final String USER_EMAIL = "smith@example.org";
+    private static final int BASKET_ID = 2;
+    private static final int OLD_BASKET_ID = 3;
+    private static final int ITEM_ID = 4;
+    private static final int OLD_ITEM_ID = 5;
+    private static final long QUANTITY = FixedPoint.quantity(10);
+    private static final long OLD_QUANTITY = FixedPoint.quantity(5);
+    private static final String ITEM_NAME = "Cheese";
+    private static final String OLD_ITEM_NAME = "Milk";
+    private static final long ITEM_PRICE = FixedPoint.money(10);
+    private static final long ITEM_QUANTITY = FixedPoint.quantity(100);
+    private static final Date NOW = new Date();
+    // endregion
+
+    private Basket basket;
+    private Item item;
+    private BasketContentDto basketContentDto;
+
+    @Before
+    public void setUp() {
+        User user = new User(USER_ID, USER_FIRSTNAME, USER_LASTNAME, USER_USERNAME, USER_EMAIL);
+        basket = new Basket(BASKET_ID, user, NOW, false, null);
+        item = new Item(ITEM_ID, ITEM_NAME, ITEM_PRICE, ITEM_QUANTITY, 0L, null);
+        basketContentDto = new BasketContentDto(BASKET_ID, ITEM_ID, QUANTITY);
+    }
+
+    /**
+     * Tests {@link BasketContentMapper#toBasketContent(BasketContentDto, Basket, Item)}
+     */
+    @Test
+    public void testToBasketContent() {
+        // GIVEN
+
+        // WHEN
+        BasketContent basketContent = BasketContentMapper.toBasketContent(basketContentDto, basket, item);
+
+        // THEN
+        Assert.assertEquals(new BasketContent(null, basket, item, QUANTITY), basketContent);
+    }
+
+    /**
+     * Tests {@link BasketContentMapper#updateBasketContent(BasketContentDto, Basket, Item, BasketContent)} keeps the
+     * ID of the {@link BasketContent}
+     */
+    @Test
+    public void testUpdateBasketContent() {
+        // GIVEN
+        Basket oldBasket = new Basket(OLD_BASKET_ID, basket.getUser(), NOW, false, null);
+        Item oldItem = new Item(OLD_ITEM_ID, OLD_ITEM_NAME, ITEM_PRICE, ITEM_QUANTITY, 0L, null);
+        BasketContent basketContent = new BasketContent(ID, oldBasket, oldItem, OLD_QUANTITY);
+
+        // WHEN
+        BasketContentMapper.updateBasketContent(basketContentDto, basket, item, basketContent);
+
+        // THEN
+        Assert.assertEquals(new BasketContent(ID, basket, item, QUANTITY), basketContent);
+    }
+
+    /**
+     * Tests {@link BasketContentMapper#toBasketContentDto(BasketContent)}
+     */
+    @Test
+    public void testToBasketContentDto() {
+        // GIVEN
+        BasketContent basketContent = new BasketContent(ID, basket, item, QUANTITY);
+
+        // WHEN
+        BasketContentDto mappedBasketContentDto = BasketContentMapper.toBasketContentDto(basketContent);
+
+        // THEN
+        Assert.assertEquals(basketContentDto, mappedBasketContentDto);
+    }
+}
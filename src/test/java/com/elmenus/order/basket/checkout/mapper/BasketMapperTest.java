@@ -0,0 +1,69 @@
+package com.elmenus.order.basket.checkout.mapper;
+
+import com.elmenus.order.basket.checkout.dto.BasketDto;
+import com.elmenus.order.basket.checkout.model.Basket;
+import com.elmenus.order.basket.checkout.model.User;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Date;
+
+/**
+ * Test class for {@link BasketMapper}
+ */
+public class BasketMapperTest {
+    // region field values
+    private static final int ID = 1;
+    private static final int USER_ID = 2;
+    private static final String USER_FIRSTNAME = "John";
+    private static final String USER_LASTNAME = "Smith";
+    private static final String USER_USERNAME = "jsmith";
+    private static final String USER_EMAIL = "smith@example.org";
+    private static final Date NOW = new Date();
+    // endregion
+
+    private User user;
+
+    @Before
+    public void setUp() {
+        user = new User(USER_ID, USER_FIRSTNAME, USER_LASTNAME, USER_USERNAME, USER_EMAIL);
+    }
+
+    /**
+     * Tests {@link BasketMapper#toBasket(User, Date)} creates an empty {@link Basket} whose running totals are valid
+     */
+    @Test
+    public void testToBasket() {
+        // GIVEN
+
+        // WHEN
+        Basket basket = BasketMapper.toBasket(user, NOW);
+
+        // THEN
+        Assert.assertNull(basket.getId());
+        Assert.assertEquals(user, basket.getUser());
+        Assert.assertEquals(NOW, basket.getCreationDate());
+        Assert.assertFalse(basket.isCheckedOut());
+        Assert.assertNull(basket.getVersion());
+        Assert.assertEquals(0L, basket.getTotalCost());
+        Assert.assertEquals(0, basket.getLineCount());
+        Assert.assertEquals(0, basket.getDistinctItems());
+        Assert.assertTrue(basket.isTotalsValid());
+    }
+
+    /**
+     * Tests {@link BasketMapper#toBasketDto(Basket)}
+     */
+    @Test
+    public void testToBasketDto() {
+        // GIVEN
+        Basket basket = new Basket(ID, user, NOW, false, null);
+
+        // WHEN
+        BasketDto basketDto = BasketMapper.toBasketDto(basket);
+
+        // THEN
+        Assert.assertEquals(new BasketDto(USER_ID), basketDto);
+    }
+}
@@ -0,0 +1,77 @@
+package com.elmenus.order.basket.checkout.mapper;
+
+import com.elmenus.order.basket.checkout.dto.ItemDto;
+import com.elmenus.order.basket.checkout.model.Item;
+import com.elmenus.order.basket.checkout.util.FixedPoint;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test class for {@link ItemMapper}
+ */
+public class ItemMapperTest {
+    // region field values
+    private static final int ID = 1;
+    private static final String NAME = "Cheese";
+    private static final long PRICE = FixedPoint.money(10);
+    private static final long QUANTITY = FixedPoint.quantity(100);
+    private static final String OLD_NAME = "Milk";
+    private static final long OLD_PRICE = FixedPoint.money(5);
+    private static final long OLD_QUANTITY = FixedPoint.quantity(50);
+    // endregion
+
+    private ItemDto itemDto;
+
+    @Before
+    public void setUp() {
+        itemDto = new ItemDto(NAME, PRICE, QUANTITY);
+    }
+
+    /**
+     * Tests {@link ItemMapper#toItem(ItemDto)}
+     */
+    @Test
+    public void testToItem() {
+        // GIVEN
+
+        // WHEN
+        Item item = ItemMapper.toItem(itemDto);
+
+        // THEN
+        Assert.assertNull(item.getId());
+        Assert.assertEquals(NAME, item.getName());
+        Assert.assertEquals(PRICE, item.getPrice());
+        Assert.assertEquals(QUANTITY, item.getQuantity());
+    }
+
+    /**
+     * Tests {@link ItemMapper#updateItem(ItemDto, Item)} keeps the ID of the {@link Item}
+     */
+    @Test
+    public void testUpdateItem() {
+        // GIVEN
+        Item item = new Item(ID, OLD_NAME, OLD_PRICE, OLD_QUANTITY, 0L, null);
+
+        // WHEN
+        ItemMapper.updateItem(itemDto, item);
+
+        // THEN
+        Assert.assertEquals(new Item(ID, NAME, PRICE, QUANTITY, 0L, null), item);
+    }
+
+    /**
+     * Tests {@link ItemMapper#toItemDto(Item)}
+     */
+    @Test
+    public void testToItemDto() {
+        // GIVEN
+        Item item = new Item(ID, NAME, PRICE, QUANTITY, 0L, null);
+
+        // WHEN
+        ItemDto mappedItemDto = ItemMapper.toItemDto(item);
+
+        // THEN
+        Assert.assertEquals(itemDto, mappedItemDto);
+    }
+}
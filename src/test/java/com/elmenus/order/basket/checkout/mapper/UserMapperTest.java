@@ -0,0 +1,73 @@
+package com.elmenus.order.basket.checkout.mapper;
+
+import com.elmenus.order.basket.checkout.dto.UserDto;
+import com.elmenus.order.basket.checkout.model.User;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test class for {@link UserMapper}
+ */
+public class UserMapperTest {
+    // region field values
+    private static final int ID = 1;
+    private static final String FIRSTNAME = "John";
+    private static final String LASTNAME = "Smith";
+    private static final String USERNAME = "jsmith";
+    private static final String EMAIL = "smith@example.org";
+    private static final String OLD_USERNAME = "john";
+    private static final String OLD_EMAIL = "john@example.org";
+    // endregion
+
+    private UserDto userDto;
+
+    @Before
+    public void setUp() {
+        userDto = new UserDto(FIRSTNAME, LASTNAME, USERNAME, EMAIL);
+    }
+
+    /**
+     * Tests {@link UserMapper#toUser(UserDto)} leaves the ID to be generated
+     */
+    @Test
+    public void testToUser() {
+        // GIVEN
+
+        // WHEN
+        User user = UserMapper.toUser(userDto);
+
+        // THEN
+        Assert.assertEquals(new User(null, FIRSTNAME, LASTNAME, USERNAME, EMAIL), user);
+    }
+
+    /**
+     * Tests {@link UserMapper#updateUser(UserDto, User)} keeps the ID of the {@link User}
+     */
+    @Test
+    public void testUpdateUser() {
+        // GIVEN
+        User user = new User(ID, FIRSTNAME, LASTNAME, OLD_USERNAME, OLD_EMAIL);
+
+        // WHEN
+        UserMapper.updateUser(userDto, user);
+
+        // THEN
+        Assert.assertEquals(new User(ID, FIRSTNAME, LASTNAME, USERNAME, EMAIL), user);
+    }
+
+    /**
+     * Tests {@link UserMapper#toUserDto(User)}
+     */
+    @Test
+    public void testToUserDto() {
+        // GIVEN
+        User user = new User(ID, FIRSTNAME, LASTNAME, USERNAME, EMAIL);
+
+        // WHEN
+        UserDto mappedUserDto = UserMapper.toUserDto(user);
+
+        // THEN
+        Assert.assertEquals(userDto, mappedUserDto);
+    }
+}
@@ -0,0 +1,101 @@
+package com.elmenus.order.basket.checkout.metrics;
+
+import com.elmenus.order.basket.checkout.exception.BasketCheckedOutException;
+import com.elmenus.order.basket.checkout.exception.InsufficientItemQuantityException;
+import com.elmenus.order.basket.checkout.exception.MoneyValueException;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.function.Supplier;
+
+/**
+ * Test class for {@link CheckoutMetrics}
+ */
+public class CheckoutMetricsTest {
+    // region field values
+    private static final String DURATION_METRIC = "checkout.duration";
+    private static final String OUTCOMES_METRIC = "checkout.outcomes";
+    private static final String STAGE_DURATION_METRIC = "checkout.stage.duration";
+    private static final String OUTCOME_TAG = "outcome";
+    private static final String STAGE_TAG = "stage";
+    private static final String RESULT = "result";
+    private static final String ERROR_MESSAGE = "Error";
+    // endregion
+
+    private SimpleMeterRegistry meterRegistry;
+    private CheckoutMetrics checkoutMetrics;
+
+    @Before
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        checkoutMetrics = new CheckoutMetrics(meterRegistry);
+    }
+
+    /**
+     * Tests {@link CheckoutMetrics#time(CheckoutMetrics.Stage, Supplier)}
+     */
+    @Test
+    public void testTime() {
+        // GIVEN
+
+        // WHEN
+        String result = checkoutMetrics.time(CheckoutMetrics.Stage.CONTENT_LOAD, () -> RESULT);
+
+        // THEN
+        Assert.assertEquals(RESULT, result);
+        Assert.assertEquals(1L, stageTimer(CheckoutMetrics.Stage.CONTENT_LOAD).count());
+        Assert.assertEquals(0L, stageTimer(CheckoutMetrics.Stage.PAYMENT).count());
+    }
+
+    /**
+     * Tests {@link CheckoutMetrics#time(CheckoutMetrics.Stage, Runnable)} records the stage even if it fails
+     */
+    @Test
+    public void testTimeForFailedStage() {
+        // GIVEN
+        Runnable stage = () -> {
+            throw new InsufficientItemQuantityException(ERROR_MESSAGE);
+        };
+
+        // WHEN
+        Assert.assertThrows(InsufficientItemQuantityException.class,
+                () -> checkoutMetrics.time(CheckoutMetrics.Stage.AVAILABILITY_CHECK, stage));
+
+        // THEN
+        Assert.assertEquals(1L, stageTimer(CheckoutMetrics.Stage.AVAILABILITY_CHECK).count());
+    }
+
+    /**
+     * Tests {@link CheckoutMetrics#stop(Timer.Sample, Throwable)} records every checkout under its outcome
+     */
+    @Test
+    public void testStop() {
+        // GIVEN
+
+        // WHEN
+        checkoutMetrics.stop(checkoutMetrics.start(), null);
+        checkoutMetrics.stop(checkoutMetrics.start(), new InsufficientItemQuantityException(ERROR_MESSAGE));
+        checkoutMetrics.stop(checkoutMetrics.start(), new MoneyValueException(ERROR_MESSAGE));
+        checkoutMetrics.stop(checkoutMetrics.start(), new BasketCheckedOutException(ERROR_MESSAGE));
+        checkoutMetrics.stop(checkoutMetrics.start(), new IllegalArgumentException(ERROR_MESSAGE));
+
+        // THEN
+        for (CheckoutMetrics.Outcome outcome : new CheckoutMetrics.Outcome[]{CheckoutMetrics.Outcome.SUCCESS,
+                CheckoutMetrics.Outcome.INSUFFICIENT_QUANTITY, CheckoutMetrics.Outcome.MONEY_OUT_OF_RANGE,
+                CheckoutMetrics.Outcome.ALREADY_CHECKED_OUT, CheckoutMetrics.Outcome.ERROR}) {
+            Assert.assertEquals(1.0, meterRegistry.get(OUTCOMES_METRIC).tag(OUTCOME_TAG, outcome.getTag())
+                    .counter().count(), 0);
+            Assert.assertEquals(1L, meterRegistry.get(DURATION_METRIC).tag(OUTCOME_TAG, outcome.getTag())
+                    .timer().count());
+        }
+        Assert.assertEquals(0.0, meterRegistry.get(OUTCOMES_METRIC)
+                .tag(OUTCOME_TAG, CheckoutMetrics.Outcome.CONFLICT.getTag()).counter().count(), 0);
+    }
+
+    private Timer stageTimer(CheckoutMetrics.Stage stage) {
+        return meterRegistry.get(STAGE_DURATION_METRIC).tag(STAGE_TAG, stage.getTag()).timer();
+    }
+}
@@ -0,0 +1,129 @@
+package com.elmenus.order.basket.checkout.payment;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+/**
+ * Test class for {@link PaymentCircuitBreaker}
+ */
+public class PaymentCircuitBreakerTest {
+    // region field values
+    private static final int FAILURE_THRESHOLD = 3;
+    private static final Duration OPEN_DURATION = Duration.ofSeconds(30);
+    private static final Instant NOW = Instant.parse("2021-06-01T12:00:00Z");
+    // endregion
+
+    private PaymentCircuitBreaker circuitBreaker;
+
+    @Before
+    public void setUp() {
+        circuitBreaker = newCircuitBreaker(Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    /**
+     * Tests {@link PaymentCircuitBreaker#onFailure()} opens the circuit after enough consecutive failures only
+     */
+    @Test
+    public void testOnFailure() {
+        // GIVEN
+        circuitBreaker.onFailure();
+        circuitBreaker.onSuccess();
+
+        // WHEN
+        for (int i = 0; i < FAILURE_THRESHOLD - 1; i++) {
+            circuitBreaker.onFailure();
+        }
+
+        // THEN
+        Assert.assertTrue(circuitBreaker.tryAcquirePermission());
+        circuitBreaker.onFailure();
+        Assert.assertEquals(PaymentCircuitBreaker.State.OPEN, circuitBreaker.getState());
+        Assert.assertFalse(circuitBreaker.tryAcquirePermission());
+    }
+
+    /**
+     * Tests {@link PaymentCircuitBreaker#tryAcquirePermission()} lets a single trial call through once the circuit
+     * has been open long enough
+     */
+    @Test
+    public void testTryAcquirePermissionAfterOpenDuration() {
+        // GIVEN
+        for (int i = 0; i < FAILURE_THRESHOLD; i++) {
+            circuitBreaker.onFailure();
+        }
+        circuitBreaker = reopenedAt(NOW.plus(OPEN_DURATION));
+
+        // WHEN
+        boolean trialPermitted = circuitBreaker.tryAcquirePermission();
+
+        // THEN
+        Assert.assertTrue(trialPermitted);
+        Assert.assertFalse(circuitBreaker.tryAcquirePermission());
+        circuitBreaker.onSuccess();
+        Assert.assertEquals(PaymentCircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    /**
+     * Tests {@link PaymentCircuitBreaker#onFailure()} opens the circuit again when a trial call fails
+     */
+    @Test
+    public void testOnFailureForTrialCall() {
+        // GIVEN
+        circuitBreaker = reopenedAt(NOW.plus(OPEN_DURATION));
+        Assert.assertTrue(circuitBreaker.tryAcquirePermission());
+
+        // WHEN
+        circuitBreaker.onFailure();
+
+        // THEN
+        Assert.assertEquals(PaymentCircuitBreaker.State.OPEN, circuitBreaker.getState());
+        Assert.assertFalse(circuitBreaker.tryAcquirePermission());
+    }
+
+    private PaymentCircuitBreaker newCircuitBreaker(Clock clock) {
+        return new PaymentCircuitBreaker(FAILURE_THRESHOLD, OPEN_DURATION, clock);
+    }
+
+    /**
+     * Creates a circuit breaker that was opened at {@link #NOW} and is now asked at the given instant
+     */
+    private PaymentCircuitBreaker reopenedAt(Instant instant) {
+        MutableClock clock = new MutableClock(NOW);
+        PaymentCircuitBreaker reopened = newCircuitBreaker(clock);
+        for (int i = 0; i < FAILURE_THRESHOLD; i++) {
+            reopened.onFailure();
+        }
+        clock.instant = instant;
+        return reopened;
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
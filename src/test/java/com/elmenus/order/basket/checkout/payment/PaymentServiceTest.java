@@ -0,0 +1,260 @@
+package com.elmenus.order.basket.checkout.payment;
+
+import com.elmenus.order.basket.checkout.config.JdbcSchedulerConfig;
+import com.elmenus.order.basket.checkout.constants.Messages;
+import com.elmenus.order.basket.checkout.exception.PaymentFailedException;
+import com.elmenus.order.basket.checkout.exception.PaymentOutcomeUnknownException;
+import com.elmenus.order.basket.checkout.exception.PaymentUnavailableException;
+import com.elmenus.order.basket.checkout.util.FixedPoint;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.time.Duration;
+
+/**
+ * Test class for {@link PaymentService}
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class PaymentServiceTest {
+    // region field values
+    private static final int BASKET_ID = 1;
+    private static final long AMOUNT = FixedPoint.money(100);
+    private static final Duration TIMEOUT = Duration.ofMillis(100);
+    private static final int MAX_CONCURRENT = 1;
+    private static final int JDBC_SCHEDULER_THREADS = 2;
+    private static final int JDBC_SCHEDULER_QUEUE_CAPACITY = 10;
+    private static final Duration SLOW_PAYMENT_TIMEOUT = Duration.ofMinutes(1);
+    private static final String READ_RESULT = "read";
+    private static final int FAILURE_THRESHOLD = 2;
+    private static final Duration OPEN_DURATION = Duration.ofMinutes(1);
+    private static final String UNAVAILABLE_METRIC = "checkout.payment.unavailable";
+    // endregion
+
+    @Mock
+    private PaymentGateway paymentGateway;
+
+    private SimpleMeterRegistry meterRegistry;
+    private PaymentService paymentService;
+
+    @Before
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        paymentService = new PaymentService(paymentGateway, meterRegistry, TIMEOUT, MAX_CONCURRENT,
+                JDBC_SCHEDULER_THREADS, FAILURE_THRESHOLD, OPEN_DURATION);
+    }
+
+    /**
+     * Tests {@link PaymentService#pay(Integer, long)}
+     */
+    @Test
+    public void testPay() {
+        // GIVEN
+        Mockito.when(paymentGateway.charge(BASKET_ID, AMOUNT)).thenReturn(Mono.empty());
+
+        // WHEN
+        paymentService.pay(BASKET_ID, AMOUNT);
+
+        // THEN
+        Mockito.verify(paymentGateway).charge(BASKET_ID, AMOUNT);
+    }
+
+    /**
+     * Tests {@link PaymentService#pay(Integer, long)} but for a declined payment
+     */
+    @Test
+    public void testPayForDeclinedPayment() {
+        // GIVEN
+        String errorMessage = String.format(Messages.PAYMENT_DECLINED_ERROR, BASKET_ID);
+        Mockito.when(paymentGateway.charge(BASKET_ID, AMOUNT))
+                .thenReturn(Mono.error(new PaymentFailedException(errorMessage)));
+
+        // WHEN
+        PaymentFailedException exception = Assert.assertThrows(PaymentFailedException.class,
+                () -> paymentService.pay(BASKET_ID, AMOUNT));
+
+        // THEN
+        Assert.assertEquals(errorMessage, exception.getMessage());
+    }
+
+    /**
+     * Tests {@link PaymentService#pay(Integer, long)} but for a payment that takes longer than the timeout
+     */
+    @Test
+    public void testPayForTimeout() {
+        // GIVEN
+        Mockito.when(paymentGateway.charge(BASKET_ID, AMOUNT)).thenReturn(Mono.never());
+        Mockito.when(paymentGateway.voidCharge(BASKET_ID)).thenReturn(Mono.empty());
+
+        // WHEN
+        PaymentUnavailableException exception = Assert.assertThrows(PaymentUnavailableException.class,
+                () -> paymentService.pay(BASKET_ID, AMOUNT));
+
+        // THEN
+        Assert.assertEquals(String.format(Messages.PAYMENT_TIMEOUT_ERROR, TIMEOUT.toMillis()), exception.getMessage());
+        Assert.assertEquals(1, meterRegistry.get(UNAVAILABLE_METRIC).tag("reason", "timeout").counter().count(), 0);
+        Mockito.verify(paymentGateway).voidCharge(BASKET_ID);
+    }
+
+    /**
+     * Tests {@link PaymentService#pay(Integer, long)} but for a payment that times out and cannot be voided either,
+     * whose outcome is unknown
+     */
+    @Test
+    public void testPayForTimeoutAndFailedVoid() {
+        // GIVEN
+        Mockito.when(paymentGateway.charge(BASKET_ID, AMOUNT)).thenReturn(Mono.never());
+        Mockito.when(paymentGateway.voidCharge(BASKET_ID)).thenReturn(Mono.error(new IllegalStateException()));
+
+        // WHEN
+        PaymentOutcomeUnknownException exception = Assert.assertThrows(PaymentOutcomeUnknownException.class,
+                () -> paymentService.pay(BASKET_ID, AMOUNT));
+
+        // THEN
+        Assert.assertEquals(String.format(Messages.PAYMENT_OUTCOME_UNKNOWN_ERROR, BASKET_ID), exception.getMessage());
+    }
+
+    /**
+     * Tests {@link PaymentService#pay(Integer, long)} but for a declined payment, which is not voided as it is known
+     * not to be charged
+     */
+    @Test
+    public void testPayForDeclinedPaymentIsNotVoided() {
+        // GIVEN
+        Mockito.when(paymentGateway.charge(BASKET_ID, AMOUNT)).thenReturn(Mono.error(
+                new PaymentFailedException(String.format(Messages.PAYMENT_DECLINED_ERROR, BASKET_ID))));
+
+        // WHEN
+        Assert.assertThrows(PaymentFailedException.class, () -> paymentService.pay(BASKET_ID, AMOUNT));
+
+        // THEN
+        Mockito.verify(paymentGateway, Mockito.never()).voidCharge(BASKET_ID);
+    }
+
+    /**
+     * Tests {@link PaymentService#pay(Integer, long)} fails fast without calling the {@link PaymentGateway} once
+     * it has failed too many times in a row
+     */
+    @Test
+    public void testPayForOpenCircuit() {
+        // GIVEN
+        Mockito.when(paymentGateway.charge(BASKET_ID, AMOUNT)).thenReturn(Mono.never());
+        Mockito.when(paymentGateway.voidCharge(BASKET_ID)).thenReturn(Mono.empty());
+        for (int i = 0; i < FAILURE_THRESHOLD; i++) {
+            Assert.assertThrows(PaymentUnavailableException.class, () -> paymentService.pay(BASKET_ID, AMOUNT));
+        }
+
+        // WHEN
+        PaymentUnavailableException exception = Assert.assertThrows(PaymentUnavailableException.class,
+                () -> paymentService.pay(BASKET_ID, AMOUNT));
+
+        // THEN
+        Assert.assertEquals(Messages.PAYMENT_CIRCUIT_OPEN_ERROR, exception.getMessage());
+        Mockito.verify(paymentGateway, Mockito.times(FAILURE_THRESHOLD)).charge(BASKET_ID, AMOUNT);
+    }
+
+    /**
+     * Tests {@link PaymentService#pay(Integer, long)} keeps calling the {@link PaymentGateway} however many payments
+     * it declines in a row, as declines are not failures of the gateway
+     */
+    @Test
+    public void testPayForDeclinedPaymentsDoNotOpenCircuit() {
+        // GIVEN
+        String errorMessage = String.format(Messages.PAYMENT_DECLINED_ERROR, BASKET_ID);
+        Mockito.when(paymentGateway.charge(BASKET_ID, AMOUNT))
+                .thenReturn(Mono.error(new PaymentFailedException(errorMessage)));
+        for (int i = 0; i < FAILURE_THRESHOLD; i++) {
+            Assert.assertThrows(PaymentFailedException.class, () -> paymentService.pay(BASKET_ID, AMOUNT));
+        }
+
+        // WHEN
+        PaymentFailedException exception = Assert.assertThrows(PaymentFailedException.class,
+                () -> paymentService.pay(BASKET_ID, AMOUNT));
+
+        // THEN
+        Assert.assertEquals(errorMessage, exception.getMessage());
+        Mockito.verify(paymentGateway, Mockito.times(FAILURE_THRESHOLD + 1)).charge(BASKET_ID, AMOUNT);
+        Assert.assertEquals(0, meterRegistry.get(UNAVAILABLE_METRIC).tag("reason", "circuit-open").counter().count(), 0);
+    }
+
+    /**
+     * Tests {@link PaymentService#pay(Integer, long)} rejects a payment while too many are in progress
+     */
+    @Test
+    public void testPayForFullBulkhead() throws Exception {
+        // GIVEN
+        Mockito.when(paymentGateway.charge(BASKET_ID, AMOUNT)).thenReturn(Mono.delay(TIMEOUT.dividedBy(2)).then());
+        Thread inProgress = new Thread(() -> paymentService.pay(BASKET_ID, AMOUNT));
+        inProgress.start();
+        Mockito.verify(paymentGateway, Mockito.timeout(TIMEOUT.toMillis())).charge(BASKET_ID, AMOUNT);
+
+        // WHEN
+        PaymentUnavailableException exception = Assert.assertThrows(PaymentUnavailableException.class,
+                () -> paymentService.pay(BASKET_ID, AMOUNT));
+        inProgress.join();
+
+        // THEN
+        Assert.assertEquals(Messages.PAYMENT_BULKHEAD_FULL_ERROR, exception.getMessage());
+    }
+
+    /**
+     * Tests {@link PaymentService#pay(Integer, long)} but for a gateway that never answers, while payments are made
+     * on the JDBC scheduler as checkouts make them. The bulkhead keeps some of its threads free, so an unrelated read
+     * still gets through
+     */
+    @Test
+    public void testPayForSlowGatewayOnJdbcScheduler() {
+        // GIVEN
+        JdbcSchedulerConfig jdbcSchedulerConfig = new JdbcSchedulerConfig();
+        ReflectionTestUtils.setField(jdbcSchedulerConfig, "poolSize", JDBC_SCHEDULER_THREADS);
+        ReflectionTestUtils.setField(jdbcSchedulerConfig, "queueCapacity", JDBC_SCHEDULER_QUEUE_CAPACITY);
+        Scheduler jdbcScheduler = jdbcSchedulerConfig.jdbcScheduler(meterRegistry);
+        PaymentService slowPaymentService = new PaymentService(paymentGateway, meterRegistry, SLOW_PAYMENT_TIMEOUT,
+                MAX_CONCURRENT, JDBC_SCHEDULER_THREADS, FAILURE_THRESHOLD, OPEN_DURATION);
+        Mockito.when(paymentGateway.charge(BASKET_ID, AMOUNT)).thenReturn(Mono.never());
+        try {
+            for (int i = 0; i < JDBC_SCHEDULER_QUEUE_CAPACITY; i++) {
+                Mono.fromRunnable(() -> slowPaymentService.pay(BASKET_ID, AMOUNT))
+                        .subscribeOn(jdbcScheduler)
+                        .subscribe(null, exception -> { });
+            }
+
+            // WHEN
+            String result = Mono.fromCallable(() -> READ_RESULT)
+                    .subscribeOn(jdbcScheduler)
+                    .block(TIMEOUT.multipliedBy(10));
+
+            // THEN
+            Assert.assertEquals(READ_RESULT, result);
+            Mockito.verify(paymentGateway, Mockito.timeout(TIMEOUT.toMillis()).times(MAX_CONCURRENT)).charge(BASKET_ID, AMOUNT);
+        } finally {
+            jdbcScheduler.dispose();
+        }
+    }
+
+    /**
+     * Tests {@link PaymentService#PaymentService} refuses a bulkhead that is as large as the JDBC scheduler, as slow
+     * payments could then take up all of its threads
+     */
+    @Test
+    public void testPaymentServiceForBulkheadAsLargeAsJdbcScheduler() {
+        // GIVEN
+
+        // WHEN
+        IllegalArgumentException exception = Assert.assertThrows(IllegalArgumentException.class,
+                () -> new PaymentService(paymentGateway, meterRegistry, TIMEOUT, JDBC_SCHEDULER_THREADS,
+                        JDBC_SCHEDULER_THREADS, FAILURE_THRESHOLD, OPEN_DURATION));
+
+        // THEN
+        Assert.assertEquals(String.format(Messages.PAYMENT_MAX_CONCURRENT_ERROR, JDBC_SCHEDULER_THREADS,
+                JDBC_SCHEDULER_THREADS), exception.getMessage());
+    }
+}
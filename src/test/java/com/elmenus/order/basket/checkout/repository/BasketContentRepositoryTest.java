@@ -0,0 +1,254 @@
+package com.elmenus.order.basket.checkout.repository;
+
+import com.elmenus.order.basket.checkout.constants.Constants;
+import com.elmenus.order.basket.checkout.model.Basket;
+import com.elmenus.order.basket.checkout.model.BasketContent;
+import com.elmenus.order.basket.checkout.model.Item;
+import com.elmenus.order.basket.checkout.model.User;
+import com.elmenus.order.basket.checkout.util.FixedPoint;
+import com.elmenus.order.basket.checkout.util.UniqueConstraints;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Test class for {@link BasketContentRepository}, which checks that reading {@link BasketContent}s costs a fixed
+ * number of statements no matter how many lines a {@link Basket} has
+ */
+@RunWith(SpringRunner.class)
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+public class BasketContentRepositoryTest {
+    // region field values
+    private static final String USER_FIRSTNAME = "John";
+    private static final String USER_LASTNAME = "Smith";
+    private static final String USER_USERNAME = "jsmith";
+    private static final String USER_EMAIL = "smith@example.org";
+
+    private static final long ITEM_PRICE = FixedPoint.money(10);
+    private static final long ITEM_QUANTITY = FixedPoint.quantity(100);
+    private static final long QUANTITY = FixedPoint.quantity(1);
+    private static final int LINE_COUNT = 20;
+    // endregion
+
+    @Autowired
+    private BasketContentRepository basketContentRepository;
+
+    @Autowired
+    private BasketRepository basketRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Basket basket;
+    private BasketContent firstBasketContent;
+
+    @Before
+    public void setUp() {
+        User user = entityManager.persist(new User(null, USER_FIRSTNAME, USER_LASTNAME, USER_USERNAME, USER_EMAIL));
+        basket = entityManager.persist(new Basket(null, user, new Date(), false, null));
+        for (int i = 0; i < LINE_COUNT; i++) {
+            Item item = entityManager.persist(new Item(null, "Item " + i, ITEM_PRICE, ITEM_QUANTITY, 0L, null));
+            BasketContent basketContent = entityManager.persist(new BasketContent(null, basket, item, QUANTITY));
+            if (firstBasketContent == null) {
+                firstBasketContent = basketContent;
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    /**
+     * Tests {@link BasketContentRepository#findByBasketId(Integer)}
+     */
+    @Test
+    public void testFindByBasketId() {
+        // GIVEN
+
+        // WHEN
+        List<BasketContent> basketContents = basketContentRepository.findByBasketId(basket.getId());
+
+        // THEN
+        Assert.assertEquals(LINE_COUNT, basketContents.size());
+        assertAssociationsFetched(basketContents);
+        Assert.assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    /**
+     * Tests {@link BasketContentRepository#insertBasketContents(List)}
+     */
+    @Test
+    public void testInsertBasketContents() {
+        // GIVEN
+        List<BasketContent> basketContents = basketContentRepository.findByBasketId(basket.getId());
+        Basket otherBasket = entityManager.persist(new Basket(null, basket.getUser(), new Date(), false, null));
+        List<BasketContent> newBasketContents = new ArrayList<>();
+        for (BasketContent basketContent : basketContents) {
+            newBasketContents.add(new BasketContent(null, otherBasket, basketContent.getItem(), QUANTITY));
+        }
+
+        // WHEN
+        basketContentRepository.insertBasketContents(newBasketContents);
+
+        // THEN
+        List<BasketContent> insertedBasketContents = basketContentRepository.findByBasketId(otherBasket.getId());
+        Assert.assertEquals(LINE_COUNT, insertedBasketContents.size());
+        for (BasketContent basketContent : insertedBasketContents) {
+            Assert.assertNotNull(basketContent.getId());
+            Assert.assertEquals(QUANTITY, basketContent.getQuantity());
+        }
+    }
+
+    /**
+     * Tests {@link BasketContentRepository#addToQuantity(Integer, long)}
+     */
+    @Test
+    public void testAddToQuantity() {
+        // GIVEN
+
+        // WHEN
+        int updated = basketContentRepository.addToQuantity(firstBasketContent.getId(), QUANTITY);
+
+        // THEN
+        Assert.assertEquals(1, updated);
+        entityManager.clear();
+        Assert.assertEquals(2 * QUANTITY, basketContentRepository.findById(firstBasketContent.getId()).get().getQuantity());
+    }
+
+    /**
+     * Tests {@link BasketContentRepository#addToQuantities(List)}
+     */
+    @Test
+    public void testAddToQuantities() {
+        // GIVEN
+        List<BasketContent> increasedBasketContents = new ArrayList<>();
+        for (BasketContent basketContent : basketContentRepository.findByBasketId(basket.getId())) {
+            increasedBasketContents.add(new BasketContent(basketContent.getId(), basket, basketContent.getItem(), QUANTITY));
+        }
+        entityManager.clear();
+
+        // WHEN
+        basketContentRepository.addToQuantities(increasedBasketContents);
+
+        // THEN
+        List<BasketContent> basketContents = basketContentRepository.findByBasketId(basket.getId());
+        Assert.assertEquals(LINE_COUNT, basketContents.size());
+        for (BasketContent basketContent : basketContents) {
+            Assert.assertEquals(2 * QUANTITY, basketContent.getQuantity());
+        }
+    }
+
+    /**
+     * Tests that a {@link Basket} cannot hold a second {@link BasketContent} of the same {@link Item}
+     */
+    @Test
+    public void testSaveForRepeatedItem() {
+        // GIVEN
+        Basket managedBasket = entityManager.find(Basket.class, basket.getId());
+        Item managedItem = entityManager.find(Item.class, firstBasketContent.getItem().getId());
+
+        // WHEN
+        DataIntegrityViolationException exception = Assert.assertThrows(DataIntegrityViolationException.class,
+                () -> basketContentRepository.save(new BasketContent(null, managedBasket, managedItem, QUANTITY)));
+
+        // THEN
+        Assert.assertTrue(UniqueConstraints.translate(exception, Constants.BASKET_ITEM_CONSTRAINT, exception.getMessage())
+                instanceof DuplicateKeyException);
+    }
+
+    /**
+     * Tests {@link BasketContentRepository#findAll()}
+     */
+    @Test
+    public void testFindAll() {
+        // GIVEN
+
+        // WHEN
+        List<BasketContent> basketContents = new ArrayList<>();
+        basketContentRepository.findAll().forEach(basketContents::add);
+
+        // THEN
+        Assert.assertEquals(LINE_COUNT, basketContents.size());
+        assertAssociationsFetched(basketContents);
+        Assert.assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    /**
+     * Tests {@link BasketContentRepository#findById(Object)}
+     */
+    @Test
+    public void testFindById() {
+        // GIVEN
+
+        // WHEN
+        BasketContent basketContent = basketContentRepository.findById(firstBasketContent.getId()).orElseThrow();
+
+        // THEN
+        assertAssociationsFetched(List.of(basketContent));
+        Assert.assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    /**
+     * Tests {@link BasketContentRepository#findByIdGreaterThanOrderByIdAsc(Integer, Pageable)}
+     */
+    @Test
+    public void testFindByIdGreaterThanOrderByIdAsc() {
+        // GIVEN
+
+        // WHEN
+        List<BasketContent> basketContents = basketContentRepository.findByIdGreaterThanOrderByIdAsc(0,
+                PageRequest.of(0, LINE_COUNT / 2));
+
+        // THEN
+        Assert.assertEquals(LINE_COUNT / 2, basketContents.size());
+        assertAssociationsFetched(basketContents);
+        Assert.assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    /**
+     * Tests {@link BasketRepository#findById(Object)} fetches the {@link User} of the {@link Basket}
+     */
+    @Test
+    public void testFindBasketById() {
+        // GIVEN
+
+        // WHEN
+        Basket foundBasket = basketRepository.findById(basket.getId()).orElseThrow();
+
+        // THEN
+        Assert.assertTrue(Hibernate.isInitialized(foundBasket.getUser()));
+        Assert.assertEquals(USER_USERNAME, foundBasket.getUser().getUsername());
+        Assert.assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    private void assertAssociationsFetched(List<BasketContent> basketContents) {
+        for (BasketContent basketContent : basketContents) {
+            Assert.assertTrue(Hibernate.isInitialized(basketContent.getItem()));
+            Assert.assertTrue(Hibernate.isInitialized(basketContent.getBasket()));
+            Assert.assertTrue(Hibernate.isInitialized(basketContent.getBasket().getUser()));
+        }
+    }
+}
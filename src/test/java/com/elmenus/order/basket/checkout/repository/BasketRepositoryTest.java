@@ -0,0 +1,154 @@
+package com.elmenus.order.basket.checkout.repository;
+
+import com.elmenus.order.basket.checkout.mapper.BasketMapper;
+import com.elmenus.order.basket.checkout.model.Basket;
+import com.elmenus.order.basket.checkout.model.BasketContent;
+import com.elmenus.order.basket.checkout.model.Item;
+import com.elmenus.order.basket.checkout.model.User;
+import com.elmenus.order.basket.checkout.util.FixedPoint;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Date;
+
+/**
+ * Test class for {@link BasketRepository}
+ */
+@RunWith(SpringRunner.class)
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class BasketRepositoryTest {
+    // region field values
+    private static final String USER_FIRSTNAME = "John";
+    private static final String USER_LASTNAME = "Smith";
+    private static final String USER_USERNAME = "jsmith";
+    private static final String USER_EMAIL = "smith@example.org";
+    private static final String CHEESE_NAME = "Cheese";
+    private static final String MILK_NAME = "Milk";
+    private static final long CHEESE_PRICE = FixedPoint.money(10);
+    private static final long MILK_PRICE = 1_999L;
+    private static final long ITEM_QUANTITY = FixedPoint.quantity(100);
+    private static final long QUANTITY = 2_500L;
+    // endregion
+
+    @Autowired
+    private BasketRepository basketRepository;
+
+    @Autowired
+    private BasketContentRepository basketContentRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User user;
+    private Basket basket;
+    private Item cheese;
+    private Item milk;
+
+    @Before
+    public void setUp() {
+        user = userRepository.save(new User(null, USER_FIRSTNAME, USER_LASTNAME, USER_USERNAME, USER_EMAIL));
+        basket = basketRepository.save(BasketMapper.toBasket(user, new Date()));
+        cheese = itemRepository.save(new Item(null, CHEESE_NAME, CHEESE_PRICE, ITEM_QUANTITY, 0L, null));
+        milk = itemRepository.save(new Item(null, MILK_NAME, MILK_PRICE, ITEM_QUANTITY, 0L, null));
+    }
+
+    @After
+    public void teardown() {
+        basketContentRepository.deleteAll();
+        basketRepository.deleteAll();
+        itemRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    /**
+     * Tests {@link BasketRepository#addToTotals(Integer, long, int)} counts an {@link Item} that is added more than
+     * once as a single line and a single distinct item
+     */
+    @Test
+    public void testAddToTotals() {
+        // GIVEN
+        BasketContent cheeseContent = addContent(basket, cheese);
+        basketContentRepository.addToQuantity(cheeseContent.getId(), QUANTITY);
+        basketRepository.addToTotals(basket.getId(), FixedPoint.cost(CHEESE_PRICE, QUANTITY), 0);
+        addContent(basket, milk);
+
+        // WHEN
+        Basket updatedBasket = getBasket(basket);
+
+        // THEN
+        Assert.assertEquals(2 * FixedPoint.cost(CHEESE_PRICE, QUANTITY) + FixedPoint.cost(MILK_PRICE, QUANTITY),
+                updatedBasket.getTotalCost());
+        Assert.assertEquals(2, updatedBasket.getLineCount());
+        Assert.assertEquals(2, updatedBasket.getDistinctItems());
+        Assert.assertTrue(updatedBasket.isTotalsValid());
+    }
+
+    /**
+     * Tests {@link BasketRepository#refreshTotals(Integer)} computes the totals from the contents
+     */
+    @Test
+    public void testRefreshTotals() {
+        // GIVEN
+        Basket otherBasket = basketRepository.save(new Basket(null, user, new Date(), false, null));
+        basketContentRepository.save(new BasketContent(null, otherBasket, cheese, QUANTITY));
+        basketContentRepository.save(new BasketContent(null, otherBasket, milk, QUANTITY));
+
+        // WHEN
+        basketRepository.refreshTotals(otherBasket.getId());
+
+        // THEN
+        Basket updatedBasket = getBasket(otherBasket);
+        Assert.assertEquals(FixedPoint.cost(CHEESE_PRICE, QUANTITY) + FixedPoint.cost(MILK_PRICE, QUANTITY),
+                updatedBasket.getTotalCost());
+        Assert.assertEquals(2, updatedBasket.getLineCount());
+        Assert.assertEquals(2, updatedBasket.getDistinctItems());
+        Assert.assertTrue(updatedBasket.isTotalsValid());
+    }
+
+    /**
+     * Tests {@link BasketRepository#invalidateTotalsByItemId(Integer)} only invalidates the totals of the
+     * {@link Basket}s that hold the {@link Item} and are not checked out yet
+     */
+    @Test
+    public void testInvalidateTotalsByItemId() {
+        // GIVEN
+        Basket milkBasket = basketRepository.save(BasketMapper.toBasket(user, new Date()));
+        Basket checkedOutBasket = basketRepository.save(BasketMapper.toBasket(user, new Date()));
+        checkedOutBasket.setCheckedOut(true);
+        checkedOutBasket = basketRepository.save(checkedOutBasket);
+        addContent(basket, cheese);
+        addContent(milkBasket, milk);
+        addContent(checkedOutBasket, cheese);
+
+        // WHEN
+        int count = basketRepository.invalidateTotalsByItemId(cheese.getId());
+
+        // THEN
+        Assert.assertEquals(1, count);
+        Assert.assertFalse(getBasket(basket).isTotalsValid());
+        Assert.assertTrue(getBasket(milkBasket).isTotalsValid());
+        Assert.assertTrue(getBasket(checkedOutBasket).isTotalsValid());
+    }
+
+    private BasketContent addContent(Basket basket, Item item) {
+        BasketContent basketContent = basketContentRepository.save(new BasketContent(null, basket, item, QUANTITY));
+        basketRepository.addToTotals(basket.getId(), FixedPoint.cost(item.getPrice(), QUANTITY), 1);
+        return basketContent;
+    }
+
+    private Basket getBasket(Basket basket) {
+        return basketRepository.findById(basket.getId()).orElseThrow();
+    }
+}
@@ -0,0 +1,138 @@
+package com.elmenus.order.basket.checkout.repository;
+
+import com.elmenus.order.basket.checkout.model.Basket;
+import com.elmenus.order.basket.checkout.model.Item;
+import com.elmenus.order.basket.checkout.model.User;
+import com.elmenus.order.basket.checkout.util.FixedPoint;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.test.StepVerifier;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Test class for {@link EntityStreamer}
+ */
+@RunWith(SpringRunner.class)
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import(EntityStreamer.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class EntityStreamerTest {
+    // region field values
+    private static final String ITEMS_QUERY = "select i from Item i order by i.id";
+    private static final String BASKETS_QUERY = "select b from Basket b join fetch b.user order by b.id";
+    private static final int ITEM_COUNT = 250;
+    private static final int BASKET_COUNT = 3;
+    private static final long PRICE = FixedPoint.money(10);
+    private static final long QUANTITY = FixedPoint.quantity(100);
+
+    private static final String FIRSTNAME = "John";
+    private static final String LASTNAME = "Smith";
+    private static final String USERNAME = "jsmith";
+    private static final String EMAIL = "smith@example.org";
+    // endregion
+
+    @Autowired
+    private EntityStreamer entityStreamer;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private BasketRepository basketRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private List<Item> items;
+    private Statistics statistics;
+
+    @Before
+    public void setUp() {
+        items = IntStream.range(0, ITEM_COUNT)
+                .mapToObj(index -> itemRepository.save(new Item(null, "Item " + index, PRICE, QUANTITY, 0L, null)))
+                .collect(Collectors.toList());
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @After
+    public void teardown() {
+        basketRepository.deleteAll();
+        userRepository.deleteAll();
+        itemRepository.deleteAll();
+    }
+
+    /**
+     * Tests {@link EntityStreamer#stream(String, Class)}
+     */
+    @Test
+    public void testStream() {
+        // GIVEN
+
+        // WHEN
+        List<Item> streamedItems = entityStreamer.stream(ITEMS_QUERY, Item.class).collectList().block();
+
+        // THEN
+        Assert.assertEquals(items, streamedItems);
+        Assert.assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    /**
+     * Tests {@link EntityStreamer#stream(String, Class)} but for a subscriber that cancels before the end, which
+     * should release the cursor
+     */
+    @Test
+    public void testStreamForCancellation() {
+        // GIVEN
+
+        // WHEN
+        StepVerifier.create(entityStreamer.stream(ITEMS_QUERY, Item.class), 1)
+                .expectNext(items.get(0))
+                .thenCancel()
+                .verify();
+
+        // THEN
+        Assert.assertEquals(statistics.getSessionOpenCount(), statistics.getSessionCloseCount());
+    }
+
+    /**
+     * Tests {@link EntityStreamer#stream(String, Class)} but for a query that fetches an association, which
+     * should still be usable once the entity has been detached
+     */
+    @Test
+    public void testStreamForFetchedAssociation() {
+        // GIVEN
+        User user = userRepository.save(new User(null, FIRSTNAME, LASTNAME, USERNAME, EMAIL));
+        IntStream.range(0, BASKET_COUNT).forEach(index -> basketRepository.save(new Basket(null, user, new Date(), false, null)));
+        statistics.clear();
+
+        // WHEN
+        List<Basket> baskets = entityStreamer.stream(BASKETS_QUERY, Basket.class).collectList().block();
+
+        // THEN
+        Assert.assertNotNull(baskets);
+        Assert.assertEquals(BASKET_COUNT, baskets.size());
+        baskets.forEach(basket -> Assert.assertEquals(USERNAME, basket.getUser().getUsername()));
+        Assert.assertEquals(1, statistics.getPrepareStatementCount());
+    }
+}
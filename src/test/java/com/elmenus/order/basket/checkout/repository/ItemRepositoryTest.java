@@ -0,0 +1,270 @@
+package com.elmenus.order.basket.checkout.repository;
+
+import com.elmenus.order.basket.checkout.config.ItemCacheConfig;
+import com.elmenus.order.basket.checkout.exception.InsufficientItemQuantityException;
+import com.elmenus.order.basket.checkout.model.BasketContent;
+import com.elmenus.order.basket.checkout.model.Item;
+import com.elmenus.order.basket.checkout.service.impl.ItemsService;
+import com.elmenus.order.basket.checkout.util.FixedPoint;
+import com.elmenus.order.basket.checkout.util.KeysetPages;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Test class for {@link ItemRepository}
+ */
+@RunWith(SpringRunner.class)
+@DataJpaTest
+@Import({ItemsService.class, EntityStreamer.class, ItemCacheConfig.class, SimpleMeterRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class ItemRepositoryTest {
+    // region field values
+    private static final String CHEESE_NAME = "Cheese";
+    private static final String MILK_NAME = "Milk";
+    private static final long PRICE = FixedPoint.money(10);
+    private static final long QUANTITY = FixedPoint.quantity(100);
+    private static final long REQUIRED_QUANTITY = FixedPoint.quantity(10);
+    private static final String BREAD_NAME = "Bread";
+    private static final long MODIFIED_PRICE = FixedPoint.money(12);
+    private static final int NONEXISTENT_ID = Integer.MAX_VALUE;
+    // endregion
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private ItemsService itemsService;
+
+    private Item cheese;
+    private Item milk;
+
+    @Before
+    public void setUp() {
+        cheese = itemRepository.save(new Item(null, CHEESE_NAME, PRICE, QUANTITY, 0L, null));
+        milk = itemRepository.save(new Item(null, MILK_NAME, PRICE, QUANTITY, 0L, null));
+    }
+
+    @After
+    public void teardown() {
+        itemRepository.deleteAll();
+    }
+
+    /**
+     * Tests {@link ItemRepository#findByIdGreaterThanOrderByIdAsc(Integer, Pageable)} by walking through all pages
+     */
+    @Test
+    public void testFindByIdGreaterThanOrderByIdAsc() {
+        // GIVEN
+
+        // WHEN
+        List<Item> firstPage = itemRepository.findByIdGreaterThanOrderByIdAsc(KeysetPages.cursor(null), KeysetPages.limit(1));
+        List<Item> secondPage = itemRepository.findByIdGreaterThanOrderByIdAsc(firstPage.get(0).getId(), KeysetPages.limit(1));
+        List<Item> lastPage = itemRepository.findByIdGreaterThanOrderByIdAsc(secondPage.get(0).getId(), KeysetPages.limit(1));
+
+        // THEN
+        Assert.assertEquals(List.of(cheese), firstPage);
+        Assert.assertEquals(List.of(milk), secondPage);
+        Assert.assertTrue(lastPage.isEmpty());
+    }
+
+    /**
+     * Tests {@link ItemRepository#insertItems(List)}
+     */
+    @Test
+    public void testInsertItems() {
+        // GIVEN
+        Item bread = new Item(null, BREAD_NAME, PRICE, QUANTITY, 0L, null);
+
+        // WHEN
+        itemRepository.insertItems(List.of(bread));
+
+        // THEN
+        List<Item> items = itemRepository.findByIdGreaterThanOrderByIdAsc(milk.getId(), KeysetPages.limit(1));
+        Assert.assertEquals(1, items.size());
+        Assert.assertEquals(BREAD_NAME, items.get(0).getName());
+        Assert.assertEquals(PRICE, items.get(0).getPrice());
+        Assert.assertEquals(QUANTITY, items.get(0).getQuantity());
+        Assert.assertEquals(0L, items.get(0).getReserved());
+        Assert.assertEquals(Long.valueOf(0L), items.get(0).getVersion());
+    }
+
+    /**
+     * Tests {@link ItemRepository#updateItems(List)}, which reports an {@link Item} that is not found by a count of 0
+     */
+    @Test
+    public void testUpdateItems() {
+        // GIVEN
+        Item changedCheese = new Item(cheese.getId(), CHEESE_NAME, MODIFIED_PRICE, QUANTITY, 0L, null);
+        Item missingItem = new Item(NONEXISTENT_ID, BREAD_NAME, PRICE, QUANTITY, 0L, null);
+
+        // WHEN
+        int[] updatedRows = itemRepository.updateItems(List.of(changedCheese, missingItem));
+
+        // THEN
+        Assert.assertArrayEquals(new int[]{1, 0}, updatedRows);
+        Item updatedCheese = itemRepository.findById(cheese.getId()).orElseThrow();
+        Assert.assertEquals(MODIFIED_PRICE, updatedCheese.getPrice());
+        Assert.assertEquals(cheese.getVersion() + 1, updatedCheese.getVersion().longValue());
+    }
+
+    /**
+     * Tests {@link ItemRepository#decreaseQuantity(Integer, long)}
+     */
+    @Test
+    public void testDecreaseQuantity() {
+        // GIVEN
+
+        // WHEN
+        int updatedRows = itemRepository.decreaseQuantity(cheese.getId(), REQUIRED_QUANTITY);
+
+        // THEN
+        Assert.assertEquals(1, updatedRows);
+        Assert.assertEquals(QUANTITY - REQUIRED_QUANTITY, getQuantity(cheese));
+    }
+
+    /**
+     * Tests {@link ItemRepository#decreaseQuantity(Integer, long)} bumps the version, so that saving an
+     * {@link Item} that was read before fails instead of overwriting the deducted quantity
+     */
+    @Test
+    public void testDecreaseQuantityForStaleItem() {
+        // GIVEN
+        itemRepository.decreaseQuantity(cheese.getId(), REQUIRED_QUANTITY);
+        cheese.setName(MILK_NAME);
+
+        // WHEN
+        Assert.assertThrows(OptimisticLockingFailureException.class, () -> itemRepository.save(cheese));
+
+        // THEN
+        Assert.assertEquals(QUANTITY - REQUIRED_QUANTITY, getQuantity(cheese));
+    }
+
+    /**
+     * Tests {@link ItemRepository#decreaseQuantity(Integer, long)} but for an insufficient quantity
+     */
+    @Test
+    public void testDecreaseQuantityForInsufficientQuantity() {
+        // GIVEN
+
+        // WHEN
+        int updatedRows = itemRepository.decreaseQuantity(cheese.getId(), QUANTITY + 1);
+
+        // THEN
+        Assert.assertEquals(0, updatedRows);
+        Assert.assertEquals(QUANTITY, getQuantity(cheese));
+    }
+
+    /**
+     * Tests {@link ItemRepository#decreaseQuantity(Integer, long)} but for a quantity that is reserved
+     */
+    @Test
+    public void testDecreaseQuantityForReservedQuantity() {
+        // GIVEN
+        itemRepository.reserveQuantities(List.of(cheese.getId()), List.of(QUANTITY - REQUIRED_QUANTITY));
+
+        // WHEN
+        int updatedRows = itemRepository.decreaseQuantity(cheese.getId(), REQUIRED_QUANTITY + 1);
+
+        // THEN
+        Assert.assertEquals(0, updatedRows);
+        Assert.assertEquals(QUANTITY, getQuantity(cheese));
+    }
+
+    /**
+     * Tests {@link ItemRepository#reserveQuantities(List, List)} reserves only what is available, i.e. in stock
+     * and not reserved already
+     */
+    @Test
+    public void testReserveQuantities() {
+        // GIVEN
+        itemRepository.reserveQuantities(List.of(cheese.getId()), List.of(QUANTITY - REQUIRED_QUANTITY));
+
+        // WHEN
+        int[] updatedRows = itemRepository.reserveQuantities(List.of(cheese.getId(), milk.getId()),
+                List.of(REQUIRED_QUANTITY + 1, REQUIRED_QUANTITY));
+
+        // THEN
+        Assert.assertArrayEquals(new int[]{0, 1}, updatedRows);
+        Assert.assertEquals(QUANTITY - REQUIRED_QUANTITY, getReserved(cheese));
+        Assert.assertEquals(REQUIRED_QUANTITY, getReserved(milk));
+        Assert.assertEquals(QUANTITY, getQuantity(milk));
+    }
+
+    /**
+     * Tests {@link ItemRepository#releaseQuantities(List, List)}
+     */
+    @Test
+    public void testReleaseQuantities() {
+        // GIVEN
+        itemRepository.reserveQuantities(List.of(cheese.getId()), List.of(REQUIRED_QUANTITY));
+
+        // WHEN
+        int[] updatedRows = itemRepository.releaseQuantities(List.of(cheese.getId()), List.of(REQUIRED_QUANTITY));
+
+        // THEN
+        Assert.assertArrayEquals(new int[]{1}, updatedRows);
+        Assert.assertEquals(0L, getReserved(cheese));
+        Assert.assertEquals(QUANTITY, getQuantity(cheese));
+    }
+
+    /**
+     * Tests {@link ItemRepository#deductReservedQuantities(List, List)}
+     */
+    @Test
+    public void testDeductReservedQuantities() {
+        // GIVEN
+        itemRepository.reserveQuantities(List.of(cheese.getId()), List.of(REQUIRED_QUANTITY));
+
+        // WHEN
+        int[] updatedRows = itemRepository.deductReservedQuantities(List.of(cheese.getId()),
+                List.of(REQUIRED_QUANTITY));
+
+        // THEN
+        Assert.assertArrayEquals(new int[]{1}, updatedRows);
+        Assert.assertEquals(0L, getReserved(cheese));
+        Assert.assertEquals(QUANTITY - REQUIRED_QUANTITY, getQuantity(cheese));
+    }
+
+    /**
+     * Tests that {@link ItemsService#reserveQuantities(Map)} rolls back the whole batch if a single
+     * {@link Item} is short
+     */
+    @Test
+    public void testReserveQuantitiesRollsBackWhenShort() {
+        // GIVEN
+        Map<Integer, BasketContent> contents = new LinkedHashMap<>();
+        contents.put(cheese.getId(), new BasketContent(null, null, cheese, REQUIRED_QUANTITY));
+        contents.put(milk.getId(), new BasketContent(null, null, milk, QUANTITY + 1));
+
+        // WHEN
+        Assert.assertThrows(InsufficientItemQuantityException.class, () -> itemsService.reserveQuantities(contents));
+
+        // THEN
+        Assert.assertEquals(0L, getReserved(cheese));
+        Assert.assertEquals(0L, getReserved(milk));
+    }
+
+    private long getQuantity(Item item) {
+        return itemRepository.findById(item.getId()).orElseThrow().getQuantity();
+    }
+
+    private long getReserved(Item item) {
+        return itemRepository.findById(item.getId()).orElseThrow().getReserved();
+    }
+}
@@ -0,0 +1,193 @@
+package com.elmenus.order.basket.checkout.service.impl;
+
+import com.elmenus.order.basket.checkout.constants.Messages;
+import com.elmenus.order.basket.checkout.model.CheckoutStatus;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import javax.persistence.EntityNotFoundException;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Test class for {@link AsyncCheckoutService}
+ */
+public class AsyncCheckoutServiceTest {
+    // region field values
+    private static final int BASKET_ID = 1;
+    private static final int OTHER_BASKET_ID = 2;
+    private static final String IDEMPOTENCY_KEY = "5b2c1a0e-checkout";
+    private static final String UNKNOWN_CHECKOUT_ID = "unknown";
+    private static final String ERROR_MESSAGE = "Basket with ID 1 has already been checked out";
+    // endregion
+
+    private Cache<String, CheckoutStatus> checkoutStatusCache;
+    private AsyncCheckoutService asyncCheckoutService;
+
+    @Before
+    public void setUp() {
+        checkoutStatusCache = Caffeine.newBuilder().build();
+        asyncCheckoutService = new AsyncCheckoutService(checkoutStatusCache, Schedulers.immediate());
+    }
+
+    /**
+     * Tests {@link AsyncCheckoutService#submit(Integer, String, Runnable)}
+     */
+    @Test
+    public void testSubmit() {
+        // GIVEN
+
+        // WHEN
+        String checkoutId = asyncCheckoutService.submit(BASKET_ID, null, () -> {
+        });
+
+        // THEN
+        CheckoutStatus status = asyncCheckoutService.getStatus(checkoutId);
+        Assert.assertEquals(CheckoutStatus.State.SUCCEEDED, status.getState());
+        Assert.assertEquals(BASKET_ID, status.getBasketId().intValue());
+    }
+
+    /**
+     * Tests {@link AsyncCheckoutService#submit(Integer, String, Runnable)} reports a pending checkout until it has run
+     */
+    @Test
+    public void testSubmitForPendingCheckout() {
+        // GIVEN
+        Scheduler scheduler = Mockito.mock(Scheduler.class);
+        asyncCheckoutService = new AsyncCheckoutService(checkoutStatusCache, scheduler);
+
+        // WHEN
+        String checkoutId = asyncCheckoutService.submit(BASKET_ID, null, () -> {
+        });
+
+        // THEN
+        Assert.assertEquals(CheckoutStatus.State.PENDING, asyncCheckoutService.getStatus(checkoutId).getState());
+    }
+
+    /**
+     * Tests {@link AsyncCheckoutService#submit(Integer, String, Runnable)} but for a failing checkout
+     */
+    @Test
+    public void testSubmitForFailure() {
+        // GIVEN
+
+        // WHEN
+        String checkoutId = asyncCheckoutService.submit(BASKET_ID, null, () -> {
+            throw new IllegalStateException(ERROR_MESSAGE);
+        });
+
+        // THEN
+        CheckoutStatus status = asyncCheckoutService.getStatus(checkoutId);
+        Assert.assertEquals(CheckoutStatus.State.FAILED, status.getState());
+        Assert.assertEquals(IllegalStateException.class.getSimpleName(), status.getError());
+        Assert.assertEquals(ERROR_MESSAGE, status.getMessage());
+    }
+
+    /**
+     * Tests {@link AsyncCheckoutService#submit(Integer, String, Runnable)} but for a checkout that fails with an
+     * {@link Error}, which is recorded as well
+     */
+    @Test
+    public void testSubmitForError() {
+        // GIVEN
+        Scheduler scheduler = Mockito.mock(Scheduler.class);
+        asyncCheckoutService = new AsyncCheckoutService(checkoutStatusCache, scheduler);
+        String checkoutId = asyncCheckoutService.submit(BASKET_ID, null, () -> {
+            throw new StackOverflowError();
+        });
+        ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+        Mockito.verify(scheduler).schedule(task.capture());
+
+        // WHEN
+        Assert.assertThrows(StackOverflowError.class, () -> task.getValue().run());
+
+        // THEN
+        CheckoutStatus status = asyncCheckoutService.getStatus(checkoutId);
+        Assert.assertEquals(CheckoutStatus.State.FAILED, status.getState());
+        Assert.assertEquals(StackOverflowError.class.getSimpleName(), status.getError());
+    }
+
+    /**
+     * Tests {@link AsyncCheckoutService#submit(Integer, String, Runnable)} gives a retry with the same idempotency
+     * key the pending checkout instead of submitting another one
+     */
+    @Test
+    public void testSubmitForRetriedIdempotencyKey() {
+        // GIVEN
+        Scheduler scheduler = Mockito.mock(Scheduler.class);
+        asyncCheckoutService = new AsyncCheckoutService(checkoutStatusCache, scheduler);
+        String checkoutId = asyncCheckoutService.submit(BASKET_ID, IDEMPOTENCY_KEY, () -> {
+        });
+
+        // WHEN
+        String retriedCheckoutId = asyncCheckoutService.submit(BASKET_ID, IDEMPOTENCY_KEY, () -> {
+        });
+
+        // THEN
+        Assert.assertEquals(checkoutId, retriedCheckoutId);
+        Assert.assertNotEquals(checkoutId, asyncCheckoutService.submit(OTHER_BASKET_ID, IDEMPOTENCY_KEY, () -> {
+        }));
+        Mockito.verify(scheduler, Mockito.times(2)).schedule(ArgumentMatchers.any());
+    }
+
+    /**
+     * Tests {@link AsyncCheckoutService#submit(Integer, String, Runnable)} submits a retry with the same idempotency
+     * key again if the first checkout failed
+     */
+    @Test
+    public void testSubmitForRetriedFailure() {
+        // GIVEN
+        String checkoutId = asyncCheckoutService.submit(BASKET_ID, IDEMPOTENCY_KEY, () -> {
+            throw new IllegalStateException(ERROR_MESSAGE);
+        });
+
+        // WHEN
+        String retriedCheckoutId = asyncCheckoutService.submit(BASKET_ID, IDEMPOTENCY_KEY, () -> {
+        });
+
+        // THEN
+        Assert.assertEquals(checkoutId, retriedCheckoutId);
+        Assert.assertEquals(CheckoutStatus.State.SUCCEEDED, asyncCheckoutService.getStatus(checkoutId).getState());
+    }
+
+    /**
+     * Tests {@link AsyncCheckoutService#submit(Integer, String, Runnable)} but for a scheduler without capacity left
+     */
+    @Test
+    public void testSubmitForRejection() {
+        // GIVEN
+        Scheduler scheduler = Mockito.mock(Scheduler.class);
+        Mockito.when(scheduler.schedule(ArgumentMatchers.any())).thenThrow(new RejectedExecutionException());
+        asyncCheckoutService = new AsyncCheckoutService(checkoutStatusCache, scheduler);
+
+        // WHEN
+        Assert.assertThrows(RejectedExecutionException.class, () -> asyncCheckoutService.submit(BASKET_ID, null, () -> {
+        }));
+
+        // THEN
+        Assert.assertEquals(0, checkoutStatusCache.estimatedSize());
+    }
+
+    /**
+     * Tests {@link AsyncCheckoutService#getStatus(String)} but for an unknown checkout
+     */
+    @Test
+    public void testGetStatusForUnknownCheckout() {
+        // GIVEN
+
+        // WHEN
+        EntityNotFoundException exception = Assert.assertThrows(EntityNotFoundException.class,
+                () -> asyncCheckoutService.getStatus(UNKNOWN_CHECKOUT_ID));
+
+        // THEN
+        Assert.assertEquals(String.format(Messages.CHECKOUT_NOT_FOUND_ERROR, UNKNOWN_CHECKOUT_ID),
+                exception.getMessage());
+    }
+}
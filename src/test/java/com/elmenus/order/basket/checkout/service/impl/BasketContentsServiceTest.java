@@ -2,11 +2,17 @@ package com.elmenus.order.basket.checkout.service.impl;
 
 import com.elmenus.order.basket.checkout.constants.Messages;
 import com.elmenus.order.basket.checkout.dto.BasketContentDto;
+import com.elmenus.order.basket.checkout.exception.BasketCheckedOutException;
+import com.elmenus.order.basket.checkout.exception.InsufficientItemQuantityException;
+import com.elmenus.order.basket.checkout.inventory.InventoryEngine;
 import com.elmenus.order.basket.checkout.model.Basket;
 import com.elmenus.order.basket.checkout.model.BasketContent;
 import com.elmenus.order.basket.checkout.model.Item;
 import com.elmenus.order.basket.checkout.model.User;
 import com.elmenus.order.basket.checkout.repository.BasketContentRepository;
+import com.elmenus.order.basket.checkout.repository.EntityStreamer;
+import com.elmenus.order.basket.checkout.util.FixedPoint;
+import com.elmenus.order.basket.checkout.validation.BasketContentsValidator;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -14,10 +20,14 @@ import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
 
 import javax.persistence.EntityNotFoundException;
+import java.sql.SQLException;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
@@ -28,8 +38,8 @@ import java.util.Set;
 public class BasketContentsServiceTest {
     // region field values
     private static final int ID = 1;
-    private static final float QUANTITY = 10F;
-    private static final float MODIFIED_QUANTITY = 20F;
+    private static final long QUANTITY = FixedPoint.quantity(10);
+    private static final long MODIFIED_QUANTITY = FixedPoint.quantity(20);
     private static final int USER_ID = 1;
     private static final String USER_FIRSTNAME = "John";
     private static final String USER_LASTNAME = "Smith";
@@ -37,11 +47,14 @@ public class BasketContentsServiceTest {
     private static final String USER_EMAIL = "smith@example.org";
 
     private static final int BASKET_ID = 2;
+    private static final int OTHER_BASKET_ID = 4;
     private static final int ITEM_ID = 3;
     private static final String ITEM_NAME = "Cheese";
-    private static final float ITEM_PRICE = 10F;
-    private static final float ITEM_QUANTITY = 100F;
+    private static final long ITEM_PRICE = FixedPoint.money(10);
+    private static final long ITEM_QUANTITY = FixedPoint.quantity(100);
     private static final Date NOW = new Date();
+    private static final String DUPLICATE_KEY_ERROR = "Unique index or primary key violation: \"PUBLIC.UK_BASKET_CONTENT_BASKET_ITEM_INDEX_C\"";
+    private static final String FOREIGN_KEY_ERROR = "Referential integrity constraint violation: \"FK_BASKET_CONTENT_ITEM\"";
     // endregion
 
     private BasketContentsService basketContentsService;
@@ -49,12 +62,18 @@ public class BasketContentsServiceTest {
     @Mock
     private BasketContentRepository basketContentRepository;
 
+    @Mock
+    private EntityStreamer entityStreamer;
+
     @Mock
     private BasketsService basketsService;
 
     @Mock
     private ItemsService itemsService;
 
+    @Mock
+    private InventoryEngine inventoryEngine;
+
     private BasketContent basketContent;
     private BasketContentDto basketContentDto;
     private BasketContentDto modifiedBasketContentDto;
@@ -64,11 +83,12 @@ public class BasketContentsServiceTest {
 
     @Before
     public void setUp() throws Exception {
-        basketContentsService = Mockito.spy(new BasketContentsService(basketContentRepository, basketsService, itemsService));
+        basketContentsService = Mockito.spy(new BasketContentsService(basketContentRepository, entityStreamer, basketsService, itemsService,
+                new BasketContentsValidator(inventoryEngine)));
 
         user = new User(USER_ID, USER_FIRSTNAME, USER_LASTNAME, USER_USERNAME, USER_EMAIL);
-        basket = new Basket(BASKET_ID, user, NOW, false);
-        item = new Item(ITEM_ID, ITEM_NAME, ITEM_PRICE, ITEM_QUANTITY);
+        basket = new Basket(BASKET_ID, user, NOW, false, null);
+        item = new Item(ITEM_ID, ITEM_NAME, ITEM_PRICE, ITEM_QUANTITY, 0L, null);
         basketContent = new BasketContent(ID, basket, item, QUANTITY);
         basketContentDto = new BasketContentDto(BASKET_ID, ITEM_ID, QUANTITY);
         modifiedBasketContentDto = new BasketContentDto(BASKET_ID, ITEM_ID, MODIFIED_QUANTITY);
@@ -145,6 +165,9 @@ public class BasketContentsServiceTest {
     @Test
     public void testAdd() {
         // GIVEN
+        Mockito.when(basketsService.get(BASKET_ID)).thenReturn(basket);
+        Mockito.when(itemsService.get(ITEM_ID)).thenReturn(item);
+        Mockito.when(inventoryEngine.available(item)).thenReturn(ITEM_QUANTITY);
         Mockito.when(basketContentRepository.save(Mockito.any())).thenReturn(basketContent);
 
         // WHEN
@@ -153,6 +176,223 @@ public class BasketContentsServiceTest {
         // THEN
         Assert.assertNotNull(id);
         Assert.assertEquals(ID, id.intValue());
+        Mockito.verify(basketsService).addToTotals(BASKET_ID, FixedPoint.cost(ITEM_PRICE, QUANTITY), 1);
+    }
+
+    /**
+     * Tests {@link BasketContentsService#add(BasketContentDto)} but for an {@link Item} the {@link Basket} already
+     * holds, whose quantity is added to the existing {@link BasketContent}
+     */
+    @Test
+    public void testAddForHeldItem() {
+        // GIVEN
+        Mockito.when(basketsService.get(BASKET_ID)).thenReturn(basket);
+        Mockito.when(itemsService.get(ITEM_ID)).thenReturn(item);
+        Mockito.when(inventoryEngine.available(item)).thenReturn(ITEM_QUANTITY);
+        Mockito.when(basketContentRepository.findByBasketIdAndItemId(BASKET_ID, ITEM_ID)).thenReturn(Optional.of(basketContent));
+
+        // WHEN
+        Integer id = basketContentsService.add(modifiedBasketContentDto);
+
+        // THEN
+        Assert.assertEquals(ID, id.intValue());
+        Mockito.verify(basketContentRepository).addToQuantity(ID, MODIFIED_QUANTITY);
+        Mockito.verify(basketContentRepository, Mockito.never()).save(Mockito.any());
+        Mockito.verify(basketsService).addToTotals(BASKET_ID, FixedPoint.cost(ITEM_PRICE, MODIFIED_QUANTITY), 0);
+    }
+
+    /**
+     * Tests {@link BasketContentsService#add(BasketContentDto)} but for an {@link Item} a concurrent request added to
+     * the {@link Basket} first, which violates the unique constraint of its lines
+     */
+    @Test
+    public void testAddForConcurrentlyAddedItem() {
+        // GIVEN
+        Mockito.when(basketsService.get(BASKET_ID)).thenReturn(basket);
+        Mockito.when(itemsService.get(ITEM_ID)).thenReturn(item);
+        Mockito.when(inventoryEngine.available(item)).thenReturn(ITEM_QUANTITY);
+        DataIntegrityViolationException violation = new DataIntegrityViolationException(DUPLICATE_KEY_ERROR,
+                new SQLException(DUPLICATE_KEY_ERROR));
+        Mockito.when(basketContentRepository.save(Mockito.any())).thenThrow(violation);
+
+        // WHEN
+        DuplicateKeyException exception = Assert.assertThrows(DuplicateKeyException.class,
+                () -> basketContentsService.add(basketContentDto));
+
+        // THEN
+        Assert.assertSame(violation, exception.getCause());
+        Assert.assertTrue(exception.getMessage().startsWith(String.format(Messages.BASKET_CONTENT_ITEM_EXISTS_ERROR, BASKET_ID, ITEM_ID)));
+        Mockito.verify(basketsService, Mockito.never()).addToTotals(Mockito.anyInt(), Mockito.anyLong(), Mockito.anyInt());
+    }
+
+    /**
+     * Tests {@link BasketContentsService#add(BasketContentDto)} but for a violation of another constraint, which is not
+     * reported as a duplicate
+     */
+    @Test
+    public void testAddForOtherDataIntegrityViolation() {
+        // GIVEN
+        Mockito.when(basketsService.get(BASKET_ID)).thenReturn(basket);
+        Mockito.when(itemsService.get(ITEM_ID)).thenReturn(item);
+        Mockito.when(inventoryEngine.available(item)).thenReturn(ITEM_QUANTITY);
+        DataIntegrityViolationException violation = new DataIntegrityViolationException(FOREIGN_KEY_ERROR,
+                new SQLException(FOREIGN_KEY_ERROR));
+        Mockito.when(basketContentRepository.save(Mockito.any())).thenThrow(violation);
+
+        // WHEN
+        DataIntegrityViolationException exception = Assert.assertThrows(DataIntegrityViolationException.class,
+                () -> basketContentsService.add(basketContentDto));
+
+        // THEN
+        Assert.assertSame(violation, exception);
+    }
+
+    /**
+     * Tests {@link BasketContentsService#add(BasketContentDto)} but for a {@link Basket} that has been checked out
+     */
+    @Test
+    public void testAddForCheckedOutBasket() {
+        // GIVEN
+        Basket checkedOutBasket = new Basket(BASKET_ID, user, NOW, true, null);
+        Mockito.when(basketsService.get(BASKET_ID)).thenReturn(checkedOutBasket);
+        Mockito.when(itemsService.get(ITEM_ID)).thenReturn(item);
+
+        // WHEN
+        BasketCheckedOutException exception = Assert.assertThrows(BasketCheckedOutException.class,
+                () -> basketContentsService.add(basketContentDto));
+
+        // THEN
+        Assert.assertEquals(String.format(Messages.BASKET_CHECKED_OUT_ALREADY_ERROR, BASKET_ID), exception.getMessage());
+        Mockito.verify(basketContentRepository, Mockito.never()).save(Mockito.any());
+        Mockito.verifyNoInteractions(inventoryEngine);
+    }
+
+    /**
+     * Tests {@link BasketContentsService#add(BasketContentDto)} but for an {@link Item} the {@link Basket} already
+     * holds, whose available quantity does not cover the existing line along with the added quantity
+     */
+    @Test
+    public void testAddForInsufficientQuantity() {
+        // GIVEN
+        Mockito.when(basketsService.get(BASKET_ID)).thenReturn(basket);
+        Mockito.when(itemsService.get(ITEM_ID)).thenReturn(item);
+        Mockito.when(basketContentRepository.findByBasketIdAndItemId(BASKET_ID, ITEM_ID)).thenReturn(Optional.of(basketContent));
+        Mockito.when(inventoryEngine.available(item)).thenReturn(MODIFIED_QUANTITY);
+
+        // WHEN
+        InsufficientItemQuantityException exception = Assert.assertThrows(InsufficientItemQuantityException.class,
+                () -> basketContentsService.add(modifiedBasketContentDto));
+
+        // THEN
+        Assert.assertEquals(String.format(Messages.INSUFFICIENT_ITEM_QUANTITY_ERROR, ITEM_NAME), exception.getMessage());
+        Mockito.verify(basketContentRepository, Mockito.never()).addToQuantity(Mockito.anyInt(), Mockito.anyLong());
+        Mockito.verify(basketsService, Mockito.never()).addToTotals(Mockito.anyInt(), Mockito.anyLong(), Mockito.anyInt());
+    }
+
+    /**
+     * Tests {@link BasketContentsService#addAll(Integer, List)}, which reads the {@link Basket} and {@link Item}s once,
+     * combines the lines of the same {@link Item} and adds all lines to the running totals at once
+     */
+    @Test
+    public void testAddAll() {
+        // GIVEN
+        Mockito.when(basketsService.get(BASKET_ID)).thenReturn(basket);
+        Mockito.when(itemsService.getAllById(Set.of(ITEM_ID))).thenReturn(Map.of(ITEM_ID, item));
+        Mockito.when(inventoryEngine.available(item)).thenReturn(ITEM_QUANTITY);
+
+        // WHEN
+        basketContentsService.addAll(BASKET_ID, List.of(basketContentDto, modifiedBasketContentDto));
+
+        // THEN
+        Mockito.verify(basketContentRepository).insertBasketContents(List.of(
+                new BasketContent(null, basket, item, QUANTITY + MODIFIED_QUANTITY)));
+        Mockito.verify(basketContentRepository, Mockito.never()).addToQuantities(Mockito.any());
+        Mockito.verify(basketsService).addToTotals(BASKET_ID, FixedPoint.cost(ITEM_PRICE, QUANTITY + MODIFIED_QUANTITY), 1);
+    }
+
+    /**
+     * Tests {@link BasketContentsService#addAll(Integer, List)} but for an {@link Item} the {@link Basket} already
+     * holds, whose quantity is added to the existing {@link BasketContent} without adding a line
+     */
+    @Test
+    public void testAddAllForHeldItem() {
+        // GIVEN
+        Mockito.when(basketsService.get(BASKET_ID)).thenReturn(basket);
+        Mockito.when(itemsService.getAllById(Set.of(ITEM_ID))).thenReturn(Map.of(ITEM_ID, item));
+        Mockito.when(inventoryEngine.available(item)).thenReturn(ITEM_QUANTITY);
+        Mockito.when(basketContentRepository.findByBasketId(BASKET_ID)).thenReturn(List.of(basketContent));
+
+        // WHEN
+        basketContentsService.addAll(BASKET_ID, List.of(modifiedBasketContentDto));
+
+        // THEN
+        Mockito.verify(basketContentRepository).addToQuantities(List.of(
+                new BasketContent(ID, basket, item, MODIFIED_QUANTITY)));
+        Mockito.verify(basketContentRepository, Mockito.never()).insertBasketContents(Mockito.any());
+        Mockito.verify(basketsService).addToTotals(BASKET_ID, FixedPoint.cost(ITEM_PRICE, MODIFIED_QUANTITY), 0);
+    }
+
+    /**
+     * Tests {@link BasketContentsService#addAll(Integer, List)} but for a line without a positive quantity, which
+     * adds no lines at all
+     */
+    @Test
+    public void testAddAllForNonPositiveQuantity() {
+        // GIVEN
+        Mockito.when(basketsService.get(BASKET_ID)).thenReturn(basket);
+        Mockito.when(itemsService.getAllById(Set.of(ITEM_ID))).thenReturn(Map.of(ITEM_ID, item));
+        BasketContentDto invalidBasketContentDto = new BasketContentDto(BASKET_ID, ITEM_ID, 0L);
+
+        // WHEN
+        IllegalArgumentException exception = Assert.assertThrows(IllegalArgumentException.class,
+                () -> basketContentsService.addAll(BASKET_ID, List.of(basketContentDto, invalidBasketContentDto)));
+
+        // THEN
+        Assert.assertEquals(Messages.QUANTITY_NEGATIVE_ERROR, exception.getMessage());
+        Mockito.verify(basketContentRepository, Mockito.never()).insertBasketContents(Mockito.any());
+        Mockito.verify(basketsService, Mockito.never()).addToTotals(Mockito.anyInt(), Mockito.anyLong(), Mockito.anyInt());
+    }
+
+    /**
+     * Tests {@link BasketContentsService#addAll(Integer, List)} but for a {@link Basket} that has been checked out,
+     * which adds no lines at all
+     */
+    @Test
+    public void testAddAllForCheckedOutBasket() {
+        // GIVEN
+        Basket checkedOutBasket = new Basket(BASKET_ID, user, NOW, true, null);
+        Mockito.when(basketsService.get(BASKET_ID)).thenReturn(checkedOutBasket);
+        Mockito.when(itemsService.getAllById(Set.of(ITEM_ID))).thenReturn(Map.of(ITEM_ID, item));
+
+        // WHEN
+        BasketCheckedOutException exception = Assert.assertThrows(BasketCheckedOutException.class,
+                () -> basketContentsService.addAll(BASKET_ID, List.of(basketContentDto)));
+
+        // THEN
+        Assert.assertEquals(String.format(Messages.BASKET_CHECKED_OUT_ALREADY_ERROR, BASKET_ID), exception.getMessage());
+        Mockito.verify(basketContentRepository, Mockito.never()).insertBasketContents(Mockito.any());
+        Mockito.verify(basketsService, Mockito.never()).addToTotals(Mockito.anyInt(), Mockito.anyLong(), Mockito.anyInt());
+    }
+
+    /**
+     * Tests {@link BasketContentsService#addAll(Integer, List)} but for lines of an {@link Item} whose available
+     * quantity covers each line alone but not all of them together, which adds no lines at all
+     */
+    @Test
+    public void testAddAllForInsufficientQuantity() {
+        // GIVEN
+        Mockito.when(basketsService.get(BASKET_ID)).thenReturn(basket);
+        Mockito.when(itemsService.getAllById(Set.of(ITEM_ID))).thenReturn(Map.of(ITEM_ID, item));
+        Mockito.when(inventoryEngine.available(item)).thenReturn(MODIFIED_QUANTITY);
+
+        // WHEN
+        InsufficientItemQuantityException exception = Assert.assertThrows(InsufficientItemQuantityException.class,
+                () -> basketContentsService.addAll(BASKET_ID, List.of(basketContentDto, modifiedBasketContentDto)));
+
+        // THEN
+        Assert.assertEquals(String.format(Messages.INSUFFICIENT_ITEM_QUANTITY_ERROR, ITEM_NAME), exception.getMessage());
+        Mockito.verify(basketContentRepository, Mockito.never()).insertBasketContents(Mockito.any());
+        Mockito.verify(basketsService, Mockito.never()).addToTotals(Mockito.anyInt(), Mockito.anyLong(), Mockito.anyInt());
     }
 
     /**
@@ -161,6 +401,8 @@ public class BasketContentsServiceTest {
     @Test
     public void testUpdate() {
         // GIVEN
+        Mockito.when(basketsService.get(BASKET_ID)).thenReturn(basket);
+        Mockito.when(itemsService.get(ITEM_ID)).thenReturn(item);
         Mockito.when(basketContentRepository.findById(ID)).thenReturn(Optional.of(basketContent));
 
         // WHEN
@@ -168,7 +410,53 @@ public class BasketContentsServiceTest {
 
         // THEN
         Mockito.verify(basketContentRepository).save(basketContent);
-        Assert.assertEquals(MODIFIED_QUANTITY, basketContent.getQuantity(), 0.01F);
+        Assert.assertEquals(MODIFIED_QUANTITY, basketContent.getQuantity());
+        long costDifference = FixedPoint.cost(ITEM_PRICE, MODIFIED_QUANTITY) - FixedPoint.cost(ITEM_PRICE, QUANTITY);
+        Mockito.verify(basketsService).addToTotals(BASKET_ID, costDifference, 0);
+    }
+
+    /**
+     * Tests {@link BasketContentsService#update(Integer, BasketContentDto)} but for a {@link BasketContent} that is
+     * moved to another {@link Basket}
+     */
+    @Test
+    public void testUpdateForAnotherBasket() {
+        // GIVEN
+        Basket otherBasket = new Basket(OTHER_BASKET_ID, user, NOW, false, null);
+        Mockito.when(basketsService.get(OTHER_BASKET_ID)).thenReturn(otherBasket);
+        Mockito.when(itemsService.get(ITEM_ID)).thenReturn(item);
+        Mockito.when(basketContentRepository.findById(ID)).thenReturn(Optional.of(basketContent));
+
+        // WHEN
+        basketContentsService.update(ID, new BasketContentDto(OTHER_BASKET_ID, ITEM_ID, MODIFIED_QUANTITY));
+
+        // THEN
+        Assert.assertEquals(otherBasket, basketContent.getBasket());
+        Mockito.verify(basketsService).addToTotals(BASKET_ID, -FixedPoint.cost(ITEM_PRICE, QUANTITY), -1);
+        Mockito.verify(basketsService).addToTotals(OTHER_BASKET_ID, FixedPoint.cost(ITEM_PRICE, MODIFIED_QUANTITY), 1);
+    }
+
+    /**
+     * Tests {@link BasketContentsService#update(Integer, BasketContentDto)} but for an {@link Item} that another
+     * {@link BasketContent} of the {@link Basket} already holds
+     */
+    @Test
+    public void testUpdateForItemHeldByAnotherBasketContent() {
+        // GIVEN
+        BasketContent otherBasketContent = new BasketContent(ID + 1, basket, item, QUANTITY);
+        Mockito.when(basketsService.get(BASKET_ID)).thenReturn(basket);
+        Mockito.when(itemsService.get(ITEM_ID)).thenReturn(item);
+        Mockito.when(basketContentRepository.findById(ID + 1)).thenReturn(Optional.of(otherBasketContent));
+        Mockito.when(basketContentRepository.findByBasketIdAndItemId(BASKET_ID, ITEM_ID)).thenReturn(Optional.of(basketContent));
+
+        // WHEN
+        IllegalStateException exception = Assert.assertThrows(IllegalStateException.class,
+                () -> basketContentsService.update(ID + 1, modifiedBasketContentDto));
+
+        // THEN
+        Assert.assertEquals(String.format(Messages.BASKET_CONTENT_ITEM_EXISTS_ERROR, BASKET_ID, ITEM_ID), exception.getMessage());
+        Mockito.verify(basketContentRepository, Mockito.never()).save(Mockito.any());
+        Mockito.verify(basketsService, Mockito.never()).addToTotals(Mockito.anyInt(), Mockito.anyLong(), Mockito.anyInt());
     }
 
     /**
@@ -224,13 +512,14 @@ public class BasketContentsServiceTest {
     @Test
     public void testDelete() {
         // GIVEN
-        Mockito.when(basketContentRepository.existsById(ID)).thenReturn(true);
+        Mockito.when(basketContentRepository.findById(ID)).thenReturn(Optional.of(basketContent));
 
         // WHEN
         basketContentsService.delete(ID);
 
         // THEN
-        Mockito.verify(basketContentRepository).deleteById(ID);
+        Mockito.verify(basketContentRepository).delete(basketContent);
+        Mockito.verify(basketsService).addToTotals(BASKET_ID, -FixedPoint.cost(ITEM_PRICE, QUANTITY), -1);
     }
 
     /**
@@ -254,7 +543,7 @@ public class BasketContentsServiceTest {
     @Test
     public void testDeleteForNonexistentBasketContent() {
         // GIVEN
-        Mockito.when(basketContentRepository.existsById(ID)).thenReturn(false);
+        Mockito.when(basketContentRepository.findById(ID)).thenReturn(Optional.empty());
 
         // WHEN
         EntityNotFoundException exception = Assert.assertThrows(EntityNotFoundException.class, () -> basketContentsService.delete(ID));
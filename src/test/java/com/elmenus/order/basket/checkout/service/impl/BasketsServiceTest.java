@@ -1,20 +1,35 @@
 package com.elmenus.order.basket.checkout.service.impl;
 
+import com.elmenus.order.basket.checkout.concurrency.CheckoutCoalescer;
+import com.elmenus.order.basket.checkout.concurrency.OptimisticRetryTemplate;
 import com.elmenus.order.basket.checkout.constants.Messages;
 import com.elmenus.order.basket.checkout.dto.BasketDto;
+import com.elmenus.order.basket.checkout.exception.BasketCheckedOutException;
+import com.elmenus.order.basket.checkout.exception.PaymentFailedException;
+import com.elmenus.order.basket.checkout.exception.PaymentOutcomeUnknownException;
+import com.elmenus.order.basket.checkout.exception.ReservationExpiredException;
+import com.elmenus.order.basket.checkout.metrics.CheckoutMetrics;
 import com.elmenus.order.basket.checkout.model.Basket;
 import com.elmenus.order.basket.checkout.model.BasketContent;
+import com.elmenus.order.basket.checkout.model.BasketSummary;
 import com.elmenus.order.basket.checkout.model.Item;
 import com.elmenus.order.basket.checkout.model.User;
+import com.elmenus.order.basket.checkout.payment.PaymentService;
 import com.elmenus.order.basket.checkout.repository.BasketRepository;
+import com.elmenus.order.basket.checkout.repository.EntityStreamer;
+import com.elmenus.order.basket.checkout.util.FixedPoint;
 import com.elmenus.order.basket.checkout.validation.BasketCheckoutValidator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import javax.persistence.EntityNotFoundException;
 import java.util.*;
@@ -40,28 +55,41 @@ public class BasketsServiceTest {
 
     private static final int ITEM_ID = 3;
     private static final String ITEM_NAME = "Cheese";
-    private static final float ITEM_PRICE = 10F;
-    private static final float ITEM_QUANTITY = 100F;
+    private static final long ITEM_PRICE = FixedPoint.money(10);
+    private static final long ITEM_QUANTITY = FixedPoint.quantity(100);
     private static final Date NOW = new Date();
 
-    private static final float QUANTITY = 10F;
-    private static final float TOTAL_COST = QUANTITY * ITEM_PRICE;
+    private static final long QUANTITY = FixedPoint.quantity(10);
+    private static final long TOTAL_COST = FixedPoint.toMoney(FixedPoint.cost(ITEM_PRICE, QUANTITY));
+    private static final int MAX_ATTEMPTS = 3;
+    private static final String OUTCOMES_METRIC = "checkout.outcomes";
+    private static final String STAGE_DURATION_METRIC = "checkout.stage.duration";
     // endregion
 
+    private SimpleMeterRegistry meterRegistry;
     private BasketsService basketsService;
 
     @Mock
     private BasketRepository basketRepository;
 
+    @Mock
+    private EntityStreamer entityStreamer;
+
     @Mock
     private UsersService usersService;
 
     @Mock
-    private ItemsService itemsService;
+    private StockReservationService stockReservationService;
 
     @Mock
     private BasketCheckoutValidator basketCheckoutValidator;
 
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private PaymentService paymentService;
+
     private Basket basket;
     private Item item;
     private BasketDto basketDto;
@@ -71,13 +99,17 @@ public class BasketsServiceTest {
 
     @Before
     public void setUp() throws Exception {
-        basketsService = Mockito.spy(new BasketsService(basketRepository, usersService, itemsService, basketCheckoutValidator));
+        meterRegistry = new SimpleMeterRegistry();
+        basketsService = Mockito.spy(new BasketsService(basketRepository, entityStreamer, usersService, basketCheckoutValidator,
+                new OptimisticRetryTemplate(transactionManager, meterRegistry, MAX_ATTEMPTS),
+                new CheckoutCoalescer(meterRegistry), paymentService, stockReservationService,
+                new CheckoutMetrics(meterRegistry)));
 
         user = new User(USER_ID, USER_FIRSTNAME, USER_LASTNAME, USER_USERNAME, USER_EMAIL);
         modifiedUser = new User(MODIFIED_USER_ID, MODIFIED_USER_FIRSTNAME, MODIFIED_USER_LASTNAME,
                 MODIFIED_USER_USERNAME, MODIFIED_USER_EMAIL);
-        basket = new Basket(ID, user, NOW, false);
-        item = new Item(ITEM_ID, ITEM_NAME, ITEM_PRICE, ITEM_QUANTITY);
+        basket = new Basket(ID, user, NOW, false, null);
+        item = new Item(ITEM_ID, ITEM_NAME, ITEM_PRICE, ITEM_QUANTITY, 0L, null);
         basketContent = new BasketContent(ID, basket, item, QUANTITY);
         basketDto = new BasketDto(USER_ID);
     }
@@ -115,6 +147,56 @@ public class BasketsServiceTest {
         Assert.assertEquals(basket, returnedBasket);
     }
 
+    /**
+     * Tests {@link BasketsService#getSummary(Integer)} reads the running totals as they are
+     */
+    @Test
+    public void testGetSummary() {
+        // GIVEN
+        Basket summarizedBasket = new Basket(ID, user, NOW, false, null, FixedPoint.cost(ITEM_PRICE, QUANTITY), 1, 1,
+                true);
+        Mockito.when(basketRepository.findById(ID)).thenReturn(Optional.of(summarizedBasket));
+
+        // WHEN
+        BasketSummary summary = basketsService.getSummary(ID);
+
+        // THEN
+        Assert.assertEquals(new BasketSummary(ID, TOTAL_COST, 1, 1), summary);
+        Mockito.verify(basketRepository, Mockito.never()).refreshTotals(ID);
+    }
+
+    /**
+     * Tests {@link BasketsService#getSummary(Integer)} but for running totals that no longer match the contents
+     */
+    @Test
+    public void testGetSummaryForInvalidTotals() {
+        // GIVEN
+        Basket summarizedBasket = new Basket(ID, user, NOW, false, null, FixedPoint.cost(ITEM_PRICE, QUANTITY), 1, 1,
+                true);
+        Mockito.when(basketRepository.findById(ID)).thenReturn(Optional.of(basket), Optional.of(summarizedBasket));
+
+        // WHEN
+        BasketSummary summary = basketsService.getSummary(ID);
+
+        // THEN
+        Assert.assertEquals(new BasketSummary(ID, TOTAL_COST, 1, 1), summary);
+        Mockito.verify(basketRepository).refreshTotals(ID);
+    }
+
+    /**
+     * Tests {@link BasketsService#onItemPriceChanged(ItemPriceChangedEvent)}
+     */
+    @Test
+    public void testOnItemPriceChanged() {
+        // GIVEN
+
+        // WHEN
+        basketsService.onItemPriceChanged(new ItemPriceChangedEvent(ITEM_ID));
+
+        // THEN
+        Mockito.verify(basketRepository).invalidateTotalsByItemId(ITEM_ID);
+    }
+
     /**
      * Tests {@link BasketsService#get(Integer)} but for a NULL ID
      */
@@ -276,7 +358,7 @@ public class BasketsServiceTest {
     }
 
     /**
-     * Tests Tests {@link BasketsService#checkout(Integer)}
+     * Tests {@link BasketsService#checkout(Integer)}
      */
     @Test
     public void testCheckout() {
@@ -291,6 +373,151 @@ public class BasketsServiceTest {
         basketsService.checkout(ID);
 
         // THEN
+        Mockito.verify(paymentService).pay(ID, TOTAL_COST);
+        Mockito.verify(stockReservationService).reserve(ID, info.getContents());
+        Mockito.verify(stockReservationService).commit(ID);
+        Mockito.verify(stockReservationService, Mockito.never()).release(ID);
+        Assert.assertEquals(1.0, outcomeCount(CheckoutMetrics.Outcome.SUCCESS), 0);
+        Assert.assertEquals(1L, meterRegistry.get(STAGE_DURATION_METRIC)
+                .tag("stage", CheckoutMetrics.Stage.PAYMENT.getTag()).timer().count());
+    }
+
+    /**
+     * Tests {@link BasketsService#checkout(Integer)} but for a {@link Basket} that is checked out already
+     */
+    @Test
+    public void testCheckoutForCheckedOutBasket() {
+        // GIVEN
+        basket.setCheckedOut(true);
+        Mockito.when(basketRepository.findById(ID)).thenReturn(Optional.of(basket));
+
+        // WHEN
+        BasketCheckedOutException exception = Assert.assertThrows(BasketCheckedOutException.class,
+                () -> basketsService.checkout(ID));
+
+        // THEN
+        Assert.assertEquals(String.format(Messages.BASKET_CHECKED_OUT_ALREADY_ERROR, ID), exception.getMessage());
+        Mockito.verifyNoInteractions(basketCheckoutValidator, stockReservationService, paymentService);
+        Assert.assertEquals(1.0, outcomeCount(CheckoutMetrics.Outcome.ALREADY_CHECKED_OUT), 0);
+        Assert.assertEquals(0.0, outcomeCount(CheckoutMetrics.Outcome.SUCCESS), 0);
+    }
+
+    /**
+     * Tests {@link BasketsService#checkout(Integer)} but for a failing payment, which releases the held stock
+     */
+    @Test
+    public void testCheckoutForFailedPayment() {
+        // GIVEN
+        Mockito.when(basketRepository.existsById(ID)).thenReturn(true);
+        BasketCheckoutValidator.BasketCheckoutInfo info = new BasketCheckoutValidator.BasketCheckoutInfo(Map.of(ID, basketContent), TOTAL_COST);
+        Mockito.when(basketRepository.findById(ID)).thenReturn(Optional.of(basket));
+        Mockito.when(basketCheckoutValidator.validateBasketBeforeCheckout(ID)).thenReturn(info);
+        Mockito.doThrow(new PaymentFailedException(String.format(Messages.PAYMENT_DECLINED_ERROR, ID)))
+                .when(paymentService).pay(ID, TOTAL_COST);
+
+        // WHEN
+        Assert.assertThrows(PaymentFailedException.class, () -> basketsService.checkout(ID));
+
+        // THEN
+        Mockito.verify(stockReservationService).reserve(ID, info.getContents());
+        Mockito.verify(stockReservationService).release(ID);
+        Mockito.verify(stockReservationService, Mockito.never()).commit(ID);
+        Assert.assertFalse(basket.isCheckedOut());
+        Assert.assertEquals(1.0, outcomeCount(CheckoutMetrics.Outcome.PAYMENT_FAILED), 0);
+    }
+
+    /**
+     * Tests {@link BasketsService#checkout(Integer)} but for a payment whose outcome is unknown, which keeps the stock
+     * held and the {@link Basket} checked out until the charge is voided
+     */
+    @Test
+    public void testCheckoutForUnknownPaymentOutcome() {
+        // GIVEN
+        Mockito.when(basketRepository.existsById(ID)).thenReturn(true);
+        BasketCheckoutValidator.BasketCheckoutInfo info = new BasketCheckoutValidator.BasketCheckoutInfo(Map.of(ID, basketContent), TOTAL_COST);
+        Mockito.when(basketRepository.findById(ID)).thenReturn(Optional.of(basket));
+        Mockito.when(basketCheckoutValidator.validateBasketBeforeCheckout(ID)).thenReturn(info);
+        Mockito.doThrow(new PaymentOutcomeUnknownException(String.format(Messages.PAYMENT_OUTCOME_UNKNOWN_ERROR, ID)))
+                .when(paymentService).pay(ID, TOTAL_COST);
+
+        // WHEN
+        Assert.assertThrows(PaymentOutcomeUnknownException.class, () -> basketsService.checkout(ID));
+
+        // THEN
+        Mockito.verify(stockReservationService, Mockito.never()).release(ID);
+        Mockito.verify(stockReservationService, Mockito.never()).commit(ID);
+        Assert.assertTrue(basket.isCheckedOut());
+        Assert.assertEquals(1.0, outcomeCount(CheckoutMetrics.Outcome.PAYMENT_UNAVAILABLE), 0);
+    }
+
+    /**
+     * Tests {@link BasketsService#checkout(Integer)} but for held stock that is released while paying, which voids
+     * the charge
+     */
+    @Test
+    public void testCheckoutForExpiredReservation() {
+        // GIVEN
+        Mockito.when(basketRepository.existsById(ID)).thenReturn(true);
+        BasketCheckoutValidator.BasketCheckoutInfo info = new BasketCheckoutValidator.BasketCheckoutInfo(Map.of(ID, basketContent), TOTAL_COST);
+        Mockito.when(basketRepository.findById(ID)).thenReturn(Optional.of(basket));
+        Mockito.when(basketCheckoutValidator.validateBasketBeforeCheckout(ID)).thenReturn(info);
+        Mockito.doThrow(new ReservationExpiredException(String.format(Messages.RESERVATION_EXPIRED_ERROR, ID)))
+                .when(stockReservationService).commit(ID);
+
+        // WHEN
+        Assert.assertThrows(ReservationExpiredException.class, () -> basketsService.checkout(ID));
+
+        // THEN
+        InOrder inOrder = Mockito.inOrder(paymentService);
+        inOrder.verify(paymentService).pay(ID, TOTAL_COST);
+        inOrder.verify(paymentService).voidCharge(ID);
+        Assert.assertEquals(1.0, outcomeCount(CheckoutMetrics.Outcome.CONFLICT), 0);
+    }
+
+    /**
+     * Tests {@link BasketsService#checkout(Integer)} is retried when the {@link Basket} is changed concurrently
+     */
+    @Test
+    public void testCheckoutForConcurrentChange() {
+        // GIVEN
+        Mockito.when(basketRepository.existsById(ID)).thenReturn(true);
+        BasketCheckoutValidator.BasketCheckoutInfo info = new BasketCheckoutValidator.BasketCheckoutInfo(Map.of(ID, basketContent), TOTAL_COST);
+        // Every attempt reads the basket afresh
+        Mockito.when(basketRepository.findById(ID)).thenAnswer(invocation -> Optional.of(new Basket(ID, user, NOW, false, null)));
+        Mockito.when(basketCheckoutValidator.validateBasketBeforeCheckout(ID)).thenReturn(info);
+        Mockito.when(basketRepository.save(Mockito.any(Basket.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Basket.class, ID))
+                .thenReturn(basket);
+
+        // WHEN
+        basketsService.checkout(ID);
+
+        // THEN
+        Mockito.verify(stockReservationService, Mockito.times(2)).reserve(ID, info.getContents());
+        Mockito.verify(basketRepository, Mockito.times(2)).save(Mockito.any(Basket.class));
+    }
+
+    /**
+     * Tests {@link BasketsService#checkout(Integer)} but for a {@link Basket} that keeps being changed concurrently
+     */
+    @Test
+    public void testCheckoutForExhaustedAttempts() {
+        // GIVEN
+        Mockito.when(basketRepository.existsById(ID)).thenReturn(true);
+        BasketCheckoutValidator.BasketCheckoutInfo info = new BasketCheckoutValidator.BasketCheckoutInfo(Map.of(ID, basketContent), TOTAL_COST);
+        Mockito.when(basketRepository.findById(ID)).thenAnswer(invocation -> Optional.of(new Basket(ID, user, NOW, false, null)));
+        Mockito.when(basketCheckoutValidator.validateBasketBeforeCheckout(ID)).thenReturn(info);
+        Mockito.when(basketRepository.save(Mockito.any(Basket.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Basket.class, ID));
+
+        // WHEN
+        Assert.assertThrows(ObjectOptimisticLockingFailureException.class, () -> basketsService.checkout(ID));
+
+        // THEN
+        Mockito.verify(stockReservationService, Mockito.times(MAX_ATTEMPTS)).reserve(ID, info.getContents());
+    }
 
+    private double outcomeCount(CheckoutMetrics.Outcome outcome) {
+        return meterRegistry.get(OUTCOMES_METRIC).tag("outcome", outcome.getTag()).counter().count();
     }
-}
\ No newline at end of file
+}
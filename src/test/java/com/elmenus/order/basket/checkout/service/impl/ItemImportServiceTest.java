@@ -0,0 +1,125 @@
+package com.elmenus.order.basket.checkout.service.impl;
+
+import com.elmenus.order.basket.checkout.constants.Messages;
+import com.elmenus.order.basket.checkout.dto.ItemImportDto;
+import com.elmenus.order.basket.checkout.model.Item;
+import com.elmenus.order.basket.checkout.model.ItemImportResult;
+import com.elmenus.order.basket.checkout.util.FixedPoint;
+import com.elmenus.order.basket.checkout.validation.ItemValidator;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.dao.DataIntegrityViolationException;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+
+/**
+ * Test class for {@link ItemImportService}
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class ItemImportServiceTest {
+    // region field values
+    private static final int ID = 1;
+    private static final int NONEXISTENT_ID = 2;
+    private static final String NAME = "Cheese";
+    private static final long PRICE = FixedPoint.money(10);
+    private static final long QUANTITY = FixedPoint.quantity(100);
+    private static final int BATCH_SIZE = 2;
+    private static final String ERROR_MESSAGE = "Value too long";
+    // endregion
+
+    @Mock
+    private ItemsService itemsService;
+
+    private ItemImportService itemImportService;
+
+    @Before
+    public void setUp() {
+        itemImportService = new ItemImportService(itemsService, new ItemValidator(), Schedulers.immediate(),
+                BATCH_SIZE);
+    }
+
+    /**
+     * Tests {@link ItemImportService#importItems(Flux)} writes the records in batches
+     */
+    @Test
+    public void testImportItems() {
+        // GIVEN
+        Item changedItem = new Item(ID, NAME, PRICE, QUANTITY, 0L, null);
+        Mockito.when(itemsService.importItems(ArgumentMatchers.anyList(), ArgumentMatchers.eq(List.of())))
+                .thenReturn(new int[0]);
+        Mockito.when(itemsService.importItems(List.of(), List.of(changedItem))).thenReturn(new int[]{1});
+
+        // WHEN
+        ItemImportResult result = itemImportService.importItems(Flux.just(
+                new ItemImportDto(null, NAME, PRICE, QUANTITY),
+                new ItemImportDto(null, NAME, PRICE, QUANTITY),
+                new ItemImportDto(ID, NAME, PRICE, QUANTITY))).block();
+
+        // THEN
+        Assert.assertNotNull(result);
+        Assert.assertEquals(2, result.getCreated());
+        Assert.assertEquals(1, result.getUpdated());
+        Assert.assertTrue(result.getErrors().isEmpty());
+        Mockito.verify(itemsService, Mockito.times(2))
+                .importItems(ArgumentMatchers.anyList(), ArgumentMatchers.anyList());
+    }
+
+    /**
+     * Tests {@link ItemImportService#importItems(Flux)} rejects invalid records and records of missing {@link Item}s
+     * on their own
+     */
+    @Test
+    public void testImportItemsForRejectedRecords() {
+        // GIVEN
+        Mockito.when(itemsService.importItems(List.of(),
+                List.of(new Item(NONEXISTENT_ID, NAME, PRICE, QUANTITY, 0L, null)))).thenReturn(new int[]{0});
+
+        // WHEN
+        ItemImportResult result = itemImportService.importItems(Flux.just(
+                new ItemImportDto(null, NAME, 0L, QUANTITY),
+                new ItemImportDto(NONEXISTENT_ID, NAME, PRICE, QUANTITY))).block();
+
+        // THEN
+        Assert.assertNotNull(result);
+        Assert.assertEquals(0, result.getCreated());
+        Assert.assertEquals(0, result.getUpdated());
+        Assert.assertEquals(List.of(
+                new ItemImportResult.ItemImportError(0, null, Messages.PRICE_NEGATIVE_ERROR),
+                new ItemImportResult.ItemImportError(1, NONEXISTENT_ID,
+                        String.format(Messages.ITEM_NOT_FOUND_ERROR, NONEXISTENT_ID))), result.getErrors());
+    }
+
+    /**
+     * Tests {@link ItemImportService#importItems(Flux)} rejects the records of a batch that fails to be written, and
+     * goes on with the next batch
+     */
+    @Test
+    public void testImportItemsForFailedBatch() {
+        // GIVEN
+        Mockito.when(itemsService.importItems(ArgumentMatchers.anyList(), ArgumentMatchers.anyList()))
+                .thenThrow(new DataIntegrityViolationException(ERROR_MESSAGE))
+                .thenReturn(new int[0]);
+
+        // WHEN
+        ItemImportResult result = itemImportService.importItems(Flux.just(
+                new ItemImportDto(null, NAME, PRICE, QUANTITY),
+                new ItemImportDto(null, NAME, PRICE, QUANTITY),
+                new ItemImportDto(null, NAME, PRICE, QUANTITY))).block();
+
+        // THEN
+        Assert.assertNotNull(result);
+        Assert.assertEquals(1, result.getCreated());
+        Assert.assertEquals(2, result.getErrors().size());
+        String errorMessage = String.format(Messages.ITEM_IMPORT_BATCH_ERROR, BATCH_SIZE, ERROR_MESSAGE);
+        Assert.assertEquals(new ItemImportResult.ItemImportError(0, null, errorMessage), result.getErrors().get(0));
+        Assert.assertEquals(new ItemImportResult.ItemImportError(1, null, errorMessage), result.getErrors().get(1));
+    }
+}
@@ -1,19 +1,33 @@
 package com.elmenus.order.basket.checkout.service.impl;
 
+import com.elmenus.order.basket.checkout.constants.Constants;
 import com.elmenus.order.basket.checkout.constants.Messages;
 import com.elmenus.order.basket.checkout.dto.ItemDto;
+import com.elmenus.order.basket.checkout.exception.InsufficientItemQuantityException;
+import com.elmenus.order.basket.checkout.inventory.ItemQuantityChangedEvent;
+import com.elmenus.order.basket.checkout.model.BasketContent;
 import com.elmenus.order.basket.checkout.model.Item;
+import com.elmenus.order.basket.checkout.model.ItemInfo;
+import com.elmenus.order.basket.checkout.repository.EntityStreamer;
 import com.elmenus.order.basket.checkout.repository.ItemRepository;
+import com.elmenus.order.basket.checkout.util.FixedPoint;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentMatchers;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import reactor.core.publisher.Flux;
 
 import javax.persistence.EntityNotFoundException;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
@@ -25,9 +39,13 @@ public class ItemsServiceTest {
     // region field values
     private static final int ID = 1;
     private static final String NAME = "Cheese";
-    private static final float PRICE = 10F;
-    private static final float QUANTITY = 100F;
-    private static final float MODIFIED_QUANTITY = 200F;
+    private static final long PRICE = FixedPoint.money(10);
+    private static final long QUANTITY = FixedPoint.quantity(100);
+    private static final long MODIFIED_PRICE = FixedPoint.money(12);
+    private static final long MODIFIED_QUANTITY = FixedPoint.quantity(200);
+    private static final long REQUIRED_QUANTITY = FixedPoint.quantity(10);
+    private static final int CONTENT_ID = 2;
+    private static final int PAGE_LIMIT = 10;
     // endregion
 
     private ItemsService itemsService;
@@ -35,14 +53,22 @@ public class ItemsServiceTest {
     @Mock
     private ItemRepository itemRepository;
 
+    @Mock
+    private EntityStreamer entityStreamer;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private Cache<Integer, ItemInfo> itemInfoCache;
     private Item item;
     private ItemDto itemDto;
 
     @Before
     public void setUp() throws Exception {
-        itemsService = Mockito.spy(new ItemsService(itemRepository));
+        itemInfoCache = Caffeine.newBuilder().build();
+        itemsService = Mockito.spy(new ItemsService(itemRepository, entityStreamer, itemInfoCache, eventPublisher));
 
-        item = new Item(ID, NAME, PRICE, QUANTITY);
+        item = new Item(ID, NAME, PRICE, QUANTITY, 0L, null);
         itemDto = new ItemDto(NAME, PRICE, QUANTITY);
     }
 
@@ -63,6 +89,54 @@ public class ItemsServiceTest {
         Assert.assertEquals(1, items.size());
     }
 
+    /**
+     * Tests {@link ItemsService#getAll(Integer, int)}
+     */
+    @Test
+    public void testGetAllAfter() {
+        // GIVEN
+        Mockito.when(itemRepository.findByIdGreaterThanOrderByIdAsc(ID - 1, PageRequest.of(0, PAGE_LIMIT)))
+                .thenReturn(List.of(item));
+
+        // WHEN
+        List<Item> items = itemsService.getAll(ID - 1, PAGE_LIMIT);
+
+        // THEN
+        Assert.assertEquals(List.of(item), items);
+    }
+
+    /**
+     * Tests {@link ItemsService#getAll(Integer, int)} but for a limit above the maximum
+     */
+    @Test
+    public void testGetAllAfterForInvalidLimit() {
+        // GIVEN
+
+        // WHEN
+        IllegalArgumentException exception = Assert.assertThrows(IllegalArgumentException.class,
+                () -> itemsService.getAll(null, Constants.MAX_PAGE_LIMIT + 1));
+
+        // THEN
+        Assert.assertEquals(String.format(Messages.PAGE_LIMIT_INVALID_ERROR, Constants.MAX_PAGE_LIMIT), exception.getMessage());
+        Mockito.verifyNoInteractions(itemRepository);
+    }
+
+    /**
+     * Tests {@link ItemsService#stream()}
+     */
+    @Test
+    public void testStream() {
+        // GIVEN
+        Mockito.when(entityStreamer.stream(ArgumentMatchers.anyString(), ArgumentMatchers.eq(Item.class)))
+                .thenReturn(Flux.just(item));
+
+        // WHEN
+        List<Item> items = itemsService.stream().collectList().block();
+
+        // THEN
+        Assert.assertEquals(List.of(item), items);
+    }
+
     /**
      * Tests {@link ItemsService#get(Integer)}
      */
@@ -141,7 +215,66 @@ public class ItemsServiceTest {
 
         // THEN
         Mockito.verify(itemRepository).save(item);
-        Assert.assertEquals(MODIFIED_QUANTITY, item.getQuantity(), 0.01);
+        Assert.assertEquals(MODIFIED_QUANTITY, item.getQuantity());
+        Mockito.verify(eventPublisher).publishEvent(new ItemQuantityChangedEvent(ID, MODIFIED_QUANTITY - QUANTITY));
+    }
+
+    /**
+     * Tests {@link ItemsService#update(Integer, ItemDto)} but for an unchanged quantity
+     */
+    @Test
+    public void testUpdateForUnchangedQuantity() {
+        // GIVEN
+        Mockito.when(itemRepository.findById(ID)).thenReturn(Optional.of(item));
+
+        // WHEN
+        itemsService.update(ID, itemDto);
+
+        // THEN
+        Mockito.verify(itemRepository).save(item);
+        Mockito.verifyNoInteractions(eventPublisher);
+    }
+
+    /**
+     * Tests {@link ItemsService#update(Integer, ItemDto)} but for a changed price
+     */
+    @Test
+    public void testUpdateForChangedPrice() {
+        // GIVEN
+        Mockito.when(itemRepository.findById(ID)).thenReturn(Optional.of(item));
+        itemDto.setPrice(MODIFIED_PRICE);
+
+        // WHEN
+        itemsService.update(ID, itemDto);
+
+        // THEN
+        Mockito.verify(itemRepository).save(item);
+        Assert.assertEquals(MODIFIED_PRICE, item.getPrice());
+        Mockito.verify(eventPublisher).publishEvent(new ItemPriceChangedEvent(ID));
+    }
+
+    /**
+     * Tests {@link ItemsService#importItems(List, List)}, which publishes the changes of the updated {@link Item}s
+     * only
+     */
+    @Test
+    public void testImportItems() {
+        // GIVEN
+        Item newItem = new Item(null, NAME, PRICE, QUANTITY, 0L, null);
+        Item changedItem = new Item(ID, NAME, MODIFIED_PRICE, MODIFIED_QUANTITY, 0L, null);
+        Item missingItem = new Item(CONTENT_ID, NAME, PRICE, QUANTITY, 0L, null);
+        Mockito.when(itemRepository.findAllById(Set.of(ID, CONTENT_ID))).thenReturn(List.of(item));
+        Mockito.when(itemRepository.updateItems(List.of(changedItem, missingItem))).thenReturn(new int[]{1, 0});
+
+        // WHEN
+        int[] updateCounts = itemsService.importItems(List.of(newItem), List.of(changedItem, missingItem));
+
+        // THEN
+        Assert.assertArrayEquals(new int[]{1, 0}, updateCounts);
+        Mockito.verify(itemRepository).insertItems(List.of(newItem));
+        Mockito.verify(eventPublisher).publishEvent(new ItemQuantityChangedEvent(ID, MODIFIED_QUANTITY - QUANTITY));
+        Mockito.verify(eventPublisher).publishEvent(new ItemPriceChangedEvent(ID));
+        Mockito.verifyNoMoreInteractions(eventPublisher);
     }
 
     /**
@@ -237,4 +370,221 @@ public class ItemsServiceTest {
         String errorMessage = String.format(Messages.ITEM_NOT_FOUND_ERROR, ID);
         Assert.assertEquals(errorMessage, exception.getMessage());
     }
-}
\ No newline at end of file
+
+    /**
+     * Tests {@link ItemsService#getAllById(java.util.Collection)}
+     */
+    @Test
+    public void testGetAllById() {
+        // GIVEN
+        Mockito.when(itemRepository.findAllById(Set.of(ID))).thenReturn(List.of(item));
+
+        // WHEN
+        Map<Integer, Item> items = itemsService.getAllById(Set.of(ID));
+
+        // THEN
+        Assert.assertEquals(Map.of(ID, item), items);
+    }
+
+    /**
+     * Tests {@link ItemsService#getAllById(java.util.Collection)} but for a nonexistent {@link Item}
+     */
+    @Test
+    public void testGetAllByIdForNonexistentItem() {
+        // GIVEN
+        Mockito.when(itemRepository.findAllById(Set.of(ID, CONTENT_ID))).thenReturn(List.of(item));
+
+        // WHEN
+        EntityNotFoundException exception = Assert.assertThrows(EntityNotFoundException.class,
+                () -> itemsService.getAllById(Set.of(ID, CONTENT_ID)));
+
+        // THEN
+        Assert.assertEquals(String.format(Messages.ITEM_NOT_FOUND_ERROR, CONTENT_ID), exception.getMessage());
+    }
+
+    /**
+     * Tests {@link ItemsService#getInfo(Integer)} reads the {@link Item} from the database only once
+     */
+    @Test
+    public void testGetInfo() {
+        // GIVEN
+        Mockito.when(itemRepository.findById(ID)).thenReturn(Optional.of(item));
+
+        // WHEN
+        ItemInfo itemInfo = itemsService.getInfo(ID);
+        ItemInfo cachedItemInfo = itemsService.getInfo(ID);
+
+        // THEN
+        Assert.assertEquals(new ItemInfo(ID, NAME, PRICE), itemInfo);
+        Assert.assertSame(itemInfo, cachedItemInfo);
+        Mockito.verify(itemRepository, Mockito.times(1)).findById(ID);
+    }
+
+    /**
+     * Tests {@link ItemsService#getInfo(Integer)} but for a nonexistent {@link Item}, which should not be cached
+     */
+    @Test
+    public void testGetInfoForNonexistentItem() {
+        // GIVEN
+        Mockito.when(itemRepository.findById(ID)).thenReturn(Optional.empty());
+
+        // WHEN
+        Assert.assertThrows(EntityNotFoundException.class, () -> itemsService.getInfo(ID));
+
+        // THEN
+        Assert.assertNull(itemInfoCache.getIfPresent(ID));
+    }
+
+    /**
+     * Tests {@link ItemsService#update(Integer, ItemDto)} evicts the cached {@link ItemInfo}
+     */
+    @Test
+    public void testUpdateInvalidatesItemInfo() {
+        // GIVEN
+        Mockito.when(itemRepository.findById(ID)).thenReturn(Optional.of(item));
+        itemsService.getInfo(ID);
+
+        // WHEN
+        itemsService.update(ID, itemDto);
+
+        // THEN
+        Assert.assertNull(itemInfoCache.getIfPresent(ID));
+    }
+
+    /**
+     * Tests {@link ItemsService#delete(Integer)} evicts the cached {@link ItemInfo}
+     */
+    @Test
+    public void testDeleteInvalidatesItemInfo() {
+        // GIVEN
+        Mockito.when(itemRepository.findById(ID)).thenReturn(Optional.of(item));
+        Mockito.when(itemRepository.existsById(ID)).thenReturn(true);
+        itemsService.getInfo(ID);
+
+        // WHEN
+        itemsService.delete(ID);
+
+        // THEN
+        Assert.assertNull(itemInfoCache.getIfPresent(ID));
+    }
+
+    /**
+     * Tests {@link ItemsService#decreaseQuantity(Integer, long)}
+     */
+    @Test
+    public void testDecreaseQuantity() {
+        // GIVEN
+        Mockito.when(itemRepository.decreaseQuantity(ID, REQUIRED_QUANTITY)).thenReturn(1);
+
+        // WHEN
+        itemsService.decreaseQuantity(ID, REQUIRED_QUANTITY);
+
+        // THEN
+        Mockito.verify(itemRepository).decreaseQuantity(ID, REQUIRED_QUANTITY);
+        Mockito.verify(itemRepository, Mockito.never()).findById(ID);
+        Mockito.verify(itemRepository, Mockito.never()).save(Mockito.any());
+    }
+
+    /**
+     * Tests {@link ItemsService#decreaseQuantity(Integer, long)} but for an insufficient quantity
+     */
+    @Test
+    public void testDecreaseQuantityForInsufficientQuantity() {
+        // GIVEN
+        Mockito.when(itemRepository.decreaseQuantity(ID, QUANTITY + 1)).thenReturn(0);
+        Mockito.when(itemRepository.findById(ID)).thenReturn(Optional.of(item));
+
+        // WHEN
+        InsufficientItemQuantityException exception = Assert.assertThrows(InsufficientItemQuantityException.class,
+                () -> itemsService.decreaseQuantity(ID, QUANTITY + 1));
+
+        // THEN
+        Assert.assertNotNull(exception);
+        String errorMessage = String.format(Messages.INSUFFICIENT_ITEM_QUANTITY_ERROR, NAME);
+        Assert.assertEquals(errorMessage, exception.getMessage());
+    }
+
+    /**
+     * Tests {@link ItemsService#decreaseQuantity(Integer, long)} but for a nonexistent {@link Item}
+     */
+    @Test
+    public void testDecreaseQuantityForNonexistentItem() {
+        // GIVEN
+        Mockito.when(itemRepository.decreaseQuantity(ID, REQUIRED_QUANTITY)).thenReturn(0);
+        Mockito.when(itemRepository.findById(ID)).thenReturn(Optional.empty());
+
+        // WHEN
+        EntityNotFoundException exception = Assert.assertThrows(EntityNotFoundException.class,
+                () -> itemsService.decreaseQuantity(ID, REQUIRED_QUANTITY));
+
+        // THEN
+        Assert.assertNotNull(exception);
+        String errorMessage = String.format(Messages.ITEM_NOT_FOUND_ERROR, ID);
+        Assert.assertEquals(errorMessage, exception.getMessage());
+    }
+
+    /**
+     * Tests {@link ItemsService#reserveQuantities(Map)}
+     */
+    @Test
+    public void testReserveQuantities() {
+        // GIVEN
+        BasketContent basketContent = new BasketContent(CONTENT_ID, null, item, REQUIRED_QUANTITY);
+        Mockito.when(itemRepository.reserveQuantities(List.of(ID), List.of(REQUIRED_QUANTITY))).thenReturn(new int[]{1});
+
+        // WHEN
+        itemsService.reserveQuantities(Map.of(ID, basketContent));
+
+        // THEN
+        Mockito.verify(itemRepository).reserveQuantities(List.of(ID), List.of(REQUIRED_QUANTITY));
+        Mockito.verify(itemRepository, Mockito.never()).findById(ID);
+    }
+
+    /**
+     * Tests {@link ItemsService#reserveQuantities(Map)} but for an insufficient quantity
+     */
+    @Test
+    public void testReserveQuantitiesForInsufficientQuantity() {
+        // GIVEN
+        BasketContent basketContent = new BasketContent(CONTENT_ID, null, item, QUANTITY + 1);
+        Mockito.when(itemRepository.reserveQuantities(List.of(ID), List.of(QUANTITY + 1))).thenReturn(new int[]{0});
+        Mockito.when(itemRepository.findById(ID)).thenReturn(Optional.of(item));
+
+        // WHEN
+        InsufficientItemQuantityException exception = Assert.assertThrows(InsufficientItemQuantityException.class,
+                () -> itemsService.reserveQuantities(Map.of(ID, basketContent)));
+
+        // THEN
+        Assert.assertNotNull(exception);
+        String errorMessage = String.format(Messages.INSUFFICIENT_ITEM_QUANTITY_ERROR, NAME);
+        Assert.assertEquals(errorMessage, exception.getMessage());
+    }
+
+    /**
+     * Tests {@link ItemsService#releaseQuantities(Map)}
+     */
+    @Test
+    public void testReleaseQuantities() {
+        // GIVEN
+
+        // WHEN
+        itemsService.releaseQuantities(Map.of(ID, REQUIRED_QUANTITY));
+
+        // THEN
+        Mockito.verify(itemRepository).releaseQuantities(List.of(ID), List.of(REQUIRED_QUANTITY));
+    }
+
+    /**
+     * Tests {@link ItemsService#deductReservedQuantities(Map)}
+     */
+    @Test
+    public void testDeductReservedQuantities() {
+        // GIVEN
+
+        // WHEN
+        itemsService.deductReservedQuantities(Map.of(ID, REQUIRED_QUANTITY));
+
+        // THEN
+        Mockito.verify(itemRepository).deductReservedQuantities(List.of(ID), List.of(REQUIRED_QUANTITY));
+    }
+}
@@ -0,0 +1,231 @@
+package com.elmenus.order.basket.checkout.service.impl;
+
+import com.elmenus.order.basket.checkout.concurrency.OptimisticRetryTemplate;
+import com.elmenus.order.basket.checkout.config.InventoryConfig;
+import com.elmenus.order.basket.checkout.config.ItemCacheConfig;
+import com.elmenus.order.basket.checkout.constants.Messages;
+import com.elmenus.order.basket.checkout.exception.InsufficientItemQuantityException;
+import com.elmenus.order.basket.checkout.exception.PaymentOutcomeUnknownException;
+import com.elmenus.order.basket.checkout.exception.ReservationExpiredException;
+import com.elmenus.order.basket.checkout.model.Basket;
+import com.elmenus.order.basket.checkout.model.BasketContent;
+import com.elmenus.order.basket.checkout.model.Item;
+import com.elmenus.order.basket.checkout.model.StockReservation;
+import com.elmenus.order.basket.checkout.model.User;
+import com.elmenus.order.basket.checkout.payment.PaymentService;
+import com.elmenus.order.basket.checkout.repository.BasketRepository;
+import com.elmenus.order.basket.checkout.repository.EntityStreamer;
+import com.elmenus.order.basket.checkout.repository.ItemRepository;
+import com.elmenus.order.basket.checkout.repository.StockReservationRepository;
+import com.elmenus.order.basket.checkout.repository.UserRepository;
+import com.elmenus.order.basket.checkout.util.FixedPoint;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Date;
+import java.util.Map;
+
+/**
+ * Test class for {@link StockReservationService}
+ */
+@RunWith(SpringRunner.class)
+@DataJpaTest(properties = {"checkout.reservation.time-to-live=5m", "checkout.optimistic-lock.max-attempts=3"})
+@Import({StockReservationService.class, ItemsService.class, EntityStreamer.class, OptimisticRetryTemplate.class,
+        ItemCacheConfig.class, InventoryConfig.class, SimpleMeterRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class StockReservationServiceTest {
+    // region field values
+    private static final String USER_FIRSTNAME = "John";
+    private static final String USER_LASTNAME = "Smith";
+    private static final String USER_USERNAME = "jsmith";
+    private static final String USER_EMAIL = "smith@example.org";
+
+    private static final String ITEM_NAME = "Cheese";
+    private static final long PRICE = FixedPoint.money(10);
+    private static final long QUANTITY = FixedPoint.quantity(100);
+    private static final long REQUIRED_QUANTITY = FixedPoint.quantity(60);
+    // endregion
+
+    @Autowired
+    private StockReservationService stockReservationService;
+
+    @Autowired
+    private StockReservationRepository stockReservationRepository;
+
+    @MockBean
+    private PaymentService paymentService;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private BasketRepository basketRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Item item;
+    private Basket basket;
+    private Basket otherBasket;
+
+    @Before
+    public void setUp() {
+        User user = userRepository.save(new User(null, USER_FIRSTNAME, USER_LASTNAME, USER_USERNAME, USER_EMAIL));
+        item = itemRepository.save(new Item(null, ITEM_NAME, PRICE, QUANTITY, 0L, null));
+        basket = basketRepository.save(new Basket(null, user, new Date(), true, null));
+        otherBasket = basketRepository.save(new Basket(null, user, new Date(), true, null));
+    }
+
+    @After
+    public void teardown() {
+        stockReservationRepository.deleteAll();
+        basketRepository.deleteAll();
+        itemRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    /**
+     * Tests {@link StockReservationService#reserve(Integer, Map)} holds the quantity without deducting it, so it is
+     * not available to another {@link Basket}
+     */
+    @Test
+    public void testReserve() {
+        // GIVEN
+
+        // WHEN
+        stockReservationService.reserve(basket.getId(), contentsOf(basket));
+
+        // THEN
+        Assert.assertEquals(QUANTITY, getItem().getQuantity());
+        Assert.assertEquals(REQUIRED_QUANTITY, getItem().getReserved());
+        Assert.assertEquals(1, stockReservationRepository.findByBasketId(basket.getId()).size());
+        Assert.assertThrows(InsufficientItemQuantityException.class,
+                () -> stockReservationService.reserve(otherBasket.getId(), contentsOf(otherBasket)));
+    }
+
+    /**
+     * Tests {@link StockReservationService#commit(Integer)} deducts the held quantity from stock
+     */
+    @Test
+    public void testCommit() {
+        // GIVEN
+        stockReservationService.reserve(basket.getId(), contentsOf(basket));
+
+        // WHEN
+        stockReservationService.commit(basket.getId());
+
+        // THEN
+        Assert.assertEquals(QUANTITY - REQUIRED_QUANTITY, getItem().getQuantity());
+        Assert.assertEquals(0L, getItem().getReserved());
+        Assert.assertTrue(stockReservationRepository.findByBasketId(basket.getId()).isEmpty());
+    }
+
+    /**
+     * Tests {@link StockReservationService#commit(Integer)} but for holds that have been released already
+     */
+    @Test
+    public void testCommitForReleasedReservations() {
+        // GIVEN
+        stockReservationService.reserve(basket.getId(), contentsOf(basket));
+        stockReservationService.release(basket.getId());
+
+        // WHEN
+        ReservationExpiredException exception = Assert.assertThrows(ReservationExpiredException.class,
+                () -> stockReservationService.commit(basket.getId()));
+
+        // THEN
+        Assert.assertEquals(String.format(Messages.RESERVATION_EXPIRED_ERROR, basket.getId()), exception.getMessage());
+        Assert.assertEquals(QUANTITY, getItem().getQuantity());
+    }
+
+    /**
+     * Tests {@link StockReservationService#release(Integer)} makes the held quantity available again
+     */
+    @Test
+    public void testRelease() {
+        // GIVEN
+        stockReservationService.reserve(basket.getId(), contentsOf(basket));
+
+        // WHEN
+        boolean released = stockReservationService.release(basket.getId());
+
+        // THEN
+        Assert.assertTrue(released);
+        Assert.assertFalse(stockReservationService.release(basket.getId()));
+        Assert.assertEquals(QUANTITY, getItem().getQuantity());
+        Assert.assertEquals(0L, getItem().getReserved());
+        stockReservationService.reserve(otherBasket.getId(), contentsOf(otherBasket));
+    }
+
+    /**
+     * Tests {@link StockReservationService#releaseExpired()} releases expired holds only and reopens their
+     * {@link Basket}s
+     */
+    @Test
+    public void testReleaseExpired() {
+        // GIVEN
+        stockReservationService.reserve(basket.getId(), Map.of(item.getId(),
+                new BasketContent(null, basket, item, REQUIRED_QUANTITY / 2)));
+        stockReservationService.reserve(otherBasket.getId(), Map.of(item.getId(),
+                new BasketContent(null, otherBasket, item, REQUIRED_QUANTITY / 2)));
+        for (StockReservation reservation : stockReservationRepository.findByBasketId(basket.getId())) {
+            reservation.setExpiresAt(new Date(0));
+            stockReservationRepository.save(reservation);
+        }
+
+        // WHEN
+        stockReservationService.releaseExpired();
+
+        // THEN
+        Mockito.verify(paymentService).voidCharge(basket.getId());
+        Mockito.verify(paymentService, Mockito.never()).voidCharge(otherBasket.getId());
+        Assert.assertEquals(REQUIRED_QUANTITY / 2, getItem().getReserved());
+        Assert.assertTrue(stockReservationRepository.findByBasketId(basket.getId()).isEmpty());
+        Assert.assertFalse(basketRepository.findById(basket.getId()).orElseThrow().isCheckedOut());
+        Assert.assertTrue(basketRepository.findById(otherBasket.getId()).orElseThrow().isCheckedOut());
+    }
+
+    /**
+     * Tests {@link StockReservationService#releaseExpired()} but for a charge that cannot be voided, which keeps the
+     * holds and the {@link Basket} checked out until a later run voids it
+     */
+    @Test
+    public void testReleaseExpiredForFailedVoid() {
+        // GIVEN
+        stockReservationService.reserve(basket.getId(), contentsOf(basket));
+        for (StockReservation reservation : stockReservationRepository.findByBasketId(basket.getId())) {
+            reservation.setExpiresAt(new Date(0));
+            stockReservationRepository.save(reservation);
+        }
+        Mockito.doThrow(new PaymentOutcomeUnknownException(String.format(Messages.PAYMENT_OUTCOME_UNKNOWN_ERROR,
+                basket.getId()))).when(paymentService).voidCharge(basket.getId());
+
+        // WHEN
+        stockReservationService.releaseExpired();
+
+        // THEN
+        Assert.assertEquals(REQUIRED_QUANTITY, getItem().getReserved());
+        Assert.assertFalse(stockReservationRepository.findByBasketId(basket.getId()).isEmpty());
+        Assert.assertTrue(basketRepository.findById(basket.getId()).orElseThrow().isCheckedOut());
+    }
+
+    private Map<Integer, BasketContent> contentsOf(Basket basket) {
+        return Map.of(item.getId(), new BasketContent(null, basket, item, REQUIRED_QUANTITY));
+    }
+
+    private Item getItem() {
+        return itemRepository.findById(item.getId()).orElseThrow();
+    }
+}
@@ -3,6 +3,7 @@ package com.elmenus.order.basket.checkout.service.impl;
 import com.elmenus.order.basket.checkout.constants.Messages;
 import com.elmenus.order.basket.checkout.dto.UserDto;
 import com.elmenus.order.basket.checkout.model.User;
+import com.elmenus.order.basket.checkout.repository.EntityStreamer;
 import com.elmenus.order.basket.checkout.repository.UserRepository;
 import org.junit.Assert;
 import org.junit.Before;
@@ -36,12 +37,15 @@ public class UsersServiceTest {
     @Mock
     UserRepository userRepository;
 
+    @Mock
+    EntityStreamer entityStreamer;
+
     User user;
     UserDto userDto;
 
     @Before
     public void setUp() throws Exception {
-        usersService = Mockito.spy(new UsersService(userRepository));
+        usersService = Mockito.spy(new UsersService(userRepository, entityStreamer));
 
         user = new User(ID, FIRSTNAME, LASTNAME, USERNAME, EMAIL);
         userDto = new UserDto(FIRSTNAME, LASTNAME, USERNAME, EMAIL);
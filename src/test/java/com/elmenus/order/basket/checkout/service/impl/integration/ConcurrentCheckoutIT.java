@@ -0,0 +1,117 @@
+package com.elmenus.order.basket.checkout.service.impl.integration;
+
+import com.elmenus.order.basket.checkout.model.Basket;
+import com.elmenus.order.basket.checkout.model.BasketContent;
+import com.elmenus.order.basket.checkout.model.Item;
+import com.elmenus.order.basket.checkout.model.User;
+import com.elmenus.order.basket.checkout.repository.BasketContentRepository;
+import com.elmenus.order.basket.checkout.repository.BasketRepository;
+import com.elmenus.order.basket.checkout.repository.ItemRepository;
+import com.elmenus.order.basket.checkout.repository.UserRepository;
+import com.elmenus.order.basket.checkout.service.impl.BasketsService;
+import com.elmenus.order.basket.checkout.util.FixedPoint;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Integration test class for {@link BasketsService} that checks out the same {@link Basket} concurrently
+ **/
+@RunWith(SpringRunner.class)
+// A database of its own, as the IDs it uses up would otherwise shift the ones expected by the other integration tests
+@SpringBootTest(properties = {"webclientexample.postsapi.h2-console-port=0",
+        "spring.datasource.url=jdbc:h2:mem:concurrent-checkout"})
+public class ConcurrentCheckoutIT {
+    // region field values
+    private static final int CHECKOUT_COUNT = 8;
+    private static final long PRICE = FixedPoint.money(10);
+    private static final long ITEM_QUANTITY = FixedPoint.quantity(100);
+    private static final long QUANTITY = FixedPoint.quantity(20);
+    // endregion
+
+    @Autowired
+    private BasketsService basketsService;
+
+    @Autowired
+    private BasketRepository basketRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BasketContentRepository basketContentRepository;
+
+    private Basket basket;
+    private Item item;
+
+    @Before
+    public void setUp() {
+        User user = userRepository.save(new User(null, "John", "Smith", "jsmith", "smith@example.org"));
+        basket = basketRepository.save(new Basket(null, user, new Date(), false, null));
+        item = itemRepository.save(new Item(null, "Cheese", PRICE, ITEM_QUANTITY, 0L, null));
+        basketContentRepository.save(new BasketContent(null, basket, item, QUANTITY));
+    }
+
+    @After
+    public void teardown() {
+        basketContentRepository.deleteAll();
+        basketRepository.deleteAll();
+        userRepository.deleteAll();
+        itemRepository.deleteAll();
+    }
+
+    /**
+     * Tests that several concurrent checkouts of the same {@link Basket} deduct the stock only once. Callers that
+     * overlap with the first checkout share its success, and later ones fail on the basket being checked out
+     */
+    @Test
+    public void testConcurrentCheckouts() throws Exception {
+        // GIVEN
+        ExecutorService executor = Executors.newFixedThreadPool(CHECKOUT_COUNT);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> checkouts = new ArrayList<>();
+        for (int i = 0; i < CHECKOUT_COUNT; i++) {
+            checkouts.add(executor.submit(() -> {
+                start.await();
+                try {
+                    basketsService.checkout(basket.getId());
+                    return true;
+                } catch (IllegalStateException exception) {
+                    // The basket has already been checked out
+                    return false;
+                }
+            }));
+        }
+
+        // WHEN
+        start.countDown();
+        int succeeded = 0;
+        for (Future<Boolean> checkout : checkouts) {
+            succeeded += checkout.get(30, TimeUnit.SECONDS) ? 1 : 0;
+        }
+        executor.shutdown();
+
+        // THEN
+        Assert.assertTrue(succeeded >= 1);
+        Assert.assertTrue(basketRepository.findById(basket.getId()).orElseThrow().isCheckedOut());
+        Assert.assertEquals(ITEM_QUANTITY - QUANTITY,
+                itemRepository.findById(item.getId()).orElseThrow().getQuantity());
+    }
+}
@@ -0,0 +1,121 @@
+package com.elmenus.order.basket.checkout.service.impl.reactive;
+
+import com.elmenus.order.basket.checkout.dto.BasketContentDto;
+import com.elmenus.order.basket.checkout.model.reactive.BasketContentRow;
+import com.elmenus.order.basket.checkout.model.reactive.BasketRow;
+import com.elmenus.order.basket.checkout.model.reactive.ItemRow;
+import com.elmenus.order.basket.checkout.repository.reactive.ReactiveBasketContentRepository;
+import com.elmenus.order.basket.checkout.util.FixedPoint;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import javax.persistence.EntityNotFoundException;
+import java.util.Date;
+
+/**
+ * Test class for {@link ReactiveBasketContentsService}
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class ReactiveBasketContentsServiceTest {
+    // region field values
+    private static final int ID = 1;
+    private static final int BASKET_ID = 2;
+    private static final int ITEM_ID = 3;
+    private static final int USER_ID = 4;
+    private static final long QUANTITY = FixedPoint.quantity(5);
+    // endregion
+
+    private ReactiveBasketContentsService basketContentsService;
+
+    @Mock
+    private ReactiveBasketContentRepository basketContentRepository;
+
+    @Mock
+    private ReactiveBasketsService basketsService;
+
+    @Mock
+    private ReactiveItemsService itemsService;
+
+    private BasketContentRow basketContent;
+    private BasketContentDto basketContentDto;
+
+    @Before
+    public void setUp() {
+        basketContentsService = new ReactiveBasketContentsService(basketContentRepository, basketsService, itemsService);
+
+        basketContent = new BasketContentRow(ID, BASKET_ID, ITEM_ID, QUANTITY);
+        basketContentDto = new BasketContentDto(BASKET_ID, ITEM_ID, QUANTITY);
+    }
+
+    /**
+     * Tests {@link ReactiveBasketContentsService#add(BasketContentDto)}
+     */
+    @Test
+    public void testAdd() {
+        // GIVEN
+        Mockito.when(basketsService.get(BASKET_ID)).thenReturn(Mono.just(new BasketRow(BASKET_ID, USER_ID, new Date(), false, null)));
+        Mockito.when(itemsService.get(ITEM_ID)).thenReturn(Mono.just(ItemRow.builder().id(ITEM_ID).build()));
+        Mockito.when(basketContentRepository.findByBasketIdAndItemId(BASKET_ID, ITEM_ID)).thenReturn(Mono.empty());
+        Mockito.when(basketContentRepository.save(ArgumentMatchers.any(BasketContentRow.class)))
+                .thenReturn(Mono.just(basketContent));
+        Mockito.when(basketsService.invalidateTotals(BASKET_ID)).thenReturn(Mono.empty());
+
+        // WHEN
+
+        // THEN
+        StepVerifier.create(basketContentsService.add(basketContentDto))
+                .expectNext(ID)
+                .verifyComplete();
+        Mockito.verify(basketContentRepository).save(new BasketContentRow(null, BASKET_ID, ITEM_ID, QUANTITY));
+        Mockito.verify(basketsService).invalidateTotals(BASKET_ID);
+    }
+
+    /**
+     * Tests {@link ReactiveBasketContentsService#add(BasketContentDto)} but for an item the basket already holds, whose
+     * quantity is added to the existing {@link BasketContentRow}
+     */
+    @Test
+    public void testAddForHeldItem() {
+        // GIVEN
+        Mockito.when(basketsService.get(BASKET_ID)).thenReturn(Mono.just(new BasketRow(BASKET_ID, USER_ID, new Date(), false, null)));
+        Mockito.when(itemsService.get(ITEM_ID)).thenReturn(Mono.just(ItemRow.builder().id(ITEM_ID).build()));
+        Mockito.when(basketContentRepository.findByBasketIdAndItemId(BASKET_ID, ITEM_ID)).thenReturn(Mono.just(basketContent));
+        Mockito.when(basketContentRepository.addToQuantity(ID, QUANTITY)).thenReturn(Mono.just(1));
+        Mockito.when(basketsService.invalidateTotals(BASKET_ID)).thenReturn(Mono.empty());
+
+        // WHEN
+
+        // THEN
+        StepVerifier.create(basketContentsService.add(basketContentDto))
+                .expectNext(ID)
+                .verifyComplete();
+        Mockito.verify(basketContentRepository).addToQuantity(ID, QUANTITY);
+        Mockito.verify(basketContentRepository, Mockito.never()).save(ArgumentMatchers.any(BasketContentRow.class));
+        Mockito.verify(basketsService).invalidateTotals(BASKET_ID);
+    }
+
+    /**
+     * Tests {@link ReactiveBasketContentsService#add(BasketContentDto)} but for a nonexistent {@link BasketRow}
+     */
+    @Test
+    public void testAddForNonexistentBasket() {
+        // GIVEN
+        Mockito.when(basketsService.get(BASKET_ID)).thenReturn(Mono.error(new EntityNotFoundException()));
+        Mockito.when(itemsService.get(ITEM_ID)).thenReturn(Mono.just(ItemRow.builder().id(ITEM_ID).build()));
+
+        // WHEN
+
+        // THEN
+        StepVerifier.create(basketContentsService.add(basketContentDto))
+                .expectError(EntityNotFoundException.class)
+                .verify();
+        Mockito.verify(basketContentRepository, Mockito.never()).save(ArgumentMatchers.any(BasketContentRow.class));
+    }
+}
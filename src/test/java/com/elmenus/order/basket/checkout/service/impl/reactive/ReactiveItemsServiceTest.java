@@ -0,0 +1,220 @@
+package com.elmenus.order.basket.checkout.service.impl.reactive;
+
+import com.elmenus.order.basket.checkout.constants.Messages;
+import com.elmenus.order.basket.checkout.dto.ItemDto;
+import com.elmenus.order.basket.checkout.inventory.ItemQuantityChangedEvent;
+import com.elmenus.order.basket.checkout.model.ItemInfo;
+import com.elmenus.order.basket.checkout.model.reactive.ItemRow;
+import com.elmenus.order.basket.checkout.repository.reactive.ReactiveItemRepository;
+import com.elmenus.order.basket.checkout.service.impl.ItemPriceChangedEvent;
+import com.elmenus.order.basket.checkout.util.FixedPoint;
+import com.github.benmanes.caffeine.cache.Cache;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.context.ApplicationEventPublisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import javax.persistence.EntityNotFoundException;
+
+/**
+ * Test class for {@link ReactiveItemsService}
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class ReactiveItemsServiceTest {
+    // region field values
+    private static final int ID = 1;
+    private static final String NAME = "Cheese";
+    private static final long PRICE = FixedPoint.money(10);
+    private static final long MODIFIED_PRICE = FixedPoint.money(12);
+    private static final long QUANTITY = FixedPoint.quantity(100);
+    private static final long MODIFIED_QUANTITY = FixedPoint.quantity(200);
+    // endregion
+
+    private ReactiveItemsService itemsService;
+
+    @Mock
+    private ReactiveItemRepository itemRepository;
+
+    @Mock
+    private Cache<Integer, ItemInfo> itemInfoCache;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private ItemRow item;
+    private ItemDto itemDto;
+
+    @Before
+    public void setUp() {
+        itemsService = new ReactiveItemsService(itemRepository, itemInfoCache, eventPublisher, Schedulers.immediate());
+
+        item = new ItemRow(ID, NAME, PRICE, QUANTITY, null);
+        itemDto = new ItemDto(NAME, PRICE, QUANTITY);
+    }
+
+    /**
+     * Tests {@link ReactiveItemsService#getAll()}
+     */
+    @Test
+    public void testGetAll() {
+        // GIVEN
+        Mockito.when(itemRepository.findAll()).thenReturn(Flux.just(item));
+
+        // WHEN
+
+        // THEN
+        StepVerifier.create(itemsService.getAll())
+                .expectNext(item)
+                .verifyComplete();
+    }
+
+    /**
+     * Tests {@link ReactiveItemsService#get(Integer)}
+     */
+    @Test
+    public void testGet() {
+        // GIVEN
+        Mockito.when(itemRepository.findById(ID)).thenReturn(Mono.just(item));
+
+        // WHEN
+
+        // THEN
+        StepVerifier.create(itemsService.get(ID))
+                .expectNext(item)
+                .verifyComplete();
+    }
+
+    /**
+     * Tests {@link ReactiveItemsService#get(Integer)} but for a nonexistent {@link ItemRow}
+     */
+    @Test
+    public void testGetForNonexistentItem() {
+        // GIVEN
+        Mockito.when(itemRepository.findById(ID)).thenReturn(Mono.empty());
+
+        // WHEN
+
+        // THEN
+        StepVerifier.create(itemsService.get(ID))
+                .expectErrorMatches(error -> error instanceof EntityNotFoundException
+                        && String.format(Messages.ITEM_NOT_FOUND_ERROR, ID).equals(error.getMessage()))
+                .verify();
+    }
+
+    /**
+     * Tests {@link ReactiveItemsService#add(ItemDto)}
+     */
+    @Test
+    public void testAdd() {
+        // GIVEN
+        Mockito.when(itemRepository.save(ArgumentMatchers.any(ItemRow.class))).thenReturn(Mono.just(item));
+
+        // WHEN
+
+        // THEN
+        StepVerifier.create(itemsService.add(itemDto))
+                .expectNext(ID)
+                .verifyComplete();
+    }
+
+    /**
+     * Tests {@link ReactiveItemsService#update(Integer, ItemDto)}
+     */
+    @Test
+    public void testUpdate() {
+        // GIVEN
+        itemDto.setQuantity(MODIFIED_QUANTITY);
+        Mockito.when(itemRepository.findById(ID)).thenReturn(Mono.just(item));
+        Mockito.when(itemRepository.save(item)).thenReturn(Mono.just(item));
+
+        // WHEN
+
+        // THEN
+        StepVerifier.create(itemsService.update(ID, itemDto))
+                .verifyComplete();
+        Mockito.verify(itemRepository).save(new ItemRow(ID, NAME, PRICE, MODIFIED_QUANTITY, null));
+        Mockito.verify(itemInfoCache).invalidate(ID);
+        Mockito.verify(eventPublisher).publishEvent(new ItemQuantityChangedEvent(ID, MODIFIED_QUANTITY - QUANTITY));
+        Mockito.verify(eventPublisher, Mockito.never()).publishEvent(ArgumentMatchers.any(ItemPriceChangedEvent.class));
+    }
+
+    /**
+     * Tests {@link ReactiveItemsService#update(Integer, ItemDto)} but for a changed price, which is published so that
+     * the running totals of the baskets holding the {@link ItemRow} are invalidated
+     */
+    @Test
+    public void testUpdateForChangedPrice() {
+        // GIVEN
+        itemDto.setPrice(MODIFIED_PRICE);
+        Mockito.when(itemRepository.findById(ID)).thenReturn(Mono.just(item));
+        Mockito.when(itemRepository.save(item)).thenReturn(Mono.just(item));
+
+        // WHEN
+
+        // THEN
+        StepVerifier.create(itemsService.update(ID, itemDto))
+                .verifyComplete();
+        Mockito.verify(itemInfoCache).invalidate(ID);
+        Mockito.verify(eventPublisher).publishEvent(new ItemPriceChangedEvent(ID));
+        Mockito.verify(eventPublisher, Mockito.never()).publishEvent(ArgumentMatchers.any(ItemQuantityChangedEvent.class));
+    }
+
+    /**
+     * Tests {@link ReactiveItemsService#update(Integer, ItemDto)} but for a nonexistent {@link ItemRow}
+     */
+    @Test
+    public void testUpdateForNonexistentItem() {
+        // GIVEN
+        Mockito.when(itemRepository.findById(ID)).thenReturn(Mono.empty());
+
+        // WHEN
+
+        // THEN
+        StepVerifier.create(itemsService.update(ID, itemDto))
+                .expectError(EntityNotFoundException.class)
+                .verify();
+        Mockito.verify(itemRepository, Mockito.never()).save(ArgumentMatchers.any(ItemRow.class));
+    }
+
+    /**
+     * Tests {@link ReactiveItemsService#delete(Integer)}
+     */
+    @Test
+    public void testDelete() {
+        // GIVEN
+        Mockito.when(itemRepository.existsById(ID)).thenReturn(Mono.just(true));
+        Mockito.when(itemRepository.deleteById(ID)).thenReturn(Mono.empty());
+
+        // WHEN
+
+        // THEN
+        StepVerifier.create(itemsService.delete(ID))
+                .verifyComplete();
+        Mockito.verify(itemRepository).deleteById(ID);
+    }
+
+    /**
+     * Tests {@link ReactiveItemsService#delete(Integer)} but for a nonexistent {@link ItemRow}
+     */
+    @Test
+    public void testDeleteForNonexistentItem() {
+        // GIVEN
+        Mockito.when(itemRepository.existsById(ID)).thenReturn(Mono.just(false));
+
+        // WHEN
+
+        // THEN
+        StepVerifier.create(itemsService.delete(ID))
+                .expectError(EntityNotFoundException.class)
+                .verify();
+        Mockito.verify(itemRepository, Mockito.never()).deleteById(ID);
+    }
+}
@@ -0,0 +1,194 @@
+package com.elmenus.order.basket.checkout.validation;
+
+import com.elmenus.order.basket.checkout.constants.Messages;
+import com.elmenus.order.basket.checkout.exception.InsufficientItemQuantityException;
+import com.elmenus.order.basket.checkout.exception.MoneyValueException;
+import com.elmenus.order.basket.checkout.inventory.JdbcInventoryEngine;
+import com.elmenus.order.basket.checkout.metrics.CheckoutMetrics;
+import com.elmenus.order.basket.checkout.model.Basket;
+import com.elmenus.order.basket.checkout.model.BasketContent;
+import com.elmenus.order.basket.checkout.model.Item;
+import com.elmenus.order.basket.checkout.model.User;
+import com.elmenus.order.basket.checkout.service.impl.ItemsService;
+import com.elmenus.order.basket.checkout.util.FixedPoint;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.Date;
+
+/**
+ * Test class for {@link BasketCheckoutValidator}
+ */
+@RunWith(SpringRunner.class)
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({BasketCheckoutValidator.class, CheckoutMetrics.class, SimpleMeterRegistry.class, JdbcInventoryEngine.class})
+public class BasketCheckoutValidatorTest {
+    // region field values
+    private static final String USER_FIRSTNAME = "John";
+    private static final String USER_LASTNAME = "Smith";
+    private static final String USER_USERNAME = "jsmith";
+    private static final String USER_EMAIL = "smith@example.org";
+
+    private static final String CHEESE_NAME = "Cheese";
+    private static final String MILK_NAME = "Milk";
+    private static final String BREAD_NAME = "Bread";
+    private static final long ITEM_PRICE = FixedPoint.money(10);
+    private static final long ITEM_QUANTITY = FixedPoint.quantity(100);
+
+    private static final long QUANTITY = FixedPoint.quantity(4);
+    private static final int LINE_COUNT = 3;
+    private static final long LINE_COST = FixedPoint.toMoney(FixedPoint.cost(ITEM_PRICE, QUANTITY));
+    private static final long TOTAL_COST = LINE_COUNT * LINE_COST;
+    // 333.33 for a tenth of a unit costs 33.333
+    private static final long FRACTIONAL_PRICE = 33_333L;
+    private static final long FRACTIONAL_QUANTITY = 100L;
+    // endregion
+
+    @Autowired
+    private BasketCheckoutValidator validator;
+
+    @MockBean
+    private ItemsService itemsService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Basket basket;
+    private Item cheese;
+
+    @Before
+    public void setUp() {
+        User user = entityManager.persist(new User(null, USER_FIRSTNAME, USER_LASTNAME, USER_USERNAME, USER_EMAIL));
+        basket = entityManager.persist(new Basket(null, user, new Date(), false, null));
+        cheese = entityManager.persist(new Item(null, CHEESE_NAME, ITEM_PRICE, ITEM_QUANTITY, 0L, null));
+        Item milk = entityManager.persist(new Item(null, MILK_NAME, ITEM_PRICE, ITEM_QUANTITY, 0L, null));
+        Item bread = entityManager.persist(new Item(null, BREAD_NAME, ITEM_PRICE, ITEM_QUANTITY, 0L, null));
+        entityManager.persist(new BasketContent(null, basket, cheese, QUANTITY));
+        entityManager.persist(new BasketContent(null, basket, milk, QUANTITY));
+        entityManager.persist(new BasketContent(null, basket, bread, QUANTITY));
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    /**
+     * Tests {@link BasketCheckoutValidator#validateBasketBeforeCheckout(Integer)} issues a single query
+     * regardless of the number of lines in the {@link Basket}
+     */
+    @Test
+    public void testValidateBasketBeforeCheckout() {
+        // GIVEN
+
+        // WHEN
+        BasketCheckoutValidator.BasketCheckoutInfo info = validator.validateBasketBeforeCheckout(basket.getId());
+
+        // THEN
+        Assert.assertEquals(LINE_COUNT, info.getContents().size());
+        Assert.assertEquals(TOTAL_COST, info.getTotalCost());
+        Assert.assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    /**
+     * Tests {@link BasketCheckoutValidator#validateBasketBeforeCheckout(Integer)} sums up fractional line costs
+     * exactly and rounds the total only once, so three lines of 33.333 add up to the minimum of 100.00 rather than
+     * to 99.99
+     */
+    @Test
+    public void testValidateBasketBeforeCheckoutForFractionalCost() {
+        // GIVEN
+        entityManager.getEntityManager().createQuery("UPDATE Item i SET i.price = :price")
+                .setParameter("price", FRACTIONAL_PRICE)
+                .executeUpdate();
+        entityManager.getEntityManager().createQuery("UPDATE BasketContent c SET c.quantity = :quantity")
+                .setParameter("quantity", FRACTIONAL_QUANTITY)
+                .executeUpdate();
+        entityManager.clear();
+
+        // WHEN
+        BasketCheckoutValidator.BasketCheckoutInfo info = validator.validateBasketBeforeCheckout(basket.getId());
+
+        // THEN
+        Assert.assertEquals(FixedPoint.money(100), info.getTotalCost());
+    }
+
+    /**
+     * Tests {@link BasketCheckoutValidator#validateBasketBeforeCheckout(Integer)} reads the running total of the
+     * {@link Basket} instead of summing up its lines if it still matches the contents
+     */
+    @Test
+    public void testValidateBasketBeforeCheckoutForValidTotals() {
+        // GIVEN
+        entityManager.getEntityManager()
+                .createQuery("UPDATE Basket b SET b.totalCost = :totalCost, b.totalsValid = true")
+                .setParameter("totalCost", FixedPoint.cost(FixedPoint.money(200), FixedPoint.quantity(1)))
+                .executeUpdate();
+        entityManager.clear();
+        statistics.clear();
+
+        // WHEN
+        BasketCheckoutValidator.BasketCheckoutInfo info = validator.validateBasketBeforeCheckout(basket.getId());
+
+        // THEN
+        Assert.assertEquals(FixedPoint.money(200), info.getTotalCost());
+        Assert.assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    /**
+     * Tests {@link BasketCheckoutValidator#validateBasketBeforeCheckout(Integer)} but for an insufficient
+     * {@link Item} quantity
+     */
+    @Test
+    public void testValidateBasketBeforeCheckoutForInsufficientQuantity() {
+        // GIVEN
+        Item managedCheese = entityManager.find(Item.class, cheese.getId());
+        managedCheese.setQuantity(QUANTITY - 1);
+        entityManager.flush();
+        entityManager.clear();
+
+        // WHEN
+        InsufficientItemQuantityException exception = Assert.assertThrows(InsufficientItemQuantityException.class,
+                () -> validator.validateBasketBeforeCheckout(basket.getId()));
+
+        // THEN
+        String errorMessage = String.format(Messages.INSUFFICIENT_ITEM_QUANTITY_ERROR, CHEESE_NAME);
+        Assert.assertEquals(errorMessage, exception.getMessage());
+    }
+
+    /**
+     * Tests {@link BasketCheckoutValidator#validateBasketBeforeCheckout(Integer)} but for a total cost below
+     * the minimum
+     */
+    @Test
+    public void testValidateBasketBeforeCheckoutForLowCost() {
+        // GIVEN
+        Item managedCheese = entityManager.find(Item.class, cheese.getId());
+        managedCheese.setPrice(FixedPoint.money(1));
+        entityManager.flush();
+        entityManager.clear();
+
+        // WHEN
+        MoneyValueException exception = Assert.assertThrows(MoneyValueException.class,
+                () -> validator.validateBasketBeforeCheckout(basket.getId()));
+
+        // THEN
+        Assert.assertEquals(Messages.LOW_MONEY_VALUE_ERROR, exception.getMessage());
+    }
+}
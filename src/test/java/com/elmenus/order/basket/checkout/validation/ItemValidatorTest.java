@@ -2,6 +2,7 @@ package com.elmenus.order.basket.checkout.validation;
 
 import com.elmenus.order.basket.checkout.constants.Messages;
 import com.elmenus.order.basket.checkout.dto.ItemDto;
+import com.elmenus.order.basket.checkout.util.FixedPoint;
 import org.apache.commons.lang3.StringUtils;
 import org.junit.Assert;
 import org.junit.Before;
@@ -21,8 +22,8 @@ public class ItemValidatorTest {
 
     // region field values
     private static final String NAME = "Cheese";
-    private static final float PRICE = 10F;
-    private static final float QUANTITY = 100F;
+    private static final long PRICE = FixedPoint.money(10);
+    private static final long QUANTITY = FixedPoint.quantity(100);
     private static final String DTO = "dto";
     // endregion
 
@@ -102,7 +103,7 @@ public class ItemValidatorTest {
     @Test
     public void testValidateWithInvalidPrice() {
         // GIVEN
-        itemDto.setPrice(-1F);
+        itemDto.setPrice(-1L);
         Errors errors = new BeanPropertyBindingResult(itemDto, DTO);
 
         // WHEN
@@ -120,7 +121,7 @@ public class ItemValidatorTest {
     @Test
     public void testValidateWithInvalidQuantity() {
         // GIVEN
-        itemDto.setQuantity(-1F);
+        itemDto.setQuantity(-1L);
         Errors errors = new BeanPropertyBindingResult(itemDto, DTO);
 
         // WHEN